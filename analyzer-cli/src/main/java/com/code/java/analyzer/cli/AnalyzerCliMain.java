@@ -1,26 +1,43 @@
 package com.code.java.analyzer.cli;
 
 import com.code.java.analyzer.core.AnalyzeResult;
+import com.code.java.analyzer.core.BytecodeAnalyzeFacade;
 import com.code.java.analyzer.core.JavacAnalyzeFacade;
+import com.code.java.analyzer.core.config.AnalyzerConfig;
+import com.code.java.analyzer.core.config.FailFastGate;
+import com.code.java.analyzer.core.rules.HtmlReportWriter;
 import com.code.java.analyzer.core.rules.SarifWriter;
+import com.code.java.analyzer.core.rules.SonarExternalIssuesWriter;
 import org.apache.commons.cli.*;
 
+import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 public final class AnalyzerCliMain {
 
     public static void main(String[] args) throws Exception {
 
-        System.out.println("ClassGraph loaded from: " +
-                io.github.classgraph.ClassGraph.class.getProtectionDomain().getCodeSource().getLocation());
+        // 编辑器集成：stdio 上的 LSP 服务（stdout 只能写协议消息，必须在任何输出之前分派）
+        if (args.length > 0 && "lsp".equals(args[0])) {
+            AnalyzerLanguageServer.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
 
         Options options = new Options();
 
-        options.addOption(Option.builder().longOpt("projectRoot").hasArg().required()
-                .desc("Target project root directory").build());
-        options.addOption(Option.builder().longOpt("src").hasArg().required()
-                .desc("Source directory to analyze (e.g., src/main/java)").build());
+        options.addOption(Option.builder().longOpt("projectRoot").hasArg()
+                .desc("Target project root directory (required unless --repo)").build());
+        options.addOption(Option.builder().longOpt("src").hasArg()
+                .desc("Source directory or source archive (.jar/.zip, read in place) to analyze (e.g., src/main/java)"
+                        + " (required unless --repo)").build());
+        options.addOption(Option.builder().longOpt("repo").hasArg()
+                .desc("Repository root: discover every src/main/java and src/test/java, analyze the modules in"
+                        + " parallel and write per-module SARIF to <outSarif dir>/modules/ plus the aggregate to --outSarif").build());
+        options.addOption(Option.builder().longOpt("threads").hasArg()
+                .desc("Modules analyzed in parallel in --repo mode (default: min(4, CPUs))").build());
         options.addOption(Option.builder().longOpt("outSarif").hasArg().required()
                 .desc("Output SARIF file path").build());
 
@@ -30,6 +47,30 @@ public final class AnalyzerCliMain {
         options.addOption(Option.builder().longOpt("outSonar").hasArg()
                 .desc("Output Sonar external issues json (optional)").build());
 
+        options.addOption(Option.builder().longOpt("outHtml").hasArg()
+                .desc("Output directory for the paged HTML report (optional)").build());
+
+        options.addOption(Option.builder().longOpt("config").hasArg()
+                .desc("Analyzer config file (optional, default: <projectRoot>/code-analyzer.json)").build());
+        options.addOption(Option.builder().longOpt("profile").hasArg()
+                .desc("Rule profile in the config file (optional)").build());
+
+        options.addOption(Option.builder().longOpt("classes").hasArg()
+                .desc("Compiled classes (directories or jars, path-separated); analyze bytecode instead of sources."
+                        + " Only call-ban rules run; findings map back to files under --src").build());
+
+        options.addOption(Option.builder().longOpt("failOnSeverity").hasArg()
+                .desc("Fail fast: stop at the first issue at or above this severity (INFO|MINOR|MAJOR|CRITICAL|BLOCKER),"
+                        + " write a report marked incomplete and exit 1").build());
+        options.addOption(Option.builder().longOpt("maxIssues").hasArg()
+                .desc("Fail fast: issues tolerated before the gate trips (default 0; implies --failOnSeverity INFO)").build());
+
+        options.addOption(Option.builder().longOpt("skipGenerated")
+                .desc("Skip generated sources (header banners such as protobuf / DO NOT EDIT, or @Generated)").build());
+
+        options.addOption(Option.builder().longOpt("sarifSnippets")
+                .desc("Embed source snippets (region.snippet and contextRegion) in the SARIF report").build());
+
         CommandLineParser parser = new DefaultParser();
         CommandLine cmd;
         try {
@@ -40,23 +81,64 @@ public final class AnalyzerCliMain {
             return;
         }
 
-        Path projectRoot = Path.of(cmd.getOptionValue("projectRoot")).toAbsolutePath().normalize();
-        Path srcDir = Path.of(cmd.getOptionValue("src")).toAbsolutePath().normalize();
+        boolean repoMode = cmd.hasOption("repo");
+        if (!repoMode && (!cmd.hasOption("projectRoot") || !cmd.hasOption("src"))) {
+            new HelpFormatter().printHelp("my-java-analyzer-cli", options, true);
+            System.exit(2);
+            return;
+        }
+        if (repoMode && cmd.hasOption("classes")) {
+            throw new IllegalArgumentException("--classes is not supported with --repo");
+        }
+
+        Path projectRoot = Path.of(cmd.getOptionValue(repoMode ? "repo" : "projectRoot")).toAbsolutePath().normalize();
+        Path srcDir = repoMode ? null : Path.of(cmd.getOptionValue("src")).toAbsolutePath().normalize();
         Path outSarif = Path.of(cmd.getOptionValue("outSarif")).toAbsolutePath().normalize();
         String classpath = cmd.getOptionValue("classpath");
 
         if (!Files.isDirectory(projectRoot)) {
             throw new IllegalArgumentException("projectRoot not a directory: " + projectRoot);
         }
-        if (!Files.isDirectory(srcDir)) {
-            throw new IllegalArgumentException("src not a directory: " + srcDir);
+        if (!repoMode && !Files.isDirectory(srcDir) && !Files.isRegularFile(srcDir)) {
+            throw new IllegalArgumentException("src not a directory or archive: " + srcDir);
         }
 
-        // 1) 执行分析（门面返回 AnalyzeResult）
-        AnalyzeResult result = JavacAnalyzeFacade.analyzeForCli(projectRoot, srcDir, classpath);
+        AnalyzerConfig config = cmd.hasOption("config")
+                ? AnalyzerConfig.load(Path.of(cmd.getOptionValue("config")))
+                : AnalyzerConfig.discover(projectRoot);
+        config = config.withProfile(cmd.getOptionValue("profile"));
+        if (cmd.hasOption("failOnSeverity") || cmd.hasOption("maxIssues")) {
+            config = config.withFailFast(FailFastGate.of(cmd.getOptionValue("failOnSeverity"),
+                    Integer.parseInt(cmd.getOptionValue("maxIssues", "0"))));
+        }
+
+        if (cmd.hasOption("skipGenerated")) {
+            config = config.withSkipGenerated(true);
+        }
+        if (cmd.hasOption("sarifSnippets")) {
+            config = config.withSarifSnippets(true);
+        }
+
+        // 1) 执行分析（门面返回 AnalyzeResult）；给了 --classes 则走字节码模式，--repo 则逐模块并行
+        AnalyzeResult result;
+        if (repoMode) {
+            List<RepoAnalyzer.Module> modules = RepoAnalyzer.discover(projectRoot);
+            int threads = cmd.hasOption("threads")
+                    ? Integer.parseInt(cmd.getOptionValue("threads"))
+                    : Math.min(4, Runtime.getRuntime().availableProcessors());
+            System.out.println("[my-java-analyzer] repo=" + projectRoot + " modules=" + modules.size()
+                    + " threads=" + threads);
+            result = RepoAnalyzer.analyze(projectRoot, modules, paths(classpath).stream().map(Path::toString).toList(),
+                    config, Math.max(1, threads), outSarif.getParent().resolve("modules"));
+        } else if (cmd.hasOption("classes")) {
+            result = BytecodeAnalyzeFacade.analyze(projectRoot, paths(cmd.getOptionValue("classes")),
+                    List.of(srcDir), paths(classpath).stream().map(Path::toString).toList(), config);
+        } else {
+            result = JavacAnalyzeFacade.analyzeForCli(projectRoot, srcDir, classpath, config);
+        }
 
         // 2) 输出 SARIF
-        SarifWriter.write(outSarif, result.issues(), "my-java-analyzer");
+        SarifWriter.write(outSarif, result, "my-java-analyzer", config.sarifSnippets() ? projectRoot : null);
         System.out.println("[my-java-analyzer] sarif=" + outSarif);
 
         // 3) 可选：输出 Sonar external issues JSON
@@ -66,6 +148,31 @@ public final class AnalyzerCliMain {
             System.out.println("[my-java-analyzer] sonar-json=" + outSonar);
         }
 
+        // 4) 可选：分页 HTML 报告
+        if (cmd.hasOption("outHtml")) {
+            Path html = HtmlReportWriter.write(Path.of(cmd.getOptionValue("outHtml")).toAbsolutePath().normalize(),
+                    result, "my-java-analyzer");
+            System.out.println("[my-java-analyzer] html=" + html);
+        }
+
         System.out.println("[my-java-analyzer] issues=" + result.issueCount());
+
+        // 5) 快速失败门禁 / 分析不完整（仓库模式中有模块失败）：报告已写出，以退出码 1 让 CI 失败
+        boolean tripped = config.failFast().isTripped(result.issues());
+        if (result.incomplete() || tripped) {
+            System.out.println("[my-java-analyzer] "
+                    + (tripped ? "fail-fast gate tripped (" + config.failFast() + ")" : "analysis failed")
+                    + (result.incomplete() ? ", report is incomplete" : ""));
+            System.exit(1);
+        }
+    }
+
+    private static List<Path> paths(String value) {
+        List<Path> list = new ArrayList<>();
+        if (value == null) return list;
+        for (String p : value.split(java.util.regex.Pattern.quote(File.pathSeparator))) {
+            if (!p.isBlank()) list.add(Path.of(p.trim()).toAbsolutePath().normalize());
+        }
+        return list;
     }
 }
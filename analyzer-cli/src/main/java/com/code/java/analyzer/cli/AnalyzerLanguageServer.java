@@ -0,0 +1,377 @@
+package com.code.java.analyzer.cli;
+
+import com.code.java.analyzer.core.AnalysisNote;
+import com.code.java.analyzer.core.AnalyzeResult;
+import com.code.java.analyzer.core.EditorSession;
+import com.code.java.analyzer.core.Issue;
+import com.code.java.analyzer.core.config.AnalyzerConfig;
+import com.code.java.analyzer.core.i18n.Localizer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.cli.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * LSP 服务（stdio，JSON-RPC）：编辑器打开 / 修改文件时只重新分析该文件，结果以 publishDiagnostics 推送。
+ *
+ * <pre>
+ *   java -jar analyzer-cli-all.jar lsp [--projectRoot dir] [--src dirs] [--classpath cp] [--config f] [--profile p]
+ * </pre>
+ *
+ * 未指定 projectRoot 时使用 initialize 中的 rootUri；源码目录默认为 src/main/java、src/test/java。
+ * 也可以在 initializationOptions 中给出 sourceRoots / classpath（字符串数组）。
+ *
+ * 文档同步为全量（TextDocumentSyncKind.Full）。分析在单独的线程中串行执行，
+ * 连续修改时只分析最新版本。stdout 专用于协议，分析过程中的日志改写到 stderr。
+ */
+public final class AnalyzerLanguageServer {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final OutputStream out;
+    private final CommandLine cmd;
+    private final ExecutorService analysis = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "analyzer-lsp");
+        t.setDaemon(true);
+        return t;
+    });
+    // 文档 URI -> 最新版本号（分析前检查，过期的请求直接丢弃）
+    private final Map<String, Integer> versions = new ConcurrentHashMap<>();
+    private final Locale locale = Localizer.configuredLocale();
+
+    private EditorSession session;
+    private boolean shutdown;
+
+    private AnalyzerLanguageServer(OutputStream out, CommandLine cmd) {
+        this.out = out;
+        this.cmd = cmd;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options();
+        options.addOption(Option.builder().longOpt("projectRoot").hasArg()
+                .desc("Project root (optional, default: rootUri from initialize)").build());
+        options.addOption(Option.builder().longOpt("src").hasArg()
+                .desc("Source directories, path-separated (optional, default: src/main/java, src/test/java)").build());
+        options.addOption(Option.builder().longOpt("classpath").hasArg()
+                .desc("Classpath (optional, separated by ';' on Windows, ':' on Linux)").build());
+        options.addOption(Option.builder().longOpt("config").hasArg()
+                .desc("Analyzer config file (optional, default: <projectRoot>/code-analyzer.json)").build());
+        options.addOption(Option.builder().longOpt("profile").hasArg()
+                .desc("Rule profile in the config file (optional)").build());
+
+        CommandLine cmd;
+        try {
+            cmd = new DefaultParser().parse(options, args);
+        } catch (ParseException e) {
+            new HelpFormatter().printHelp("my-java-analyzer-cli lsp", options, true);
+            System.exit(2);
+            return;
+        }
+
+        // stdout 只写协议消息
+        PrintStream protocol = System.out;
+        System.setOut(System.err);
+
+        new AnalyzerLanguageServer(protocol, cmd).serve(System.in);
+    }
+
+    private void serve(InputStream in) throws IOException {
+        while (true) {
+            byte[] body = readMessage(in);
+            if (body == null) return;
+
+            JsonNode msg;
+            try {
+                msg = MAPPER.readTree(body);
+            } catch (IOException e) {
+                sendError(null, -32700, "Parse error: " + e.getMessage());
+                continue;
+            }
+            String method = msg.path("method").asText("");
+            JsonNode id = msg.get("id");
+            JsonNode params = msg.path("params");
+
+            try {
+                switch (method) {
+                    case "initialize" -> sendResult(id, initialize(params));
+                    case "initialized", "$/cancelRequest", "textDocument/didSave",
+                            "workspace/didChangeConfiguration" -> { }
+                    case "textDocument/didOpen" -> {
+                        JsonNode doc = params.path("textDocument");
+                        changed(doc.path("uri").asText(), doc.path("version").asInt(), doc.path("text").asText());
+                    }
+                    case "textDocument/didChange" -> {
+                        JsonNode doc = params.path("textDocument");
+                        JsonNode changes = params.path("contentChanges");
+                        if (changes.size() > 0) {
+                            // 全量同步：最后一项是完整内容
+                            changed(doc.path("uri").asText(), doc.path("version").asInt(),
+                                    changes.get(changes.size() - 1).path("text").asText());
+                        }
+                    }
+                    case "textDocument/didClose" -> closed(params.path("textDocument").path("uri").asText());
+                    case "shutdown" -> {
+                        shutdown = true;
+                        sendResult(id, null);
+                    }
+                    case "exit" -> {
+                        analysis.shutdownNow();
+                        if (session != null) session.close();
+                        if (!shutdown) System.err.println("[my-java-analyzer] exit without shutdown");
+                        return;
+                    }
+                    default -> {
+                        if (id != null) sendError(id, -32601, "Method not found: " + method);
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (id != null) sendError(id, -32603, String.valueOf(e));
+                else System.err.println("[my-java-analyzer] " + method + " failed: " + e);
+            }
+        }
+    }
+
+    private ObjectNode initialize(JsonNode params) {
+        JsonNode init = params.path("initializationOptions");
+
+        Path projectRoot;
+        if (cmd.hasOption("projectRoot")) {
+            projectRoot = Path.of(cmd.getOptionValue("projectRoot"));
+        } else if (params.hasNonNull("rootUri")) {
+            projectRoot = Path.of(URI.create(params.get("rootUri").asText()));
+        } else if (params.hasNonNull("rootPath")) {
+            projectRoot = Path.of(params.get("rootPath").asText());
+        } else {
+            projectRoot = Path.of(System.getProperty("user.dir"));
+        }
+        projectRoot = projectRoot.toAbsolutePath().normalize();
+
+        List<Path> sourceRoots = new ArrayList<>();
+        if (cmd.hasOption("src")) {
+            for (String p : split(cmd.getOptionValue("src"))) sourceRoots.add(Path.of(p));
+        } else if (init.has("sourceRoots")) {
+            for (JsonNode p : init.get("sourceRoots")) sourceRoots.add(projectRoot.resolve(p.asText()));
+        } else {
+            for (String p : List.of("src/main/java", "src/test/java")) {
+                if (Files.isDirectory(projectRoot.resolve(p))) sourceRoots.add(projectRoot.resolve(p));
+            }
+            if (sourceRoots.isEmpty()) sourceRoots.add(projectRoot);
+        }
+
+        List<String> classpath = new ArrayList<>();
+        if (cmd.hasOption("classpath")) {
+            classpath.addAll(split(cmd.getOptionValue("classpath")));
+        } else if (init.has("classpath")) {
+            for (JsonNode p : init.get("classpath")) classpath.add(p.asText());
+        }
+
+        AnalyzerConfig config = cmd.hasOption("config")
+                ? AnalyzerConfig.load(Path.of(cmd.getOptionValue("config")))
+                : AnalyzerConfig.discover(projectRoot);
+        config = config.withProfile(cmd.getOptionValue("profile"));
+
+        // 规则扫描、文件管理器在这里一次建好，之后每次修改只做单文件分析
+        session = new EditorSession(projectRoot, sourceRoots, classpath, config);
+        System.err.println("[my-java-analyzer] lsp projectRoot=" + projectRoot + " sourceRoots=" + sourceRoots);
+
+        ObjectNode result = MAPPER.createObjectNode();
+        ObjectNode sync = result.putObject("capabilities").putObject("textDocumentSync");
+        sync.put("openClose", true);
+        sync.put("change", 1);
+        result.putObject("serverInfo").put("name", "my-java-analyzer");
+        return result;
+    }
+
+    private void changed(String uri, int version, String text) {
+        Path file = toPath(uri);
+        if (file == null || session == null) return;
+        versions.put(uri, version);
+        session.update(file, text);
+        analysis.execute(() -> {
+            // 排队期间又有新版本：交给后面的任务
+            if (versions.getOrDefault(uri, -1) != version) return;
+            try {
+                AnalyzeResult result = session.analyze(file);
+                for (AnalysisNote n : result.notes()) {
+                    System.err.println("[my-java-analyzer] " + n);
+                }
+                if (versions.getOrDefault(uri, -1) != version) return;
+                publish(uri, version, result.issues(), text);
+            } catch (Exception e) {
+                System.err.println("[my-java-analyzer] analysis failed: " + uri + ": " + e);
+            }
+        });
+    }
+
+    private void closed(String uri) {
+        Path file = toPath(uri);
+        if (file == null || session == null) return;
+        versions.remove(uri);
+        session.remove(file);
+        analysis.execute(() -> publish(uri, null, List.of(), ""));
+    }
+
+    // text 为被分析版本的缓冲区内容，用来把 javac 列号换算为 LSP 的 UTF-16 下标
+    private void publish(String uri, Integer version, List<Issue> issues, String text) {
+        ObjectNode params = MAPPER.createObjectNode();
+        params.put("uri", uri);
+        if (version != null) params.put("version", version);
+        ArrayNode diagnostics = params.putArray("diagnostics");
+        Positions positions = issues.isEmpty() ? null : new Positions(text);
+        for (Issue i : issues) {
+            ObjectNode d = diagnostics.addObject();
+            ObjectNode range = d.putObject("range");
+            // LSP 行列从 0 开始
+            range.putObject("start").put("line", i.startLine() - 1)
+                    .put("character", positions.character(i.startLine(), i.startCol()));
+            range.putObject("end").put("line", i.endLine() - 1)
+                    .put("character", positions.character(i.endLine(), i.endCol()));
+            d.put("severity", severity(i.severity()));
+            d.put("code", i.ruleId());
+            d.put("source", i.engineId());
+            d.put("message", Localizer.format(i.message(), locale, i.messageArgs()));
+        }
+
+        ObjectNode msg = MAPPER.createObjectNode();
+        msg.put("jsonrpc", "2.0");
+        msg.put("method", "textDocument/publishDiagnostics");
+        msg.set("params", params);
+        send(msg);
+    }
+
+    /**
+     * javac 行列（1 起，列号中制表符展开到 8 的倍数）-> LSP 的 character（0 起，行内 UTF-16 下标）：
+     * 按缓冲区内容找到行首偏移，再逐字符走到 javac 列号对应的位置（与 SourceSnippets 的换算一致）
+     */
+    static final class Positions {
+        private static final int TAB = 8;
+
+        private final String text;
+        private final int[] starts;   // starts[i] 为第 i + 1 行的起始下标
+
+        Positions(String text) {
+            this.text = text;
+            List<Integer> s = new ArrayList<>();
+            s.add(0);
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                // \r\n、\n、单独的 \r 都是行结束（与 javac 的 LineMap 一致）
+                if (c == '\n' || c == '\r' && (i + 1 == text.length() || text.charAt(i + 1) != '\n')) s.add(i + 1);
+            }
+            this.starts = s.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        int character(int line, int col) {
+            if (line < 1 || line > starts.length) return Math.max(0, col - 1);
+            int from = starts[line - 1];
+            int end = line < starts.length ? starts[line] : text.length();
+            int c = 1;
+            for (int i = from; i < end; i++) {
+                char ch = text.charAt(i);
+                if (c >= col || ch == '\n' || ch == '\r') return i - from;
+                c = ch == '\t' ? ((c - 1) / TAB + 1) * TAB + 1 : c + 1;
+            }
+            return end - from;
+        }
+    }
+
+    // Sonar 风格的 severity -> DiagnosticSeverity（1 Error / 2 Warning / 3 Information / 4 Hint）
+    private static int severity(String s) {
+        return switch (s == null ? "" : s) {
+            case "BLOCKER", "CRITICAL" -> 1;
+            case "MAJOR" -> 2;
+            case "MINOR" -> 3;
+            default -> 4;
+        };
+    }
+
+    private void sendResult(JsonNode id, JsonNode result) {
+        ObjectNode msg = MAPPER.createObjectNode();
+        msg.put("jsonrpc", "2.0");
+        msg.set("id", id);
+        msg.set("result", result);
+        send(msg);
+    }
+
+    private void sendError(JsonNode id, int code, String message) {
+        ObjectNode msg = MAPPER.createObjectNode();
+        msg.put("jsonrpc", "2.0");
+        msg.set("id", id);
+        msg.putObject("error").put("code", code).put("message", message);
+        send(msg);
+    }
+
+    // 主线程（响应）与分析线程（诊断）都会写
+    private synchronized void send(ObjectNode msg) {
+        try {
+            byte[] body = MAPPER.writeValueAsBytes(msg);
+            out.write(("Content-Length: " + body.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.write(body);
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("[my-java-analyzer] failed to write message: " + e);
+        }
+    }
+
+    /** 读一条消息（头部 + Content-Length 字节的正文）；输入结束时返回 null */
+    private static byte[] readMessage(InputStream in) throws IOException {
+        int length = -1;
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        while (true) {
+            int c = in.read();
+            if (c < 0) return null;
+            if (c != '\n') {
+                if (c != '\r') line.write(c);
+                continue;
+            }
+            String header = line.toString(StandardCharsets.US_ASCII);
+            line.reset();
+            if (header.isEmpty()) {
+                if (length >= 0) break;
+                continue;
+            }
+            if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                length = Integer.parseInt(header.substring(15).trim());
+            }
+        }
+        byte[] body = in.readNBytes(length);
+        return body.length == length ? body : null;
+    }
+
+    private static Path toPath(String uri) {
+        try {
+            URI u = URI.create(uri);
+            return "file".equals(u.getScheme()) ? Path.of(u) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static List<String> split(String value) {
+        List<String> list = new ArrayList<>();
+        for (String p : value.split(java.util.regex.Pattern.quote(File.pathSeparator))) {
+            if (!p.isBlank()) list.add(p.trim());
+        }
+        return list;
+    }
+}
@@ -0,0 +1,151 @@
+package com.code.java.analyzer.cli;
+
+import com.code.java.analyzer.core.AnalysisNote;
+import com.code.java.analyzer.core.AnalyzeResult;
+import com.code.java.analyzer.core.Issue;
+import com.code.java.analyzer.core.JavacAnalyzeFacade;
+import com.code.java.analyzer.core.RuleEngine;
+import com.code.java.analyzer.core.config.AnalyzerConfig;
+import com.code.java.analyzer.core.rules.SarifWriter;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 仓库模式（--repo）：发现仓库中所有 src/main/java、src/test/java，按所在模块分组，
+ * 在一个 JVM 中并行分析各模块，写出每个模块的 SARIF 与汇总报告。
+ *
+ * - 规则引擎只加载一次，各模块共用；JIT 结果与 javac 的 JDK 平台类索引（jrt）在进程内共享。
+ *   javac 文件管理器不是线程安全的，每个模块各建一个，classpath jar 在每个模块中各打开、索引一次
+ * - 其他模块的 src/main/java 放进 -sourcepath，跨模块引用按需解析，不需要先构建出 jar
+ * - 报告中的路径相对仓库根目录；某个模块失败时记录一条 error 提示，其余模块照常输出，汇总结果标记为不完整（CLI 退出码 1）
+ * - 快速失败门禁按模块生效；某个模块因门禁提前停止后，尚未开始的模块不再分析，汇总结果标记为不完整
+ */
+final class RepoAnalyzer {
+
+    private static final Set<String> SKIPPED_DIRS = Set.of("target", "build", "out", "node_modules");
+
+    private RepoAnalyzer() {}
+
+    /** 一个模块：目录（相对仓库根，根模块为 "."）及其源码目录 */
+    record Module(String name, List<Path> mainRoots, List<Path> testRoots) {
+
+        List<Path> sourceRoots() {
+            List<Path> all = new ArrayList<>(mainRoots);
+            all.addAll(testRoots);
+            return all;
+        }
+
+        /** 报告文件名：模块路径中的分隔符换成 “-” */
+        String reportName() {
+            return ".".equals(name) ? "root" : name.replace('/', '-').replace('\\', '-');
+        }
+    }
+
+    /**
+     * 发现仓库中的模块（跳过隐藏目录与 target / build 等输出目录，不进入源码目录内部），按模块路径排序
+     */
+    static List<Module> discover(Path repo) throws IOException {
+        Map<String, Module> modules = new TreeMap<>();
+        Files.walkFileTree(repo, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                String name = dir.getFileName() == null ? "" : dir.getFileName().toString();
+                if (!dir.equals(repo) && (name.startsWith(".") || SKIPPED_DIRS.contains(name))) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                if (name.equals("java") && dir.getParent() != null && dir.getParent().getParent() != null
+                        && dir.getParent().getParent().getFileName().toString().equals("src")) {
+                    String kind = dir.getParent().getFileName().toString();
+                    if (kind.equals("main") || kind.equals("test")) {
+                        Path moduleDir = dir.getParent().getParent().getParent();
+                        String rel = repo.relativize(moduleDir).toString().replace('\\', '/');
+                        Module m = modules.computeIfAbsent(rel.isEmpty() ? "." : rel,
+                                n -> new Module(n, new ArrayList<>(), new ArrayList<>()));
+                        (kind.equals("main") ? m.mainRoots() : m.testRoots()).add(dir);
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return new ArrayList<>(modules.values());
+    }
+
+    /**
+     * 并行分析所有模块；每个模块的 SARIF 写到 moduleReports/&lt;模块&gt;.sarif，返回汇总结果
+     */
+    static AnalyzeResult analyze(Path repo, List<Module> modules, List<String> classpath, AnalyzerConfig config,
+                                 int threads, Path moduleReports) throws Exception {
+        RuleEngine engine = RuleEngine.forConfig(config);
+        List<Path> allMainRoots = modules.stream().flatMap(m -> m.mainRoots().stream()).toList();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "analyzer-module");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            AtomicBoolean stopped = new AtomicBoolean();
+            List<Future<AnalyzeResult>> futures = new ArrayList<>();
+            for (Module m : modules) {
+                List<Path> sourcepath = allMainRoots.stream().filter(p -> !m.mainRoots().contains(p)).toList();
+                futures.add(pool.submit(() -> {
+                    if (stopped.get()) return null;
+                    long start = System.nanoTime();
+                    AnalyzeResult r = JavacAnalyzeFacade.analyzeModule(repo, m.sourceRoots(), sourcepath,
+                            classpath, config, engine);
+                    SarifWriter.write(moduleReports.resolve(m.reportName() + ".sarif"), r, engine.toolName(),
+                            config.sarifSnippets() ? repo : null);
+                    System.out.println("[my-java-analyzer] module " + m.name() + " issues=" + r.issueCount()
+                            + " time=" + (System.nanoTime() - start) / 1_000_000 + "ms");
+                    if (r.incomplete()) stopped.set(true);
+                    return r;
+                }));
+            }
+
+            List<Issue> issues = new ArrayList<>();
+            List<AnalysisNote> notes = new ArrayList<>();
+            boolean incomplete = false;
+            for (int i = 0; i < modules.size(); i++) {
+                try {
+                    AnalyzeResult r = futures.get(i).get();
+                    if (r == null) {
+                        incomplete = true;
+                        notes.add(new AnalysisNote(AnalysisNote.ERROR, null, modules.get(i).name(),
+                                "module not analyzed: stopped by fail-fast gate"));
+                        continue;
+                    }
+                    incomplete |= r.incomplete();
+                    issues.addAll(r.issues());
+                    notes.addAll(r.notes());
+                } catch (java.util.concurrent.ExecutionException e) {
+                    incomplete = true;
+                    notes.add(new AnalysisNote(AnalysisNote.ERROR, null, modules.get(i).name(),
+                            "module analysis failed: " + e.getCause()));
+                }
+            }
+            return new AnalyzeResult(issues, notes, incomplete);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+@echo off
+rem my-java-analyzer 命令行启动脚本（Windows），说明见同目录的 analyzer。
+rem 归档不存在时本次运行结束时生成；升级 jar 或换 JDK 后删除 .jsa 重新生成。
+setlocal
+set "JAR=%~dp0analyzer-cli-@project.version@-all.jar"
+set "JSA=%~dp0analyzer-cli-@project.version@-all.jsa"
+if defined JAVA_HOME (set "JAVA=%JAVA_HOME%\bin\java") else (set "JAVA=java")
+
+if /i "%ANALYZER_CDS%"=="off" (
+  "%JAVA%" %JAVA_OPTS% -jar "%JAR%" %*
+) else if exist "%JSA%" (
+  "%JAVA%" -XX:SharedArchiveFile="%JSA%" -Xlog:cds=off,cds+dynamic=off %JAVA_OPTS% -jar "%JAR%" %*
+) else (
+  "%JAVA%" -XX:ArchiveClassesAtExit="%JSA%" -Xlog:cds=off,cds+dynamic=off %JAVA_OPTS% -jar "%JAR%" %*
+)
+exit /b %ERRORLEVEL%
@@ -0,0 +1,67 @@
+package com.code.java.analyzer.cli;
+
+import com.code.java.analyzer.core.EditorSession;
+import com.code.java.analyzer.core.Issue;
+import com.code.java.analyzer.core.config.AnalyzerConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 诊断位置：javac 列号（制表符展开）换算为 LSP 的 UTF-16 下标
+ */
+class AnalyzerLanguageServerTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void tabIndentedBufferMapsToCharacterOffsets() throws Exception {
+        Path root = Files.createDirectories(tmp.resolve("project"));
+        Path src = Files.createDirectories(root.resolve("src/main/java/p"));
+        Path file = src.resolve("A.java");
+        Files.writeString(file, "package p;\n");
+
+        String text = "package p;\n"
+                + "\n"
+                + "public class A {\n"
+                + "\tvoid f() {\n"
+                + "\t\tSystem.exit(0);\n"
+                + "\t}\n"
+                + "}\n";
+        List<Issue> issues;
+        try (EditorSession session = new EditorSession(root, List.of(root.resolve("src/main/java")), List.of(),
+                AnalyzerConfig.defaults())) {
+            session.update(file, text);
+            issues = session.analyze(file).issues();
+        }
+        Issue exit = issues.stream().filter(i -> i.ruleId().equals("MYJAVA0004")).findFirst().orElseThrow();
+
+        // 两个制表符：javac 列号为 17，缓冲区中是第 3 个字符
+        assertEquals(5, exit.startLine());
+        assertEquals(17, exit.startCol());
+        AnalyzerLanguageServer.Positions positions = new AnalyzerLanguageServer.Positions(text);
+        assertEquals(2, positions.character(exit.startLine(), exit.startCol()));
+        assertEquals("\t\tSystem.exit(0)".length(), positions.character(exit.endLine(), exit.endCol()));
+    }
+
+    @Test
+    void columnsCountUtf16CodeUnitsAndTabStops() {
+        AnalyzerLanguageServer.Positions positions =
+                new AnalyzerLanguageServer.Positions("a\tb\r\n😀x\rlast");
+        // 第 1 行：'a' 在列 1，制表符展开到列 9，'b' 在列 9
+        assertEquals(0, positions.character(1, 1));
+        assertEquals(2, positions.character(1, 9));
+        // 行尾之后的列落在换行符之前
+        assertEquals(3, positions.character(1, 40));
+        // 第 2 行：代理对占两个 UTF-16 单元
+        assertEquals(2, positions.character(2, 3));
+        // 单独的 \r 也结束一行
+        assertEquals(1, positions.character(3, 2));
+    }
+}
@@ -0,0 +1,47 @@
+package com.code.java.analyzer.cli;
+
+import com.code.java.analyzer.core.AnalysisNote;
+import com.code.java.analyzer.core.AnalyzeResult;
+import com.code.java.analyzer.core.Issue;
+import com.code.java.analyzer.core.config.AnalyzerConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 仓库模式：某个模块分析失败时其余模块照常输出，汇总结果标记为不完整
+ */
+class RepoAnalyzerTest {
+
+    @TempDir
+    Path repo;
+
+    @Test
+    void failedModuleMarksResultIncomplete() throws Exception {
+        Path good = Files.createDirectories(repo.resolve("good/src/main/java/p"));
+        Files.writeString(good.resolve("A.java"), "package p;\n\npublic class A {\n"
+                + "    void f() {\n        System.exit(0);\n    }\n}\n");
+        // 源码归档损坏：挂载 zip 文件系统时抛出异常
+        Path broken = Files.createDirectories(repo.resolve("broken/src/main/java")).resolve("sources.jar");
+        Files.writeString(broken, "not a zip");
+
+        List<RepoAnalyzer.Module> modules = List.of(
+                new RepoAnalyzer.Module("broken", List.of(broken), List.of()),
+                new RepoAnalyzer.Module("good", List.of(repo.resolve("good/src/main/java")), List.of()));
+        AnalyzeResult result = RepoAnalyzer.analyze(repo, modules, List.of(), AnalyzerConfig.defaults(), 2,
+                repo.resolve("out/modules"));
+
+        assertTrue(result.incomplete());
+        assertTrue(result.notes().stream().anyMatch(n -> AnalysisNote.ERROR.equals(n.level())
+                && "broken".equals(n.file()) && n.message().startsWith("module analysis failed")),
+                () -> "notes: " + result.notes());
+        assertEquals(List.of("MYJAVA0004"), result.issues().stream().map(Issue::ruleId).toList());
+        assertTrue(Files.isRegularFile(repo.resolve("out/modules/good.sarif")));
+    }
+}
@@ -0,0 +1,37 @@
+package com.code.java.analyzer.core;
+
+/**
+ * 分析过程中的提示（不是代码问题）：例如规则超时被跳过、结果不完整等。
+ * SARIF 中输出为 invocations[].toolExecutionNotifications。
+ */
+public final class AnalysisNote {
+
+    public static final String ERROR = "error";
+    public static final String WARNING = "warning";
+    public static final String NOTE = "note";
+
+    private final String level;
+    private final String ruleId; // 可为 null
+    private final String file;   // 可为 null
+    private final String message;
+
+    public AnalysisNote(String level, String ruleId, String file, String message) {
+        this.level = level;
+        this.ruleId = ruleId;
+        this.file = file;
+        this.message = message;
+    }
+
+    public String level() { return level; }
+    public String ruleId() { return ruleId; }
+    public String file() { return file; }
+    public String message() { return message; }
+
+    @Override
+    public String toString() {
+        return "[" + level + "]"
+                + (ruleId == null ? "" : " " + ruleId)
+                + (file == null ? "" : " " + file)
+                + " " + message;
+    }
+}
@@ -4,15 +4,41 @@ import java.util.List;
 
 public final class AnalyzeResult {
     private final List<Issue> issues;
+    private final List<AnalysisNote> notes;
+    private final boolean incomplete;
 
     public AnalyzeResult(List<Issue> issues) {
+        this(issues, List.of());
+    }
+
+    public AnalyzeResult(List<Issue> issues, List<AnalysisNote> notes) {
+        this(issues, notes, false);
+    }
+
+    public AnalyzeResult(List<Issue> issues, List<AnalysisNote> notes, boolean incomplete) {
         this.issues = List.copyOf(issues);
+        this.notes = List.copyOf(notes);
+        this.incomplete = incomplete;
+    }
+
+    public static AnalyzeResult empty() {
+        return new AnalyzeResult(List.of());
     }
 
     public List<Issue> issues() {
         return issues;
     }
 
+    /** 执行过程提示（超时、跳过等），不计入 issueCount */
+    public List<AnalysisNote> notes() {
+        return notes;
+    }
+
+    /** 并非所有文件都被分析：被快速失败门禁提前停止，或仓库模式中有模块分析失败 */
+    public boolean incomplete() {
+        return incomplete;
+    }
+
     public int issueCount() {
         return issues.size();
     }
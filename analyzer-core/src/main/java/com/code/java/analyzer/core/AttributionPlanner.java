@@ -0,0 +1,259 @@
+package com.code.java.analyzer.core;
+
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreeScanner;
+import com.sun.source.util.Trees;
+
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 按需标注：先在语法树上找出可能触发规则的顶层类，只对这些类调用 JavacTask.analyze(classes)。
+ *
+ * 所有启用的规则都声明了 {@link Rule#triggers()} 时才生效（任一规则返回 null 即退回整体标注）；
+ * 候选类为出现任一触发名或触发结点种类（{@link Rule#triggerKinds()}）的类。语法上不可能上报的
+ * ProjectRule（{@link ProjectRule#mayReport}，例如项目中没有 handler 时的调用图规则）不参与规划。
+ * 标注量随候选类数量增长，而不是随代码库大小增长。-Dmyanalyzer.targetedAttribution=false 关闭。
+ *
+ * 逐文件结果已缓存（{@link ResultStore}）的文件不再标注，除非某条 {@link ProjectRule} 仍需要它；
+ * 此时即使有规则未声明触发名，也只标注未命中的文件。
+ *
+ * enter() / analyze(classes) 只在 JavacTaskImpl 上有，所在包 com.sun.tools.javac.api 默认不导出：
+ * CLI 的 jar 清单中声明了 Add-Exports；其他宿主（Maven / Gradle 进程）无法访问时退回整体标注。
+ */
+public final class AttributionPlanner {
+
+    private AttributionPlanner() {}
+
+    public static boolean enabled() {
+        return !"false".equalsIgnoreCase(System.getProperty("myanalyzer.targetedAttribution"));
+    }
+
+    /**
+     * 只标注候选类；返回 false 表示无法按需标注（规则未声明触发名，或 javac 内部 API 不可访问），
+     * 调用方应改为 task.analyze()
+     */
+    public static boolean analyzeCandidates(JavacTask task, Iterable<? extends CompilationUnitTree> asts,
+                                            Trees trees, List<Rule> rules) {
+        return analyzeCandidates(task, asts, trees, rules, Set.of());
+    }
+
+    /**
+     * 同上，cached 中的编译单元只在 ProjectRule 需要时标注
+     */
+    public static boolean analyzeCandidates(JavacTask task, Iterable<? extends CompilationUnitTree> asts,
+                                            Trees trees, List<Rule> rules, Set<CompilationUnitTree> cached) {
+        return attributeCandidates(task, asts, trees, rules, cached) != null;
+    }
+
+    /**
+     * 同上，返回已执行的计划（{@link Plan#isAttributed} 可查哪些编译单元被标注）；无法按需标注时返回 null
+     */
+    public static Plan attributeCandidates(JavacTask task, Iterable<? extends CompilationUnitTree> asts,
+                                           Trees trees, List<Rule> rules, Set<CompilationUnitTree> cached) {
+        if (!enabled()) return null;
+        if (triggers(rules, asts) == null && cached.isEmpty()) return null;
+
+        Plan plan = plan(task, asts, trees, rules, cached);
+        if (plan == null) return null;
+        System.out.println("[my-java-analyzer] attributed classes=" + plan.size()
+                + "/" + topLevelCount(asts));
+        plan.attribute(asts);
+        return plan;
+    }
+
+    /**
+     * enter 之后确定每个编译单元需要标注的顶层类，由调用方决定何时、分几批标注
+     * （快速失败门禁按文件顺序逐批标注并执行规则）。javac 内部 API 不可访问时返回 null。
+     *
+     * 关闭按需标注时每个编译单元的全部顶层类都需要标注。
+     */
+    public static Plan plan(JavacTask task, Iterable<? extends CompilationUnitTree> asts, Trees trees,
+                            List<Rule> rules, Set<CompilationUnitTree> cached) {
+        Method analyze;
+        try {
+            Method enter = task.getClass().getMethod("enter");
+            analyze = task.getClass().getMethod("analyze", Iterable.class);
+            enter.invoke(task);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+
+        boolean targeted = enabled();
+        Triggers triggers = targeted ? triggers(rules, asts) : null;
+        List<ProjectRule> projectRules = new ArrayList<>();
+        for (Rule r : rules) {
+            if (r instanceof ProjectRule pr && pr.mayReport(asts)) projectRules.add(pr);
+        }
+        Map<CompilationUnitTree, List<TypeElement>> classes = new IdentityHashMap<>();
+        for (CompilationUnitTree cu : asts) {
+            List<CompilationUnitTree> unit = List.of(cu);
+            if (!targeted || !cached.contains(cu)) {
+                classes.put(cu, candidates(unit, trees, triggers));
+            } else if (projectRules.stream().anyMatch(r -> r.needsAttribution(cu, asts))) {
+                classes.put(cu, candidates(unit, trees, null));
+            }
+        }
+        return new Plan(task, analyze, classes);
+    }
+
+    /** 每个编译单元待标注的顶层类 */
+    public static final class Plan {
+        private final JavacTask task;
+        private final Method analyze;
+        private final Map<CompilationUnitTree, List<TypeElement>> classes;
+        private final Set<CompilationUnitTree> attributed = Collections.newSetFromMap(new IdentityHashMap<>());
+        private boolean whole;
+
+        private Plan(JavacTask task, Method analyze, Map<CompilationUnitTree, List<TypeElement>> classes) {
+            this.task = task;
+            this.analyze = analyze;
+            this.classes = classes;
+        }
+
+        /** 待标注的类总数 */
+        public int size() {
+            return classes.values().stream().mapToInt(List::size).sum();
+        }
+
+        /** 该编译单元是否已有类被标注（退回整体标注后全部为 true） */
+        public boolean isAttributed(CompilationUnitTree cu) {
+            return whole || attributed.contains(cu);
+        }
+
+        /**
+         * 标注这些编译单元中的候选类（已标注的类 javac 会跳过）；反射调用失败时退回整体标注
+         */
+        public void attribute(Iterable<? extends CompilationUnitTree> units) {
+            if (whole) return;
+            List<TypeElement> batch = new ArrayList<>();
+            for (CompilationUnitTree cu : units) {
+                List<TypeElement> types = classes.getOrDefault(cu, List.of());
+                if (!types.isEmpty()) attributed.add(cu);
+                batch.addAll(types);
+            }
+            if (batch.isEmpty()) return;
+            try {
+                analyze.invoke(task, batch);
+            } catch (InvocationTargetException e) {
+                // 语义失败也继续（与整体标注一致）
+            } catch (ReflectiveOperationException e) {
+                whole = true;
+                try {
+                    task.analyze();
+                } catch (IOException | RuntimeException ignore) {
+                    // 语义失败也继续
+                }
+            }
+        }
+    }
+
+    /** 候选类的判定条件：规则触发名与触发结点种类各自的并集 */
+    public record Triggers(Set<String> names, Set<Tree.Kind> kinds) {
+        boolean isEmpty() {
+            return names.isEmpty() && kinds.isEmpty();
+        }
+    }
+
+    /**
+     * 参与规划的规则（语法上不可能上报的 ProjectRule 除外）的触发条件；任一规则需要整体标注时返回 null
+     */
+    public static Triggers triggers(List<Rule> rules, Iterable<? extends CompilationUnitTree> asts) {
+        Set<String> names = new HashSet<>();
+        Set<Tree.Kind> kinds = EnumSet.noneOf(Tree.Kind.class);
+        for (Rule r : rules) {
+            if (r instanceof ProjectRule pr && !pr.mayReport(asts)) continue;
+            Set<String> t = r.triggers();
+            if (t == null) return null;
+            names.addAll(t);
+            kinds.addAll(r.triggerKinds());
+        }
+        return new Triggers(names, kinds);
+    }
+
+    /**
+     * 语法树中出现任一触发名或触发结点种类的顶层类（需在 JavacTask.enter() 之后调用，才能取到类符号）；
+     * triggers 为 null 时取全部顶层类
+     */
+    public static List<TypeElement> candidates(Iterable<? extends CompilationUnitTree> asts, Trees trees,
+                                               Triggers triggers) {
+        List<TypeElement> out = new ArrayList<>();
+        if (triggers != null && triggers.isEmpty()) return out;
+        NameLookup<Boolean> lookup = triggers == null ? null : new NameLookup<>(triggers.names()::contains);
+        for (CompilationUnitTree cu : asts) {
+            TreePath unit = new TreePath(cu);
+            for (Tree decl : cu.getTypeDecls()) {
+                if (decl instanceof ClassTree cls && (lookup == null || mentions(cls, lookup, triggers.kinds()))
+                        && trees.getElement(new TreePath(unit, cls)) instanceof TypeElement type) {
+                    out.add(type);
+                }
+            }
+        }
+        return out;
+    }
+
+    private static boolean mentions(ClassTree cls, NameLookup<Boolean> lookup, Set<Tree.Kind> kinds) {
+        boolean[] found = new boolean[1];
+        boolean synchronizedMethods = kinds.contains(Tree.Kind.SYNCHRONIZED);
+        new TreeScanner<Void, Void>() {
+            @Override
+            public Void scan(Tree tree, Void unused) {
+                // 命中后不再继续遍历
+                if (found[0] || tree == null) return null;
+                if (kinds.contains(tree.getKind())) {
+                    found[0] = true;
+                    return null;
+                }
+                return super.scan(tree, unused);
+            }
+
+            @Override
+            public Void visitMethod(MethodTree node, Void unused) {
+                found[0] |= synchronizedMethods && node.getModifiers().getFlags().contains(Modifier.SYNCHRONIZED);
+                return super.visitMethod(node, unused);
+            }
+
+            @Override
+            public Void visitIdentifier(IdentifierTree node, Void unused) {
+                found[0] |= lookup.get(node.getName());
+                return null;
+            }
+
+            @Override
+            public Void visitMemberSelect(MemberSelectTree node, Void unused) {
+                found[0] |= lookup.get(node.getIdentifier());
+                return super.visitMemberSelect(node, unused);
+            }
+        }.scan(cls, null);
+        return found[0];
+    }
+
+    /** 顶层类总数（输出“已标注 / 总数”时使用） */
+    private static int topLevelCount(Iterable<? extends CompilationUnitTree> asts) {
+        int n = 0;
+        for (CompilationUnitTree cu : asts) {
+            for (Tree decl : cu.getTypeDecls()) {
+                if (decl instanceof ClassTree) n++;
+            }
+        }
+        return n;
+    }
+}
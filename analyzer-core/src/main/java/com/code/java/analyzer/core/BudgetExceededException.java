@@ -0,0 +1,14 @@
+package com.code.java.analyzer.core;
+
+/**
+ * 规则执行超出时间预算：由 {@link RuleScanner} 在遍历中抛出，RuleEngine 捕获后跳过该规则 / 文件。
+ */
+public final class BudgetExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BudgetExceededException() {
+        // 只用于控制流，不需要栈
+        super("time budget exceeded", null, false, false);
+    }
+}
@@ -0,0 +1,237 @@
+package com.code.java.analyzer.core;
+
+import com.code.java.analyzer.core.bytecode.ClassFileReader;
+import com.code.java.analyzer.core.bytecode.ClassInfo;
+import com.code.java.analyzer.core.bytecode.Invocation;
+import com.code.java.analyzer.core.bytecode.TypeHierarchy;
+import com.code.java.analyzer.core.config.AnalyzerConfig;
+import com.code.java.analyzer.core.config.GeneratedSourceDetector;
+import com.code.java.analyzer.core.rules.SarifWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 字节码模式：直接扫描编译产物（类目录或 jar）中的调用指令，不再调用 javac 解析 / 标注源码。
+ *
+ * 只执行 {@link BytecodeRule}（禁止调用类规则），其余规则跳过并记录一条提示。
+ * 每个类独立读取、并行判定；问题通过 SourceFile + LineNumberTable 映射回源码行（列固定为 1），
+ * 源文件在 sourceRoots 中查找，路径过滤 / 生成代码跳过与源码模式一致。
+ *
+ * 适合 Maven / Gradle 在 compile 之后执行：编译产物已经存在，省掉一次完整的前端编译。
+ */
+public final class BytecodeAnalyzeFacade {
+
+    private BytecodeAnalyzeFacade() {}
+
+    public static AnalyzeResult analyze(Path projectRoot, List<Path> classRoots, List<Path> sourceRoots,
+                                        List<String> classpath, AnalyzerConfig config) throws IOException {
+        Path root = projectRoot.toAbsolutePath().normalize();
+        RuleEngine engine = RuleEngine.forConfig(config);
+        IssueCollector collector = new IssueCollector(root, config);
+
+        List<BytecodeRule> rules = new ArrayList<>();
+        for (Rule r : engine.rules()) {
+            if (r instanceof BytecodeRule br) rules.add(br);
+        }
+        int skipped = engine.rules().size() - rules.size();
+        if (skipped > 0) {
+            collector.note(new AnalysisNote(AnalysisNote.NOTE, null, null,
+                    "bytecode mode: " + skipped + " rule(s) need source analysis and were skipped"));
+        }
+
+        List<ZipFile> jars = new ArrayList<>();
+        try {
+            analyzeClasses(root, classRoots, sourceRoots, classpath, config, rules, jars, collector);
+        } finally {
+            for (ZipFile jar : jars) {
+                try { jar.close(); } catch (IOException ignore) {}
+            }
+        }
+        for (AnalysisNote n : collector.notes()) {
+            System.out.println("[my-java-analyzer] " + n);
+        }
+        return new AnalyzeResult(collector.issues(), collector.notes());
+    }
+
+    private static void analyzeClasses(Path root, List<Path> classRoots, List<Path> sourceRoots,
+                                       List<String> classpath, AnalyzerConfig config, List<BytecodeRule> rules,
+                                       List<ZipFile> jars, IssueCollector collector) throws IOException {
+        List<ClassFile> classFiles = collectClassFiles(classRoots, jars);
+        System.out.println("[my-java-analyzer] mode=bytecode classFiles=" + classFiles.size()
+                + " rules=" + rules.size());
+        if (classFiles.isEmpty() || rules.isEmpty()) return;
+
+        SourceMapper sources = new SourceMapper(root, sourceRoots, config);
+        List<Hit> found;
+        try (TypeHierarchy types = new TypeHierarchy(classRoots, classpath)) {
+            found = classFiles.parallelStream()
+                    .flatMap(cf -> analyzeClass(cf, rules, types, sources).stream())
+                    .collect(Collectors.toList());
+        }
+
+        // IssueCollector 不是线程安全的：并行判定，按文件 / 行排序后统一上报；
+        // 同一行对同一方法的重复命中（finally 在字节码中会复制多份）只报一次，同一行调用不同方法各报一次
+        found.sort(Comparator.comparing((Hit h) -> h.issue().file()).thenComparingInt(h -> h.issue().startLine())
+                .thenComparing(h -> h.issue().ruleId()).thenComparing(Hit::target));
+        Set<String> seen = new HashSet<>();
+        for (Hit hit : found) {
+            Issue issue = hit.issue();
+            if (seen.add(issue.ruleId() + '|' + issue.file() + '|' + issue.startLine() + '|' + hit.target())) {
+                collector.report(issue);
+            }
+        }
+        GeneratedSourceDetector.notes(sources.generated.stream().sorted().toList()).forEach(collector::note);
+    }
+
+    public static AnalyzeResult run(Path projectRoot, List<Path> classRoots, List<Path> sourceRoots,
+                                    List<String> classpath, Path outSarif, AnalyzerConfig config) throws Exception {
+        AnalyzeResult result = analyze(projectRoot, classRoots, sourceRoots, classpath, config);
+        SarifWriter.write(outSarif, result, "my-java-analyzer", config.sarifSnippets() ? projectRoot : null);
+        return result;
+    }
+
+    /** 一条命中与被调方法（owner.name + 描述符）；字节码没有列号，同一行的命中靠被调方法区分 */
+    private record Hit(Issue issue, String target) {}
+
+    private static List<Hit> analyzeClass(ClassFile cf, List<BytecodeRule> rules, TypeHierarchy types,
+                                          SourceMapper sources) {
+        ClassInfo info;
+        try {
+            info = ClassFileReader.read(cf.bytes(), true);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+        types.register(info);
+
+        String file = sources.fileOf(info);
+        if (file == null) return List.of();
+
+        List<Hit> out = new ArrayList<>();
+        for (Invocation call : info.invocations()) {
+            for (BytecodeRule r : rules) {
+                if (r.matches(call, types)) {
+                    int line = Math.max(1, call.line());
+                    out.add(new Hit(new Issue(r.engineId(), r.id(), r.defaultSeverity(), r.type(),
+                            r.id() + ".message", new Object[0], file, line, 1, line, 1),
+                            call.owner() + '.' + call.name() + call.descriptor()));
+                }
+            }
+        }
+        return out;
+    }
+
+    private static List<ClassFile> collectClassFiles(List<Path> classRoots, List<ZipFile> jars) throws IOException {
+        List<ClassFile> result = new ArrayList<>();
+        for (Path root : classRoots) {
+            Path p = root.toAbsolutePath().normalize();
+            if (Files.isDirectory(p)) {
+                try (Stream<Path> s = Files.walk(p)) {
+                    s.filter(f -> isClassFile(f.getFileName().toString()))
+                            .filter(Files::isRegularFile)
+                            .forEach(f -> result.add(new ClassFile(f, null, null)));
+                }
+            } else if (Files.isRegularFile(p)) {
+                // jar：ZipFile 可被多个线程同时读取
+                ZipFile zip = new ZipFile(p.toFile());
+                jars.add(zip);
+                for (var entries = zip.entries(); entries.hasMoreElements(); ) {
+                    ZipEntry e = entries.nextElement();
+                    if (!e.isDirectory() && isClassFile(e.getName()) && !e.getName().startsWith("META-INF/")) {
+                        result.add(new ClassFile(null, zip, e));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean isClassFile(String name) {
+        return name.endsWith(".class") && !name.endsWith("module-info.class") && !name.endsWith("package-info.class");
+    }
+
+    /** 目录中的 class 文件或 jar 中的条目 */
+    private record ClassFile(Path path, ZipFile zip, ZipEntry entry) {
+
+        byte[] bytes() {
+            try {
+                if (path != null) return Files.readAllBytes(path);
+                try (InputStream in = zip.getInputStream(entry)) {
+                    return in.readAllBytes();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * 类 → 源文件（相对 projectRoot，统一用 '/'）；被排除的文件返回 null。结果按 “包 + 文件名” 缓存。
+     */
+    private static final class SourceMapper {
+        private static final String EXCLUDED = "";
+
+        private final Path projectRoot;
+        private final List<Path> sourceRoots;
+        private final AnalyzerConfig config;
+        private final Map<String, String> cache = new ConcurrentHashMap<>();
+        // 被当作生成代码跳过的源文件
+        final Set<String> generated = ConcurrentHashMap.newKeySet();
+
+        SourceMapper(Path projectRoot, List<Path> sourceRoots, AnalyzerConfig config) {
+            this.projectRoot = projectRoot;
+            this.sourceRoots = sourceRoots.stream().map(p -> p.toAbsolutePath().normalize()).toList();
+            this.config = config;
+        }
+
+        String fileOf(ClassInfo info) {
+            String name = info.name();
+            int slash = name.lastIndexOf('/');
+            String pkg = slash < 0 ? "" : name.substring(0, slash + 1);
+            String sourceFile = info.sourceFile();
+            if (sourceFile == null) {
+                // 没有调试信息：按顶层类名推断
+                String simple = name.substring(slash + 1);
+                int dollar = simple.indexOf('$');
+                sourceFile = (dollar > 0 ? simple.substring(0, dollar) : simple) + ".java";
+            }
+            String result = cache.computeIfAbsent(pkg + sourceFile, this::resolve);
+            return result.isEmpty() ? null : result;
+        }
+
+        private String resolve(String packagePath) {
+            Path source = null;
+            for (Path root : sourceRoots) {
+                Path candidate = root.resolve(packagePath);
+                if (Files.isRegularFile(candidate)) {
+                    source = candidate;
+                    break;
+                }
+            }
+            // 源码不在 sourceRoots 中时退化为包路径
+            String rel = source == null
+                    ? packagePath
+                    : projectRoot.relativize(source).toString().replace('\\', '/');
+            if (!config.isFileIncluded(rel)) return EXCLUDED;
+            if (source != null && config.skipGenerated() && GeneratedSourceDetector.isGenerated(source)) {
+                generated.add(rel);
+                return EXCLUDED;
+            }
+            return rel;
+        }
+    }
+}
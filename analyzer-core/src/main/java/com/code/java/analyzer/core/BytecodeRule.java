@@ -0,0 +1,19 @@
+package com.code.java.analyzer.core;
+
+import com.code.java.analyzer.core.bytecode.Invocation;
+import com.code.java.analyzer.core.bytecode.TypeHierarchy;
+
+/**
+ * 可以直接在编译产物上判定的规则（只看调用指令的 “禁止调用” 类规则）。
+ *
+ * 字节码模式（{@link BytecodeAnalyzeFacade}）只执行实现了本接口的规则；
+ * 源码模式下仍走 {@link #apply}，两种模式的判定应保持一致。
+ */
+public interface BytecodeRule extends Rule {
+
+    /**
+     * @param call  一条调用指令
+     * @param types 用于解析声明类 / 子类型关系
+     */
+    boolean matches(Invocation call, TypeHierarchy types);
+}
@@ -0,0 +1,29 @@
+package com.code.java.analyzer.core;
+
+import java.nio.file.Path;
+
+/**
+ * 本地缓存目录：
+ *   -Dmyanalyzer.cacheDir=/path   指定目录（默认 ~/.cache/code-analyzer）
+ *   -Dmyanalyzer.cache=false      关闭所有持久化缓存
+ */
+public final class CacheDirs {
+
+    private CacheDirs() {}
+
+    public static boolean enabled() {
+        return !"false".equalsIgnoreCase(System.getProperty("myanalyzer.cache", "true").trim());
+    }
+
+    public static Path root() {
+        String dir = System.getProperty("myanalyzer.cacheDir", "").trim();
+        if (!dir.isEmpty()) {
+            return Path.of(dir).toAbsolutePath().normalize();
+        }
+        return Path.of(System.getProperty("user.home"), ".cache", "code-analyzer");
+    }
+
+    public static Path resolve(String name) {
+        return root().resolve(name);
+    }
+}
@@ -0,0 +1,112 @@
+package com.code.java.analyzer.core;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticListener;
+import javax.tools.JavaFileObject;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 有界的 javac 诊断汇总：边收边统计，不保留 Diagnostic 对象（它们引用语法树与源码缓冲区）。
+ *
+ * - 按种类（ERROR / WARNING ...）与诊断码（compiler.err.cant.resolve.location ...）计数
+ * - 含“找不到符号”类错误的文件集合（只存 URI，上限为分析的文件数）
+ * - 前 N 条错误的文本样例
+ *
+ * classpath 不完整时 javac 会产生海量“找不到符号”，{@code DiagnosticCollector} 会把它们全部留在堆里；
+ * 这里的内存只与诊断码种类数、文件数和 N 有关。汇总写入报告的执行提示，用来判断类型相关规则的结果是否可信。
+ */
+public final class DiagnosticSummary implements DiagnosticListener<JavaFileObject> {
+
+    private static final int TOP_CODES = 5;
+
+    private final int maxSamples;
+    private final Map<Diagnostic.Kind, Long> byKind = new EnumMap<>(Diagnostic.Kind.class);
+    private final Map<String, Long> byCode = new HashMap<>();
+    private final Set<URI> unresolvedFiles = new HashSet<>();
+    private final List<Sample> samples = new ArrayList<>();
+
+    private record Sample(URI file, long line, String message) {}
+
+    public DiagnosticSummary(int maxSamples) {
+        this.maxSamples = maxSamples;
+    }
+
+    /** 样例条数：-Dmyanalyzer.diagnostics.samples，默认 10 */
+    public static DiagnosticSummary fromSystemProperties() {
+        return new DiagnosticSummary(Integer.getInteger("myanalyzer.diagnostics.samples", 10));
+    }
+
+    @Override
+    public synchronized void report(Diagnostic<? extends JavaFileObject> d) {
+        byKind.merge(d.getKind(), 1L, Long::sum);
+        String code = d.getCode() == null ? "unknown" : d.getCode();
+        byCode.merge(code, 1L, Long::sum);
+
+        JavaFileObject source = d.getSource();
+        if (source != null && isUnresolved(code)) {
+            unresolvedFiles.add(source.toUri());
+        }
+        if (d.getKind() == Diagnostic.Kind.ERROR && samples.size() < maxSamples) {
+            samples.add(new Sample(source == null ? null : source.toUri(), d.getLineNumber(),
+                    d.getMessage(Locale.ROOT).replaceAll("\\s*\\R\\s*", "; ")));
+        }
+    }
+
+    // 找不到符号 / 包不存在：说明 classpath 缺少依赖
+    private static boolean isUnresolved(String code) {
+        return code.startsWith("compiler.err.cant.resolve") || code.equals("compiler.err.doesnt.exist");
+    }
+
+    public synchronized long count(Diagnostic.Kind kind) {
+        return byKind.getOrDefault(kind, 0L);
+    }
+
+    /**
+     * 转成报告中的执行提示：一条总述（有未解析符号时为 warning），外加错误样例（note，带文件）。
+     *
+     * @param attributed 实际标注过的文件。未解析符号只在标注时产生，占比的分子、分母都只统计这些文件
+     *                   （按需标注、结果缓存与快速失败时未标注的文件不计入）
+     */
+    public synchronized List<AnalysisNote> notes(Set<URI> attributed, Path projectRoot) {
+        List<AnalysisNote> out = new ArrayList<>();
+        if (byKind.isEmpty()) return out;
+
+        int files = attributed.size();
+        long unresolved = unresolvedFiles.stream().filter(attributed::contains).count();
+
+        long errors = count(Diagnostic.Kind.ERROR);
+        long warnings = count(Diagnostic.Kind.WARNING) + count(Diagnostic.Kind.MANDATORY_WARNING);
+        StringBuilder sb = new StringBuilder("javac: ").append(errors).append(" error(s), ")
+                .append(warnings).append(" warning(s)");
+        if (unresolved > 0) {
+            sb.append("; ").append(Math.round(100.0 * unresolved / files)).append("% of attributed files (")
+                    .append(unresolved).append('/').append(files)
+                    .append(") have unresolved symbols, type-aware results are degraded (check --classpath)");
+        }
+        String top = byCode.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(TOP_CODES)
+                .map(e -> e.getKey() + " x" + e.getValue())
+                .collect(Collectors.joining(", "));
+        sb.append("; top codes: ").append(top);
+        out.add(new AnalysisNote(unresolved == 0 ? AnalysisNote.NOTE : AnalysisNote.WARNING,
+                null, null, sb.toString()));
+
+        for (Sample s : samples) {
+            String file = s.file() == null ? null : RuleScanner.relativePath(s.file(), projectRoot);
+            out.add(new AnalysisNote(AnalysisNote.NOTE, null, file,
+                    "javac" + (s.line() > 0 ? " line " + s.line() : "") + ": " + s.message()));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,239 @@
+package com.code.java.analyzer.core;
+
+import com.code.java.analyzer.core.config.AnalyzerConfig;
+import com.code.java.analyzer.core.config.GeneratedSourceDetector;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.Trees;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 编辑器会话（LSP 等交互场景）：一次只分析一个文件，跨请求保持热状态。
+ *
+ * - 规则引擎、javac 文件管理器（classpath 中 jar 的索引）只建一次
+ * - 未保存的缓冲区覆盖磁盘内容：被分析的文件和 -sourcepath 中按需加载的其他文件都读缓冲区
+ * - 自上次分析以来没有任何缓冲区变化、且内容未变的文件直接返回上次结果，不再解析
+ *   （被分析的文件可能依赖其他已打开的文件，任何缓冲区变化都让已缓存的结果失效）
+ *
+ * ProjectRule 需要整个项目，会话中跳过。分析串行执行（synchronized）；update / remove 不等待正在进行的分析，
+ * 可以直接在 LSP 的读循环中调用。
+ */
+public final class EditorSession implements Closeable {
+
+    private final Path projectRoot;
+    private final List<Path> sourceRoots;
+    private final AnalyzerConfig config;
+    private final RuleEngine engine;
+    private final JavaCompiler compiler;
+    private final StandardJavaFileManager standard;
+    private final BufferFileManager fileManager;
+    private final List<String> options = new ArrayList<>();
+
+    // 文件 URI -> 未保存的内容（分析期间也会被 update / remove 修改）
+    private final Map<URI, Buffer> buffers = new ConcurrentHashMap<>();
+    // 文件 URI -> 上次分析时的内容、缓冲区版本与结果
+    private final Map<URI, Cached> results = new ConcurrentHashMap<>();
+    // 缓冲区版本：每次缓冲区变化加一
+    private final AtomicLong generation = new AtomicLong();
+
+    public EditorSession(Path projectRoot, List<Path> sourceRoots, List<String> classpath, AnalyzerConfig config) {
+        this.projectRoot = projectRoot.toAbsolutePath().normalize();
+        this.sourceRoots = sourceRoots.stream().map(p -> p.toAbsolutePath().normalize()).toList();
+        this.config = config;
+        this.engine = RuleEngine.forConfig(config);
+
+        this.compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No system Java compiler found. Please run with a JDK (not JRE).");
+        }
+        this.standard = compiler.getStandardFileManager(null, Locale.ROOT, StandardCharsets.UTF_8);
+        this.fileManager = new BufferFileManager(standard);
+
+        options.add("-proc:none");
+        options.add("--release");
+        options.add("17");
+        options.add("-Xlint:none");
+        options.add("-XDshouldStopPolicy=GENERATE");
+        if (classpath != null && !classpath.isEmpty()) {
+            options.add("-classpath");
+            options.add(String.join(File.pathSeparator, classpath));
+        }
+        options.add("-sourcepath");
+        options.add(this.sourceRoots.stream().map(Path::toString).collect(Collectors.joining(File.pathSeparator)));
+    }
+
+    public Path projectRoot() {
+        return projectRoot;
+    }
+
+    /** 打开 / 修改文件：记录编辑器中的内容 */
+    public void update(Path file, String text) {
+        URI uri = file.toAbsolutePath().normalize().toUri();
+        Buffer old = buffers.put(uri, new Buffer(uri, text));
+        if (old == null || !old.text.equals(text)) generation.incrementAndGet();
+    }
+
+    /** 关闭文件：之后以磁盘内容为准 */
+    public void remove(Path file) {
+        URI uri = file.toAbsolutePath().normalize().toUri();
+        if (buffers.remove(uri) != null) generation.incrementAndGet();
+        results.remove(uri);
+    }
+
+    /**
+     * 分析一个文件（有缓冲区时用缓冲区内容）。被配置排除、生成代码或读不到的文件返回空结果。
+     */
+    public synchronized AnalyzeResult analyze(Path file) throws IOException {
+        Path path = file.toAbsolutePath().normalize();
+        URI uri = path.toUri();
+
+        String rel = path.startsWith(projectRoot) ? projectRoot.relativize(path).toString() : path.toString();
+        if (!config.isFileIncluded(rel)) return AnalyzeResult.empty();
+
+        // 先取版本：分析期间的修改会让这次的结果在下次请求时失效
+        long version = generation.get();
+        Buffer buffer = buffers.get(uri);
+        if (buffer == null) {
+            if (!Files.isRegularFile(path)) return AnalyzeResult.empty();
+            if (config.skipGenerated() && GeneratedSourceDetector.isGenerated(path)) {
+                return new AnalyzeResult(List.of(), GeneratedSourceDetector.notes(List.of(rel.replace('\\', '/'))));
+            }
+            buffer = new Buffer(uri, Files.readString(path, StandardCharsets.UTF_8));
+        }
+
+        Cached cached = results.get(uri);
+        if (cached != null && cached.generation() == version && cached.text().equals(buffer.text)) {
+            return cached.result();
+        }
+
+        AnalyzeResult result = analyze(buffer);
+        results.put(uri, new Cached(buffer.text, version, result));
+        return result;
+    }
+
+    private AnalyzeResult analyze(Buffer unit) {
+        IssueCollector collector = new IssueCollector(projectRoot, config);
+        JavacTask task = (JavacTask) compiler.getTask(null, fileManager, d -> {}, options, null, List.of(unit));
+
+        List<CompilationUnitTree> asts = new ArrayList<>();
+        try {
+            for (CompilationUnitTree cu : task.parse()) asts.add(cu);
+        } catch (IOException e) {
+            collector.note(new AnalysisNote(AnalysisNote.ERROR, null, null, "parse failed: " + e));
+            return new AnalyzeResult(collector.issues(), collector.notes());
+        }
+        try {
+            task.analyze();
+        } catch (Throwable ignore) {
+            // 编辑中的代码经常不完整，语义失败也继续
+        }
+
+        try (RuleEngine.Session session = engine.openSession(Trees.instance(task), collector, config.budgets())) {
+            for (CompilationUnitTree cu : asts) {
+                try {
+                    session.analyze(cu);
+                } catch (RuntimeException ex) {
+                    collector.note(new AnalysisNote(AnalysisNote.ERROR, null,
+                            RuleScanner.relativePath(cu, projectRoot), "analysis failed: " + ex));
+                }
+            }
+        }
+        return new AnalyzeResult(collector.issues(), collector.notes());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffers.clear();
+        results.clear();
+        standard.close();
+    }
+
+    private record Cached(String text, long generation, AnalyzeResult result) {}
+
+    /** 编辑器缓冲区，URI 与磁盘文件一致，报告中的路径不变 */
+    private static final class Buffer extends SimpleJavaFileObject {
+        final String text;
+
+        Buffer(URI uri, String text) {
+            super(uri, Kind.SOURCE);
+            this.text = text;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return text;
+        }
+    }
+
+    /** -sourcepath 中已打开的文件换成缓冲区，其余委托给标准文件管理器 */
+    private final class BufferFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+        BufferFileManager(StandardJavaFileManager delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Iterable<JavaFileObject> list(Location location, String packageName, Set<JavaFileObject.Kind> kinds,
+                                             boolean recurse) throws IOException {
+            Iterable<JavaFileObject> files = super.list(location, packageName, kinds, recurse);
+            if (location != StandardLocation.SOURCE_PATH || buffers.isEmpty()) return files;
+            List<JavaFileObject> out = new ArrayList<>();
+            for (JavaFileObject f : files) {
+                Buffer b = f.getKind() == JavaFileObject.Kind.SOURCE ? buffers.get(f.toUri()) : null;
+                out.add(b != null ? b : f);
+            }
+            return out;
+        }
+
+        @Override
+        public String inferBinaryName(Location location, JavaFileObject file) {
+            if (!(file instanceof Buffer)) return super.inferBinaryName(location, file);
+            Path path = Path.of(file.toUri());
+            for (Path root : sourceRoots) {
+                if (path.startsWith(root)) {
+                    String rel = root.relativize(path).toString();
+                    return rel.substring(0, rel.length() - ".java".length()).replace(File.separatorChar, '.');
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean isSameFile(FileObject a, FileObject b) {
+            if (a instanceof Buffer || b instanceof Buffer) return a.toUri().equals(b.toUri());
+            return super.isSameFile(a, b);
+        }
+
+        @Override
+        public boolean contains(Location location, FileObject fo) throws IOException {
+            if (fo instanceof Buffer) {
+                Path path = Path.of(fo.toUri());
+                return location == StandardLocation.SOURCE_PATH && sourceRoots.stream().anyMatch(path::startsWith);
+            }
+            return super.contains(location, fo);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.code.java.analyzer.core;
 
 import java.util.Arrays;
+import java.util.List;
 
 public final class Issue {
     private final String engineId;
@@ -19,6 +20,9 @@ public final class Issue {
     private final int endLine;
     private final int endCol;
 
+    // 相关位置（例如重复代码的另一处），可为空
+    private final List<Location> related;
+
     // 兼容旧构造：不带 args
     public Issue(String engineId, String ruleId, String severity, String type,
                  String message, String file,
@@ -30,6 +34,14 @@ public final class Issue {
     public Issue(String engineId, String ruleId, String severity, String type,
                  String message, Object[] messageArgs, String file,
                  int startLine, int startCol, int endLine, int endCol) {
+        this(engineId, ruleId, severity, type, message, messageArgs, file, startLine, startCol, endLine, endCol,
+                List.of());
+    }
+
+    // 带相关位置
+    public Issue(String engineId, String ruleId, String severity, String type,
+                 String message, Object[] messageArgs, String file,
+                 int startLine, int startCol, int endLine, int endCol, List<Location> related) {
         this.engineId = engineId;
         this.ruleId = ruleId;
         this.severity = severity;
@@ -41,6 +53,7 @@ public final class Issue {
         this.startCol = startCol;
         this.endLine = endLine;
         this.endCol = endCol;
+        this.related = related == null ? List.of() : List.copyOf(related);
     }
 
     public String engineId() { return engineId; }
@@ -57,4 +70,20 @@ public final class Issue {
     public int startCol() { return startCol; }
     public int endLine() { return endLine; }
     public int endCol() { return endCol; }
+    public List<Location> related() { return related; }
+
+    // 配置覆盖 severity 时使用
+    public Issue withSeverity(String newSeverity) {
+        return new Issue(engineId, ruleId, newSeverity, type, message, messageArgs, file,
+                startLine, startCol, endLine, endCol, related);
+    }
+
+    // 规则补充相关位置时使用
+    public Issue withRelated(List<Location> newRelated) {
+        return new Issue(engineId, ruleId, severity, type, message, messageArgs, file,
+                startLine, startCol, endLine, endCol, newRelated);
+    }
+
+    /** 源码中的一段区域（行列从 1 开始，路径相对 projectRoot） */
+    public record Location(String file, int startLine, int startCol, int endLine, int endCol) {}
 }
@@ -1,5 +1,7 @@
 package com.code.java.analyzer.core;
 
+import com.code.java.analyzer.core.config.AnalyzerConfig;
+
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -7,15 +9,66 @@ import java.util.List;
 
 public final class IssueCollector {
     private final Path projectRoot;
+    private final AnalyzerConfig config;
     private final List<Issue> issues = new ArrayList<>();
+    private final List<AnalysisNote> notes = new ArrayList<>();
+    private List<Issue> recording;
+
+    // 快速失败门禁：计入门禁的问题数；停止分析后结果不完整
+    private int blocking;
+    private boolean incomplete;
 
     public IssueCollector(Path projectRoot) {
+        this(projectRoot, AnalyzerConfig.defaults());
+    }
+
+    public IssueCollector(Path projectRoot, AnalyzerConfig config) {
         this.projectRoot = projectRoot;
+        this.config = config;
     }
 
     public Path projectRoot() { return projectRoot; }
 
-    public void report(Issue issue) { issues.add(issue); }
+    public AnalyzerConfig config() { return config; }
+
+    // 规则级配置（severity 覆盖、路径范围）在上报时统一生效
+    public void report(Issue issue) {
+        if (recording != null) recording.add(issue);
+        Issue effective = config.apply(issue);
+        if (effective != null) {
+            issues.add(effective);
+            if (config.failFast().isBlocking(effective)) blocking++;
+        }
+    }
+
+    // 记录配置生效前的原始 Issue（结果缓存存原始值，恢复时再经 report 应用配置）
+    public void startRecording() { recording = new ArrayList<>(); }
+
+    public List<Issue> stopRecording() {
+        List<Issue> r = recording == null ? List.of() : recording;
+        recording = null;
+        return r;
+    }
 
     public List<Issue> issues() { return List.copyOf(issues); }
+
+    public int issueCount() { return issues.size(); }
+
+    public void note(AnalysisNote note) { notes.add(note); }
+
+    /** 越过快速失败门禁后引擎不再分析剩余的文件 / 规则 */
+    public boolean gateTripped() {
+        return config.failFast().enabled() && blocking > config.failFast().maxIssues();
+    }
+
+    public boolean incomplete() { return incomplete; }
+
+    /** 标记结果不完整（只记录第一次的原因） */
+    public void markIncomplete(String reason) {
+        if (incomplete) return;
+        incomplete = true;
+        notes.add(new AnalysisNote(AnalysisNote.ERROR, null, null, reason));
+    }
+
+    public List<AnalysisNote> notes() { return List.copyOf(notes); }
 }
@@ -1,5 +1,10 @@
 package com.code.java.analyzer.core;
 
+import com.code.java.analyzer.core.config.AnalyzerConfig;
+import com.code.java.analyzer.core.config.GeneratedSourceDetector;
+import com.code.java.analyzer.core.events.AnalyzerPhaseEvent;
+import com.code.java.analyzer.core.events.CompilerEventListener;
+import com.code.java.analyzer.core.events.Events;
 import com.code.java.analyzer.core.rules.SarifWriter;
 import com.sun.source.tree.CompilationUnitTree;
 import com.sun.source.util.JavacTask;
@@ -11,6 +16,7 @@ import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 import java.io.File;
 import java.io.IOException;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.*;
@@ -28,29 +34,39 @@ public final class JavacAnalyzeFacade {
      * 1) CLI：零侵入
      * ========================= */
     public static AnalyzeResult analyzeForCli(Path projectRoot, Path srcDir, String classpath) throws Exception {
+        return analyzeForCli(projectRoot, srcDir, classpath, AnalyzerConfig.discover(projectRoot));
+    }
+
+    public static AnalyzeResult analyzeForCli(Path projectRoot, Path srcDir, String classpath,
+                                              AnalyzerConfig config) throws Exception {
         List<Path> srcDirs = List.of(srcDir);
         List<String> cp = splitClasspath(classpath);
 
-        RuleEngine engine = RuleEngine.defaultRules();
-        IssueCollector collector = new IssueCollector(projectRoot);
+        RuleEngine engine = RuleEngine.forConfig(config);
+        IssueCollector collector = new IssueCollector(projectRoot, config);
 
-        analyzeInternal(projectRoot, srcDirs, cp, engine, collector);
+        analyzeInternal(projectRoot, srcDirs, List.of(), cp, config, engine, collector, true);
 
-        return new AnalyzeResult(collector.issues());
+        return new AnalyzeResult(collector.issues(), collector.notes(), collector.incomplete());
     }
 
     /* =========================
      * 2) Maven Plugin：项目内
      * ========================= */
     public static AnalyzeResult analyzeForMaven(Path projectRoot, List<String> sourceRoots, List<String> classpath) throws Exception {
+        return analyzeForMaven(projectRoot, sourceRoots, classpath, AnalyzerConfig.discover(projectRoot));
+    }
+
+    public static AnalyzeResult analyzeForMaven(Path projectRoot, List<String> sourceRoots, List<String> classpath,
+                                                AnalyzerConfig config) throws Exception {
         List<Path> srcDirs = sourceRoots.stream().map(Path::of).collect(Collectors.toList());
 
-        RuleEngine engine = RuleEngine.defaultRules();
-        IssueCollector collector = new IssueCollector(projectRoot);
+        RuleEngine engine = RuleEngine.forConfig(config);
+        IssueCollector collector = new IssueCollector(projectRoot, config);
 
-        analyzeInternal(projectRoot, srcDirs, classpath, engine, collector);
+        analyzeInternal(projectRoot, srcDirs, List.of(), classpath, config, engine, collector, true);
 
-        return new AnalyzeResult(collector.issues());
+        return new AnalyzeResult(collector.issues(), collector.notes(), collector.incomplete());
     }
 
     /* =========================
@@ -58,28 +74,102 @@ public final class JavacAnalyzeFacade {
      *    建议后续 Mojo 改用 analyzeForMaven，但现在先保留不破坏你已跑通的路径。
      * ========================= */
     public static AnalyzeResult run(Path projectRoot, List<String> sourceRoots, List<String> classpath, Path outSarif) throws Exception {
-        AnalyzeResult result = analyzeForMaven(projectRoot, sourceRoots, classpath);
-        SarifWriter.write(outSarif, result.issues(), "my-java-analyzer");
+        return run(projectRoot, sourceRoots, classpath, outSarif, AnalyzerConfig.discover(projectRoot));
+    }
+
+    public static AnalyzeResult run(Path projectRoot, List<String> sourceRoots, List<String> classpath, Path outSarif,
+                                    AnalyzerConfig config) throws Exception {
+        AnalyzeResult result = analyzeForMaven(projectRoot, sourceRoots, classpath, config);
+        SarifWriter.write(outSarif, result, "my-java-analyzer", config.sarifSnippets() ? projectRoot : null);
         return result;
     }
 
+    /* =========================
+     * 4) 仓库模式：多个模块共用一个规则引擎并行分析
+     *    sourcepath 为仓库内其他模块的源码目录，只供类型解析按需加载，不分析
+     * ========================= */
+    public static AnalyzeResult analyzeModule(Path projectRoot, List<Path> sourceRoots, List<Path> sourcepath,
+                                              List<String> classpath, AnalyzerConfig config, RuleEngine engine)
+            throws Exception {
+        IssueCollector collector = new IssueCollector(projectRoot, config);
+        analyzeInternal(projectRoot, sourceRoots, sourcepath, classpath, config, engine, collector, true);
+        return new AnalyzeResult(collector.issues(), collector.notes(), collector.incomplete());
+    }
+
+    /* =========================
+     * 5) 规则测试 / 基准：不读写结果缓存，每条规则都在每个文件上实际执行
+     * ========================= */
+    public static AnalyzeResult analyzeUncached(Path projectRoot, List<Path> sourceRoots, List<String> classpath,
+                                                AnalyzerConfig config, RuleEngine engine) throws Exception {
+        IssueCollector collector = new IssueCollector(projectRoot, config);
+        analyzeInternal(projectRoot, sourceRoots, List.of(), classpath, config, engine, collector, false);
+        return new AnalyzeResult(collector.issues(), collector.notes(), collector.incomplete());
+    }
+
     /* =========================
      * 核心实现：唯一
      * ========================= */
     private static void analyzeInternal(
             Path projectRoot,
             List<Path> srcDirs,
+            List<Path> sourcepath,
             List<String> classpath,
+            AnalyzerConfig config,
             RuleEngine engine,
-            IssueCollector collector
+            IssueCollector collector,
+            boolean resultCache
     ) throws Exception {
 
         projectRoot = projectRoot.toAbsolutePath().normalize();
 
-        // 1) 收集 .java
-        List<Path> javaFiles = collectJavaFiles(srcDirs);
+        if (config.source() != null) {
+            System.out.println("[my-java-analyzer] config=" + config.source()
+                    + (config.activeProfile() == null ? "" : " profile=" + config.activeProfile()));
+        }
+
+        // 源码归档（-sources.jar / zip）以 zip 文件系统挂载：条目直接交给 javac 读取，不解压到磁盘
+        List<FileSystem> archives = new ArrayList<>();
+        try {
+            List<Path> roots = new ArrayList<>();
+            for (Path dir : srcDirs) {
+                if (isArchive(dir)) {
+                    FileSystem fs = FileSystems.newFileSystem(dir);
+                    archives.add(fs);
+                    roots.add(fs.getPath("/"));
+                } else {
+                    roots.add(dir);
+                }
+            }
+            analyzeRoots(projectRoot, srcDirs, roots, sourcepath, classpath, config, engine, collector, resultCache);
+        } finally {
+            for (FileSystem fs : archives) {
+                try { fs.close(); } catch (IOException ignore) {}
+            }
+        }
+    }
+
+    private static void analyzeRoots(
+            Path projectRoot,
+            List<Path> srcDirs,
+            List<Path> roots,
+            List<Path> sourcepath,
+            List<String> classpath,
+            AnalyzerConfig config,
+            RuleEngine engine,
+            IssueCollector collector,
+            boolean resultCache
+    ) throws Exception {
+
+        // 1) 收集 .java（被排除的文件不进入解析，但仍在 -sourcepath 中供类型解析按需加载）
+        AnalyzerPhaseEvent discover = phase("discover");
+        List<Path> javaFiles = collectJavaFiles(projectRoot, roots, config, collector);
+        commit(discover, javaFiles.size());
         System.out.println("[my-java-analyzer] javaFiles=" + javaFiles.size());
         if (javaFiles.isEmpty()) return;
+        if (engine.rules().isEmpty()) {
+            System.out.println("[my-java-analyzer] no rules enabled, skip");
+            return;
+        }
 
         System.out.println("[my-java-analyzer] rules=" + engine.rules().size());
 
@@ -89,7 +179,8 @@ public final class JavacAnalyzeFacade {
         }
 
         // ✅ 关键：把诊断收集起来（你现在传 null，javac 的 stop 行为不可控）
-        var diagnostics = new javax.tools.DiagnosticCollector<JavaFileObject>();
+        // 只计数 + 保留少量样例，classpath 不全时“找不到符号”不会堆满内存
+        DiagnosticSummary diagnostics = DiagnosticSummary.fromSystemProperties();
 
         StandardJavaFileManager fileManager =
                 compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8);
@@ -111,8 +202,9 @@ public final class JavacAnalyzeFacade {
                 options.add(String.join(File.pathSeparator, classpath));
             }
 
+            // 归档本身也可以直接放在 -sourcepath 中
             options.add("-sourcepath");
-            options.add(srcDirs.stream()
+            options.add(Stream.concat(srcDirs.stream(), sourcepath.stream())
                     .map(p -> p.toAbsolutePath().normalize().toString())
                     .collect(Collectors.joining(File.pathSeparator)));
 
@@ -124,34 +216,63 @@ public final class JavacAnalyzeFacade {
                     null,
                     units
             );
+            // JFR：逐文件解析 / 逐类标注事件（JFR 未启动时不注册）
+            if (Events.enabled()) task.addTaskListener(new CompilerEventListener(projectRoot));
 
             Iterable<? extends CompilationUnitTree> asts;
+            AnalyzerPhaseEvent parse = phase("parse");
             try {
                 asts = task.parse();
             } catch (Throwable t) {
                 // parse 都失败的话，至少把诊断打出来，便于定位
-                diagnostics.getDiagnostics().forEach(d -> System.err.println(d));
+                diagnostics.notes(Set.of(), projectRoot).forEach(System.err::println);
                 throw t;
             }
 
             // ✅ 打印 asts 是否为空（可先保留，稳定后再删）
             int astCount = 0;
             for (CompilationUnitTree ignored : asts) astCount++;
+            commit(parse, astCount);
             System.out.println("[my-java-analyzer] asts=" + astCount);
 
+            Trees trees = Trees.instance(task);
+
+            // 结果缓存：文件内容、规则集与 classpath 都未变的文件直接复用逐文件结果
+            ResultStore store = resultCache ? ResultStore.open(engine.rules(), classpath, projectRoot) : null;
+            Map<CompilationUnitTree, List<Issue>> cached = store == null ? Map.of() : store.lookup(asts);
+
+            // 2) 标注：规则都声明了触发名时只标注候选顶层类，否则整体标注；命中缓存的文件按需跳过。
+            //    快速失败时不预先标注，由引擎分批标注、随即执行规则，门禁触发后剩余文件不再标注
+            AnalyzerPhaseEvent attribute = phase("attribute");
+            AttributionPlanner.Plan plan = null;
+            // 实际执行的标注计划；null 表示整体标注（全部编译单元）
+            AttributionPlanner.Plan attributed = null;
             try {
-                task.analyze();
+                if (config.failFast().enabled()) {
+                    System.out.println("[my-java-analyzer] fail-fast gate: " + config.failFast());
+                    plan = AttributionPlanner.plan(task, asts, trees, engine.rules(), cached.keySet());
+                    if (plan == null) task.analyze();
+                    attributed = plan;
+                } else {
+                    attributed = AttributionPlanner.attributeCandidates(task, asts, trees, engine.rules(), cached.keySet());
+                    if (attributed == null) task.analyze();
+                }
             } catch (Throwable ignore) {
                 // 语义失败也继续
             }
-
-            Trees trees = Trees.instance(task);
-
-            // 3) 执行规则
-            engine.execute(asts, trees, collector);
-
-            // ✅ 可选：把编译诊断也打出来（不影响规则输出）
-            // diagnostics.getDiagnostics().forEach(d -> System.err.println(d));
+            commit(attribute, astCount - cached.size());
+            if (plan == null) diagnostics.notes(attributedFiles(asts, attributed), projectRoot).forEach(collector::note);
+
+            // 3) 执行规则（按配置的时间预算逐文件执行）
+            AnalyzerPhaseEvent rules = phase("rules");
+            engine.execute(asts, trees, collector, config.budgets(), store, cached, plan);
+            commit(rules, astCount);
+            // 快速失败时边执行边标注，执行结束后才知道标注了哪些文件
+            if (plan != null) diagnostics.notes(attributedFiles(asts, plan), projectRoot).forEach(collector::note);
+            if (store != null) store.finish();
+            for (AnalysisNote n : collector.notes()) {
+                System.out.println("[my-java-analyzer] " + n);
+            }
 
         } finally {
             try { fileManager.close(); } catch (IOException ignore) {}
@@ -159,22 +280,94 @@ public final class JavacAnalyzeFacade {
     }
 
 
-    private static List<Path> collectJavaFiles(List<Path> roots) throws IOException {
+    // 实际标注过的编译单元（plan 为 null 时为整体标注，即全部）
+    private static Set<URI> attributedFiles(Iterable<? extends CompilationUnitTree> asts,
+                                                     AttributionPlanner.Plan plan) {
+        Set<URI> out = new HashSet<>();
+        for (CompilationUnitTree cu : asts) {
+            if (plan == null || plan.isAttributed(cu)) out.add(cu.getSourceFile().toUri());
+        }
+        return out;
+    }
+
+    private static AnalyzerPhaseEvent phase(String name) {
+        if (!Events.enabled()) return null;
+        AnalyzerPhaseEvent event = new AnalyzerPhaseEvent();
+        event.phase = name;
+        event.begin();
+        return event;
+    }
+
+    private static void commit(AnalyzerPhaseEvent event, int files) {
+        if (event == null) return;
+        event.files = files;
+        event.commit();
+    }
+
+    private static List<Path> collectJavaFiles(Path projectRoot, List<Path> roots, AnalyzerConfig config,
+                                               IssueCollector collector) throws IOException {
         List<Path> result = new ArrayList<>();
+        int excluded = 0;
+        List<String> generated = new ArrayList<>();
         for (Path root : roots) {
             if (root == null) continue;
             Path dir = root.toAbsolutePath().normalize();
             if (!Files.isDirectory(dir)) continue;
 
+            List<Path> found;
             try (Stream<Path> s = Files.walk(dir)) {
-                s.filter(Files::isRegularFile)
-                        .filter(p -> p.toString().endsWith(".java"))
-                        .forEach(result::add);
+                found = s.filter(p -> p.toString().endsWith(".java"))
+                        .filter(Files::isRegularFile)
+                        .collect(Collectors.toList());
             }
+
+            for (Path p : found) {
+                // 1) 路径过滤（相对 projectRoot；项目外的源码目录用绝对路径；归档条目为 “归档!/条目”）
+                String rel;
+                if (p.getFileSystem() != FileSystems.getDefault()) {
+                    rel = RuleScanner.relativePath(p.toUri(), projectRoot);
+                } else {
+                    rel = p.startsWith(projectRoot)
+                            ? projectRoot.relativize(p).toString()
+                            : p.toString();
+                }
+                if (!config.isFileIncluded(rel)) {
+                    excluded++;
+                    continue;
+                }
+                // 2) 生成代码：只嗅探文件头
+                if (config.skipGenerated() && GeneratedSourceDetector.isGenerated(p)) {
+                    generated.add(rel.replace('\\', '/'));
+                    continue;
+                }
+                result.add(p);
+            }
+        }
+        if (excluded > 0 || !generated.isEmpty()) {
+            System.out.println("[my-java-analyzer] skipped excluded=" + excluded + " generated=" + generated.size());
+        }
+        // 被当作生成代码跳过的文件逐个记入执行提示，误判时一眼可见
+        GeneratedSourceDetector.notes(generated).forEach(collector::note);
+        // 快速失败：最近修改的文件先分析，改动引入的问题最先暴露
+        if (config.failFast().enabled()) {
+            Map<Path, Long> mtimes = new HashMap<>();
+            for (Path p : result) {
+                try {
+                    mtimes.put(p, Files.getLastModifiedTime(p).toMillis());
+                } catch (IOException e) {
+                    mtimes.put(p, 0L);
+                }
+            }
+            result.sort(Comparator.comparing((Path p) -> mtimes.get(p)).reversed());
         }
         return result;
     }
 
+    private static boolean isArchive(Path p) {
+        String name = p.getFileName() == null ? "" : p.getFileName().toString().toLowerCase(Locale.ROOT);
+        return (name.endsWith(".jar") || name.endsWith(".zip")) && Files.isRegularFile(p);
+    }
+
     private static List<String> splitClasspath(String cp) {
         if (cp == null || cp.isBlank()) return List.of();
         String[] parts = cp.split(java.util.regex.Pattern.quote(File.pathSeparator));
@@ -0,0 +1,150 @@
+package com.code.java.analyzer.core;
+
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.DoWhileLoopTree;
+import com.sun.source.tree.EnhancedForLoopTree;
+import com.sun.source.tree.ForLoopTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.WhileLoopTree;
+import com.sun.source.util.Trees;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 记录循环嵌套深度的扫描器：性能类规则只在循环中上报，严重级别随深度提升。
+ *
+ * 深度只统计循环体（for 的初始化部分、foreach 的集合表达式执行一次，不计入）；
+ * 进入方法、类、lambda 时重新从 0 计（其中的代码不一定在外层循环中执行）。
+ *
+ * 严重级别：深度 1 为规则的 defaultSeverity，每深一层升一级，最高 CRITICAL。
+ */
+public abstract class LoopScanner extends RuleScanner {
+
+    /** 循环结点（供 {@link Rule#triggerKinds()} 使用） */
+    public static final Set<Tree.Kind> LOOPS = Set.of(
+            Tree.Kind.FOR_LOOP, Tree.Kind.ENHANCED_FOR_LOOP, Tree.Kind.WHILE_LOOP, Tree.Kind.DO_WHILE_LOOP);
+
+    private static final List<String> LADDER = List.of("INFO", "MINOR", "MAJOR", "CRITICAL");
+
+    private int depth;
+
+    protected LoopScanner(Rule rule, Trees trees, IssueCollector collector) {
+        super(rule, trees, collector);
+    }
+
+    /** 当前节点所在的循环嵌套深度（0 表示不在循环中） */
+    protected int loopDepth() {
+        return depth;
+    }
+
+    @Override
+    public Void visitForLoop(ForLoopTree node, Void p) {
+        scan(node.getInitializer(), p);
+        depth++;
+        try {
+            scan(node.getCondition(), p);
+            scan(node.getUpdate(), p);
+            scan(node.getStatement(), p);
+        } finally {
+            depth--;
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitEnhancedForLoop(EnhancedForLoopTree node, Void p) {
+        scan(node.getExpression(), p);
+        depth++;
+        try {
+            scan(node.getVariable(), p);
+            scan(node.getStatement(), p);
+        } finally {
+            depth--;
+        }
+        return null;
+    }
+
+    @Override
+    public Void visitWhileLoop(WhileLoopTree node, Void p) {
+        depth++;
+        try {
+            return super.visitWhileLoop(node, p);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public Void visitDoWhileLoop(DoWhileLoopTree node, Void p) {
+        depth++;
+        try {
+            return super.visitDoWhileLoop(node, p);
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public Void visitMethod(MethodTree node, Void p) {
+        int saved = depth;
+        depth = 0;
+        try {
+            return super.visitMethod(node, p);
+        } finally {
+            depth = saved;
+        }
+    }
+
+    @Override
+    public Void visitClass(ClassTree node, Void p) {
+        int saved = depth;
+        depth = 0;
+        try {
+            return super.visitClass(node, p);
+        } finally {
+            depth = saved;
+        }
+    }
+
+    @Override
+    public Void visitLambdaExpression(LambdaExpressionTree node, Void p) {
+        int saved = depth;
+        depth = 0;
+        try {
+            return super.visitLambdaExpression(node, p);
+        } finally {
+            depth = saved;
+        }
+    }
+
+    /**
+     * 按当前循环深度上报：severity 随深度提升，消息参数末尾追加深度
+     */
+    protected void reportInLoop(Tree where, String messageKey, Object... args) {
+        CompilationUnitTree cu = getCurrentPath().getCompilationUnit();
+        collector.report(issueInLoop(rule, cu, where, trees, collector.projectRoot(), depth, messageKey, args));
+    }
+
+    /**
+     * 同 {@link #issueAt}，按给定循环深度设置 severity 并在消息参数末尾追加深度（扫描结束后集中上报时使用）
+     */
+    public static Issue issueInLoop(Rule r, CompilationUnitTree cu, Tree where, Trees trees, Path projectRoot,
+                                    int loopDepth, String messageKey, Object... args) {
+        Object[] withDepth = Arrays.copyOf(args, args.length + 1);
+        withDepth[args.length] = loopDepth;
+        return issueAt(r, cu, where, trees, projectRoot, messageKey, withDepth)
+                .withSeverity(severityAt(r.defaultSeverity(), loopDepth));
+    }
+
+    public static String severityAt(String base, int loopDepth) {
+        int idx = LADDER.indexOf(base);
+        if (idx < 0 || loopDepth <= 1) return base;
+        return LADDER.get(Math.min(LADDER.size() - 1, idx + loopDepth - 1));
+    }
+}
@@ -0,0 +1,311 @@
+package com.code.java.analyzer.core;
+
+import com.code.java.analyzer.core.bytecode.Invocation;
+import com.code.java.analyzer.core.bytecode.TypeHierarchy;
+import com.sun.source.tree.AnnotatedTypeTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.ParameterizedTypeTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Name;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于符号解析的方法调用匹配器：按 “声明类型 + 方法名 + 参数签名” 匹配。
+ *
+ * <pre>
+ *   MethodMatcher SLEEP = MethodMatcher.of("java.lang.Thread", "sleep").build();
+ *   if (SLEEP.matches(node, getCurrentPath(), trees)) { ... }
+ * </pre>
+ *
+ * 匹配顺序：
+ *   1) 先比较方法名（按 Name 实例缓存，稳定后无分配，绝大多数调用在这里被淘汰）
+ *   2) 再用 {@link Trees#getElement} 解析出方法符号，按声明类型 / 参数签名判定
+ *   3) 判定结果按 Element 缓存（同一个方法符号在每个线程中只判定一次）
+ *
+ * 如果语义分析失败（classpath 不全等）拿不到符号，则退化为语法匹配：
+ * 比较接收者的简单名（例如 Thread.sleep 中的 Thread），保持与旧实现一致的召回。
+ *
+ * 字节码模式下用 {@link #matches(Invocation, TypeHierarchy)} 按调用指令判定，语义相同。
+ */
+public final class MethodMatcher {
+
+    private final String ownerType;
+    private final String ownerSimpleName;
+    private final String methodName;
+    private final List<String> parameterTypes; // null = 任意参数
+    private final boolean includeSubtypes;
+    private final boolean anyReceiverWhenUnresolved;
+
+    private final NameLookup<Boolean> methodNameLookup;
+    private final NameLookup<Boolean> ownerNameLookup;
+
+    // isField 的字段名 / 类型名 -> 按 Name 实例缓存的比较（与方法名相同的做法，稳定后无分配）
+    private static final Map<String, NameLookup<Boolean>> NAMES = new ConcurrentHashMap<>();
+
+    // Element -> 是否匹配；Symbol 的 equals 即同一性，弱引用避免跨编译任务泄漏；每个线程一张表，并行分析时不争用锁
+    private final ThreadLocal<Map<Element, Boolean>> cache = ThreadLocal.withInitial(WeakHashMap::new);
+
+    private MethodMatcher(Builder b) {
+        this.ownerType = b.ownerType;
+        this.ownerSimpleName = ownerType.substring(ownerType.lastIndexOf('.') + 1);
+        this.methodName = b.methodName;
+        this.parameterTypes = b.parameterTypes;
+        this.includeSubtypes = b.includeSubtypes;
+        this.anyReceiverWhenUnresolved = b.anyReceiverWhenUnresolved;
+        this.methodNameLookup = NameLookup.equalTo(methodName);
+        this.ownerNameLookup = NameLookup.equalTo(ownerSimpleName);
+    }
+
+    /**
+     * @param ownerType  声明方法的类型全限定名，例如 "java.lang.Thread"
+     * @param methodName 方法名，例如 "sleep"
+     */
+    public static Builder of(String ownerType, String methodName) {
+        return new Builder(ownerType, methodName);
+    }
+
+    /**
+     * 构造器匹配：new ownerType(...)
+     */
+    public static Builder constructor(String ownerType) {
+        return new Builder(ownerType, "<init>");
+    }
+
+    public String ownerType() { return ownerType; }
+    public String methodName() { return methodName; }
+
+    /**
+     * 判断调用是否命中。
+     *
+     * @param node 方法调用节点
+     * @param path 指向 node 的路径（TreePathScanner 中即 getCurrentPath()）
+     */
+    public boolean matches(MethodInvocationTree node, TreePath path, Trees trees) {
+        ExpressionTree select = node.getMethodSelect();
+        Name name = invokedName(select);
+        if (name == null || !methodNameLookup.get(name)) {
+            return false;
+        }
+
+        // 调用节点的符号即被调方法（无需再为 methodSelect 构造 TreePath）
+        Element e = trees.getElement(path);
+        if (e == null || e.asType() == null || e.asType().getKind() == TypeKind.ERROR) {
+            return matchesSyntactically(select);
+        }
+        return matches(e);
+    }
+
+    /**
+     * 判断已解析的符号是否命中（带缓存）。
+     */
+    public boolean matches(Element e) {
+        if (e == null) return false;
+        if (e.getKind() != ElementKind.METHOD && e.getKind() != ElementKind.CONSTRUCTOR) return false;
+        if (!methodNameLookup.get(e.getSimpleName())) return false;
+
+        Map<Element, Boolean> resolved = cache.get();
+        Boolean hit = resolved.get(e);
+        if (hit == null) {
+            hit = resolve((ExecutableElement) e);
+            resolved.put(e, hit);
+        }
+        return hit;
+    }
+
+    /**
+     * 判断对象创建 new T(...) 是否命中（需用 {@link #constructor(String)} 构造）。
+     */
+    public boolean matches(NewClassTree node, TreePath path, Trees trees) {
+        Name name = simpleTypeName(node.getIdentifier());
+        if (name == null || !ownerNameLookup.get(name)) {
+            return false;
+        }
+
+        Element e = trees.getElement(path);
+        if (e == null || e.asType() == null || e.asType().getKind() == TypeKind.ERROR) {
+            // 未解析：简单类名已相同，按命中处理
+            return true;
+        }
+        return matches(e);
+    }
+
+    /**
+     * 判断一条调用指令是否命中：指令中的类型先解析到真正声明该方法的类，再按声明类型 / 参数签名判定。
+     */
+    public boolean matches(Invocation call, TypeHierarchy types) {
+        if (!methodName.equals(call.name())) return false;
+        if (parameterTypes != null && !parameterTypes.equals(call.parameterTypes())) return false;
+
+        String declaring = types.declaringClass(call.owner(), call.name(), call.descriptor());
+        if (ownerType.equals(declaring.replace('/', '.').replace('$', '.'))) return true;
+        return includeSubtypes && types.isSubtype(declaring, ownerType.replace('.', '/'));
+    }
+
+    /**
+     * 取类型表达式的简单名：Foo / a.b.Foo / Foo&lt;T&gt; / @A Foo
+     */
+    public static Name simpleTypeName(Tree type) {
+        if (type instanceof ParameterizedTypeTree pt) return simpleTypeName(pt.getType());
+        if (type instanceof AnnotatedTypeTree at) return simpleTypeName(at.getUnderlyingType());
+        if (type instanceof ExpressionTree et) return invokedName(et);
+        return null;
+    }
+
+    /**
+     * 取被调用的方法名：foo(...) / a.b.foo(...)
+     */
+    public static Name invokedName(ExpressionTree select) {
+        if (select instanceof MemberSelectTree ms) return ms.getIdentifier();
+        if (select instanceof IdentifierTree id) return id.getName();
+        return null;
+    }
+
+    /**
+     * 判断 expr 是否引用了 ownerType 中名为 fieldName 的静态字段（例如 System.out）。
+     * 同样先比较名字（按 Name 实例缓存），再解析符号；解析失败时退化为语法比较。
+     */
+    public static boolean isField(ExpressionTree expr, TreePath parent, Trees trees,
+                                  String ownerType, String fieldName) {
+        Name name = invokedName(expr);
+        if (name == null || !nameEquals(name, fieldName)) return false;
+
+        Element e = trees.getElement(new TreePath(parent, expr));
+        if (e instanceof VariableElement && e.getEnclosingElement() instanceof TypeElement owner) {
+            return nameEquals(owner.getQualifiedName(), ownerType);
+        }
+        if (e != null && e.asType() != null && e.asType().getKind() != TypeKind.ERROR) {
+            return false;
+        }
+        // 语法退化：System.out
+        if (expr instanceof MemberSelectTree ms) {
+            Name receiver = invokedName(ms.getExpression());
+            String simple = ownerType.substring(ownerType.lastIndexOf('.') + 1);
+            return receiver != null && nameEquals(receiver, simple);
+        }
+        return false;
+    }
+
+    private static boolean nameEquals(Name name, String expected) {
+        return NAMES.computeIfAbsent(expected, NameLookup::equalTo).get(name);
+    }
+
+    private boolean resolve(ExecutableElement method) {
+        Element owner = method.getEnclosingElement();
+        if (!(owner instanceof TypeElement type) || !isOwner(type)) return false;
+        if (parameterTypes == null) return true;
+
+        List<? extends VariableElement> params = method.getParameters();
+        if (params.size() != parameterTypes.size()) return false;
+        for (int i = 0; i < params.size(); i++) {
+            if (!parameterTypes.get(i).equals(typeName(params.get(i).asType()))) return false;
+        }
+        return true;
+    }
+
+    private boolean isOwner(TypeElement type) {
+        if (type.getQualifiedName().contentEquals(ownerType)) return true;
+        if (!includeSubtypes) return false;
+
+        // 父类与接口都要看（例如 CompletableFuture.get 实现了 Future.get）
+        if (type.getSuperclass() instanceof DeclaredType dt && isOwner((TypeElement) dt.asElement())) {
+            return true;
+        }
+        for (TypeMirror itf : type.getInterfaces()) {
+            if (itf instanceof DeclaredType dt && isOwner((TypeElement) dt.asElement())) return true;
+        }
+        return false;
+    }
+
+    private boolean matchesSyntactically(ExpressionTree select) {
+        if (anyReceiverWhenUnresolved) return true;
+        if (select instanceof MemberSelectTree ms) {
+            Name receiver = invokedName(ms.getExpression());
+            return receiver != null && ownerNameLookup.get(receiver);
+        }
+        // 未解析的裸调用（可能是静态导入），无法确认归属，保守不报
+        return false;
+    }
+
+    /**
+     * 擦除后的类型名：基本类型为 "int"，引用类型为全限定名，数组追加 "[]"。
+     */
+    public static String typeName(TypeMirror t) {
+        if (t.getKind().isPrimitive()) {
+            return t.getKind().name().toLowerCase(java.util.Locale.ROOT);
+        }
+        if (t instanceof ArrayType at) {
+            return typeName(at.getComponentType()) + "[]";
+        }
+        if (t instanceof DeclaredType dt) {
+            return ((TypeElement) dt.asElement()).getQualifiedName().toString();
+        }
+        if (t instanceof TypeVariable tv) {
+            return typeName(tv.getUpperBound());
+        }
+        return t.toString();
+    }
+
+    public static final class Builder {
+        private final String ownerType;
+        private final String methodName;
+        private List<String> parameterTypes;
+        private boolean includeSubtypes;
+        private boolean anyReceiverWhenUnresolved;
+
+        private Builder(String ownerType, String methodName) {
+            if (ownerType == null || ownerType.isBlank() || methodName == null || methodName.isBlank()) {
+                throw new IllegalArgumentException("ownerType and methodName are required");
+            }
+            this.ownerType = ownerType;
+            this.methodName = methodName;
+        }
+
+        /** 限定参数签名（擦除后的类型名，例如 "long"、"java.lang.String"）；不调用则匹配任意重载 */
+        public Builder parameters(String... types) {
+            this.parameterTypes = List.of(types);
+            return this;
+        }
+
+        /** 子类中重写 / 继承的同名方法也算命中（例如 IOException.printStackTrace） */
+        public Builder includeSubtypes() {
+            this.includeSubtypes = true;
+            return this;
+        }
+
+        /** 符号解析失败时只按方法名判定（接收者通常是变量，例如 e.printStackTrace()） */
+        public Builder anyReceiverWhenUnresolved() {
+            this.anyReceiverWhenUnresolved = true;
+            return this;
+        }
+
+        public MethodMatcher build() {
+            return new MethodMatcher(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return ownerType + "#" + methodName
+                + (parameterTypes == null ? "" : "(" + String.join(",", parameterTypes) + ")");
+    }
+}
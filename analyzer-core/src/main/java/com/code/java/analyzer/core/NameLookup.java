@@ -0,0 +1,45 @@
+package com.code.java.analyzer.core;
+
+import javax.lang.model.element.Name;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * 以 javac 的 {@link Name} 实例为键的查找缓存。
+ *
+ * javac 在同一个编译任务内会驻留（intern）所有名字，且 Name 使用同一性 equals/hashCode；
+ * 而 JDK 17 的 {@code Name.contentEquals / toString} 每次都会解码 UTF-8 并分配新字符串。
+ * 这里对每个不同的 Name 实例只做一次字符串转换，之后的命中都是无分配的同一性查找。
+ *
+ * 弱引用键：编译任务结束后名字表可被回收，不会因为规则实例常驻而泄漏。
+ * 每个线程一张表：查找在每次访问方法调用时都会发生，并行分析（--repo、多线程执行规则）时不争用同一个监视器；
+ * 同一个 Name 在多个线程中各转换一次，结果相同。
+ */
+public final class NameLookup<V> {
+
+    private final Function<String, V> resolver;
+    private final ThreadLocal<Map<Name, V>> cache = ThreadLocal.withInitial(WeakHashMap::new);
+
+    /**
+     * @param resolver 名字（字符串）到值的映射；对同一个 Name 实例只调用一次，不能返回 null
+     */
+    public NameLookup(Function<String, V> resolver) {
+        this.resolver = resolver;
+    }
+
+    /** 只判断名字是否等于 expected 的便捷构造 */
+    public static NameLookup<Boolean> equalTo(String expected) {
+        return new NameLookup<>(expected::equals);
+    }
+
+    public V get(Name name) {
+        Map<Name, V> names = cache.get();
+        V v = names.get(name);
+        if (v == null) {
+            v = resolver.apply(name.toString());
+            names.put(name, v);
+        }
+        return v;
+    }
+}
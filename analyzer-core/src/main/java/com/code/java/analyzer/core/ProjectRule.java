@@ -0,0 +1,38 @@
+package com.code.java.analyzer.core;
+
+import com.sun.source.tree.CompilationUnitTree;
+
+import java.util.Set;
+
+/**
+ * 需要看到整个项目才能判定的规则（调用图、跨文件重复代码等）。
+ *
+ * RuleEngine 对普通规则逐文件执行；ProjectRule 则在所有文件处理完之后，
+ * 以全部编译单元调用一次 {@link #apply}，时间预算按 ruleTotalMillis 计算。
+ */
+public interface ProjectRule extends Rule {
+
+    /**
+     * 逐文件结果已缓存（见 {@link ResultStore}）的文件是否仍需要标注才能参与本规则。
+     * 默认：声明为只看语法树（触发名、触发结点种类都为空）时不需要
+     */
+    default boolean needsAttribution(CompilationUnitTree cu) {
+        Set<String> t = triggers();
+        return t == null || !t.isEmpty() || !triggerKinds().isEmpty();
+    }
+
+    /**
+     * 同上，asts 为全部编译单元（判定取决于其他文件时覆盖此方法，例如缓存的调用图事实）
+     */
+    default boolean needsAttribution(CompilationUnitTree cu, Iterable<? extends CompilationUnitTree> asts) {
+        return needsAttribution(cu);
+    }
+
+    /**
+     * 只看语法树判断本规则在这组编译单元上是否可能上报（例如项目中根本没有请求处理方法）。
+     * 返回 false 时不为本规则标注任何类，也不执行本规则。必须是必要条件
+     */
+    default boolean mayReport(Iterable<? extends CompilationUnitTree> asts) {
+        return true;
+    }
+}
@@ -0,0 +1,348 @@
+package com.code.java.analyzer.core;
+
+import com.code.java.analyzer.core.pattern.PatternRule;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.source.tree.CompilationUnitTree;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * 逐文件规则结果的本地内容寻址存储：&lt;cacheDir&gt;/results/&lt;xx&gt;/&lt;sha256&gt;.json
+ *
+ * 键 = sha256(格式版本 + 分析器 jar + 启用的规则集 + classpath + 文件相对路径 + 文件内容)，jar 与 classpath 按内容计入
+ * （不含绝对路径与修改时间，项目自身的输出目录不计入），
+ * 值 = 该文件上逐文件规则上报的原始 Issue（配置中的 severity 覆盖 / 路径范围在恢复时重新生效）。
+ * 多个工作区、多个 CI 任务（共享缓存目录时）以及 clean 之后重新构建分析同一提交时，任何一次运行分析过的文件都直接复用。
+ *
+ * - 与调用图事实缓存一样按单文件内容判定：其他文件的签名变化不会使本文件的结果失效
+ * - 写入：临时文件 + 原子改名，并发读者不会读到半截文件；多个进程写同一键结果相同，谁覆盖都可以
+ * - 命中时刷新修改时间（至多每小时一次），作为 LRU 的访问时间
+ * - 淘汰：总大小超过上限（-Dmyanalyzer.results.maxMB，默认 512）时按修改时间删最旧的条目到上限的 80%；
+ *   同一时刻只有拿到 .lock 文件锁的进程淘汰，其余跳过；两次淘汰检查至少间隔 10 分钟
+ * - 超时（结果不完整）的文件不写入
+ */
+public final class ResultStore {
+
+    // 存储格式或 Issue 字段变化时递增，旧条目自然失效
+    private static final String FORMAT = "results-v1";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long TOUCH_INTERVAL = TimeUnit.HOURS.toMillis(1);
+    private static final long EVICT_INTERVAL = TimeUnit.MINUTES.toMillis(10);
+
+    private final Path dir;
+    private final byte[] fingerprint;
+    private final Path projectRoot;
+    private final Map<CompilationUnitTree, String> keys = new IdentityHashMap<>();
+    private int stored;
+
+    private ResultStore(Path dir, byte[] fingerprint, Path projectRoot) {
+        this.dir = dir;
+        this.fingerprint = fingerprint;
+        this.projectRoot = projectRoot;
+    }
+
+    /** 缓存被关闭（-Dmyanalyzer.cache=false 或 -Dmyanalyzer.results=false）时返回 null */
+    public static ResultStore open(List<Rule> rules, List<String> classpath, Path projectRoot) {
+        if (!CacheDirs.enabled() || "false".equalsIgnoreCase(System.getProperty("myanalyzer.results"))) {
+            return null;
+        }
+        return new ResultStore(CacheDirs.resolve("results"), fingerprint(rules, classpath, projectRoot), projectRoot);
+    }
+
+    /**
+     * 查找每个编译单元的缓存结果；只返回命中的单元
+     */
+    public Map<CompilationUnitTree, List<Issue>> lookup(Iterable<? extends CompilationUnitTree> asts) {
+        Map<CompilationUnitTree, List<Issue>> out = new HashMap<>();
+        for (CompilationUnitTree cu : asts) {
+            String key = key(cu);
+            if (key == null) continue;
+            Path p = entry(key);
+            try {
+                List<Issue> issues = read(MAPPER.readTree(p.toFile()));
+                out.put(cu, issues);
+                touch(p);
+            } catch (IOException | RuntimeException e) {
+                // 未命中、被并发淘汰或条目损坏
+            }
+        }
+        return out;
+    }
+
+    public void store(CompilationUnitTree cu, List<Issue> issues) {
+        String key = key(cu);
+        if (key == null) return;
+        Path target = entry(key);
+        try {
+            Files.createDirectories(target.getParent());
+            Path tmp = Files.createTempFile(target.getParent(), key, ".tmp");
+            try {
+                MAPPER.writeValue(tmp.toFile(), write(issues));
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                stored++;
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            // 缓存只是加速手段，写失败不影响分析
+            System.err.println("[results] cache write failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 运行结束时调用：必要时淘汰
+     */
+    public void finish() {
+        if (stored == 0) return;
+        try {
+            evictIfNeeded(Long.getLong("myanalyzer.results.maxMB", 512L) * 1024 * 1024);
+        } catch (IOException e) {
+            System.err.println("[results] eviction failed: " + e.getMessage());
+        }
+    }
+
+    private void evictIfNeeded(long maxBytes) throws IOException {
+        Files.createDirectories(dir);
+        Path marker = dir.resolve(".evicted");
+        if (Files.exists(marker)
+                && System.currentTimeMillis() - Files.getLastModifiedTime(marker).toMillis() < EVICT_INTERVAL) {
+            return;
+        }
+        try (FileChannel ch = FileChannel.open(dir.resolve(".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock lock = tryLock(ch)) {
+            if (lock == null) return; // 其他进程（或本进程的其他模块）正在淘汰
+
+            record Entry(Path path, long size, long time) {}
+            List<Entry> entries = new ArrayList<>();
+            try (Stream<Path> s = Files.walk(dir, 2)) {
+                for (Path p : (Iterable<Path>) s::iterator) {
+                    if (!p.getFileName().toString().endsWith(".json")) continue;
+                    try {
+                        BasicFileAttributes a = Files.readAttributes(p, BasicFileAttributes.class);
+                        entries.add(new Entry(p, a.size(), a.lastModifiedTime().toMillis()));
+                    } catch (NoSuchFileException ignore) {
+                        // 并发删除
+                    }
+                }
+            }
+            long total = entries.stream().mapToLong(Entry::size).sum();
+            if (total > maxBytes) {
+                entries.sort(Comparator.comparingLong(Entry::time));
+                long target = maxBytes / 10 * 8;
+                for (Entry e : entries) {
+                    if (total <= target) break;
+                    Files.deleteIfExists(e.path());
+                    total -= e.size();
+                }
+            }
+            Files.write(marker, new byte[0]);
+        }
+    }
+
+    // 同一 JVM 内已持有锁时 tryLock 抛异常而不是返回 null
+    private static FileLock tryLock(FileChannel ch) throws IOException {
+        try {
+            return ch.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    private Path entry(String key) {
+        return dir.resolve(key.substring(0, 2)).resolve(key + ".json");
+    }
+
+    private String key(CompilationUnitTree cu) {
+        return keys.computeIfAbsent(cu, k -> {
+            try {
+                MessageDigest md = sha256();
+                md.update(fingerprint);
+                md.update(RuleScanner.relativePath(k, projectRoot).getBytes(StandardCharsets.UTF_8));
+                md.update((byte) 0);
+                md.update(k.getSourceFile().getCharContent(true).toString().getBytes(StandardCharsets.UTF_8));
+                return HexFormat.of().formatHex(md.digest());
+            } catch (IOException e) {
+                return null;
+            }
+        });
+    }
+
+    private static void touch(Path p) throws IOException {
+        long now = System.currentTimeMillis();
+        if (now - Files.getLastModifiedTime(p).toMillis() > TOUCH_INTERVAL) {
+            Files.setLastModifiedTime(p, FileTime.fromMillis(now));
+        }
+    }
+
+    /**
+     * 运行级指纹：JDK 版本、分析器 jar、规则集、classpath 条目，jar 与目录都按内容计入（见 {@link #digestContent}）。
+     * 位于 projectRoot 下的目录是项目自身的输出（target/classes 等），随被分析的源码变化，不计入
+     */
+    private static byte[] fingerprint(List<Rule> rules, List<String> classpath, Path projectRoot) {
+        StringBuilder sb = new StringBuilder(FORMAT).append('\n');
+        sb.append(System.getProperty("java.version")).append('\n');
+        for (Rule r : rules) {
+            sb.append(r.getClass().getName()).append(' ').append(r.id()).append(' ')
+                    .append(r.defaultSeverity()).append(' ').append(r.type());
+            if (r instanceof PatternRule pr) sb.append(' ').append(pr.pattern().source());
+            sb.append('\n');
+        }
+        MessageDigest md = sha256();
+        md.update(sb.toString().getBytes(StandardCharsets.UTF_8));
+        digestContent(md, analyzerLocation());
+
+        // 未指定 classpath 时 javac 使用分析器进程自身的 classpath
+        List<String> entries = classpath == null || classpath.isEmpty()
+                ? List.of(System.getProperty("java.class.path", "").split(File.pathSeparator))
+                : classpath;
+        Path root = projectRoot == null ? null : projectRoot.toAbsolutePath().normalize();
+        for (String entry : entries) {
+            if (entry.isBlank()) continue;
+            Path p = Path.of(entry).toAbsolutePath().normalize();
+            if (root != null && p.startsWith(root) && Files.isDirectory(p)) continue;
+            digestContent(md, p);
+        }
+        return md.digest();
+    }
+
+    private static Path analyzerLocation() {
+        try {
+            return Path.of(ResultStore.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 按内容计入一个 classpath 条目，与路径、修改时间无关：
+     * jar 取每个条目的名字、CRC-32 与大小（只读中央目录，不解压）；目录取每个文件的相对路径与内容
+     */
+    private static void digestContent(MessageDigest md, Path p) {
+        if (p == null) {
+            md.update((byte) '?');
+            return;
+        }
+        try {
+            if (Files.isDirectory(p)) {
+                List<Path> files;
+                try (Stream<Path> s = Files.walk(p)) {
+                    files = s.filter(Files::isRegularFile).sorted().toList();
+                }
+                for (Path f : files) {
+                    md.update(p.relativize(f).toString().replace('\\', '/').getBytes(StandardCharsets.UTF_8));
+                    md.update((byte) 0);
+                    md.update(Files.readAllBytes(f));
+                }
+            } else {
+                try (ZipFile zip = new ZipFile(p.toFile())) {
+                    ByteBuffer buf = ByteBuffer.allocate(16);
+                    for (Enumeration<? extends ZipEntry> en = zip.entries(); en.hasMoreElements(); ) {
+                        ZipEntry e = en.nextElement();
+                        md.update(e.getName().getBytes(StandardCharsets.UTF_8));
+                        md.update(buf.clear().putLong(e.getCrc()).putLong(e.getSize()).flip());
+                    }
+                } catch (ZipException e) {
+                    md.update(Files.readAllBytes(p));
+                }
+            }
+        } catch (IOException e) {
+            md.update((p.getFileName() + " missing").getBytes(StandardCharsets.UTF_8));
+        }
+        md.update((byte) '\n');
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ArrayNode write(List<Issue> issues) {
+        ArrayNode arr = MAPPER.createArrayNode();
+        for (Issue i : issues) {
+            ObjectNode n = arr.addObject();
+            n.put("engine", i.engineId());
+            n.put("rule", i.ruleId());
+            n.put("severity", i.severity());
+            n.put("type", i.type());
+            n.put("message", i.message());
+            ArrayNode args = n.putArray("args");
+            for (Object a : i.messageArgs()) {
+                if (a instanceof Integer v) args.add(v);
+                else if (a instanceof Long v) args.add(v);
+                else if (a instanceof Number v) args.add(v.doubleValue());
+                else args.add(String.valueOf(a));
+            }
+            n.put("file", i.file());
+            n.putArray("range").add(i.startLine()).add(i.startCol()).add(i.endLine()).add(i.endCol());
+            ArrayNode related = n.putArray("related");
+            for (Issue.Location l : i.related()) {
+                related.addArray().add(l.file()).add(l.startLine()).add(l.startCol()).add(l.endLine()).add(l.endCol());
+            }
+        }
+        return arr;
+    }
+
+    private static List<Issue> read(JsonNode arr) {
+        List<Issue> out = new ArrayList<>();
+        for (JsonNode n : arr) {
+            JsonNode argsNode = n.get("args");
+            Object[] args = new Object[argsNode.size()];
+            for (int k = 0; k < args.length; k++) {
+                JsonNode a = argsNode.get(k);
+                args[k] = a.isInt() ? a.intValue() : a.isLong() ? a.longValue() : a.isNumber() ? a.doubleValue() : a.asText();
+            }
+            List<Issue.Location> related = new ArrayList<>();
+            for (JsonNode l : n.get("related")) {
+                related.add(new Issue.Location(l.get(0).asText(), l.get(1).asInt(), l.get(2).asInt(),
+                        l.get(3).asInt(), l.get(4).asInt()));
+            }
+            JsonNode r = n.get("range");
+            out.add(new Issue(n.get("engine").asText(), n.get("rule").asText(), n.get("severity").asText(),
+                    n.get("type").asText(), n.get("message").asText(), args, n.get("file").asText(),
+                    r.get(0).asInt(), r.get(1).asInt(), r.get(2).asInt(), r.get(3).asInt(), related));
+        }
+        return out;
+    }
+}
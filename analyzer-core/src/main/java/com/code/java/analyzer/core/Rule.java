@@ -1,13 +1,34 @@
 package com.code.java.analyzer.core;
 
 import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.Tree;
 import com.sun.source.util.Trees;
 
+import java.util.Set;
+
 public interface Rule {
     String id();
     String engineId();
     String defaultSeverity(); // "MAJOR"/"CRITICAL"...
     String type();            // "BUG"/"VULNERABILITY"/"CODE_SMELL"
     void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector);
-}
 
+    /**
+     * 触发名：规则只可能在含有这些名字（方法名 / 类型简单名 / 字段名）之一的顶层类中上报，
+     * 只有这些类需要标注（见 {@link AttributionPlanner}）。
+     *
+     * 默认 null：每个类都需要标注；空集（且没有 {@link #triggerKinds()}）：规则只看语法树，不需要标注。
+     * 必须是必要条件——不含任何触发名的类中规则一定不会上报，否则会漏报或按未解析的符号误报。
+     */
+    default Set<String> triggers() {
+        return null;
+    }
+
+    /**
+     * 语法上的触发条件：类中出现这些种类的结点（循环、catch、synchronized 块等）之一时也需要标注，
+     * 与触发名一起构成必要条件。synchronized 方法视同 SYNCHRONIZED 结点。triggers() 为 null 时不起作用。
+     */
+    default Set<Tree.Kind> triggerKinds() {
+        return Set.of();
+    }
+}
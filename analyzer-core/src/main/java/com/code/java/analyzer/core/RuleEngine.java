@@ -1,18 +1,34 @@
 package com.code.java.analyzer.core;
 
+import com.code.java.analyzer.core.config.AnalyzerConfig;
+import com.code.java.analyzer.core.config.TimeBudgets;
+import com.code.java.analyzer.core.events.Events;
+import com.code.java.analyzer.core.events.RuleExecutionEvent;
+import com.code.java.analyzer.core.pattern.PatternDispatcher;
+import com.code.java.analyzer.core.pattern.PatternRule;
+import com.code.java.analyzer.core.pattern.PatternRuleLoader;
 import com.code.java.analyzer.core.rules.*;
 import com.sun.source.tree.CompilationUnitTree;
 import com.sun.source.util.Trees;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public final class RuleEngine {
     private final List<Rule> rules = new ArrayList<>();
     private final String toolName;
 
+    // 模式规则统一编译成一张分派表（register 后失效重建）
+    private PatternDispatcher patternDispatcher;
+
+    // 规则 ID -> 累计执行时间（纳秒），各会话关闭时汇总
+    private final Map<String, Long> timings = new HashMap<>();
+
     public RuleEngine(String toolName) {
         this.toolName = toolName;
     }
@@ -21,8 +37,11 @@ public final class RuleEngine {
         return toolName;
     }
 
-    public RuleEngine register(Rule rule) {
+    public synchronized RuleEngine register(Rule rule) {
         rules.add(rule);
+        if (rule instanceof PatternRule) {
+            patternDispatcher = null;
+        }
         return this;
     }
 
@@ -30,12 +49,291 @@ public final class RuleEngine {
         return List.copyOf(rules);
     }
 
+    /** 引擎创建以来各规则的累计执行时间（纳秒；模式规则合计为 pattern-rules） */
+    public synchronized Map<String, Long> ruleTimings() {
+        return Map.copyOf(timings);
+    }
+
+    public synchronized void resetTimings() {
+        timings.clear();
+    }
+
+    private synchronized void addTimings(Map<String, Long> nanos) {
+        nanos.forEach((id, t) -> timings.merge(id, t, Long::sum));
+    }
+
     public void execute(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
-        for (Rule r : rules) {
-            r.apply(asts, trees, collector);
+        execute(asts, trees, collector, TimeBudgets.unlimited());
+    }
+
+    /**
+     * 逐文件执行规则（所有模式规则在每个文件上共享一次遍历）。
+     *
+     * 超出预算的规则在遍历检查点被取消（已上报的问题保留），记录一条超时提示后继续下一个；
+     * 不继承 RuleScanner 的规则无法中途取消，但超时同样会被记录并计入文件 / 规则的累计预算。
+     * {@link ProjectRule} 在所有文件之后以全部编译单元执行一次，预算为 ruleTotalMillis。
+     */
+    public void execute(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector,
+                        TimeBudgets budgets) {
+        try (Session session = openSession(trees, collector, budgets)) {
+            for (CompilationUnitTree cu : asts) {
+                session.analyze(cu);
+            }
+            session.runProjectRules(asts);
+        }
+    }
+
+    /**
+     * 同上，cached 中的编译单元直接上报缓存的结果；store 非 null 时，其余文件的结果写入缓存
+     * （有超时提示或规则已耗尽总预算时结果不完整，不写入）
+     */
+    public void execute(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector,
+                        TimeBudgets budgets, ResultStore store, Map<CompilationUnitTree, List<Issue>> cached) {
+        execute(asts, trees, collector, budgets, store, cached, null);
+    }
+
+    /**
+     * 同上，plan 非 null 时按文件顺序每 {@value #BATCH} 个文件标注一批、随即执行规则。
+     * 快速失败门禁触发后剩余文件既不标注也不分析，ProjectRule 跳过，结果标记为不完整。
+     */
+    public void execute(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector,
+                        TimeBudgets budgets, ResultStore store, Map<CompilationUnitTree, List<Issue>> cached,
+                        AttributionPlanner.Plan plan) {
+        List<CompilationUnitTree> units = new ArrayList<>();
+        asts.forEach(units::add);
+        try (Session session = openSession(trees, collector, budgets)) {
+            for (int i = 0; i < units.size(); i++) {
+                if (collector.gateTripped()) {
+                    stopped(collector, (units.size() - i) + " file(s) not analyzed");
+                    return;
+                }
+                if (plan != null && i % BATCH == 0) {
+                    plan.attribute(units.subList(i, Math.min(units.size(), i + BATCH)));
+                }
+                CompilationUnitTree cu = units.get(i);
+                List<Issue> hit = cached.get(cu);
+                if (hit != null) {
+                    hit.forEach(collector::report);
+                    continue;
+                }
+                if (store == null) {
+                    session.analyze(cu);
+                    continue;
+                }
+                int notes = collector.notes().size();
+                collector.startRecording();
+                try {
+                    session.analyze(cu);
+                } finally {
+                    List<Issue> raw = collector.stopRecording();
+                    if (collector.notes().size() == notes && !session.hasExhaustedRules()
+                            && !collector.gateTripped()) {
+                        store.store(cu, raw);
+                    }
+                }
+            }
+            if (collector.gateTripped()) {
+                stopped(collector, "0 file(s) not analyzed");
+                return;
+            }
+            session.runProjectRules(asts);
         }
     }
 
+    // 快速失败时每批标注的文件数：批越小越早暴露问题，批越大 javac 的单次开销摊得越薄
+    private static final int BATCH = 32;
+
+    /** 门禁触发：标记结果不完整，ProjectRule 一并跳过 */
+    public static void stopped(IssueCollector collector, String skipped) {
+        collector.markIncomplete("stopped by fail-fast gate (" + collector.config().failFast() + "): " + skipped
+                + ", project-level rules skipped");
+    }
+
+    /**
+     * 逐文件执行的会话（规则累计预算跨文件共享）：{@link #execute} 与编译器插件共用，
+     * 插件在每个编译单元标注完成时调用一次 {@link Session#analyze}。
+     */
+    public Session openSession(Trees trees, IssueCollector collector, TimeBudgets budgets) {
+        return new Session(trees, collector, budgets);
+    }
+
+    public final class Session implements AutoCloseable {
+        private final Trees trees;
+        private final IssueCollector collector;
+        private final TimeBudgets budgets;
+        private final List<Rule> javaRules = new ArrayList<>();
+        private final List<ProjectRule> projectRules = new ArrayList<>();
+        private final PatternDispatcher patterns;
+        private final int units;
+        private final Map<String, Long> ruleTotals = new HashMap<>();
+        private final Map<String, Long> ruleNanos = new HashMap<>();
+        private final Set<String> exhausted = new HashSet<>();
+        private final Watchdog watchdog = new Watchdog();
+
+        private Session(Trees trees, IssueCollector collector, TimeBudgets budgets) {
+            this.trees = trees;
+            this.collector = collector;
+            this.budgets = budgets;
+            for (Rule r : rules) {
+                if (r instanceof ProjectRule pr) {
+                    projectRules.add(pr);
+                } else if (!(r instanceof PatternRule)) {
+                    javaRules.add(r);
+                }
+            }
+            this.patterns = patternDispatcher();
+            this.units = javaRules.size() + (patterns.size() > 0 ? 1 : 0);
+        }
+
+        public List<ProjectRule> projectRules() {
+            return List.copyOf(projectRules);
+        }
+
+        /** 在一个编译单元上执行所有非 ProjectRule 规则 */
+        public void analyze(CompilationUnitTree cu) {
+            List<CompilationUnitTree> unit = List.of(cu);
+            long fileStart = System.nanoTime();
+
+            for (int i = 0; i < units; i++) {
+                // 门禁触发后本文件剩余的规则也不再执行（由调用方标记结果不完整）
+                if (collector.gateTripped()) break;
+                Rule rule = i < javaRules.size() ? javaRules.get(i) : null;
+                String ruleId = rule != null ? rule.id() : PATTERN_RULES_ID;
+                if (exhausted.contains(ruleId)) continue;
+
+                long fileUsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - fileStart);
+                if (budgets.fileMillis() > 0 && fileUsed >= budgets.fileMillis()) {
+                    collector.note(new AnalysisNote(AnalysisNote.WARNING, null, file(cu, collector),
+                            "timed out: file budget " + budgets.fileMillis() + " ms exhausted, "
+                                    + (units - i) + " remaining rule(s) skipped"));
+                    break;
+                }
+
+                long total = ruleTotals.getOrDefault(ruleId, 0L);
+                long budget = min(budgets.ruleMillis(),
+                        budgets.fileMillis() > 0 ? budgets.fileMillis() - fileUsed : 0,
+                        budgets.ruleTotalMillis() > 0 ? budgets.ruleTotalMillis() - total : 0);
+
+                boolean timedOut = false;
+                RuleExecutionEvent event = Events.enabled() ? new RuleExecutionEvent() : null;
+                int reported = collector.issueCount();
+                if (event != null) event.begin();
+                Watchdog.Deadline deadline = watchdog.arm(budget);
+                Watchdog.setCurrent(deadline);
+                try {
+                    if (rule != null) {
+                        rule.apply(unit, trees, collector);
+                    } else {
+                        patterns.scan(unit, trees, collector);
+                    }
+                } catch (BudgetExceededException e) {
+                    timedOut = true;
+                } finally {
+                    Watchdog.setCurrent(null);
+                    deadline.close();
+                }
+                commit(event, ruleId, cu, reported, timedOut);
+
+                long used = deadline.elapsedMillis();
+                ruleNanos.merge(ruleId, deadline.elapsedNanos(), Long::sum);
+                ruleTotals.put(ruleId, total + used);
+                if (timedOut || (budget > 0 && used > budget)) {
+                    collector.note(new AnalysisNote(AnalysisNote.WARNING, ruleId, file(cu, collector),
+                            "timed out after " + used + " ms (budget " + budget + " ms)"
+                                    + (timedOut ? ", cancelled with partial results" : "")));
+                }
+                if (budgets.ruleTotalMillis() > 0 && total + used >= budgets.ruleTotalMillis()) {
+                    exhausted.add(ruleId);
+                    collector.note(new AnalysisNote(AnalysisNote.WARNING, ruleId, null,
+                            "timed out: total budget " + budgets.ruleTotalMillis()
+                                    + " ms exhausted, rule disabled for the remaining files"));
+                }
+            }
+        }
+
+        /** 是否有规则因总预算耗尽而不再执行 */
+        public boolean hasExhaustedRules() {
+            return !exhausted.isEmpty();
+        }
+
+        /** 以全部编译单元执行 ProjectRule，每条规则的预算为 ruleTotalMillis */
+        public void runProjectRules(Iterable<? extends CompilationUnitTree> asts) {
+            for (ProjectRule rule : projectRules) {
+                // 语法上不可能上报的规则没有为其标注，不执行
+                if (!rule.mayReport(asts)) continue;
+                boolean timedOut = false;
+                RuleExecutionEvent event = Events.enabled() ? new RuleExecutionEvent() : null;
+                int reported = collector.issueCount();
+                if (event != null) event.begin();
+                Watchdog.Deadline deadline = watchdog.arm(budgets.ruleTotalMillis());
+                Watchdog.setCurrent(deadline);
+                try {
+                    rule.apply(asts, trees, collector);
+                } catch (BudgetExceededException e) {
+                    timedOut = true;
+                } finally {
+                    Watchdog.setCurrent(null);
+                    deadline.close();
+                }
+                commit(event, rule.id(), null, reported, timedOut);
+                ruleNanos.merge(rule.id(), deadline.elapsedNanos(), Long::sum);
+                if (timedOut || (budgets.ruleTotalMillis() > 0 && deadline.elapsedMillis() > budgets.ruleTotalMillis())) {
+                    collector.note(new AnalysisNote(AnalysisNote.WARNING, rule.id(), null,
+                            "timed out after " + deadline.elapsedMillis() + " ms (budget "
+                                    + budgets.ruleTotalMillis() + " ms)"
+                                    + (timedOut ? ", cancelled with partial results" : "")));
+                }
+            }
+        }
+
+        // 事件未启用时 shouldCommit 为 false，不计算路径
+        private void commit(RuleExecutionEvent event, String ruleId, CompilationUnitTree cu, int reported,
+                            boolean timedOut) {
+            if (event == null) return;
+            event.end();
+            if (!event.shouldCommit()) return;
+            event.rule = ruleId;
+            event.file = cu == null ? null : file(cu, collector);
+            event.issues = collector.issueCount() - reported;
+            event.timedOut = timedOut;
+            event.commit();
+        }
+
+        @Override
+        public void close() {
+            watchdog.close();
+            addTimings(ruleNanos);
+        }
+    }
+
+    // 模式规则在预算 / 提示中作为一个整体出现
+    private static final String PATTERN_RULES_ID = "pattern-rules";
+
+    // 取所有正数预算中最小的一个；都不限时返回 0
+    private static long min(long... budgets) {
+        long m = 0;
+        for (long b : budgets) {
+            if (b > 0 && (m == 0 || b < m)) m = b;
+        }
+        return m;
+    }
+
+    private static String file(CompilationUnitTree cu, IssueCollector collector) {
+        return RuleScanner.relativePath(cu, collector.projectRoot());
+    }
+
+    // 仓库模式下多个模块并行共用一个引擎
+    private synchronized PatternDispatcher patternDispatcher() {
+        if (patternDispatcher == null) {
+            List<PatternRule> patterns = new ArrayList<>();
+            for (Rule r : rules) {
+                if (r instanceof PatternRule pr) patterns.add(pr);
+            }
+            patternDispatcher = new PatternDispatcher(patterns);
+        }
+        return patternDispatcher;
+    }
+
 //    public static RuleEngine defaultRules() {
 //        return new RuleEngine("my-java-analyzer")
 //                .register(new DisallowSystemOutPrintlnRule())
@@ -54,6 +352,11 @@ public final class RuleEngine {
             engine.register(r);
         }
 
+        // 声明式模式规则（META-INF/code-analyzer/patterns.json、-Dmyanalyzer.patterns）
+        for (PatternRule r : PatternRuleLoader.loadDefaults()) {
+            engine.register(r);
+        }
+
         // 防止你再遇到 rules=0 却不自知
         if (engine.rules().isEmpty()) {
             throw new IllegalStateException("No rules loaded. Check package name or classpath scanning.");
@@ -62,5 +365,24 @@ public final class RuleEngine {
         return engine;
     }
 
+    /**
+     * 默认规则 + 配置中的模式规则文件，再按当前 profile 过滤掉未启用的规则
+     */
+    public static RuleEngine forConfig(AnalyzerConfig config) {
+        RuleEngine all = defaultRules();
+        for (var file : config.patternFiles()) {
+            for (PatternRule r : PatternRuleLoader.load(file)) {
+                all.register(r);
+            }
+        }
+
+        RuleEngine engine = new RuleEngine(all.toolName());
+        for (Rule r : all.rules()) {
+            if (config.isRuleEnabled(r.id())) {
+                engine.register(r);
+            }
+        }
+        return engine;
+    }
 }
 
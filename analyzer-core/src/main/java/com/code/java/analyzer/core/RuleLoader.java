@@ -3,62 +3,150 @@ package com.code.java.analyzer.core;
 import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ScanResult;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HexFormat;
 import java.util.List;
 
 public final class RuleLoader {
     private RuleLoader() {}
 
+    private static final String INDEX_FORMAT = "rules-index-v1";
+
     /**
-     * 自动扫描并实例化指定包下所有 Rule 实现类（支持 IDE 运行、java -jar、fat-jar）
+     * 自动扫描并实例化指定包下所有 Rule 实现类（支持 IDE 运行、java -jar、fat-jar）。
+     *
+     * 类路径全部是 jar（java -jar / 命令行）时，扫描结果按 包名 + 各 jar（路径 / 大小 / 修改时间）缓存为类名清单，
+     * 之后的运行直接按清单加载，不再启动 ClassGraph 扫描；类目录（IDE 运行）随时可能新增规则，总是扫描。
      */
     public static List<Rule> load(String basePackage) {
-        List<Rule> rules = new ArrayList<>();
-        System.out.println("RuleLoader CL=" + RuleLoader.class.getClassLoader());
-        System.out.println("Has ClassGraph=" + (io.github.classgraph.ClassGraph.class != null));
+        Path index = indexFile(basePackage);
+        List<String> names = index == null ? null : readIndex(index);
+        List<Rule> rules = names == null ? null : instantiate(names);
+        if (rules == null) {
+            names = scan(basePackage);
+            rules = instantiate(names);
+            if (index != null && rules != null) writeIndex(index, names);
+        }
+        if (rules == null) {
+            throw new IllegalStateException("Rule classes found by scanning could not be loaded: " + names);
+        }
+
+        // 为了稳定性：按 ruleId 排序（输出稳定）
+        rules.sort(Comparator.comparing(Rule::id));
+        return rules;
+    }
 
+    private static List<String> scan(String basePackage) {
+        List<String> names = new ArrayList<>();
+        // 作为 javac 插件加载时，规则所在的类加载器不是线程上下文类加载器，需要显式加入
         try (ScanResult scan = new ClassGraph()
+                .addClassLoader(RuleLoader.class.getClassLoader())
                 .enableClassInfo()
                 .acceptPackages(basePackage)
                 .scan()) {
-
             for (var ci : scan.getClassesImplementing(Rule.class.getName())) {
-                Class<?> cls = ci.loadClass();
-                if (cls.isInterface() || java.lang.reflect.Modifier.isAbstract(cls.getModifiers())) {
-                    continue;
-                }
+                if (ci.isInterface() || ci.isAbstract()) continue;
+                names.add(ci.getName());
+            }
+        }
+        return names;
+    }
+
+    // 清单中的类已不存在时返回 null，由调用方重新扫描
+    private static List<Rule> instantiate(List<String> names) {
+        List<Rule> rules = new ArrayList<>();
+        for (String name : names) {
+            Class<?> cls;
+            try {
+                cls = Class.forName(name, false, RuleLoader.class.getClassLoader());
+            } catch (ClassNotFoundException | LinkageError e) {
+                return null;
+            }
+            if (cls.isInterface() || java.lang.reflect.Modifier.isAbstract(cls.getModifiers())) {
+                continue;
+            }
 
-                // 必须可赋值给 Rule
-                if (!Rule.class.isAssignableFrom(cls)) continue;
+            // 必须可赋值给 Rule
+            if (!Rule.class.isAssignableFrom(cls)) continue;
 
-                @SuppressWarnings("unchecked")
-                Class<? extends Rule> rc = (Class<? extends Rule>) cls;
+            @SuppressWarnings("unchecked")
+            Class<? extends Rule> rc = (Class<? extends Rule>) cls;
 
-                // 要求无参构造
-                try {
-                    Constructor<? extends Rule> ctor = rc.getDeclaredConstructor();
-                    ctor.setAccessible(true);
-                    Rule r = ctor.newInstance();
-                    rules.add(r);
-                } catch (NoSuchMethodException e) {
-                    // 你可以选择：直接跳过 / 或抛错
-                    // 为了“新增规则即生效”，这里建议抛错让你及时修正
-                    throw new IllegalStateException("Rule must have a no-arg constructor: " + rc.getName(), e);
-                } catch (InvocationTargetException e) {
-                    throw new RuntimeException(e);
-                } catch (InstantiationException e) {
-                    throw new RuntimeException(e);
-                } catch (IllegalAccessException e) {
-                    throw new RuntimeException(e);
-                }
+            // 要求无参构造
+            try {
+                Constructor<? extends Rule> ctor = rc.getDeclaredConstructor();
+                ctor.setAccessible(true);
+                Rule r = ctor.newInstance();
+                rules.add(r);
+            } catch (NoSuchMethodException e) {
+                // 你可以选择：直接跳过 / 或抛错
+                // 为了“新增规则即生效”，这里建议抛错让你及时修正
+                throw new IllegalStateException("Rule must have a no-arg constructor: " + rc.getName(), e);
+            } catch (InvocationTargetException e) {
+                throw new RuntimeException(e);
+            } catch (InstantiationException e) {
+                throw new RuntimeException(e);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
             }
         }
-
-        // 为了稳定性：按 ruleId 排序（输出稳定）
-        rules.sort(Comparator.comparing(Rule::id));
         return rules;
     }
+
+    // 只在规则由系统类加载器加载、且类路径全部是 jar 时缓存；否则返回 null
+    private static Path indexFile(String basePackage) {
+        if (!CacheDirs.enabled() || RuleLoader.class.getClassLoader() != ClassLoader.getSystemClassLoader()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(INDEX_FORMAT).append('\n').append(basePackage).append('\n');
+        for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+            if (entry.isBlank()) continue;
+            try {
+                Path p = Path.of(entry).toAbsolutePath().normalize();
+                BasicFileAttributes a = Files.readAttributes(p, BasicFileAttributes.class);
+                if (!a.isRegularFile()) return null;
+                sb.append(p).append(' ').append(a.size()).append(' ').append(a.lastModifiedTime().toMillis()).append('\n');
+            } catch (IOException | RuntimeException e) {
+                return null;
+            }
+        }
+        try {
+            byte[] d = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return CacheDirs.resolve("rules").resolve(HexFormat.of().formatHex(d, 0, 16) + ".idx");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    private static List<String> readIndex(Path index) {
+        try {
+            return Files.readAllLines(index, StandardCharsets.UTF_8).stream().filter(l -> !l.isBlank()).toList();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // 临时文件 + 原子改名，并发写入时后写者覆盖（内容相同）
+    private static void writeIndex(Path index, List<String> names) {
+        try {
+            Files.createDirectories(index.getParent());
+            Path tmp = Files.createTempFile(index.getParent(), "idx", ".tmp");
+            Files.write(tmp, names, StandardCharsets.UTF_8);
+            Files.move(tmp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            // 缓存失败不影响分析
+        }
+    }
 }
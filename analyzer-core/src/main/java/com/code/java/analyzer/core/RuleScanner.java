@@ -0,0 +1,106 @@
+package com.code.java.analyzer.core;
+
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePathScanner;
+import com.sun.source.util.Trees;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+/**
+ * 规则扫描器基类：统一 “树节点 -> Issue” 的定位与上报逻辑，规则只需关注匹配本身。
+ *
+ * <pre>
+ *   new RuleScanner(this, trees, collector) {
+ *       public Void visitXxx(...) { ...; report(node, id() + ".message"); ... }
+ *   }.scan(asts, null);
+ * </pre>
+ */
+public abstract class RuleScanner extends TreePathScanner<Void, Void> {
+
+    protected final Rule rule;
+    protected final Trees trees;
+    protected final IssueCollector collector;
+
+    // RuleEngine 为当前 (规则, 文件) 设置的时间预算；每个节点检查一次（一次 volatile 读）
+    private final Watchdog.Deadline deadline = Watchdog.current();
+
+    protected RuleScanner(Rule rule, Trees trees, IssueCollector collector) {
+        this.rule = rule;
+        this.trees = trees;
+        this.collector = collector;
+    }
+
+    /**
+     * 多规则共用一个扫描器时使用（上报时显式传入规则）
+     */
+    protected RuleScanner(Trees trees, IssueCollector collector) {
+        this(null, trees, collector);
+    }
+
+    @Override
+    public Void scan(Tree tree, Void p) {
+        deadline.check();
+        return super.scan(tree, p);
+    }
+
+    protected void report(Tree where, String messageKey, Object... args) {
+        if (rule == null) {
+            throw new IllegalStateException("No rule bound to this scanner, use report(rule, ...)");
+        }
+        report(rule, where, messageKey, args);
+    }
+
+    protected void report(Rule r, Tree where, String messageKey, Object... args) {
+        CompilationUnitTree cu = getCurrentPath().getCompilationUnit();
+        collector.report(issueAt(r, cu, where, trees, collector.projectRoot(), messageKey, args));
+    }
+
+    /**
+     * 按树节点的源码位置构造 Issue（行列从 1 开始；文件路径相对 projectRoot，统一用 '/'）。
+     */
+    public static Issue issueAt(Rule r, CompilationUnitTree cu, Tree where, Trees trees,
+                                Path projectRoot, String messageKey, Object... args) {
+        long start = trees.getSourcePositions().getStartPosition(cu, where);
+        long end = trees.getSourcePositions().getEndPosition(cu, where);
+
+        // 容错：有时 end = -1
+        if (end < 0) end = start;
+
+        var lineMap = cu.getLineMap();
+        int startLine = (int) lineMap.getLineNumber(start);
+        int startCol  = (int) lineMap.getColumnNumber(start);
+        int endLine   = (int) lineMap.getLineNumber(end);
+        int endCol    = (int) lineMap.getColumnNumber(end);
+
+        return new Issue(
+                r.engineId(), r.id(), r.defaultSeverity(), r.type(),
+                messageKey, args, relativePath(cu, projectRoot),
+                startLine, startCol, endLine, endCol
+        );
+    }
+
+    /**
+     * 源文件相对 projectRoot 的路径
+     */
+    public static String relativePath(CompilationUnitTree cu, Path projectRoot) {
+        return relativePath(cu.getSourceFile().toUri(), projectRoot);
+    }
+
+    /**
+     * 同上；源码归档中的条目（jar:file:/.../x-sources.jar!/a/B.java）为 “归档相对路径!/条目”
+     */
+    public static String relativePath(URI uri, Path projectRoot) {
+        Path root = projectRoot.toAbsolutePath().normalize();
+        if ("jar".equals(uri.getScheme())) {
+            String raw = uri.getRawSchemeSpecificPart();
+            int sep = raw.indexOf("!/");
+            Path archive = Path.of(URI.create(raw.substring(0, sep))).normalize();
+            String entry = URI.create(raw.substring(sep + 1)).getPath();
+            return root.relativize(archive).toString().replace('\\', '/') + "!" + entry;
+        }
+        Path abs = Path.of(uri).normalize();
+        return root.relativize(abs).toString().replace('\\', '/');
+    }
+}
@@ -0,0 +1,70 @@
+package com.code.java.analyzer.core;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 规则中常用的类型判断（只依赖 javax.lang.model，不需要 Types 实例）
+ */
+public final class TypeChecks {
+
+    private static final Map<TypeKind, String> BOXES = Map.of(
+            TypeKind.BOOLEAN, "java.lang.Boolean",
+            TypeKind.BYTE, "java.lang.Byte",
+            TypeKind.SHORT, "java.lang.Short",
+            TypeKind.CHAR, "java.lang.Character",
+            TypeKind.INT, "java.lang.Integer",
+            TypeKind.LONG, "java.lang.Long",
+            TypeKind.FLOAT, "java.lang.Float",
+            TypeKind.DOUBLE, "java.lang.Double");
+
+    private static final Set<String> BOXED = Set.copyOf(BOXES.values());
+
+    private TypeChecks() {}
+
+    /** 声明类型的全限定名（擦除泛型）；其他类型返回 null */
+    public static String qualifiedName(TypeMirror t) {
+        if (t instanceof DeclaredType dt && dt.asElement() instanceof TypeElement te) {
+            return te.getQualifiedName().toString();
+        }
+        return null;
+    }
+
+    public static boolean isBoxed(TypeMirror t) {
+        String name = qualifiedName(t);
+        return name != null && BOXED.contains(name);
+    }
+
+    public static boolean isString(TypeMirror t) {
+        return "java.lang.String".equals(qualifiedName(t));
+    }
+
+    /** 基本类型对应的包装类型名；非基本类型返回 null */
+    public static String boxOf(TypeMirror t) {
+        return t == null ? null : BOXES.get(t.getKind());
+    }
+
+    /** t 是否为 qualifiedName 或其子类型（沿父类 / 接口向上查找） */
+    public static boolean isSubtype(TypeMirror t, String qualifiedName) {
+        if (!(t instanceof DeclaredType start)) return false;
+        Deque<TypeMirror> todo = new ArrayDeque<>();
+        todo.push(start);
+        Set<String> seen = new HashSet<>();
+        while (!todo.isEmpty()) {
+            if (!(todo.pop() instanceof DeclaredType dt) || !(dt.asElement() instanceof TypeElement te)) continue;
+            String name = te.getQualifiedName().toString();
+            if (name.equals(qualifiedName)) return true;
+            if (!seen.add(name)) continue;
+            todo.addAll(te.getInterfaces());
+            todo.push(te.getSuperclass());
+        }
+        return false;
+    }
+}
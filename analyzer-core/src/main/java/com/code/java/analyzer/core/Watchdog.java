@@ -0,0 +1,97 @@
+package com.code.java.analyzer.core;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 时间预算看门狗：到期时把 {@link Deadline} 标记为过期，由执行线程在检查点自行退出。
+ *
+ * 采用协作式取消而不是中断 / 放弃线程：javac 的 Trees / 符号表不是线程安全的，
+ * 超时的规则必须在同一线程上停下来，后续规则才能安全地继续使用它们。
+ */
+public final class Watchdog implements AutoCloseable {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private ScheduledExecutorService timer; // 按需创建
+
+    /**
+     * @param millis 预算；<= 0 表示不限
+     */
+    public Deadline arm(long millis) {
+        Deadline d = new Deadline(System.nanoTime());
+        if (millis > 0) {
+            d.timeout = timer().schedule(d::expire, millis, TimeUnit.MILLISECONDS);
+        }
+        return d;
+    }
+
+    /**
+     * 当前线程正在执行的预算（未设置时返回永不过期）
+     */
+    public static Deadline current() {
+        Deadline d = CURRENT.get();
+        return d == null ? Deadline.NEVER : d;
+    }
+
+    static void setCurrent(Deadline d) {
+        if (d == null) CURRENT.remove(); else CURRENT.set(d);
+    }
+
+    private synchronized ScheduledExecutorService timer() {
+        if (timer == null) {
+            timer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "my-java-analyzer-watchdog");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return timer;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (timer != null) timer.shutdownNow();
+    }
+
+    public static final class Deadline implements AutoCloseable {
+
+        static final Deadline NEVER = new Deadline(0);
+
+        private final long startNanos;
+        private volatile boolean expired;
+        private ScheduledFuture<?> timeout;
+
+        private Deadline(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        public boolean isExpired() {
+            return expired;
+        }
+
+        /** 检查点：过期则抛出 {@link BudgetExceededException} */
+        public void check() {
+            if (expired) throw new BudgetExceededException();
+        }
+
+        public long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(elapsedNanos());
+        }
+
+        public long elapsedNanos() {
+            return System.nanoTime() - startNanos;
+        }
+
+        private void expire() {
+            expired = true;
+        }
+
+        @Override
+        public void close() {
+            if (timeout != null) timeout.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.code.java.analyzer.core.bytecode;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 最小化的 class 文件读取器：只解析常量池、类名 / 父类 / 接口、方法名与描述符，
+ * 以及（可选）方法体中的调用指令、LineNumberTable 和 SourceFile 属性。
+ *
+ * 不依赖 ASM 等字节码库；未知属性一律跳过，对新版本 class 文件保持兼容。
+ */
+public final class ClassFileReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int ACC_BRIDGE = 0x0040;
+
+    private static final int GETSTATIC = 0xb2;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int ASTORE = 0x3a;
+    private static final int ASTORE_0 = 0x4b;
+    private static final int ASTORE_3 = 0x4e;
+    private static final int PUTSTATIC = 0xb3;
+    private static final int PUTFIELD = 0xb5;
+    private static final int TABLESWITCH = 0xaa;
+    private static final int LOOKUPSWITCH = 0xab;
+    private static final int WIDE = 0xc4;
+
+    // getstatic 候选接收者最多保留几个（防止超长方法中无限增长）
+    private static final int MAX_PENDING_FIELDS = 16;
+
+    private final ByteBuffer buf;
+    private final int[] offsets;     // 常量池项在 buf 中的位置（指向 tag 之后）
+    private final String[] strings;  // Utf8 解码缓存
+
+    private ClassFileReader(byte[] bytes) {
+        this.buf = ByteBuffer.wrap(bytes);
+        if (buf.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a class file");
+        }
+        buf.getShort();  // minor
+        buf.getShort();  // major
+
+        int count = buf.getShort() & 0xffff;
+        offsets = new int[count];
+        strings = new String[count];
+        for (int i = 1; i < count; i++) {
+            byte tag = buf.get();
+            offsets[i] = buf.position();
+            switch (tag) {
+                case 1 -> buf.position(buf.position() + 2 + (buf.getShort(buf.position()) & 0xffff));
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> buf.position(buf.position() + 4);
+                case 5, 6 -> {
+                    buf.position(buf.position() + 8);
+                    i++;  // long / double 占两个槽
+                }
+                case 7, 8, 16, 19, 20 -> buf.position(buf.position() + 2);
+                case 15 -> buf.position(buf.position() + 3);
+                default -> throw new IllegalArgumentException("Unknown constant pool tag " + tag + " at " + i);
+            }
+        }
+    }
+
+    /**
+     * @param withCode 是否解析方法体中的调用指令（只需类层次信息时传 false，更快）
+     */
+    public static ClassInfo read(byte[] bytes, boolean withCode) {
+        return new ClassFileReader(bytes).readClass(withCode);
+    }
+
+    private ClassInfo readClass(boolean withCode) {
+        buf.getShort();  // access
+        String name = className(u2());
+        int superIndex = u2();
+        String superName = superIndex == 0 ? null : className(superIndex);
+        int itfCount = u2();
+        List<String> interfaces = new ArrayList<>(itfCount);
+        for (int i = 0; i < itfCount; i++) interfaces.add(className(u2()));
+
+        int fields = u2();
+        for (int i = 0; i < fields; i++) {
+            buf.position(buf.position() + 6);
+            skipAttributes();
+        }
+
+        Set<String> methods = new HashSet<>();
+        List<Invocation> invocations = withCode ? new ArrayList<>() : List.of();
+        int methodCount = u2();
+        for (int i = 0; i < methodCount; i++) {
+            int access = u2();
+            String mName = utf8(u2());
+            String mDesc = utf8(u2());
+            methods.add(mName + mDesc);
+            int attrs = u2();
+            for (int a = 0; a < attrs; a++) {
+                String attr = utf8(u2());
+                int len = buf.getInt();
+                int end = buf.position() + len;
+                if (withCode && (access & ACC_BRIDGE) == 0 && "Code".equals(attr)) {
+                    readCode(invocations);
+                }
+                buf.position(end);
+            }
+        }
+
+        String sourceFile = null;
+        int attrs = u2();
+        for (int a = 0; a < attrs; a++) {
+            String attr = utf8(u2());
+            int len = buf.getInt();
+            int end = buf.position() + len;
+            if ("SourceFile".equals(attr)) sourceFile = utf8(u2());
+            buf.position(end);
+        }
+        return new ClassInfo(name, superName, interfaces, sourceFile, methods, invocations);
+    }
+
+    private void readCode(List<Invocation> out) {
+        buf.position(buf.position() + 4);  // max_stack, max_locals
+        int codeLength = buf.getInt();
+        int codeStart = buf.position();
+        buf.position(codeStart + codeLength);
+        int handlers = u2();
+        buf.position(buf.position() + handlers * 8);
+
+        // LineNumberTable 在代码之后，先读出来再扫描指令
+        int[] lines = new int[0];
+        int attrs = u2();
+        for (int a = 0; a < attrs; a++) {
+            String attr = utf8(u2());
+            int len = buf.getInt();
+            int end = buf.position() + len;
+            if ("LineNumberTable".equals(attr)) {
+                int n = u2();
+                int[] more = new int[n];
+                for (int i = 0; i < n; i++) {
+                    // 高 16 位 start_pc，低 16 位行号，排序后即按 pc 有序
+                    more[i] = (u2() << 16) | u2();
+                }
+                int[] merged = Arrays.copyOf(lines, lines.length + n);
+                System.arraycopy(more, 0, merged, lines.length, n);
+                lines = merged;
+            }
+            buf.position(end);
+        }
+        Arrays.sort(lines);
+
+        List<String[]> pendingFields = new ArrayList<>();  // {字段全名, 字段类型内部名}
+        int pc = 0;
+        boolean fieldOnTop = false;  // 上一条指令刚把一个候选字段压栈
+        while (pc < codeLength) {
+            int op = buf.get(codeStart + pc) & 0xff;
+            boolean pushed = false;
+            switch (op) {
+                case ASTORE, ASTORE_0, ASTORE_0 + 1, ASTORE_0 + 2, ASTORE_3, PUTSTATIC, PUTFIELD -> {
+                    // 字段值刚加载就被存走（PrintStream ps = System.out），不再作为后续调用的接收者
+                    if (fieldOnTop) pendingFields.remove(pendingFields.size() - 1);
+                }
+                case GETSTATIC -> {
+                    int ref = buf.getShort(codeStart + pc + 1) & 0xffff;
+                    String desc = memberDescriptor(ref);
+                    if (desc.startsWith("L")) {
+                        if (pendingFields.size() == MAX_PENDING_FIELDS) pendingFields.remove(0);
+                        pendingFields.add(new String[]{
+                                memberOwner(ref).replace('/', '.') + "." + memberName(ref),
+                                desc.substring(1, desc.length() - 1)});
+                        pushed = true;
+                    }
+                }
+                case INVOKEVIRTUAL, INVOKESPECIAL, INVOKESTATIC, INVOKEINTERFACE -> {
+                    int ref = buf.getShort(codeStart + pc + 1) & 0xffff;
+                    String owner = memberOwner(ref);
+                    String receiver = null;
+                    if (op == INVOKEVIRTUAL || op == INVOKEINTERFACE) {
+                        for (int i = pendingFields.size() - 1; i >= 0; i--) {
+                            if (pendingFields.get(i)[1].equals(owner)) {
+                                receiver = pendingFields.remove(i)[0];
+                                break;
+                            }
+                        }
+                    }
+                    out.add(new Invocation(owner, memberName(ref), memberDescriptor(ref), lineAt(lines, pc), receiver));
+                }
+                default -> { }
+            }
+            fieldOnTop = pushed;
+            pc += length(op, pc, codeStart);
+        }
+    }
+
+    private static int lineAt(int[] lines, int pc) {
+        int line = 0;
+        for (int entry : lines) {
+            if ((entry >>> 16) > pc) break;
+            line = entry & 0xffff;
+        }
+        return line;
+    }
+
+    private int length(int op, int pc, int codeStart) {
+        if (op == TABLESWITCH || op == LOOKUPSWITCH) {
+            int p = pc + 1 + ((4 - ((pc + 1) & 3)) & 3);
+            if (op == TABLESWITCH) {
+                int low = buf.getInt(codeStart + p + 4);
+                int high = buf.getInt(codeStart + p + 8);
+                return p - pc + 12 + (high - low + 1) * 4;
+            }
+            int pairs = buf.getInt(codeStart + p + 4);
+            return p - pc + 8 + pairs * 8;
+        }
+        if (op == WIDE) {
+            return (buf.get(codeStart + pc + 1) & 0xff) == 0x84 ? 6 : 4;
+        }
+        return LENGTHS[op];
+    }
+
+    // 定长指令的长度（含操作码）；switch 与 wide 为变长，单独处理
+    private static final byte[] LENGTHS = new byte[256];
+
+    static {
+        Arrays.fill(LENGTHS, (byte) 1);
+        LENGTHS[0x10] = 2;                                   // bipush
+        LENGTHS[0x11] = 3;                                   // sipush
+        LENGTHS[0x12] = 2;                                   // ldc
+        LENGTHS[0x13] = 3;                                   // ldc_w
+        LENGTHS[0x14] = 3;                                   // ldc2_w
+        for (int op = 0x15; op <= 0x19; op++) LENGTHS[op] = 2;   // xload
+        for (int op = 0x36; op <= 0x3a; op++) LENGTHS[op] = 2;   // xstore
+        LENGTHS[0x84] = 3;                                   // iinc
+        for (int op = 0x99; op <= 0xa8; op++) LENGTHS[op] = 3;   // if*, goto, jsr
+        LENGTHS[0xa9] = 2;                                   // ret
+        for (int op = 0xb2; op <= 0xb8; op++) LENGTHS[op] = 3;   // field / invoke
+        LENGTHS[0xb9] = 5;                                   // invokeinterface
+        LENGTHS[0xba] = 5;                                   // invokedynamic
+        LENGTHS[0xbb] = 3;                                   // new
+        LENGTHS[0xbc] = 2;                                   // newarray
+        LENGTHS[0xbd] = 3;                                   // anewarray
+        LENGTHS[0xc0] = 3;                                   // checkcast
+        LENGTHS[0xc1] = 3;                                   // instanceof
+        LENGTHS[0xc5] = 4;                                   // multianewarray
+        LENGTHS[0xc6] = 3;                                   // ifnull
+        LENGTHS[0xc7] = 3;                                   // ifnonnull
+        LENGTHS[0xc8] = 5;                                   // goto_w
+        LENGTHS[0xc9] = 5;                                   // jsr_w
+    }
+
+    /* ========================= 常量池 ========================= */
+
+    private int u2() {
+        return buf.getShort() & 0xffff;
+    }
+
+    private void skipAttributes() {
+        int n = u2();
+        for (int i = 0; i < n; i++) {
+            buf.position(buf.position() + 2);
+            int len = buf.getInt();
+            buf.position(buf.position() + len);
+        }
+    }
+
+    private String utf8(int index) {
+        String s = strings[index];
+        if (s == null) {
+            int off = offsets[index];
+            int len = buf.getShort(off) & 0xffff;
+            s = decodeModifiedUtf8(buf.array(), off + 2, len);
+            strings[index] = s;
+        }
+        return s;
+    }
+
+    private String className(int classIndex) {
+        return utf8(buf.getShort(offsets[classIndex]) & 0xffff);
+    }
+
+    // Fieldref / Methodref / InterfaceMethodref：class_index, name_and_type_index
+    private String memberOwner(int ref) {
+        return className(buf.getShort(offsets[ref]) & 0xffff);
+    }
+
+    private String memberName(int ref) {
+        int nat = buf.getShort(offsets[ref] + 2) & 0xffff;
+        return utf8(buf.getShort(offsets[nat]) & 0xffff);
+    }
+
+    private String memberDescriptor(int ref) {
+        int nat = buf.getShort(offsets[ref] + 2) & 0xffff;
+        return utf8(buf.getShort(offsets[nat] + 2) & 0xffff);
+    }
+
+    // class 文件使用 “修改版 UTF-8”；纯 ASCII（绝大多数情况）直接构造
+    private static String decodeModifiedUtf8(byte[] b, int off, int len) {
+        boolean ascii = true;
+        for (int i = off; i < off + len; i++) {
+            if (b[i] < 0) {
+                ascii = false;
+                break;
+            }
+        }
+        if (ascii) return new String(b, off, len, StandardCharsets.ISO_8859_1);
+
+        char[] out = new char[len];
+        int n = 0;
+        int i = off;
+        int end = off + len;
+        while (i < end) {
+            int c = b[i] & 0xff;
+            if (c < 0x80) {
+                out[n++] = (char) c;
+                i++;
+            } else if ((c & 0xe0) == 0xc0) {
+                out[n++] = (char) (((c & 0x1f) << 6) | (b[i + 1] & 0x3f));
+                i += 2;
+            } else {
+                out[n++] = (char) (((c & 0x0f) << 12) | ((b[i + 1] & 0x3f) << 6) | (b[i + 2] & 0x3f));
+                i += 3;
+            }
+        }
+        return new String(out, 0, n);
+    }
+}
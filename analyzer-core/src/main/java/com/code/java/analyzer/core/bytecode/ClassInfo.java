@@ -0,0 +1,44 @@
+package com.code.java.analyzer.core.bytecode;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 从 class 文件中读出的信息（类名均为内部名，例如 java/lang/Thread）
+ */
+public final class ClassInfo {
+
+    private final String name;
+    private final String superName;
+    private final List<String> interfaces;
+    private final String sourceFile;
+    private final Set<String> methods;
+    private final List<Invocation> invocations;
+
+    ClassInfo(String name, String superName, List<String> interfaces, String sourceFile,
+              Set<String> methods, List<Invocation> invocations) {
+        this.name = name;
+        this.superName = superName;
+        this.interfaces = interfaces;
+        this.sourceFile = sourceFile;
+        this.methods = methods;
+        this.invocations = invocations;
+    }
+
+    public String name() { return name; }
+
+    /** java/lang/Object 为 null */
+    public String superName() { return superName; }
+
+    public List<String> interfaces() { return interfaces; }
+
+    /** SourceFile 属性（例如 Foo.java）；编译时去掉了调试信息则为 null */
+    public String sourceFile() { return sourceFile; }
+
+    /** 声明的方法：name + descriptor */
+    public boolean declares(String name, String descriptor) {
+        return methods.contains(name + descriptor);
+    }
+
+    public List<Invocation> invocations() { return invocations; }
+}
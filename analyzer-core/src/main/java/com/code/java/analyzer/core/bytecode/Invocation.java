@@ -0,0 +1,83 @@
+package com.code.java.analyzer.core.bytecode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一条方法调用指令（invokevirtual / invokespecial / invokestatic / invokeinterface）
+ */
+public final class Invocation {
+
+    private final String owner;
+    private final String name;
+    private final String descriptor;
+    private final int line;
+    private final String receiverField;
+
+    Invocation(String owner, String name, String descriptor, int line, String receiverField) {
+        this.owner = owner;
+        this.name = name;
+        this.descriptor = descriptor;
+        this.line = line;
+        this.receiverField = receiverField;
+    }
+
+    /** 指令中的类型（内部名，例如 java/lang/Thread；可能是声明类的子类） */
+    public String owner() { return owner; }
+
+    public String name() { return name; }
+
+    /** 方法描述符，例如 (J)V */
+    public String descriptor() { return descriptor; }
+
+    /** 源码行号（LineNumberTable）；没有调试信息时为 0 */
+    public int line() { return line; }
+
+    /**
+     * 接收者是否来自某个静态字段（例如 "java.lang.System.out"）：
+     * 取同一方法内最近一次加载、类型与调用类型相同且尚未被消费（调用或立即存入变量 / 字段）的 getstatic，
+     * 启发式、不做栈模拟
+     */
+    public String receiverField() { return receiverField; }
+
+    /**
+     * 参数类型名（与 MethodMatcher 的写法一致）：基本类型 "int"，引用类型全限定名，数组追加 "[]"
+     */
+    public List<String> parameterTypes() {
+        List<String> out = new ArrayList<>();
+        int i = 1;
+        while (descriptor.charAt(i) != ')') {
+            int dims = 0;
+            while (descriptor.charAt(i) == '[') {
+                dims++;
+                i++;
+            }
+            String type;
+            if (descriptor.charAt(i) == 'L') {
+                int end = descriptor.indexOf(';', i);
+                type = descriptor.substring(i + 1, end).replace('/', '.').replace('$', '.');
+                i = end + 1;
+            } else {
+                type = switch (descriptor.charAt(i)) {
+                    case 'Z' -> "boolean";
+                    case 'B' -> "byte";
+                    case 'C' -> "char";
+                    case 'S' -> "short";
+                    case 'I' -> "int";
+                    case 'J' -> "long";
+                    case 'F' -> "float";
+                    case 'D' -> "double";
+                    default -> throw new IllegalArgumentException("Bad descriptor " + descriptor);
+                };
+                i++;
+            }
+            out.add(type + "[]".repeat(dims));
+        }
+        return out;
+    }
+
+    @Override
+    public String toString() {
+        return owner + "." + name + descriptor + ":" + line;
+    }
+}
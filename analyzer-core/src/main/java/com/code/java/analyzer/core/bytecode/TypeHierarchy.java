@@ -0,0 +1,111 @@
+package com.code.java.analyzer.core.bytecode;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 字节码模式下的类层次：按内部名懒加载 class 文件（只读头部与方法表），线程安全。
+ *
+ * 查找顺序：已登记的待分析类 → 类目录 / classpath → JDK（平台类加载器，不含分析器自身的依赖）。
+ * 找不到的类视为层次的终点，不报错。
+ */
+public final class TypeHierarchy implements Closeable {
+
+    private final URLClassLoader loader;
+    private final Map<String, Optional<ClassInfo>> classes = new ConcurrentHashMap<>();
+    private final Map<String, String> declaring = new ConcurrentHashMap<>();
+
+    public TypeHierarchy(List<Path> classRoots, List<String> classpath) {
+        List<URL> urls = new ArrayList<>();
+        try {
+            for (Path p : classRoots) urls.add(p.toAbsolutePath().toUri().toURL());
+            for (String p : classpath) urls.add(Path.of(p).toAbsolutePath().toUri().toURL());
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException(e);
+        }
+        this.loader = new URLClassLoader(urls.toArray(new URL[0]), ClassLoader.getPlatformClassLoader());
+    }
+
+    /** 登记已经读过的类，避免再读一次 */
+    public void register(ClassInfo info) {
+        classes.putIfAbsent(info.name(), Optional.of(info));
+    }
+
+    /** 找不到返回 null */
+    public ClassInfo lookup(String internalName) {
+        return classes.computeIfAbsent(internalName, this::load).orElse(null);
+    }
+
+    /**
+     * 解析调用指令中的方法实际声明在哪个类：先沿父类链，再找接口（默认方法 / 抽象声明）。
+     * 层次不全找不到时返回 owner 本身。
+     */
+    public String declaringClass(String owner, String name, String descriptor) {
+        return declaring.computeIfAbsent(owner + '.' + name + descriptor, k -> {
+            for (String c = owner; c != null; ) {
+                ClassInfo info = lookup(c);
+                if (info == null) break;
+                if (info.declares(name, descriptor)) return c;
+                c = info.superName();
+            }
+            for (String c : supertypes(owner)) {
+                ClassInfo info = lookup(c);
+                if (info != null && info.declares(name, descriptor)) return c;
+            }
+            return owner;
+        });
+    }
+
+    /** type 是否为 ancestor 本身或其子类型 */
+    public boolean isSubtype(String type, String ancestor) {
+        return type.equals(ancestor) || supertypes(type).contains(ancestor);
+    }
+
+    // 所有父类与接口（不含自身），广度优先
+    private Set<String> supertypes(String type) {
+        Set<String> seen = new HashSet<>();
+        Deque<String> work = new ArrayDeque<>();
+        work.add(type);
+        while (!work.isEmpty()) {
+            ClassInfo info = lookup(work.poll());
+            if (info == null) continue;
+            if (info.superName() != null && seen.add(info.superName())) work.add(info.superName());
+            for (String itf : info.interfaces()) {
+                if (seen.add(itf)) work.add(itf);
+            }
+        }
+        return seen;
+    }
+
+    private Optional<ClassInfo> load(String internalName) {
+        try (InputStream in = loader.getResourceAsStream(internalName + ".class")) {
+            if (in == null) return Optional.empty();
+            return Optional.of(ClassFileReader.read(in.readAllBytes(), false));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            // 损坏或不认识的 class 文件：当作找不到
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        loader.close();
+    }
+}
@@ -0,0 +1,269 @@
+package com.code.java.analyzer.core.callgraph;
+
+import com.code.java.analyzer.core.RuleScanner;
+import com.code.java.analyzer.core.callgraph.MethodFacts.CallSite;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.util.Trees;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * 项目级调用图与方法摘要（自底向上的过程间分析）。
+ *
+ * 1) 逐文件提取局部事实（按文件内容哈希缓存，依赖的其他源文件变化时作废，见 {@link FactsCache}）
+ * 2) 边 = 源码中的直接调用 + 类层次边（被重写方法 -> 每个重写方法，调用父类型方法可能分派到子类）
+ * 3) Tarjan 求强连通分量：递归 / 互相调用的方法共享同一份摘要
+ * 4) 按分量在 DAG 中的高度分层，同层分量互不依赖，并行计算摘要：
+ *    摘要 = 分量内方法的直接副作用 ∪ 所有后继分量的摘要
+ *
+ * 同一次编译（同一个 Trees）只构建一次，多条规则共享。
+ */
+public final class CallGraph {
+
+    // Trees -> 该次编译的调用图槽位（弱引用键）；全局锁只在取槽位时持有，构建在槽位上加锁，
+    // 不同编译（同一 JVM 中的多个 Gradle worker / 守护进程）互不阻塞
+    private static final Map<Trees, Slot> BUILT = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final class Slot {
+        CallGraph graph;
+    }
+
+    private final List<FileFacts> files;
+    private final Map<String, Integer> index = new HashMap<>();
+    private final MethodFacts[] methods;
+    private final int[][] successors;
+
+    // 按方法下标：所在分量的摘要与见证（副作用来自哪个 sink）
+    private final int[] summary;
+    private final String[][] witness;
+
+    private CallGraph(List<FileFacts> files) {
+        this.files = List.copyOf(files);
+
+        List<MethodFacts> all = new ArrayList<>();
+        for (FileFacts f : files) {
+            for (MethodFacts m : f.methods()) {
+                if (index.putIfAbsent(m.key(), all.size()) == null) all.add(m);
+            }
+        }
+        this.methods = all.toArray(new MethodFacts[0]);
+
+        List<List<Integer>> edges = new ArrayList<>();
+        for (int i = 0; i < methods.length; i++) edges.add(new ArrayList<>());
+        for (int i = 0; i < methods.length; i++) {
+            for (CallSite c : methods[i].calls()) {
+                Integer callee = index.get(c.callee());
+                if (callee != null) edges.get(i).add(callee);
+            }
+            for (String overridden : methods[i].overrides()) {
+                Integer base = index.get(overridden);
+                if (base != null) edges.get(base).add(i);
+            }
+        }
+        this.successors = new int[methods.length][];
+        for (int i = 0; i < methods.length; i++) {
+            successors[i] = edges.get(i).stream().mapToInt(Integer::intValue).distinct().toArray();
+        }
+
+        this.summary = new int[methods.length];
+        this.witness = new String[methods.length][];
+        summarize();
+    }
+
+    /**
+     * 取（或构建）当前编译的调用图；asts 应为全部编译单元
+     */
+    public static CallGraph of(Iterable<? extends CompilationUnitTree> asts, Trees trees, Path projectRoot) {
+        Slot slot = BUILT.computeIfAbsent(trees, t -> new Slot());
+        synchronized (slot) {
+            if (slot.graph == null) slot.graph = build(asts, trees, projectRoot);
+            return slot.graph;
+        }
+    }
+
+    static CallGraph build(Iterable<? extends CompilationUnitTree> asts, Trees trees, Path projectRoot) {
+        FactsCache cache = FactsCache.open();
+        SourceIndex sources = cache == null ? null : SourceIndex.of(asts);
+        List<FileFacts> files = new ArrayList<>();
+        for (CompilationUnitTree cu : asts) {
+            String hash = null;
+            if (cache != null) {
+                hash = sources.hash(cu);
+                FileFacts cached = hash == null ? null
+                        : cache.load(hash, RuleScanner.relativePath(cu, projectRoot), sources);
+                if (cached != null) {
+                    files.add(cached);
+                    continue;
+                }
+            }
+            FileFacts facts = FactsExtractor.extract(cu, trees, projectRoot);
+            if (hash != null) cache.store(hash, facts, sources);
+            files.add(facts);
+        }
+        return new CallGraph(files);
+    }
+
+    /**
+     * 该文件的局部事实已在缓存中，且依赖的其他源文件都未变（构建调用图时不需要它的标注结果）；
+     * asts 为全部编译单元
+     */
+    public static boolean hasCachedFacts(CompilationUnitTree cu, Iterable<? extends CompilationUnitTree> asts) {
+        FactsCache cache = FactsCache.open();
+        if (cache == null) return false;
+        SourceIndex sources = SourceIndex.of(asts);
+        String hash = sources.hash(cu);
+        return hash != null && cache.contains(hash, sources);
+    }
+
+    public List<FileFacts> files() {
+        return files;
+    }
+
+    public MethodFacts method(String key) {
+        Integer i = index.get(key);
+        return i == null ? null : methods[i];
+    }
+
+    /** key 对应方法（含其传递调用）的副作用位；不在图中返回 0 */
+    public int summary(String key) {
+        Integer i = index.get(key);
+        return i == null ? 0 : summary[i];
+    }
+
+    /** 副作用最终来自哪个 sink 方法（例如 "Thread.sleep"）；没有该副作用返回 null */
+    public String witness(String key, Effect e) {
+        Integer i = index.get(key);
+        return i == null || !e.in(summary[i]) ? null : witness[i][e.ordinal()];
+    }
+
+    /* ========================= 摘要计算 ========================= */
+
+    private void summarize() {
+        int[] component = new int[methods.length];
+        List<int[]> components = tarjan(component);
+
+        // 分量按逆拓扑序产生：后继分量总在前面，高度可顺序计算
+        int[] height = new int[components.size()];
+        int maxHeight = 0;
+        for (int c = 0; c < components.size(); c++) {
+            int h = 0;
+            for (int m : components.get(c)) {
+                for (int s : successors[m]) {
+                    if (component[s] != c) h = Math.max(h, height[component[s]] + 1);
+                }
+            }
+            height[c] = h;
+            maxHeight = Math.max(maxHeight, h);
+        }
+
+        List<List<Integer>> levels = new ArrayList<>();
+        for (int h = 0; h <= maxHeight; h++) levels.add(new ArrayList<>());
+        for (int c = 0; c < components.size(); c++) levels.get(height[c]).add(c);
+
+        // 同一层只读取更低层的结果、只写本分量的方法，可安全并行
+        for (List<Integer> level : levels) {
+            IntStream.range(0, level.size()).parallel()
+                    .forEach(i -> summarize(components.get(level.get(i)), component, level.get(i)));
+        }
+    }
+
+    private void summarize(int[] members, int[] component, int c) {
+        int flags = 0;
+        String[] w = new String[Effect.values().length];
+        for (int m : members) {
+            for (Effect e : Effect.values()) {
+                if (!e.in(flags) && e.in(methods[m].directEffects())) {
+                    flags |= e.bit();
+                    w[e.ordinal()] = methods[m].witness(e);
+                }
+            }
+        }
+        for (int m : members) {
+            for (int s : successors[m]) {
+                if (component[s] == c) continue;
+                for (Effect e : Effect.values()) {
+                    if (!e.in(flags) && e.in(summary[s])) {
+                        flags |= e.bit();
+                        w[e.ordinal()] = witness[s][e.ordinal()];
+                    }
+                }
+            }
+        }
+        for (int m : members) {
+            summary[m] = flags;
+            witness[m] = w;
+        }
+    }
+
+    /**
+     * 迭代版 Tarjan（深调用链不会栈溢出）；返回的分量按逆拓扑序排列
+     */
+    private List<int[]> tarjan(int[] component) {
+        int n = methods.length;
+        int[] order = new int[n];
+        int[] low = new int[n];
+        boolean[] onStack = new boolean[n];
+        Arrays.fill(order, -1);
+        Arrays.fill(component, -1);
+
+        int[] stack = new int[n];
+        int sp = 0;
+        int[] callNode = new int[n];
+        int[] callEdge = new int[n];
+        int counter = 0;
+        List<int[]> components = new ArrayList<>();
+
+        for (int root = 0; root < n; root++) {
+            if (order[root] >= 0) continue;
+            int depth = 0;
+            callNode[0] = root;
+            callEdge[0] = 0;
+            order[root] = low[root] = counter++;
+            stack[sp++] = root;
+            onStack[root] = true;
+
+            while (depth >= 0) {
+                int v = callNode[depth];
+                if (callEdge[depth] < successors[v].length) {
+                    int w = successors[v][callEdge[depth]++];
+                    if (order[w] < 0) {
+                        order[w] = low[w] = counter++;
+                        stack[sp++] = w;
+                        onStack[w] = true;
+                        depth++;
+                        callNode[depth] = w;
+                        callEdge[depth] = 0;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], order[w]);
+                    }
+                    continue;
+                }
+                if (low[v] == order[v]) {
+                    int start = sp;
+                    while (stack[--start] != v) { }
+                    int[] members = Arrays.copyOfRange(stack, start, sp);
+                    for (int m : members) {
+                        onStack[m] = false;
+                        component[m] = components.size();
+                    }
+                    sp = start;
+                    components.add(members);
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callNode[depth];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+            }
+        }
+        return components;
+    }
+}
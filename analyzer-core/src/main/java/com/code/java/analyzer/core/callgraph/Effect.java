@@ -0,0 +1,67 @@
+package com.code.java.analyzer.core.callgraph;
+
+import com.code.java.analyzer.core.MethodMatcher;
+
+import javax.lang.model.element.Element;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 方法摘要中的副作用位。直接调用下列方法即具有该副作用，并沿调用图向调用者传播。
+ */
+public enum Effect {
+
+    MAY_BLOCK(List.of(
+            MethodMatcher.of("java.lang.Thread", "sleep").build(),
+            MethodMatcher.of("java.lang.Thread", "join").build(),
+            MethodMatcher.of("java.lang.Object", "wait").build(),
+            MethodMatcher.of("java.util.concurrent.Future", "get").parameters().includeSubtypes().build(),
+            MethodMatcher.of("java.util.concurrent.CountDownLatch", "await").parameters().build(),
+            MethodMatcher.of("java.util.concurrent.BlockingQueue", "take").includeSubtypes().build(),
+            MethodMatcher.of("java.util.concurrent.BlockingQueue", "put").includeSubtypes().build()
+    )),
+
+    MAY_EXIT(List.of(
+            MethodMatcher.of("java.lang.System", "exit").build(),
+            MethodMatcher.of("java.lang.Runtime", "exit").build(),
+            MethodMatcher.of("java.lang.Runtime", "halt").build()
+    )),
+
+    READS_WHOLE_FILE(List.of(
+            MethodMatcher.of("java.nio.file.Files", "readAllBytes").build(),
+            MethodMatcher.of("java.nio.file.Files", "readAllLines").build(),
+            MethodMatcher.of("java.nio.file.Files", "readString").build()
+    ));
+
+    private final List<MethodMatcher> sinks;
+
+    Effect(List<MethodMatcher> sinks) {
+        this.sinks = sinks;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public boolean in(int flags) {
+        return (flags & bit()) != 0;
+    }
+
+    /** sink 的方法名（供 {@link com.code.java.analyzer.core.Rule#triggers()} 使用） */
+    public Set<String> methodNames() {
+        Set<String> names = new HashSet<>();
+        for (MethodMatcher m : sinks) names.add(m.methodName());
+        return names;
+    }
+
+    /**
+     * 被调方法是否直接产生该副作用
+     */
+    public boolean isSink(Element callee) {
+        for (MethodMatcher m : sinks) {
+            if (m.matches(callee)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,168 @@
+package com.code.java.analyzer.core.callgraph;
+
+import com.code.java.analyzer.core.CacheDirs;
+import com.code.java.analyzer.core.callgraph.MethodFacts.CallSite;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 局部事实的磁盘缓存：&lt;cacheDir&gt;/callgraph/&lt;sha256(格式版本 + 文件内容)&gt;.json
+ *
+ * 条目中还记录了事实所依赖的其他源文件类型及其所在文件的内容哈希（见 {@link SourceIndex}）：
+ * 文件内容不变、且依赖的文件也都未变时才复用上次提取的事实（跳过符号解析）；调用图传播每次重新计算。
+ * 写入采用临时文件 + 原子改名，多个进程并发写同一条目也不会读到半截文件。
+ */
+final class FactsCache {
+
+    // 事实的格式或提取逻辑变化时递增，旧条目自然失效
+    private static final String FORMAT = "callgraph-facts-v3";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path dir;
+
+    private FactsCache(Path dir) {
+        this.dir = dir;
+    }
+
+    /** 缓存被关闭（-Dmyanalyzer.cache=false）时返回 null */
+    static FactsCache open() {
+        return CacheDirs.enabled() ? new FactsCache(CacheDirs.resolve("callgraph")) : null;
+    }
+
+    static String hash(byte[] content) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(FORMAT.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(md.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** 有条目且依赖的文件都未变 */
+    boolean contains(String hash, SourceIndex sources) {
+        JsonNode root = entry(hash);
+        return root != null && upToDate(root, sources);
+    }
+
+    /** 未命中、依赖的文件已变化或条目损坏返回 null */
+    FileFacts load(String hash, String file, SourceIndex sources) {
+        JsonNode root = entry(hash);
+        if (root == null || !upToDate(root, sources)) return null;
+        try {
+            return read(root, file);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private JsonNode entry(String hash) {
+        Path p = dir.resolve(hash + ".json");
+        if (!Files.isRegularFile(p)) return null;
+        try {
+            return MAPPER.readTree(p.toFile());
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static boolean upToDate(JsonNode root, SourceIndex sources) {
+        JsonNode deps = root.get("deps");
+        if (deps == null || !deps.isObject()) return false;
+        var it = deps.fields();
+        while (it.hasNext()) {
+            var dep = it.next();
+            if (!dep.getValue().asText().equals(sources.typeHash(dep.getKey()))) return false;
+        }
+        return true;
+    }
+
+    void store(String hash, FileFacts facts, SourceIndex sources) {
+        ObjectNode root = write(facts);
+        ObjectNode deps = root.putObject("deps");
+        for (String type : facts.dependsOn()) {
+            String h = sources.typeHash(type);
+            // 依赖的类型不在索引中（无法校验）时不缓存
+            if (h == null) return;
+            deps.put(type, h);
+        }
+        try {
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, hash, ".tmp");
+            try {
+                MAPPER.writeValue(tmp.toFile(), root);
+                try {
+                    Files.move(tmp, dir.resolve(hash + ".json"),
+                            StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, dir.resolve(hash + ".json"), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            // 缓存只是加速手段，写失败不影响分析
+            System.err.println("[callgraph] cache write failed: " + e.getMessage());
+        }
+    }
+
+    private static ObjectNode write(FileFacts facts) {
+        ObjectNode root = MAPPER.createObjectNode();
+        ArrayNode methods = root.putArray("methods");
+        for (MethodFacts m : facts.methods()) {
+            ObjectNode n = methods.addObject();
+            n.put("key", m.key());
+            n.put("name", m.displayName());
+            n.put("effects", m.directEffects());
+            ArrayNode w = n.putArray("witnesses");
+            for (Effect e : Effect.values()) w.add(m.witness(e));
+            n.put("handler", m.isHandler());
+            ArrayNode o = n.putArray("overrides");
+            m.overrides().forEach(o::add);
+            ArrayNode calls = n.putArray("calls");
+            for (CallSite c : m.calls()) {
+                calls.addArray().add(c.callee()).add(c.startLine()).add(c.startCol()).add(c.endLine()).add(c.endCol());
+            }
+        }
+        return root;
+    }
+
+    private static FileFacts read(JsonNode root, String file) {
+        List<MethodFacts> methods = new ArrayList<>();
+        for (JsonNode n : root.get("methods")) {
+            String[] witnesses = new String[Effect.values().length];
+            JsonNode w = n.get("witnesses");
+            for (int i = 0; i < witnesses.length; i++) {
+                witnesses[i] = w.get(i).isNull() ? null : w.get(i).asText();
+            }
+            List<String> overrides = new ArrayList<>();
+            n.get("overrides").forEach(o -> overrides.add(o.asText()));
+            List<CallSite> calls = new ArrayList<>();
+            for (JsonNode c : n.get("calls")) {
+                calls.add(new CallSite(c.get(0).asText(), c.get(1).asInt(), c.get(2).asInt(),
+                        c.get(3).asInt(), c.get(4).asInt()));
+            }
+            methods.add(new MethodFacts(n.get("key").asText(), n.get("name").asText(),
+                    n.get("effects").asInt(), witnesses, n.get("handler").asBoolean(), overrides, calls));
+        }
+        List<String> deps = new ArrayList<>();
+        root.get("deps").fieldNames().forEachRemaining(deps::add);
+        return new FileFacts(file, methods, Set.copyOf(deps));
+    }
+}
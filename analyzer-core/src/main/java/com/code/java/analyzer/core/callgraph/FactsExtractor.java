@@ -0,0 +1,243 @@
+package com.code.java.analyzer.core.callgraph;
+
+import com.code.java.analyzer.core.MethodMatcher;
+import com.code.java.analyzer.core.RuleScanner;
+import com.code.java.analyzer.core.Watchdog;
+import com.code.java.analyzer.core.callgraph.MethodFacts.CallSite;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.source.util.Trees;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.Name;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 从一个编译单元中提取每个方法的局部事实。
+ *
+ * - 直接副作用：方法体（含其中的 lambda）直接调用了 {@link Effect} 中的 sink 方法
+ * - 调用点：只记录被调方法在本次编译的源码中（trees.getTree(callee) != null），类库方法不进入调用图
+ * - 重写关系：同名同参数的父类 / 接口方法，供调用图加 CHA（类层次）边
+ * - 请求处理入口：见 {@link Handlers}
+ * - 依赖：上述判定用到的其他源文件中的类型（见 {@link FileFacts#dependsOn()}）
+ */
+final class FactsExtractor {
+
+    private FactsExtractor() {}
+
+    static FileFacts extract(CompilationUnitTree cu, Trees trees, Path projectRoot) {
+        List<MethodFacts> out = new ArrayList<>();
+        Set<String> deps = new TreeSet<>();
+        Set<TypeElement> seen = new HashSet<>();
+        Watchdog.Deadline deadline = Watchdog.current();
+
+        new TreePathScanner<Void, Void>() {
+            // 嵌套类中的方法单独成为节点；lambda 归属到外层方法
+            private final Deque<Builder> methods = new ArrayDeque<>();
+
+            @Override
+            public Void visitClass(ClassTree node, Void unused) {
+                // 方法内的局部类 / 匿名类：类体不属于外层方法
+                Deque<Builder> saved = new ArrayDeque<>(methods);
+                methods.clear();
+                try {
+                    return super.visitClass(node, unused);
+                } finally {
+                    methods.addAll(saved);
+                }
+            }
+
+            @Override
+            public Void visitMethod(MethodTree node, Void unused) {
+                deadline.check();
+                Element e = trees.getElement(getCurrentPath());
+                // 抽象 / 接口方法也要作为节点：调用它们会经由类层次边分派到各实现
+                if (!(e instanceof ExecutableElement m)) {
+                    return null;
+                }
+                // 重写关系、handler 判定与未限定调用的解析都取决于所在类型（及外层类型）的父类型
+                for (Element t = m.getEnclosingElement(); t != null; t = t.getEnclosingElement()) {
+                    if (t instanceof TypeElement type) depend(type);
+                }
+                Builder b = new Builder(m, Handlers.isHandler(node, m));
+                methods.push(b);
+                try {
+                    super.visitMethod(node, unused);
+                } finally {
+                    methods.pop();
+                }
+                out.add(b.build());
+                return null;
+            }
+
+            @Override
+            public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                call(node);
+                return super.visitMethodInvocation(node, unused);
+            }
+
+            @Override
+            public Void visitNewClass(NewClassTree node, Void unused) {
+                call(node);
+                return super.visitNewClass(node, unused);
+            }
+
+            private void call(Tree node) {
+                Builder b = methods.peek();
+                if (b == null) return;
+                if (!(trees.getElement(getCurrentPath()) instanceof ExecutableElement callee)) return;
+
+                for (Effect effect : Effect.values()) {
+                    if (!effect.in(b.flags) && effect.isSink(callee)) {
+                        b.flags |= effect.bit();
+                        b.witnesses[effect.ordinal()] = displayName(callee);
+                    }
+                }
+                // 接收者类型中新增 / 删除的重载会改变调用解析到的方法
+                if (node instanceof MethodInvocationTree mi && mi.getMethodSelect() instanceof MemberSelectTree ms
+                        && trees.getTypeMirror(new TreePath(getCurrentPath(), ms.getExpression()))
+                                instanceof DeclaredType receiver) {
+                    depend((TypeElement) receiver.asElement());
+                }
+                if (trees.getTree(callee) != null) {
+                    if (callee.getEnclosingElement() instanceof TypeElement owner) depend(owner);
+                    long start = trees.getSourcePositions().getStartPosition(cu, node);
+                    long end = trees.getSourcePositions().getEndPosition(cu, node);
+                    if (end < 0) end = start;
+                    var lines = cu.getLineMap();
+                    b.calls.add(new CallSite(key(callee),
+                            (int) lines.getLineNumber(start), (int) lines.getColumnNumber(start),
+                            (int) lines.getLineNumber(end), (int) lines.getColumnNumber(end)));
+                }
+            }
+
+            /** 记录 t 及其父类型中来自其他源文件的顶层类型；类库类型（及其父类型）不记录 */
+            private void depend(TypeElement t) {
+                if (!seen.add(t)) return;
+                TreePath path = trees.getPath(t);
+                if (path == null) return;
+                if (path.getCompilationUnit() != cu) deps.add(topLevelName(t));
+                for (TypeMirror s : supertypes(t)) {
+                    if (s instanceof DeclaredType dt) depend((TypeElement) dt.asElement());
+                }
+            }
+        }.scan(cu, null);
+
+        return new FileFacts(RuleScanner.relativePath(cu, projectRoot), out, deps);
+    }
+
+    private static String topLevelName(TypeElement t) {
+        TypeElement top = t;
+        for (Element e = t.getEnclosingElement(); e != null && !(e instanceof PackageElement);
+             e = e.getEnclosingElement()) {
+            if (e instanceof TypeElement type) top = type;
+        }
+        return top.getQualifiedName().toString();
+    }
+
+    /**
+     * 方法唯一键：owner#name(擦除后的参数类型)
+     */
+    static String key(ExecutableElement m) {
+        StringBuilder sb = new StringBuilder(ownerName(m)).append('#').append(m.getSimpleName()).append('(');
+        List<? extends VariableElement> params = m.getParameters();
+        for (int i = 0; i < params.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append(MethodMatcher.typeName(params.get(i).asType()));
+        }
+        return sb.append(')').toString();
+    }
+
+    static String displayName(ExecutableElement m) {
+        Element owner = m.getEnclosingElement();
+        Name simple = owner.getSimpleName();
+        String type = simple.length() == 0 ? ownerName(m) : simple.toString();
+        return type + "." + (m.getSimpleName().contentEquals("<init>") ? "new" : m.getSimpleName());
+    }
+
+    private static String ownerName(ExecutableElement m) {
+        Element owner = m.getEnclosingElement();
+        if (owner instanceof TypeElement t && t.getQualifiedName().length() > 0) {
+            return t.getQualifiedName().toString();
+        }
+        // 匿名类 / 局部类没有全限定名，用 javac 的展示名（含外层类与序号）
+        return String.valueOf(owner);
+    }
+
+    /**
+     * m 重写 / 实现的所有父类型方法（同名、参数擦除后相同）
+     */
+    private static Set<String> overrides(ExecutableElement m) {
+        Set<String> out = new LinkedHashSet<>();
+        if (m.getModifiers().contains(Modifier.STATIC) || m.getModifiers().contains(Modifier.PRIVATE)
+                || m.getSimpleName().contentEquals("<init>")
+                || !(m.getEnclosingElement() instanceof TypeElement owner)) {
+            return out;
+        }
+        String self = key(m);
+        String suffix = self.substring(self.indexOf('#'));
+        Deque<TypeMirror> todo = new ArrayDeque<>(supertypes(owner));
+        Set<TypeElement> seen = new HashSet<>();
+        while (!todo.isEmpty()) {
+            if (!(todo.pop() instanceof DeclaredType dt)) continue;
+            TypeElement t = (TypeElement) dt.asElement();
+            if (!seen.add(t)) continue;
+            for (Element e : t.getEnclosedElements()) {
+                if (e instanceof ExecutableElement sm && sm.getSimpleName().equals(m.getSimpleName())
+                        && !sm.getModifiers().contains(Modifier.STATIC)
+                        && !sm.getModifiers().contains(Modifier.PRIVATE)) {
+                    String k = key(sm);
+                    if (k.endsWith(suffix)) out.add(k);
+                }
+            }
+            todo.addAll(supertypes(t));
+        }
+        return out;
+    }
+
+    private static List<TypeMirror> supertypes(TypeElement t) {
+        List<TypeMirror> out = new ArrayList<>(t.getInterfaces());
+        out.add(t.getSuperclass());
+        return out;
+    }
+
+    private static final class Builder {
+        final ExecutableElement method;
+        final boolean handler;
+        final String[] witnesses = new String[Effect.values().length];
+        final List<CallSite> calls = new ArrayList<>();
+        int flags;
+
+        Builder(ExecutableElement method, boolean handler) {
+            this.method = method;
+            this.handler = handler;
+        }
+
+        MethodFacts build() {
+            return new MethodFacts(key(method), displayName(method), flags, witnesses, handler,
+                    new ArrayList<>(overrides(method)), calls);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.code.java.analyzer.core.callgraph;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 一个源文件中所有方法的局部事实
+ */
+public final class FileFacts {
+
+    private final String file;          // 相对 projectRoot
+    private final List<MethodFacts> methods;
+    private final Set<String> dependsOn;   // 其他源文件中的顶层类型全限定名
+
+    public FileFacts(String file, List<MethodFacts> methods) {
+        this(file, methods, Set.of());
+    }
+
+    public FileFacts(String file, List<MethodFacts> methods, Set<String> dependsOn) {
+        this.file = file;
+        this.methods = List.copyOf(methods);
+        this.dependsOn = Set.copyOf(dependsOn);
+    }
+
+    public String file() { return file; }
+
+    public List<MethodFacts> methods() { return methods; }
+
+    /**
+     * 事实依赖的其他源文件中的顶层类型（被调方法与接收者的类型、各方法所在类型的父类型）：
+     * 这些文件变化时被调方法的解析、重写关系与 handler 判定都可能变化，缓存的事实随之作废
+     */
+    public Set<String> dependsOn() { return dependsOn; }
+}
@@ -0,0 +1,53 @@
+package com.code.java.analyzer.core.callgraph;
+
+import com.code.java.analyzer.core.Issue;
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.ProjectRule;
+import com.code.java.analyzer.core.callgraph.MethodFacts.CallSite;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.util.Trees;
+
+/**
+ * 请求处理方法（见 {@link FactsExtractor}）经由项目内的调用链可达某种副作用时，
+ * 在 handler 中的调用点上报：“经由 {0} 可能调用 {1}”。
+ *
+ * 直接在 handler 中调用 sink 的情况由对应的逐文件规则负责，这里不重复上报。
+ */
+public abstract class HandlerReachabilityRule implements ProjectRule {
+
+    protected abstract Effect effect();
+
+    // 项目中没有 handler 时不可能上报，也就不需要为调用图标注整个项目
+    @Override
+    public boolean mayReport(Iterable<? extends CompilationUnitTree> asts) {
+        for (CompilationUnitTree cu : asts) {
+            if (Handlers.mayDeclare(cu)) return true;
+        }
+        return false;
+    }
+
+    // 事实已缓存（且依赖的文件未变）的文件不需要标注
+    @Override
+    public boolean needsAttribution(CompilationUnitTree cu, Iterable<? extends CompilationUnitTree> asts) {
+        return !CallGraph.hasCachedFacts(cu, asts);
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        CallGraph graph = CallGraph.of(asts, trees, collector.projectRoot());
+        Effect effect = effect();
+        for (FileFacts file : graph.files()) {
+            for (MethodFacts m : file.methods()) {
+                if (!m.isHandler()) continue;
+                for (CallSite c : m.calls()) {
+                    if (!effect.in(graph.summary(c.callee()))) continue;
+                    MethodFacts callee = graph.method(c.callee());
+                    collector.report(new Issue(
+                            engineId(), id(), defaultSeverity(), type(), id() + ".message",
+                            new Object[]{callee.displayName(), graph.witness(c.callee(), effect)},
+                            file.file(), c.startLine(), c.startCol(), c.endLine(), c.endCol()));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.code.java.analyzer.core.callgraph;
+
+import com.code.java.analyzer.core.MethodMatcher;
+import com.code.java.analyzer.core.NameLookup;
+import com.sun.source.tree.AnnotationTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreeScanner;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Name;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * 请求处理入口：Spring MVC / JAX-RS 映射注解，或 HttpServlet 的 doXxx 方法。
+ * 调用图用它标记 handler 节点；逐文件规则用它判断“直接在 handler 中”的调用。
+ */
+public final class Handlers {
+
+    private static final Set<String> HANDLER_ANNOTATIONS = Set.of(
+            "RequestMapping", "GetMapping", "PostMapping", "PutMapping", "DeleteMapping", "PatchMapping",
+            "GET", "POST", "PUT", "DELETE", "PATCH", "Path"
+    );
+
+    private static final Set<String> SERVLET_METHODS = Set.of(
+            "service", "doGet", "doPost", "doPut", "doDelete", "doPatch", "doHead", "doOptions"
+    );
+
+    private static final NameLookup<Boolean> HANDLER_NAMES =
+            new NameLookup<>(n -> HANDLER_ANNOTATIONS.contains(n) || SERVLET_METHODS.contains(n));
+
+    // 编译单元 -> 是否可能声明 handler（三条可达性规则共用，弱引用键）
+    private static final Map<CompilationUnitTree, Boolean> DECLARES =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private Handlers() {}
+
+    /**
+     * 只看语法树：编译单元中是否有方法带映射注解或以 servlet 方法命名（{@link #isHandler} 的必要条件，不需要标注）
+     */
+    public static boolean mayDeclare(CompilationUnitTree cu) {
+        return DECLARES.computeIfAbsent(cu, Handlers::scan);
+    }
+
+    private static boolean scan(CompilationUnitTree cu) {
+        boolean[] found = new boolean[1];
+        new TreeScanner<Void, Void>() {
+            @Override
+            public Void scan(Tree tree, Void unused) {
+                return found[0] ? null : super.scan(tree, unused);
+            }
+
+            @Override
+            public Void visitMethod(MethodTree node, Void unused) {
+                found[0] |= HANDLER_NAMES.get(node.getName());
+                for (AnnotationTree a : node.getModifiers().getAnnotations()) {
+                    Name n = MethodMatcher.simpleTypeName(a.getAnnotationType());
+                    found[0] |= n != null && HANDLER_NAMES.get(n);
+                }
+                return super.visitMethod(node, unused);
+            }
+        }.scan(cu, null);
+        return found[0];
+    }
+
+    public static boolean isHandler(MethodTree node, ExecutableElement m) {
+        for (AnnotationTree a : node.getModifiers().getAnnotations()) {
+            Name n = MethodMatcher.simpleTypeName(a.getAnnotationType());
+            if (n != null && HANDLER_ANNOTATIONS.contains(n.toString())) return true;
+        }
+        if (SERVLET_METHODS.contains(m.getSimpleName().toString())
+                && m.getEnclosingElement() instanceof TypeElement t) {
+            return extendsType(t, "HttpServlet", new HashSet<>());
+        }
+        return false;
+    }
+
+    private static boolean extendsType(TypeElement t, String simpleName, Set<TypeElement> seen) {
+        if (!seen.add(t)) return false;
+        if (t.getSimpleName().contentEquals(simpleName)) return true;
+        return t.getSuperclass() instanceof DeclaredType dt
+                && extendsType((TypeElement) dt.asElement(), simpleName, seen);
+    }
+}
@@ -0,0 +1,70 @@
+package com.code.java.analyzer.core.callgraph;
+
+import java.util.List;
+
+/**
+ * 单个方法的局部事实（依赖本文件内容与所引用的源码类型，见 {@link FileFacts#dependsOn()}）：
+ * 直接副作用、调用点、重写了哪些方法、是否请求处理入口。
+ */
+public final class MethodFacts {
+
+    private final String key;
+    private final String displayName;
+    private final int directEffects;
+    private final String[] witnesses;   // 按 Effect.ordinal()，直接副作用的来源（例如 "Thread.sleep"）
+    private final boolean handler;
+    private final List<String> overrides;
+    private final List<CallSite> calls;
+
+    public MethodFacts(String key, String displayName, int directEffects, String[] witnesses,
+                       boolean handler, List<String> overrides, List<CallSite> calls) {
+        this.key = key;
+        this.displayName = displayName;
+        this.directEffects = directEffects;
+        this.witnesses = witnesses;
+        this.handler = handler;
+        this.overrides = List.copyOf(overrides);
+        this.calls = List.copyOf(calls);
+    }
+
+    /** 方法唯一键：owner#name(paramTypes) */
+    public String key() { return key; }
+
+    /** 展示名：Owner.name */
+    public String displayName() { return displayName; }
+
+    public int directEffects() { return directEffects; }
+
+    public String witness(Effect e) { return witnesses[e.ordinal()]; }
+
+    public boolean isHandler() { return handler; }
+
+    public List<String> overrides() { return overrides; }
+
+    public List<CallSite> calls() { return calls; }
+
+    /**
+     * 调用点：被调方法键 + 源码位置
+     */
+    public static final class CallSite {
+        private final String callee;
+        private final int startLine;
+        private final int startCol;
+        private final int endLine;
+        private final int endCol;
+
+        public CallSite(String callee, int startLine, int startCol, int endLine, int endCol) {
+            this.callee = callee;
+            this.startLine = startLine;
+            this.startCol = startCol;
+            this.endLine = endLine;
+            this.endCol = endCol;
+        }
+
+        public String callee() { return callee; }
+        public int startLine() { return startLine; }
+        public int startCol() { return startCol; }
+        public int endLine() { return endLine; }
+        public int endCol() { return endCol; }
+    }
+}
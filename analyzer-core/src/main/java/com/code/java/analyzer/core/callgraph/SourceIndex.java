@@ -0,0 +1,73 @@
+package com.code.java.analyzer.core.callgraph;
+
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.Tree;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * 本次编译的源文件索引：编译单元 -> 内容哈希，顶层类型全限定名 -> 所在文件的内容哈希。
+ *
+ * 缓存的局部事实记录了它依赖的其他源文件中的类型（被调方法的类型、接收者类型、父类型，
+ * 见 {@link FileFacts#dependsOn()}），命中时按这里的哈希逐个校验：依赖的文件改动、删除，
+ * 或类型移到了别的文件，事实即作废、重新标注并提取。
+ *
+ * 规划标注与构建调用图以同一组编译单元先后调用，最近一次的索引按 asts 复用。
+ */
+final class SourceIndex {
+
+    private static volatile SourceIndex last;
+
+    private final WeakReference<Iterable<? extends CompilationUnitTree>> asts;
+    private final Map<CompilationUnitTree, String> hashes = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Map<String, String> types = new HashMap<>();
+
+    private SourceIndex(Iterable<? extends CompilationUnitTree> asts) {
+        this.asts = new WeakReference<>(asts);
+        for (CompilationUnitTree cu : asts) {
+            String hash = contentHash(cu);
+            if (hash == null) continue;
+            hashes.put(cu, hash);
+            String pkg = cu.getPackageName() == null ? "" : cu.getPackageName() + ".";
+            for (Tree decl : cu.getTypeDecls()) {
+                if (decl instanceof ClassTree cls) types.put(pkg + cls.getSimpleName(), hash);
+            }
+        }
+    }
+
+    static SourceIndex of(Iterable<? extends CompilationUnitTree> asts) {
+        SourceIndex index = last;
+        if (index == null || index.asts.get() != asts) {
+            index = new SourceIndex(asts);
+            last = index;
+        }
+        return index;
+    }
+
+    /** 编译单元的内容哈希；读取失败返回 null（不缓存） */
+    String hash(CompilationUnitTree cu) {
+        String hash = hashes.get(cu);
+        return hash != null ? hash : contentHash(cu);
+    }
+
+    /** 顶层类型所在文件的内容哈希；类型不在本次编译的源码中返回 null */
+    String typeHash(String type) {
+        return types.get(type);
+    }
+
+    private static String contentHash(CompilationUnitTree cu) {
+        try {
+            return FactsCache.hash(cu.getSourceFile().getCharContent(true).toString()
+                    .getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.code.java.analyzer.core.config;
+
+import com.code.java.analyzer.core.Issue;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 分析配置（CLI / Maven / Gradle 共用），默认读取项目根目录下的 code-analyzer.json：
+ *
+ * <pre>
+ * {
+ *   "profile": "ci",
+ *   "include": ["src/**"],
+ *   "exclude": ["**&#47;generated/**"],
+ *   "skipGenerated": true,
+ *   "patterns": ["house-rules.json"],
+ *   "budgets": { "fileMillis": 10000, "ruleMillis": 2000, "ruleTotalMillis": 120000 },
+ *   "failFast": { "severity": "CRITICAL", "maxIssues": 0 },
+ *   "sarifSnippets": true,
+ *   "rules": {
+ *     "MYJAVA0001": { "severity": "MINOR", "exclude": ["**&#47;cli/**"] }
+ *   },
+ *   "profiles": {
+ *     "ci":    { "rules": { "MYJAVA0005": { "enabled": false } } },
+ *     "audit": { "extends": "ci", "onlyListed": true, "rules": { "MYJAVA0004": {} } }
+ *   }
+ * }
+ * </pre>
+ *
+ * - include / exclude / skipGenerated：作用于整个分析，在 javac 解析之前过滤文件；skipGenerated 默认关闭（插件参数 / 命令行可开启）
+ * - rules：基础规则设置；profiles 中同名规则的设置逐项覆盖（extends 可继承其他 profile）
+ * - onlyListed：只运行 rules 中列出的规则
+ * - patterns：额外的模式规则文件（相对配置文件所在目录）
+ * - budgets：规则执行的时间预算，见 {@link TimeBudgets}
+ * - failFast：快速失败门禁，见 {@link FailFastGate}（插件参数 / 命令行可覆盖）
+ * - sarifSnippets：SARIF 结果附带源码片段（region.snippet / contextRegion），默认关闭（插件参数 / 命令行可开启）
+ */
+public final class AnalyzerConfig {
+
+    public static final String DEFAULT_FILE_NAME = "code-analyzer.json";
+
+    // 没有配置文件时不初始化 Jackson（databind 的类加载占 CLI 启动时间的相当一部分）
+    private static final class Json {
+        static final ObjectMapper MAPPER = new ObjectMapper();
+    }
+
+    private final Path source;
+    private final GlobFilter files;
+    private final boolean skipGenerated;
+    private final List<Path> patternFiles;
+    private final TimeBudgets budgets;
+    private final FailFastGate failFast;
+    private final boolean sarifSnippets;
+
+    private final Map<String, RuleSettings> baseRules;
+    private final Map<String, JsonNode> profiles;
+
+    // 当前 profile 解析后的结果
+    private final String activeProfile;
+    private final boolean onlyListed;
+    private final Map<String, RuleSettings> rules;
+
+    private AnalyzerConfig(Path source, GlobFilter files, boolean skipGenerated, List<Path> patternFiles,
+                           TimeBudgets budgets, FailFastGate failFast, boolean sarifSnippets,
+                           Map<String, RuleSettings> baseRules, Map<String, JsonNode> profiles, String activeProfile) {
+        this.source = source;
+        this.files = files;
+        this.skipGenerated = skipGenerated;
+        this.patternFiles = List.copyOf(patternFiles);
+        this.budgets = budgets;
+        this.failFast = failFast;
+        this.sarifSnippets = sarifSnippets;
+        this.baseRules = baseRules;
+        this.profiles = profiles;
+        this.activeProfile = activeProfile;
+
+        Map<String, RuleSettings> resolved = new HashMap<>(baseRules);
+        this.onlyListed = resolveProfile(activeProfile, resolved, new ArrayList<>());
+        this.rules = Map.copyOf(resolved);
+    }
+
+    /** 无配置文件时的默认值：所有规则、所有文件（包括生成代码） */
+    public static AnalyzerConfig defaults() {
+        return new AnalyzerConfig(null, GlobFilter.all(), false, List.of(), TimeBudgets.unlimited(),
+                FailFastGate.disabled(), false, Map.of(), Map.of(), null);
+    }
+
+    /**
+     * 项目根目录下存在 code-analyzer.json 则加载，否则返回默认配置
+     */
+    public static AnalyzerConfig discover(Path projectRoot) {
+        Path f = projectRoot.resolve(DEFAULT_FILE_NAME);
+        return Files.isRegularFile(f) ? load(f) : defaults();
+    }
+
+    public static AnalyzerConfig load(Path file) {
+        Path abs = file.toAbsolutePath().normalize();
+        JsonNode root;
+        try {
+            root = Json.MAPPER.readTree(abs.toFile());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to read analyzer config: " + abs, e);
+        }
+        if (root == null || !root.isObject()) {
+            throw new IllegalArgumentException("Analyzer config must be a JSON object: " + abs);
+        }
+
+        GlobFilter files = GlobFilter.of(strings(root.get("include")), strings(root.get("exclude")));
+        boolean skipGenerated = root.has("skipGenerated") && root.get("skipGenerated").asBoolean(false);
+
+        List<Path> patterns = new ArrayList<>();
+        Path dir = abs.getParent();
+        for (String p : strings(root.get("patterns"))) {
+            patterns.add(dir.resolve(p).normalize());
+        }
+
+        TimeBudgets budgets = TimeBudgets.unlimited();
+        JsonNode b = root.get("budgets");
+        if (b != null && b.isObject()) {
+            budgets = new TimeBudgets(
+                    b.path("fileMillis").asLong(0),
+                    b.path("ruleMillis").asLong(0),
+                    b.path("ruleTotalMillis").asLong(0));
+        }
+
+        FailFastGate failFast = FailFastGate.disabled();
+        JsonNode ff = root.get("failFast");
+        if (ff != null && ff.isObject()) {
+            failFast = FailFastGate.of(ff.path("severity").asText(null), ff.path("maxIssues").asInt(0));
+        }
+
+        boolean sarifSnippets = root.path("sarifSnippets").asBoolean(false);
+
+        Map<String, RuleSettings> base = parseRules(root.get("rules"), abs);
+
+        Map<String, JsonNode> profiles = new LinkedHashMap<>();
+        JsonNode ps = root.get("profiles");
+        if (ps != null && ps.isObject()) {
+            ps.fields().forEachRemaining(e -> profiles.put(e.getKey(), e.getValue()));
+        }
+
+        String profile = root.hasNonNull("profile") ? root.get("profile").asText() : null;
+        if (profile == null && profiles.containsKey("default")) {
+            profile = "default";
+        }
+        checkProfile(profile, profiles, abs);
+
+        return new AnalyzerConfig(abs, files, skipGenerated, patterns, budgets, failFast, sarifSnippets, base, profiles,
+                profile);
+    }
+
+    /**
+     * 切换 profile（命令行 / 插件参数优先于配置文件中的 "profile"）；null 或空白表示不变
+     */
+    public AnalyzerConfig withProfile(String profile) {
+        if (profile == null || profile.isBlank()) return this;
+        checkProfile(profile, profiles, source);
+        return new AnalyzerConfig(source, files, skipGenerated, patternFiles, budgets, failFast, sarifSnippets,
+                baseRules, profiles, profile);
+    }
+
+    /**
+     * 替换快速失败门禁（插件参数 / 命令行优先于配置文件中的 "failFast"）；null 表示不变
+     */
+    public AnalyzerConfig withFailFast(FailFastGate gate) {
+        if (gate == null) return this;
+        return new AnalyzerConfig(source, files, skipGenerated, patternFiles, budgets, gate, sarifSnippets,
+                baseRules, profiles, activeProfile);
+    }
+
+    /**
+     * 开启 / 关闭 SARIF 源码片段（插件参数 / 命令行优先于配置文件中的 "sarifSnippets"）；null 表示不变
+     */
+    public AnalyzerConfig withSarifSnippets(Boolean enabled) {
+        if (enabled == null) return this;
+        return new AnalyzerConfig(source, files, skipGenerated, patternFiles, budgets, failFast, enabled,
+                baseRules, profiles, activeProfile);
+    }
+
+    /**
+     * 开启 / 关闭跳过生成代码（插件参数 / 命令行优先于配置文件中的 "skipGenerated"）；null 表示不变
+     */
+    public AnalyzerConfig withSkipGenerated(Boolean enabled) {
+        if (enabled == null) return this;
+        return new AnalyzerConfig(source, files, enabled, patternFiles, budgets, failFast, sarifSnippets,
+                baseRules, profiles, activeProfile);
+    }
+
+    /** 配置文件路径；默认配置时为 null */
+    public Path source() { return source; }
+
+    public String activeProfile() { return activeProfile; }
+
+    public boolean skipGenerated() { return skipGenerated; }
+
+    public List<Path> patternFiles() { return patternFiles; }
+
+    public TimeBudgets budgets() { return budgets; }
+
+    public FailFastGate failFast() { return failFast; }
+
+    public boolean sarifSnippets() { return sarifSnippets; }
+
+    /**
+     * 整体分析范围：路径相对 projectRoot
+     */
+    public boolean isFileIncluded(String relativePath) {
+        return files.accepts(relativePath);
+    }
+
+    public boolean isRuleEnabled(String ruleId) {
+        RuleSettings s = rules.get(ruleId);
+        if (s == null) return !onlyListed;
+        return s.enabled == null || s.enabled;
+    }
+
+    /**
+     * 按规则设置处理一条问题：覆盖 severity；不在该规则的路径范围内则返回 null（丢弃）
+     */
+    public Issue apply(Issue issue) {
+        RuleSettings s = rules.get(issue.ruleId());
+        if (s == null) return issue;
+        if (!s.paths.accepts(issue.file())) return null;
+        if (s.severity != null && !s.severity.equals(issue.severity())) {
+            return issue.withSeverity(s.severity);
+        }
+        return issue;
+    }
+
+    /* ========================= profile 解析 ========================= */
+
+    private boolean resolveProfile(String name, Map<String, RuleSettings> into, List<String> chain) {
+        if (name == null) return false;
+        if (chain.contains(name)) {
+            throw new IllegalArgumentException("Cyclic profile extends: " + chain + " -> " + name);
+        }
+        chain.add(name);
+
+        JsonNode p = profiles.get(name);
+        boolean onlyListed = false;
+        if (p.hasNonNull("extends")) {
+            String parent = p.get("extends").asText();
+            checkProfile(parent, profiles, source);
+            onlyListed = resolveProfile(parent, into, chain);
+        }
+        if (p.has("onlyListed")) {
+            onlyListed = p.get("onlyListed").asBoolean(false);
+        }
+        parseRules(p.get("rules"), source).forEach((id, s) -> into.merge(id, s, RuleSettings::overriddenBy));
+        return onlyListed;
+    }
+
+    private static void checkProfile(String profile, Map<String, JsonNode> profiles, Path source) {
+        if (profile != null && !profiles.containsKey(profile)) {
+            throw new IllegalArgumentException("Unknown analyzer profile '" + profile + "'"
+                    + (source == null ? "" : " in " + source) + ", available: " + profiles.keySet());
+        }
+    }
+
+    private static Map<String, RuleSettings> parseRules(JsonNode node, Path source) {
+        Map<String, RuleSettings> out = new HashMap<>();
+        if (node == null || node.isNull()) return out;
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("'rules' must be an object of ruleId -> settings: " + source);
+        }
+        node.fields().forEachRemaining(e -> {
+            JsonNode v = e.getValue();
+            Boolean enabled = v.has("enabled") ? v.get("enabled").asBoolean(true) : null;
+            String severity = v.hasNonNull("severity") ? v.get("severity").asText().trim().toUpperCase(Locale.ROOT) : null;
+            List<String> include = strings(v.get("include"));
+            List<String> exclude = strings(v.get("exclude"));
+            out.put(e.getKey(), new RuleSettings(enabled, severity, include, exclude));
+        });
+        return out;
+    }
+
+    private static List<String> strings(JsonNode node) {
+        List<String> out = new ArrayList<>();
+        if (node == null || node.isNull()) return out;
+        if (node.isTextual()) {
+            out.add(node.asText());
+        } else {
+            node.forEach(n -> out.add(n.asText()));
+        }
+        return out;
+    }
+
+    /**
+     * 单条规则的设置；字段为 null 表示沿用上一级
+     */
+    private static final class RuleSettings {
+        final Boolean enabled;
+        final String severity;
+        final List<String> include;
+        final List<String> exclude;
+        final GlobFilter paths;
+
+        RuleSettings(Boolean enabled, String severity, List<String> include, List<String> exclude) {
+            this.enabled = enabled;
+            this.severity = severity;
+            this.include = include;
+            this.exclude = exclude;
+            this.paths = GlobFilter.of(include, exclude);
+        }
+
+        RuleSettings overriddenBy(RuleSettings o) {
+            return new RuleSettings(
+                    o.enabled != null ? o.enabled : enabled,
+                    o.severity != null ? o.severity : severity,
+                    o.include.isEmpty() ? include : o.include,
+                    o.exclude.isEmpty() ? exclude : o.exclude
+            );
+        }
+    }
+}
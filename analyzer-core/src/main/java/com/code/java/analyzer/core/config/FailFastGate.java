@@ -0,0 +1,64 @@
+package com.code.java.analyzer.core.config;
+
+import com.code.java.analyzer.core.Issue;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 快速失败门禁：severity 不低于 severity 的问题数超过 maxIssues 时停止分析（剩余文件不再标注 / 执行规则），
+ * 输出标记为不完整的报告，构建随即失败。
+ *
+ *   severity  阈值，INFO &lt; MINOR &lt; MAJOR &lt; CRITICAL &lt; BLOCKER；默认 INFO（任何问题）
+ *   maxIssues 允许的问题数，默认 0（第一个问题即触发）
+ *
+ * 启用时文件按修改时间从新到旧分析，改动过的文件中的问题最先暴露。
+ */
+public final class FailFastGate {
+
+    private static final List<String> ORDER = List.of("INFO", "MINOR", "MAJOR", "CRITICAL", "BLOCKER");
+    private static final FailFastGate DISABLED = new FailFastGate(false, "INFO", 0);
+
+    private final boolean enabled;
+    private final String severity;
+    private final int maxIssues;
+
+    private FailFastGate(boolean enabled, String severity, int maxIssues) {
+        this.enabled = enabled;
+        this.severity = severity;
+        this.maxIssues = maxIssues;
+    }
+
+    public static FailFastGate disabled() {
+        return DISABLED;
+    }
+
+    /** severity 为 null / 空白时取 INFO；maxIssues 小于 0 按 0 处理 */
+    public static FailFastGate of(String severity, int maxIssues) {
+        String s = severity == null || severity.isBlank() ? "INFO" : severity.trim().toUpperCase(Locale.ROOT);
+        if (!ORDER.contains(s)) {
+            throw new IllegalArgumentException("Unknown severity for fail-fast gate: " + severity + " " + ORDER);
+        }
+        return new FailFastGate(true, s, Math.max(0, maxIssues));
+    }
+
+    public boolean enabled() { return enabled; }
+    public String severity() { return severity; }
+    public int maxIssues() { return maxIssues; }
+
+    /** 问题是否计入门禁（未知 severity 按 MAJOR 计） */
+    public boolean isBlocking(Issue issue) {
+        int rank = ORDER.indexOf(issue.severity());
+        return enabled && (rank < 0 ? ORDER.indexOf("MAJOR") : rank) >= ORDER.indexOf(severity);
+    }
+
+    /** 一组（最终的）问题是否越过门禁 */
+    public boolean isTripped(List<Issue> issues) {
+        return enabled && issues.stream().filter(this::isBlocking).count() > maxIssues;
+    }
+
+    @Override
+    public String toString() {
+        return enabled ? "severity>=" + severity + " maxIssues=" + maxIssues : "disabled";
+    }
+}
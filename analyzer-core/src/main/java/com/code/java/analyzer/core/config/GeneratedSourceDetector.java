@@ -0,0 +1,180 @@
+package com.code.java.analyzer.core.config;
+
+import com.code.java.analyzer.core.AnalysisNote;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 生成代码嗅探：只读取文件头部若干字节，按 ASCII 做轻量的词法扫描，不解码、不解析。
+ *
+ * 只看两处，文件其余部分（类注释、字符串、代码）中出现的同样字样不算：
+ *   - 文件头注释（package 声明之前的注释）：protobuf、OpenAPI、"DO NOT EDIT" / "auto-generated" 之类的横幅
+ *   - 第一个类型声明之前的 @Generated 注解（javax / jakarta / processing，简单名或全限定名）
+ */
+public final class GeneratedSourceDetector {
+
+    // package / import / 类注解都在类声明之前，8KB 足以覆盖绝大多数文件头
+    private static final int HEADER_BYTES = 8 * 1024;
+    // 执行提示中逐个列出的文件数，其余合计一条
+    private static final int MAX_LISTED = 50;
+
+    private static final byte[][] BANNERS = {
+            ascii("Generated by the protocol buffer compiler"),
+            ascii("DO NOT EDIT"),
+            ascii("do not edit"),
+            ascii("auto-generated"),
+            ascii("Auto-generated"),
+            ascii("OpenAPI Generator"),
+    };
+
+    private GeneratedSourceDetector() {}
+
+    public static boolean isGenerated(Path file) {
+        byte[] buf = new byte[HEADER_BYTES];
+        int n = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            int r;
+            while (n < buf.length && (r = in.read(buf, n, buf.length - n)) > 0) {
+                n += r;
+            }
+        } catch (IOException e) {
+            // 读不了就交给 javac 去报错
+            return false;
+        }
+        return isGenerated(buf, n);
+    }
+
+    /**
+     * 跳过的生成文件（相对路径）记为执行提示：逐个列出前 {@value #MAX_LISTED} 个，其余合计一条
+     */
+    public static List<AnalysisNote> notes(List<String> skipped) {
+        List<AnalysisNote> out = new ArrayList<>();
+        for (int i = 0; i < skipped.size() && i < MAX_LISTED; i++) {
+            out.add(new AnalysisNote(AnalysisNote.NOTE, null, skipped.get(i),
+                    "skipped as generated source (skipGenerated)"));
+        }
+        if (skipped.size() > MAX_LISTED) {
+            out.add(new AnalysisNote(AnalysisNote.NOTE, null, null,
+                    (skipped.size() - MAX_LISTED) + " more generated source file(s) skipped (skipGenerated)"));
+        }
+        return out;
+    }
+
+    static boolean isGenerated(byte[] buf, int n) {
+        boolean header = true; // 还在 package 声明之前
+        int i = 0;
+        while (i < n) {
+            byte b = buf[i];
+            if (b == '/' && i + 1 < n && (buf[i + 1] == '/' || buf[i + 1] == '*')) {
+                boolean line = buf[i + 1] == '/';
+                int end = line ? indexOf(buf, i + 2, n, (byte) '\n') : indexOf(buf, i + 2, n, "*/");
+                if (end < 0) end = n;
+                if (header && containsBanner(buf, i, end)) return true;
+                i = end + (line ? 1 : 2);
+            } else if (b == '"' || b == '\'') {
+                i = skipLiteral(buf, i, n);
+            } else if (b == '@') {
+                int start = skipSpace(buf, i + 1, n);
+                int end = identifierEnd(buf, start, n);
+                String name = ascii(buf, start, end);
+                if (name.equals("interface")) return false;
+                // 全限定名：取最后一段
+                while (true) {
+                    int dot = skipSpace(buf, end, n);
+                    if (dot >= n || buf[dot] != '.') break;
+                    start = skipSpace(buf, dot + 1, n);
+                    end = identifierEnd(buf, start, n);
+                    name = ascii(buf, start, end);
+                }
+                if (name.equals("Generated")) return true;
+                header = false;
+                i = Math.max(end, i + 1);
+            } else if (Character.isJavaIdentifierStart(b & 0xff)) {
+                int end = identifierEnd(buf, i, n);
+                String word = ascii(buf, i, end);
+                boolean qualified = i > 0 && buf[skipSpaceBack(buf, i - 1)] == '.';
+                if (!qualified && (word.equals("class") || word.equals("interface")
+                        || word.equals("enum") || word.equals("record"))) {
+                    return false;
+                }
+                header = false;
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsBanner(byte[] buf, int from, int to) {
+        for (byte[] m : BANNERS) {
+            if (indexOf(buf, from, to, m) >= 0) return true;
+        }
+        return false;
+    }
+
+    // 字符串 / 字符字面量（含文本块）之后的位置
+    private static int skipLiteral(byte[] buf, int i, int n) {
+        byte q = buf[i];
+        if (q == '"' && i + 2 < n && buf[i + 1] == '"' && buf[i + 2] == '"') {
+            int end = indexOf(buf, i + 3, n, "\"\"\"");
+            return end < 0 ? n : end + 3;
+        }
+        for (int j = i + 1; j < n; j++) {
+            if (buf[j] == '\\') j++;
+            else if (buf[j] == q || buf[j] == '\n') return j + 1;
+        }
+        return n;
+    }
+
+    private static int identifierEnd(byte[] buf, int i, int n) {
+        while (i < n && Character.isJavaIdentifierPart(buf[i] & 0xff)) i++;
+        return i;
+    }
+
+    private static int skipSpace(byte[] buf, int i, int n) {
+        while (i < n && Character.isWhitespace(buf[i])) i++;
+        return i;
+    }
+
+    private static int skipSpaceBack(byte[] buf, int i) {
+        while (i > 0 && Character.isWhitespace(buf[i])) i--;
+        return i;
+    }
+
+    private static int indexOf(byte[] buf, int from, int to, byte b) {
+        for (int i = from; i < to; i++) {
+            if (buf[i] == b) return i;
+        }
+        return -1;
+    }
+
+    private static int indexOf(byte[] buf, int from, int to, String s) {
+        return indexOf(buf, from, to, ascii(s));
+    }
+
+    private static int indexOf(byte[] buf, int from, int to, byte[] pattern) {
+        outer:
+        for (int i = from, last = to - pattern.length; i <= last; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (buf[i + j] != pattern[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static String ascii(byte[] buf, int from, int to) {
+        return new String(buf, from, to - from, StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
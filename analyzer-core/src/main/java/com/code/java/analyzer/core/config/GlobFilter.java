@@ -0,0 +1,97 @@
+package com.code.java.analyzer.core.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * include / exclude 路径过滤（glob 语法，路径统一用 '/'，与操作系统无关）：
+ *   *    匹配一段路径内的任意字符
+ *   **   匹配任意多段路径
+ *   ?    匹配单个字符
+ *
+ * 规则：include 为空表示全部包含；命中任一 exclude 即排除。
+ */
+public final class GlobFilter {
+
+    private static final GlobFilter ALL = new GlobFilter(List.of(), List.of());
+
+    private final List<Pattern> includes;
+    private final List<Pattern> excludes;
+
+    private GlobFilter(List<Pattern> includes, List<Pattern> excludes) {
+        this.includes = includes;
+        this.excludes = excludes;
+    }
+
+    public static GlobFilter all() {
+        return ALL;
+    }
+
+    public static GlobFilter of(List<String> include, List<String> exclude) {
+        if ((include == null || include.isEmpty()) && (exclude == null || exclude.isEmpty())) {
+            return ALL;
+        }
+        return new GlobFilter(compile(include), compile(exclude));
+    }
+
+    public boolean isEmpty() {
+        return includes.isEmpty() && excludes.isEmpty();
+    }
+
+    /**
+     * @param path 相对路径（'/' 或 '\' 分隔均可）
+     */
+    public boolean accepts(String path) {
+        if (isEmpty()) return true;
+        String p = path.replace('\\', '/');
+        if (!includes.isEmpty() && !anyMatch(includes, p)) return false;
+        return !anyMatch(excludes, p);
+    }
+
+    private static boolean anyMatch(List<Pattern> patterns, String p) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(p).matches()) return true;
+        }
+        return false;
+    }
+
+    private static List<Pattern> compile(List<String> globs) {
+        List<Pattern> out = new ArrayList<>();
+        if (globs == null) return out;
+        for (String g : globs) {
+            if (g != null && !g.isBlank()) out.add(Pattern.compile(toRegex(g.trim().replace('\\', '/'))));
+        }
+        return out;
+    }
+
+    static String toRegex(String glob) {
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        while (i < glob.length()) {
+            char c = glob.charAt(i);
+            if (c == '*') {
+                if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                    // "**/" 可以匹配零段目录
+                    if (i + 2 < glob.length() && glob.charAt(i + 2) == '/') {
+                        sb.append("(?:.*/)?");
+                        i += 3;
+                    } else {
+                        sb.append(".*");
+                        i += 2;
+                    }
+                    continue;
+                }
+                sb.append("[^/]*");
+            } else if (c == '?') {
+                sb.append("[^/]");
+            } else if ("\\.[]{}()+-^$|".indexOf(c) >= 0) {
+                sb.append('\\').append(c);
+            } else {
+                sb.append(c);
+            }
+            i++;
+        }
+        return sb.toString();
+    }
+}
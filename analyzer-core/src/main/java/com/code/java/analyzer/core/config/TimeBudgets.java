@@ -0,0 +1,35 @@
+package com.code.java.analyzer.core.config;
+
+/**
+ * 规则执行的时间预算（毫秒，<= 0 表示不限）：
+ *   fileMillis      单个文件上所有规则的总耗时，超出后跳过该文件剩余规则
+ *   ruleMillis      单条规则在单个文件上的耗时，超出后取消该规则在此文件上的执行
+ *   ruleTotalMillis 单条规则在整次分析中的累计耗时，超出后对剩余文件停用该规则
+ * 只计规则执行：javac 的 parse() / analyze() 不计入预算，也不会被中断
+ */
+public final class TimeBudgets {
+
+    private static final TimeBudgets UNLIMITED = new TimeBudgets(0, 0, 0);
+
+    private final long fileMillis;
+    private final long ruleMillis;
+    private final long ruleTotalMillis;
+
+    public TimeBudgets(long fileMillis, long ruleMillis, long ruleTotalMillis) {
+        this.fileMillis = fileMillis;
+        this.ruleMillis = ruleMillis;
+        this.ruleTotalMillis = ruleTotalMillis;
+    }
+
+    public static TimeBudgets unlimited() {
+        return UNLIMITED;
+    }
+
+    public long fileMillis() { return fileMillis; }
+    public long ruleMillis() { return ruleMillis; }
+    public long ruleTotalMillis() { return ruleTotalMillis; }
+
+    public boolean isUnlimited() {
+        return fileMillis <= 0 && ruleMillis <= 0 && ruleTotalMillis <= 0;
+    }
+}
@@ -0,0 +1,143 @@
+package com.code.java.analyzer.core.duplicates;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 跨文件重复代码检测（Rabin-Karp）：
+ *
+ * 1. 每个文件上以 minTokens 个词法单元为窗口计算滚动哈希，写入共享的 long → int 表，
+ *    每个哈希保留全局位置最小的窗口（并行写入，结果与线程调度无关）
+ * 2. 再扫一遍：窗口哈希对应的最小位置早于自身，即为候选重复；逐个单元校验（排除哈希碰撞）后向后延伸到最长，
+ *    整段跳过，下一段从头计算哈希
+ *
+ * 两遍都按文件并行，总体 O(单元总数)；内存为每个单元 12 字节 + 每个窗口约 18 字节。
+ * 同一文件中与原位置重叠的重复（长数组初始化之类的自相似代码）不报告。
+ */
+public final class CloneDetector {
+
+    // 滚动哈希的基数（奇数，mod 2^64）
+    private static final long BASE = 1_000_003L;
+
+    /** 重复片段：files[file] 的 [from, to) 与 files[originalFile] 从 originalFrom 开始的同样长度的单元相同 */
+    public record Clone(int file, int from, int to, int originalFile, int originalFrom) {
+        public int length() { return to - from; }
+    }
+
+    private CloneDetector() {}
+
+    public static List<Clone> detect(List<TokenStream> files, int minTokens) {
+        if (minTokens < 2) throw new IllegalArgumentException("minTokens must be >= 2: " + minTokens);
+
+        int[] bases = new int[files.size() + 1];
+        long windows = 0;
+        for (int f = 0; f < files.size(); f++) {
+            int size = files.get(f).size();
+            if ((long) bases[f] + size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("too many tokens");
+            }
+            bases[f + 1] = bases[f] + size;
+            windows += Math.max(0, size - minTokens + 1);
+        }
+        if (windows == 0) return List.of();
+
+        long top = pow(BASE, minTokens - 1);
+        LongIntTable table = new LongIntTable((int) Math.min(windows, Integer.MAX_VALUE));
+
+        // 1) 所有窗口入表
+        IntStream.range(0, files.size()).parallel().forEach(f -> {
+            TokenStream ts = files.get(f);
+            if (ts.size() < minTokens) return;
+            long h = hash(ts, 0, minTokens);
+            for (int i = 0; ; i++) {
+                table.putMin(h, bases[f] + i);
+                if (i + minTokens >= ts.size()) break;
+                h = roll(h, ts, i, minTokens, top);
+            }
+        });
+
+        // 2) 找出位置晚于首次出现的窗口，校验并延伸
+        List<Clone> clones = IntStream.range(0, files.size()).parallel()
+                .mapToObj(f -> scan(files, bases, f, table, minTokens, top))
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        clones.sort(Comparator.comparingInt(Clone::file).thenComparingInt(Clone::from));
+        return clones;
+    }
+
+    private static List<Clone> scan(List<TokenStream> files, int[] bases, int f, LongIntTable table,
+                                    int minTokens, long top) {
+        TokenStream ts = files.get(f);
+        List<Clone> out = new ArrayList<>();
+        if (ts.size() < minTokens) return out;
+
+        int i = 0;
+        long h = hash(ts, 0, minTokens);
+        while (true) {
+            int first = table.get(h);
+            int self = bases[f] + i;
+            if (first >= 0 && first < self) {
+                int of = fileOf(bases, first);
+                int oi = first - bases[of];
+                TokenStream other = files.get(of);
+                boolean overlaps = of == f && oi + minTokens > i;
+                if (!overlaps && same(ts, i, other, oi, minTokens)) {
+                    int len = minTokens;
+                    while (i + len < ts.size() && oi + len < other.size()
+                            && !(of == f && oi + len >= i)
+                            && ts.code(i + len) == other.code(oi + len)) {
+                        len++;
+                    }
+                    out.add(new Clone(f, i, i + len, of, oi));
+                    i += len;
+                    if (i + minTokens > ts.size()) break;
+                    h = hash(ts, i, minTokens);
+                    continue;
+                }
+            }
+            if (i + minTokens >= ts.size()) break;
+            h = roll(h, ts, i, minTokens, top);
+            i++;
+        }
+        return out;
+    }
+
+    private static boolean same(TokenStream a, int ai, TokenStream b, int bi, int len) {
+        for (int k = 0; k < len; k++) {
+            if (a.code(ai + k) != b.code(bi + k)) return false;
+        }
+        return true;
+    }
+
+    // 全局位置 -> 文件下标
+    private static int fileOf(int[] bases, int pos) {
+        int idx = Arrays.binarySearch(bases, pos);
+        if (idx >= 0) {
+            // 空文件的 base 与下一个文件相同，取最后一个
+            while (idx + 1 < bases.length && bases[idx + 1] == pos) idx++;
+            return idx;
+        }
+        return -idx - 2;
+    }
+
+    private static long hash(TokenStream ts, int from, int len) {
+        long h = 0;
+        for (int k = 0; k < len; k++) h = h * BASE + ts.code(from + k);
+        return h;
+    }
+
+    // 窗口 [i, i+len) -> [i+1, i+len+1)
+    private static long roll(long h, TokenStream ts, int i, int len, long top) {
+        return (h - ts.code(i) * top) * BASE + ts.code(i + len);
+    }
+
+    private static long pow(long b, int e) {
+        long r = 1;
+        for (int k = 0; k < e; k++) r *= b;
+        return r;
+    }
+}
@@ -0,0 +1,69 @@
+package com.code.java.analyzer.core.duplicates;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 固定容量的 long → int 开放寻址表，多线程无锁写入（CAS）。
+ *
+ * 只支持 “保留最小值” 的写入：同一个键上并发写入的结果与顺序无关，保证检测结果确定。
+ * 容量在创建时按元素数确定（负载 ≤ 2/3），不扩容；键 0 作为空槽标记，写入时映射为 1。
+ */
+final class LongIntTable {
+
+    private static final long EMPTY = 0L;
+    // 值加 1 存储，0 表示尚未写入
+    private final AtomicLongArray keys;
+    private final AtomicIntegerArray values;
+    private final int mask;
+
+    LongIntTable(int expected) {
+        long cap = Long.highestOneBit(Math.max(4L, expected * 3L / 2) - 1) << 1;
+        if (cap > (1 << 30)) throw new IllegalArgumentException("too many entries: " + expected);
+        keys = new AtomicLongArray((int) cap);
+        values = new AtomicIntegerArray((int) cap);
+        mask = (int) cap - 1;
+    }
+
+    /** key 上保留 min(已有值, value) */
+    void putMin(long key, int value) {
+        if (key == EMPTY) key = 1;
+        int stored = value + 1;
+        int idx = mix(key) & mask;
+        while (true) {
+            long k = keys.get(idx);
+            if (k == EMPTY) {
+                if (!keys.compareAndSet(idx, EMPTY, key)) continue;
+                k = key;
+            }
+            if (k == key) {
+                int cur;
+                do {
+                    cur = values.get(idx);
+                    if (cur != 0 && cur <= stored) return;
+                } while (!values.compareAndSet(idx, cur, stored));
+                return;
+            }
+            idx = (idx + 1) & mask;
+        }
+    }
+
+    /** 没有该键时返回 -1；写入全部完成后调用 */
+    int get(long key) {
+        if (key == EMPTY) key = 1;
+        int idx = mix(key) & mask;
+        while (true) {
+            long k = keys.get(idx);
+            if (k == EMPTY) return -1;
+            if (k == key) return values.get(idx) - 1;
+            idx = (idx + 1) & mask;
+        }
+    }
+
+    private static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
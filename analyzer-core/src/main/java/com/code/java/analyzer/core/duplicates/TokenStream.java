@@ -0,0 +1,156 @@
+package com.code.java.analyzer.core.duplicates;
+
+import java.util.Arrays;
+
+/**
+ * 一个编译单元的词法单元序列：每个单元只保留文本的哈希与起始行列，不保留文本本身。
+ *
+ * 只做重复检测需要的粗粒度切分：空白 / 注释跳过，package / import 语句跳过，
+ * 标识符、数字、字符串 / 字符 / 文本块字面量各为一个单元，其余符号逐字符切分。
+ */
+public final class TokenStream {
+
+    private int[] codes;
+    private int[] lines;
+    private int[] cols;
+    private int size;
+
+    private TokenStream(int capacity) {
+        codes = new int[capacity];
+        lines = new int[capacity];
+        cols = new int[capacity];
+    }
+
+    public int size() { return size; }
+    public int code(int i) { return codes[i]; }
+    public int line(int i) { return lines[i]; }
+    public int col(int i) { return cols[i]; }
+
+    public static TokenStream of(CharSequence src) {
+        TokenStream ts = new TokenStream(Math.max(16, src.length() / 4));
+        int n = src.length();
+        int line = 1;
+        int lineStart = 0;
+        int depth = 0;
+        boolean skipping = false; // package / import 语句中
+
+        int i = 0;
+        while (i < n) {
+            char c = src.charAt(i);
+            if (c == '\n') {
+                line++;
+                lineStart = ++i;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            // 注释
+            if (c == '/' && i + 1 < n && src.charAt(i + 1) == '/') {
+                while (i < n && src.charAt(i) != '\n') i++;
+                continue;
+            }
+            if (c == '/' && i + 1 < n && src.charAt(i + 1) == '*') {
+                i += 2;
+                while (i < n && !(src.charAt(i) == '*' && i + 1 < n && src.charAt(i + 1) == '/')) {
+                    if (src.charAt(i) == '\n') {
+                        line++;
+                        lineStart = i + 1;
+                    }
+                    i++;
+                }
+                i = Math.min(n, i + 2);
+                continue;
+            }
+
+            int start = i;
+            int startLine = line;
+            int startCol = i - lineStart + 1;
+            if (Character.isJavaIdentifierStart(c)) {
+                while (i < n && Character.isJavaIdentifierPart(src.charAt(i))) i++;
+            } else if (Character.isDigit(c) || (c == '.' && i + 1 < n && Character.isDigit(src.charAt(i + 1)))) {
+                // 数字字面量（含 0x / 下划线 / 后缀 / 小数 / 指数）
+                i++;
+                while (i < n) {
+                    char d = src.charAt(i);
+                    if (Character.isLetterOrDigit(d) || d == '_' || d == '.') {
+                        i++;
+                    } else if ((d == '+' || d == '-') && (src.charAt(i - 1) == 'e' || src.charAt(i - 1) == 'E'
+                            || src.charAt(i - 1) == 'p' || src.charAt(i - 1) == 'P')) {
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+            } else if (c == '"' && i + 2 < n && src.charAt(i + 1) == '"' && src.charAt(i + 2) == '"') {
+                // 文本块
+                i += 3;
+                while (i < n && !(src.charAt(i) == '"' && i + 2 < n && src.charAt(i + 1) == '"'
+                        && src.charAt(i + 2) == '"' && src.charAt(i - 1) != '\\')) {
+                    if (src.charAt(i) == '\n') {
+                        line++;
+                        lineStart = i + 1;
+                    }
+                    i++;
+                }
+                i = Math.min(n, i + 3);
+            } else if (c == '"' || c == '\'') {
+                i++;
+                while (i < n && src.charAt(i) != c && src.charAt(i) != '\n') {
+                    if (src.charAt(i) == '\\') i++;
+                    i++;
+                }
+                i = Math.min(n, i + 1);
+            } else {
+                i++;
+            }
+
+            int hash = hash(src, start, i);
+            if (depth == 0 && !skipping && (i - start == 7 || i - start == 6)
+                    && (regionEquals(src, start, i, "package") || regionEquals(src, start, i, "import"))) {
+                skipping = true;
+            }
+            if (c == '{') depth++;
+            else if (c == '}') depth = Math.max(0, depth - 1);
+
+            if (skipping) {
+                if (c == ';' && i - start == 1) skipping = false;
+                continue;
+            }
+            ts.add(hash, startLine, startCol);
+        }
+        return ts;
+    }
+
+    private void add(int code, int line, int col) {
+        if (size == codes.length) {
+            int cap = size * 2;
+            codes = Arrays.copyOf(codes, cap);
+            lines = Arrays.copyOf(lines, cap);
+            cols = Arrays.copyOf(cols, cap);
+        }
+        codes[size] = code;
+        lines[size] = line;
+        cols[size] = col;
+        size++;
+    }
+
+    private static int hash(CharSequence s, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) h = 31 * h + s.charAt(i);
+        // 打散低位，滚动哈希中各单元的贡献更均匀
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    private static boolean regionEquals(CharSequence s, int from, int to, String word) {
+        if (to - from != word.length()) return false;
+        for (int i = 0; i < word.length(); i++) {
+            if (s.charAt(from + i) != word.charAt(i)) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,26 @@
+package com.code.java.analyzer.core.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 一次分析中的阶段：discover（收集源文件）、parse、attribute（标注）、rules（执行规则）
+ */
+@Name("codeanalyzer.Phase")
+@Label("Analyzer Phase")
+@Category("Code Analyzer")
+@Description("收集 / 解析 / 标注 / 规则执行阶段")
+@StackTrace(false)
+public final class AnalyzerPhaseEvent extends Event {
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Files")
+    @Description("阶段处理的文件数")
+    public int files;
+}
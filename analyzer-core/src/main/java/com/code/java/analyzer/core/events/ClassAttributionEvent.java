@@ -0,0 +1,23 @@
+package com.code.java.analyzer.core.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** javac 标注一个顶层类型（见 {@link CompilerEventListener}） */
+@Name("codeanalyzer.ClassAttribution")
+@Label("Class Attribution")
+@Category({"Code Analyzer", "Compiler"})
+@Description("javac 对一个顶层类型的标注，不含流分析")
+@StackTrace(false)
+public final class ClassAttributionEvent extends Event {
+
+    @Label("File")
+    public String file;
+
+    @Label("Class")
+    public String className;
+}
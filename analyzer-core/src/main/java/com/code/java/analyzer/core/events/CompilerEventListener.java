@@ -0,0 +1,80 @@
+package com.code.java.analyzer.core.events;
+
+import com.code.java.analyzer.core.RuleScanner;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+
+import javax.lang.model.element.TypeElement;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 把 javac 的 PARSE / ANALYZE 任务事件转成 {@link FileParseEvent} / {@link ClassAttributionEvent}。
+ *
+ * JavacTask.analyze() 先依次标注全部类、再逐个做流分析，ANALYZE 的 started 成批出现在 finished 之前：
+ * 一个类的标注事件从它的 started 持续到下一个 ANALYZE 事件（下一个类开始标注，或第一个类流分析结束）。
+ *
+ * 事件未启用时只创建一个事件对象并检查 isEnabled，不计算路径、不保留状态。
+ */
+public final class CompilerEventListener implements TaskListener {
+
+    private final Path projectRoot;
+    private final Map<Object, FileParseEvent> parsing = new HashMap<>();
+    private ClassAttributionEvent attributing;
+    private TaskEvent attributed;
+
+    public CompilerEventListener(Path projectRoot) {
+        this.projectRoot = projectRoot;
+    }
+
+    @Override
+    public void started(TaskEvent e) {
+        if (e.getKind() == TaskEvent.Kind.PARSE) {
+            FileParseEvent event = new FileParseEvent();
+            if (!event.isEnabled()) return;
+            event.begin();
+            parsing.put(e.getSourceFile(), event);
+        } else if (e.getKind() == TaskEvent.Kind.ANALYZE) {
+            endAttribution();
+            ClassAttributionEvent event = new ClassAttributionEvent();
+            if (!event.isEnabled()) return;
+            event.begin();
+            attributing = event;
+            attributed = e;
+        }
+    }
+
+    @Override
+    public void finished(TaskEvent e) {
+        if (e.getKind() == TaskEvent.Kind.PARSE) {
+            FileParseEvent event = parsing.remove(e.getSourceFile());
+            if (event == null) return;
+            event.end();
+            if (event.shouldCommit()) {
+                event.file = file(e);
+                event.commit();
+            }
+        } else if (e.getKind() == TaskEvent.Kind.ANALYZE) {
+            endAttribution();
+        }
+    }
+
+    private void endAttribution() {
+        ClassAttributionEvent event = attributing;
+        if (event == null) return;
+        attributing = null;
+        event.end();
+        if (event.shouldCommit()) {
+            TypeElement type = attributed.getTypeElement();
+            event.file = file(attributed);
+            event.className = type == null ? null : type.getQualifiedName().toString();
+            event.commit();
+        }
+        attributed = null;
+    }
+
+    private String file(TaskEvent e) {
+        return e.getSourceFile() == null ? null : RuleScanner.relativePath(e.getSourceFile().toUri(), projectRoot);
+    }
+}
@@ -0,0 +1,18 @@
+package com.code.java.analyzer.core.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** javac 解析一个编译单元 */
+@Name("codeanalyzer.FileParse")
+@Label("File Parse")
+@Category({"Code Analyzer", "Compiler"})
+@StackTrace(false)
+public final class FileParseEvent extends Event {
+
+    @Label("File")
+    public String file;
+}
@@ -0,0 +1,24 @@
+package com.code.java.analyzer.core.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** 报告序列化：sarif / sonar / html */
+@Name("codeanalyzer.ReportWrite")
+@Label("Report Write")
+@Category("Code Analyzer")
+@StackTrace(false)
+public final class ReportWriteEvent extends Event {
+
+    @Label("Format")
+    public String format;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Issues")
+    public int issues;
+}
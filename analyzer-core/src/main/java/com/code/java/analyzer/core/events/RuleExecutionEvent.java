@@ -0,0 +1,32 @@
+package com.code.java.analyzer.core.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 一条规则在一个文件上的执行；ProjectRule 为一次全项目执行（file 为空）。
+ * 所有模式规则共享一次遍历，rule 为 "pattern-rules"。
+ */
+@Name("codeanalyzer.RuleExecution")
+@Label("Rule Execution")
+@Category("Code Analyzer")
+@StackTrace(false)
+public final class RuleExecutionEvent extends Event {
+
+    @Label("Rule")
+    public String rule;
+
+    @Label("File")
+    public String file;
+
+    @Label("Issues")
+    @Description("本次执行上报的问题数（配置过滤后）")
+    public int issues;
+
+    @Label("Timed Out")
+    public boolean timedOut;
+}
@@ -0,0 +1,259 @@
+package com.code.java.analyzer.core.flow;
+
+import com.code.java.analyzer.core.Watchdog;
+import com.sun.source.tree.Tree;
+
+import java.util.Arrays;
+
+/**
+ * 前向数据流求解器，格为定长位集（long[]，每个结点 words 个 long，平铺在一个数组里）。
+ *
+ * <pre>
+ *   BitDataflow.Result r = BitDataflow.forward(cfg, bits, BitDataflow.Join.UNION,
+ *           (node, tree, state) -> { ...就地修改 state... });
+ *   if (r.inContains(cfg.exit(), bit)) { ... }
+ * </pre>
+ *
+ * - UNION：may 分析（某条路径上成立），初值全 0
+ * - INTERSECTION：must 分析（所有路径上都成立），未到达的结点初值全 1，entry 为全 0
+ *
+ * 工作表按逆后序初始化，结点状态不再变化即收敛；每处理一个结点检查一次时间预算。
+ */
+public final class BitDataflow {
+
+    public enum Join { UNION, INTERSECTION }
+
+    /**
+     * 结点的转移函数：state 进入时为结点的 in，就地修改为 out
+     */
+    @FunctionalInterface
+    public interface Transfer {
+        void apply(int node, Tree tree, BitState state);
+
+        /**
+         * 结点中途抛出异常时沿异常边传出的状态；默认等于 in（结点的效果尚未发生）
+         */
+        default void exceptional(int node, Tree tree, BitState state) { }
+    }
+
+    private BitDataflow() {}
+
+    public static Result forward(ControlFlowGraph cfg, int bits, Join join, Transfer transfer) {
+        Watchdog.Deadline deadline = Watchdog.current();
+        int n = cfg.size();
+        int words = Math.max(1, (bits + 63) >>> 6);
+        long[] in = new long[n * words];
+        long[] out = new long[n * words];
+        long[] exOut = new long[n * words];
+        boolean[] reached = new boolean[n];
+        if (join == Join.INTERSECTION) {
+            Arrays.fill(in, -1L);
+            Arrays.fill(out, -1L);
+            Arrays.fill(exOut, -1L);
+            mask(in, words, bits);
+            mask(out, words, bits);
+            mask(exOut, words, bits);
+        }
+
+        Worklist work = new Worklist(n);
+        for (int node : reversePostOrder(cfg)) work.add(node);
+
+        BitState state = new BitState(words);
+        while (!work.isEmpty()) {
+            int node = work.poll();
+            deadline.check();
+
+            // in = join(preds.out)
+            int base = node * words;
+            boolean wasReached = reached[node];
+            if (node == ControlFlowGraph.ENTRY) {
+                Arrays.fill(in, base, base + words, 0L);
+                reached[node] = true;
+            } else {
+                boolean first = joinInto(in, base, out, cfg.predecessors(node), reached, words, join, true);
+                first = joinInto(in, base, exOut, cfg.exceptionalPredecessors(node), reached, words, join, first);
+                if (first) continue;    // 尚不可达
+                reached[node] = true;
+            }
+
+            System.arraycopy(in, base, state.words, 0, words);
+            Tree tree = cfg.tree(node);
+            if (tree != null) transfer.apply(node, tree, state);
+
+            boolean changed = !state.equalsRange(out, base);
+            if (changed) System.arraycopy(state.words, 0, out, base, words);
+
+            int[] exSucc = cfg.exceptionalSuccessors(node);
+            if (exSucc.length > 0) {
+                System.arraycopy(in, base, state.words, 0, words);
+                if (tree != null) transfer.exceptional(node, tree, state);
+                if (!state.equalsRange(exOut, base)) {
+                    System.arraycopy(state.words, 0, exOut, base, words);
+                    changed = true;
+                }
+            }
+
+            // 首次到达时即使状态与初值相同，也要让后继看到这个前驱
+            if (changed || !wasReached) {
+                for (int s : cfg.successors(node)) work.add(s);
+                for (int s : exSucc) work.add(s);
+            }
+        }
+        return new Result(cfg, words, in, out, exOut, reached);
+    }
+
+    // 把已到达前驱的状态合并进 in[base..]；返回合并后是否仍然 “还没有任何前驱”
+    private static boolean joinInto(long[] in, int base, long[] from, int[] preds, boolean[] reached,
+                                    int words, Join join, boolean first) {
+        for (int p : preds) {
+            if (!reached[p]) continue;
+            int pb = p * words;
+            for (int w = 0; w < words; w++) {
+                long v = from[pb + w];
+                in[base + w] = first ? v : (join == Join.UNION ? in[base + w] | v : in[base + w] & v);
+            }
+            first = false;
+        }
+        return first;
+    }
+
+    private static void mask(long[] a, int words, int bits) {
+        int rest = bits & 63;
+        if (rest == 0) return;
+        long m = (1L << rest) - 1;
+        for (int i = words - 1; i < a.length; i += words) a[i] &= m;
+    }
+
+    private static int[] reversePostOrder(ControlFlowGraph cfg) {
+        int n = cfg.size();
+        int[] post = new int[n];
+        int count = 0;
+        boolean[] seen = new boolean[n];
+        int[] stack = new int[n];
+        int[] edge = new int[n];
+        int sp = 0;
+        stack[sp++] = ControlFlowGraph.ENTRY;
+        seen[ControlFlowGraph.ENTRY] = true;
+        while (sp > 0) {
+            int v = stack[sp - 1];
+            int[] succ = cfg.successors(v);
+            int[] exSucc = cfg.exceptionalSuccessors(v);
+            if (edge[sp - 1] < succ.length + exSucc.length) {
+                int e = edge[sp - 1]++;
+                int w = e < succ.length ? succ[e] : exSucc[e - succ.length];
+                if (!seen[w]) {
+                    seen[w] = true;
+                    stack[sp] = w;
+                    edge[sp] = 0;
+                    sp++;
+                }
+            } else {
+                post[count++] = v;
+                sp--;
+            }
+        }
+        int[] rpo = new int[count];
+        for (int i = 0; i < count; i++) rpo[i] = post[count - 1 - i];
+        return rpo;
+    }
+
+    // 循环队列 + 去重标记：同一结点最多排队一次
+    private static final class Worklist {
+        private final int[] queue;
+        private final boolean[] queued;
+        private int head;
+        private int tail;
+        private int size;
+
+        Worklist(int n) {
+            this.queue = new int[n];
+            this.queued = new boolean[n];
+        }
+
+        void add(int node) {
+            if (queued[node]) return;
+            queued[node] = true;
+            queue[tail] = node;
+            tail = tail + 1 == queue.length ? 0 : tail + 1;
+            size++;
+        }
+
+        int poll() {
+            int node = queue[head];
+            head = head + 1 == queue.length ? 0 : head + 1;
+            size--;
+            queued[node] = false;
+            return node;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    /**
+     * 转移函数看到的当前结点状态
+     */
+    public static final class BitState {
+        final long[] words;
+
+        BitState(int words) {
+            this.words = new long[words];
+        }
+
+        public boolean get(int bit) {
+            return (words[bit >>> 6] & (1L << bit)) != 0;
+        }
+
+        public void set(int bit) {
+            words[bit >>> 6] |= 1L << bit;
+        }
+
+        public void clear(int bit) {
+            words[bit >>> 6] &= ~(1L << bit);
+        }
+
+        boolean equalsRange(long[] a, int from) {
+            for (int i = 0; i < words.length; i++) {
+                if (words[i] != a[from + i]) return false;
+            }
+            return true;
+        }
+    }
+
+    public static final class Result {
+        private final ControlFlowGraph cfg;
+        private final int words;
+        private final long[] in;
+        private final long[] out;
+        private final long[] exOut;
+        private final boolean[] reached;
+
+        Result(ControlFlowGraph cfg, int words, long[] in, long[] out, long[] exOut, boolean[] reached) {
+            this.cfg = cfg;
+            this.words = words;
+            this.in = in;
+            this.out = out;
+            this.exOut = exOut;
+            this.reached = reached;
+        }
+
+        public ControlFlowGraph cfg() { return cfg; }
+
+        /** 从 entry 可达（不可达结点的状态无意义） */
+        public boolean reached(int node) { return reached[node]; }
+
+        public boolean inContains(int node, int bit) {
+            return (in[node * words + (bit >>> 6)] & (1L << bit)) != 0;
+        }
+
+        public boolean outContains(int node, int bit) {
+            return (out[node * words + (bit >>> 6)] & (1L << bit)) != 0;
+        }
+
+        /** 沿异常边传出的状态 */
+        public boolean exceptionalOutContains(int node, int bit) {
+            return (exOut[node * words + (bit >>> 6)] & (1L << bit)) != 0;
+        }
+    }
+}
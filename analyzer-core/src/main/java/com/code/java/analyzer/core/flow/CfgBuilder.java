@@ -0,0 +1,432 @@
+package com.code.java.analyzer.core.flow;
+
+import com.code.java.analyzer.core.MethodMatcher;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.BreakTree;
+import com.sun.source.tree.CaseTree;
+import com.sun.source.tree.CatchTree;
+import com.sun.source.tree.ContinueTree;
+import com.sun.source.tree.DoWhileLoopTree;
+import com.sun.source.tree.EnhancedForLoopTree;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.ForLoopTree;
+import com.sun.source.tree.IfTree;
+import com.sun.source.tree.LabeledStatementTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.LiteralTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.ParenthesizedTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.SwitchTree;
+import com.sun.source.tree.SynchronizedTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.TryTree;
+import com.sun.source.tree.UnionTypeTree;
+import com.sun.source.tree.WhileLoopTree;
+
+import javax.lang.model.element.Name;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 控制流图构建：单遍遍历语句，维护 “当前悬空的前驱结点” 集合（pending）。
+ *
+ * 跳转（return / throw / break / continue / 异常）沿 frames 由内向外查找目标：
+ * 先遇到 finally 则登记到该 finally，待 finally 构建完后从其出口继续向外跳。
+ */
+final class CfgBuilder {
+
+    private static final int EXIT = 0;
+    private static final int EXCEPTION = 1;
+    private static final int BREAK = 2;
+    private static final int CONTINUE = 3;
+
+    private final List<Tree> trees = new ArrayList<>();
+    private final List<Set<Integer>> succ = new ArrayList<>();
+    private final List<Set<Integer>> exSucc = new ArrayList<>();
+    private final List<Frame> frames = new ArrayList<>();
+
+    private List<Integer> pending = new ArrayList<>();
+    private Name pendingLabel;
+
+    ControlFlowGraph build(Tree body) {
+        newNode(null);  // entry
+        newNode(null);  // exit
+        newNode(null);  // exceptionalExit
+        pending = new ArrayList<>(List.of(ControlFlowGraph.ENTRY));
+
+        if (body instanceof MethodTree m) {
+            if (m.getBody() != null) statement(m.getBody());
+        } else if (body instanceof LambdaExpressionTree l) {
+            if (l.getBody() instanceof BlockTree b) {
+                statement(b);
+            } else {
+                node(l.getBody());
+            }
+        } else if (body instanceof StatementTree s) {
+            statement(s);
+        }
+        link(pending, ControlFlowGraph.EXIT);
+
+        return new ControlFlowGraph(trees.toArray(new Tree[0]), toArrays(succ), toArrays(exSucc));
+    }
+
+    private static int[][] toArrays(List<Set<Integer>> sets) {
+        int[][] out = new int[sets.size()][];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = sets.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return out;
+    }
+
+    /* ========================= 语句 ========================= */
+
+    private void statement(StatementTree s) {
+        if (s == null) return;
+        Name label = pendingLabel;
+        pendingLabel = null;
+
+        switch (s.getKind()) {
+            case BLOCK -> {
+                for (StatementTree st : ((BlockTree) s).getStatements()) statement(st);
+            }
+            case EMPTY_STATEMENT, CLASS, INTERFACE, ENUM, ANNOTATION_TYPE, RECORD -> { }
+            case IF -> {
+                IfTree t = (IfTree) s;
+                node(t.getCondition());
+                List<Integer> cond = pending;
+                statement(t.getThenStatement());
+                List<Integer> afterThen = pending;
+                pending = new ArrayList<>(cond);
+                statement(t.getElseStatement());
+                pending.addAll(afterThen);
+            }
+            case WHILE_LOOP -> {
+                WhileLoopTree t = (WhileLoopTree) s;
+                Scope scope = push(new Scope(label, true));
+                int cond = node(t.getCondition());
+                statement(t.getStatement());
+                link(pending, cond);
+                link(scope.continues, cond);
+                pending = isTrue(t.getCondition()) ? new ArrayList<>() : new ArrayList<>(List.of(cond));
+                popScope(scope);
+            }
+            case DO_WHILE_LOOP -> {
+                DoWhileLoopTree t = (DoWhileLoopTree) s;
+                Scope scope = push(new Scope(label, true));
+                int head = node(null);
+                statement(t.getStatement());
+                pending.addAll(scope.continues);
+                int cond = node(t.getCondition());
+                link(List.of(cond), head);
+                pending = isTrue(t.getCondition()) ? new ArrayList<>() : new ArrayList<>(List.of(cond));
+                popScope(scope);
+            }
+            case FOR_LOOP -> {
+                ForLoopTree t = (ForLoopTree) s;
+                for (StatementTree init : t.getInitializer()) statement(init);
+                Scope scope = push(new Scope(label, true));
+                int head = node(t.getCondition());
+                statement(t.getStatement());
+                pending.addAll(scope.continues);
+                for (ExpressionStatementTree u : t.getUpdate()) statement(u);
+                link(pending, head);
+                boolean infinite = t.getCondition() == null || isTrue(t.getCondition());
+                pending = infinite ? new ArrayList<>() : new ArrayList<>(List.of(head));
+                popScope(scope);
+            }
+            case ENHANCED_FOR_LOOP -> {
+                EnhancedForLoopTree t = (EnhancedForLoopTree) s;
+                node(t.getExpression());
+                Scope scope = push(new Scope(label, true));
+                int head = node(null);
+                node(t.getVariable());
+                statement(t.getStatement());
+                pending.addAll(scope.continues);
+                link(pending, head);
+                pending = new ArrayList<>(List.of(head));
+                popScope(scope);
+            }
+            case LABELED_STATEMENT -> {
+                LabeledStatementTree t = (LabeledStatementTree) s;
+                Tree.Kind inner = t.getStatement().getKind();
+                if (inner == Tree.Kind.WHILE_LOOP || inner == Tree.Kind.DO_WHILE_LOOP
+                        || inner == Tree.Kind.FOR_LOOP || inner == Tree.Kind.ENHANCED_FOR_LOOP
+                        || inner == Tree.Kind.SWITCH) {
+                    pendingLabel = t.getLabel();
+                    statement(t.getStatement());
+                } else {
+                    Scope scope = push(new Scope(t.getLabel(), false));
+                    statement(t.getStatement());
+                    popScope(scope);
+                }
+            }
+            case SWITCH -> switchStatement((SwitchTree) s, label);
+            case TRY -> tryStatement((TryTree) s);
+            case SYNCHRONIZED -> {
+                SynchronizedTree t = (SynchronizedTree) s;
+                node(t.getExpression());
+                statement(t.getBlock());
+            }
+            case RETURN -> {
+                int n = node(s);
+                jump(n, new Target(EXIT, null), frames.size() - 1, false);
+                pending = new ArrayList<>();
+            }
+            case THROW -> {
+                int n = node(s);
+                jump(n, new Target(EXCEPTION, null), frames.size() - 1, false);
+                pending = new ArrayList<>();
+            }
+            case BREAK -> {
+                int n = node(s);
+                Scope target = findScope(((BreakTree) s).getLabel(), false);
+                if (target != null) jump(n, new Target(BREAK, target), frames.size() - 1, false);
+                pending = new ArrayList<>();
+            }
+            case CONTINUE -> {
+                int n = node(s);
+                Scope target = findScope(((ContinueTree) s).getLabel(), true);
+                if (target != null) jump(n, new Target(CONTINUE, target), frames.size() - 1, false);
+                pending = new ArrayList<>();
+            }
+            case YIELD -> {
+                // 只出现在 switch 表达式中，而表达式不展开；保守处理为终止
+                node(s);
+                pending = new ArrayList<>();
+            }
+            default -> node(s);
+        }
+    }
+
+    private void switchStatement(SwitchTree t, Name label) {
+        int selector = node(t.getExpression());
+        Scope scope = push(new Scope(label, false));
+        scope.isSwitch = true;
+
+        List<Integer> after = new ArrayList<>();
+        List<Integer> fallThrough = new ArrayList<>();
+        boolean hasDefault = false;
+        for (CaseTree c : t.getCases()) {
+            if (c.getExpressions().isEmpty()) hasDefault = true;
+            pending = new ArrayList<>(List.of(selector));
+            if (c.getCaseKind() == CaseTree.CaseKind.RULE) {
+                Tree body = c.getBody();
+                if (body instanceof StatementTree st) {
+                    statement(st);
+                } else {
+                    node(body);
+                }
+                after.addAll(pending);
+            } else {
+                pending.addAll(fallThrough);
+                for (StatementTree st : c.getStatements()) statement(st);
+                fallThrough = pending;
+            }
+        }
+        after.addAll(fallThrough);
+        if (!hasDefault) after.add(selector);
+        pending = after;
+        popScope(scope);
+    }
+
+    private void tryStatement(TryTree t) {
+        Finally fin = t.getFinallyBlock() != null ? push(new Finally()) : null;
+        Catches catches = null;
+        if (!t.getCatches().isEmpty()) {
+            catches = push(new Catches(catchesAll(t)));
+        }
+        for (Tree r : t.getResources()) node(r);
+        statement(t.getBlock());
+
+        if (catches != null) frames.remove(catches);
+        List<Integer> normal = new ArrayList<>(pending);
+
+        for (CatchTree c : t.getCatches()) {
+            pending = new ArrayList<>();
+            int param = node(c.getParameter());
+            linkEdges(catches.throwers, param);
+            statement(c.getBlock());
+            normal.addAll(pending);
+        }
+
+        if (fin == null) {
+            pending = normal;
+            return;
+        }
+
+        // finally：每种离开方式各复制一份
+        frames.remove(fin);
+        List<Integer> afterFinally = new ArrayList<>();
+        if (!normal.isEmpty()) {
+            pending = normal;
+            statement(t.getFinallyBlock());
+            afterFinally = pending;
+        }
+        for (Map.Entry<Target, List<Integer>> e : fin.exits.entrySet()) {
+            pending = new ArrayList<>();
+            linkEdges(e.getValue(), node(null));
+            statement(t.getFinallyBlock());
+            for (int n : pending) jump(n, e.getKey(), frames.size() - 1, false);
+        }
+        pending = afterFinally;
+    }
+
+    /* ========================= 结点与跳转 ========================= */
+
+    private int node(Tree tree) {
+        int id = newNode(tree);
+        link(pending, id);
+        pending = new ArrayList<>(List.of(id));
+        // try 中的结点：执行中可能抛出异常，连到处理器
+        if (tree != null && inHandlerScope()
+                && !(tree instanceof BreakTree) && !(tree instanceof ContinueTree)) {
+            jump(id, new Target(EXCEPTION, null), frames.size() - 1, true);
+        }
+        return id;
+    }
+
+    private int newNode(Tree tree) {
+        trees.add(tree);
+        succ.add(new LinkedHashSet<>());
+        exSucc.add(new LinkedHashSet<>());
+        return trees.size() - 1;
+    }
+
+    private void link(List<Integer> from, int to) {
+        for (int f : from) succ.get(f).add(to);
+    }
+
+    // 边编码为 from << 1 | raising（raising：结点执行中途抛出，走异常边）
+    private void linkEdges(List<Integer> edges, int to) {
+        for (int e : edges) {
+            ((e & 1) != 0 ? exSucc : succ).get(e >>> 1).add(to);
+        }
+    }
+
+    private void jump(int from, Target target, int top, boolean raising) {
+        int edge = from << 1 | (raising ? 1 : 0);
+        for (int i = top; i >= 0; i--) {
+            Frame f = frames.get(i);
+            if (f instanceof Finally fin) {
+                fin.exits.computeIfAbsent(target, k -> new ArrayList<>()).add(edge);
+                return;
+            }
+            if (f instanceof Catches c && target.kind == EXCEPTION) {
+                c.throwers.add(edge);
+                if (c.catchesAll) return;
+            }
+            if (f instanceof Scope s && target.scope == s) {
+                (target.kind == BREAK ? s.breaks : s.continues).add(from);
+                return;
+            }
+        }
+        if (target.kind == EXIT) succ.get(from).add(ControlFlowGraph.EXIT);
+        if (target.kind == EXCEPTION) (raising ? exSucc : succ).get(from).add(ControlFlowGraph.EXCEPTIONAL_EXIT);
+    }
+
+    // 外层有 catch / finally：结点执行中抛出的异常有处理器
+    private boolean inHandlerScope() {
+        for (Frame f : frames) {
+            if (f instanceof Catches || f instanceof Finally) return true;
+        }
+        return false;
+    }
+
+    private <F extends Frame> F push(F frame) {
+        frames.add(frame);
+        return frame;
+    }
+
+    private void popScope(Scope scope) {
+        frames.remove(scope);
+        pending.addAll(scope.breaks);
+    }
+
+    private Scope findScope(Name label, boolean loopOnly) {
+        for (int i = frames.size() - 1; i >= 0; i--) {
+            if (!(frames.get(i) instanceof Scope s)) continue;
+            if (label != null) {
+                if (label.equals(s.label)) return s;
+            } else if (s.loop || (!loopOnly && s.isSwitch)) {
+                return s;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isTrue(ExpressionTree cond) {
+        while (cond instanceof ParenthesizedTree p) cond = p.getExpression();
+        return cond instanceof LiteralTree l && Boolean.TRUE.equals(l.getValue());
+    }
+
+    // catch (Throwable / Exception) 时异常不再向外传播（不区分 Error）
+    private static boolean catchesAll(TryTree t) {
+        for (CatchTree c : t.getCatches()) {
+            Tree type = c.getParameter().getType();
+            List<? extends Tree> alternatives = type instanceof UnionTypeTree u
+                    ? u.getTypeAlternatives() : List.of(type);
+            for (Tree alt : alternatives) {
+                Name n = MethodMatcher.simpleTypeName(alt);
+                if (n != null && (n.contentEquals("Throwable") || n.contentEquals("Exception"))) return true;
+            }
+        }
+        return false;
+    }
+
+    /* ========================= frames ========================= */
+
+    private abstract static class Frame { }
+
+    private static final class Scope extends Frame {
+        final Name label;
+        final boolean loop;
+        boolean isSwitch;
+        final List<Integer> breaks = new ArrayList<>();
+        final List<Integer> continues = new ArrayList<>();
+
+        Scope(Name label, boolean loop) {
+            this.label = label;
+            this.loop = loop;
+        }
+    }
+
+    private static final class Catches extends Frame {
+        final boolean catchesAll;
+        final List<Integer> throwers = new ArrayList<>();   // 编码后的边
+
+        Catches(boolean catchesAll) {
+            this.catchesAll = catchesAll;
+        }
+    }
+
+    private static final class Finally extends Frame {
+        final Map<Target, List<Integer>> exits = new LinkedHashMap<>();   // 离开方式 -> 编码后的边
+    }
+
+    private static final class Target {
+        final int kind;
+        final Scope scope;
+
+        Target(int kind, Scope scope) {
+            this.kind = kind;
+            this.scope = scope;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Target t && t.kind == kind && t.scope == scope;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, System.identityHashCode(scope));
+        }
+    }
+}
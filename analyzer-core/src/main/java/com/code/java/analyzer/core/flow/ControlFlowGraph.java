@@ -0,0 +1,161 @@
+package com.code.java.analyzer.core.flow;
+
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreeScanner;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * 方法体（或 lambda / 初始化块）的语句级控制流图。
+ *
+ * 结点对应 “求值一次的树”：表达式语句、局部变量声明、条件表达式、return / throw 等；
+ * 表达式内部（含 lambda、匿名类、switch 表达式）不再展开。固定结点：
+ *   entry / exit（正常返回）/ exceptionalExit（异常离开方法）
+ *
+ * 异常边：try 块（有 catch 或 finally 时）中的每个结点都有到处理器的边；
+ * try 之外只有显式 throw 才连到 exceptionalExit。finally 按每种离开方式（正常、return、break、异常……）
+ * 各复制一份，路径不会在 finally 之后混合。
+ *
+ * 按需构建：只有规则请求的方法才建图，结果按方法树缓存（弱引用，随编译任务回收）。
+ */
+public final class ControlFlowGraph {
+
+    private static final Map<Tree, ControlFlowGraph> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    static final int ENTRY = 0;
+    static final int EXIT = 1;
+    static final int EXCEPTIONAL_EXIT = 2;
+
+    private final Tree[] trees;
+    private final int[][] successors;
+    private final int[][] exceptionalSuccessors;
+    private final int[][] predecessors;
+    private final int[][] exceptionalPredecessors;
+    private final Map<Tree, Integer> nodeOf;
+
+    ControlFlowGraph(Tree[] trees, int[][] successors, int[][] exceptionalSuccessors) {
+        this.trees = trees;
+        this.successors = successors;
+        this.exceptionalSuccessors = exceptionalSuccessors;
+        this.predecessors = invert(successors);
+        this.exceptionalPredecessors = invert(exceptionalSuccessors);
+        this.nodeOf = new IdentityHashMap<>();
+        for (int i = trees.length - 1; i >= 0; i--) {
+            if (trees[i] != null) nodeOf.put(trees[i], i);
+        }
+    }
+
+    /**
+     * @param body MethodTree、LambdaExpressionTree，或类的初始化块 BlockTree（见 {@link #enclosingBody}）
+     */
+    public static ControlFlowGraph of(Tree body) {
+        ControlFlowGraph g = CACHE.get(body);
+        if (g == null) {
+            // 构建不加锁：并发时最多重复构建一次，结果等价
+            g = new CfgBuilder().build(body);
+            CACHE.put(body, g);
+        }
+        return g;
+    }
+
+    /**
+     * path 所在的最内层 “代码体”：方法、lambda 或初始化块；字段初始化表达式等返回 null
+     */
+    public static Tree enclosingBody(TreePath path) {
+        for (TreePath p = path; p != null; p = p.getParentPath()) {
+            Tree t = p.getLeaf();
+            if (t instanceof MethodTree || t instanceof LambdaExpressionTree) return t;
+            if (t instanceof BlockTree && p.getParentPath() != null
+                    && p.getParentPath().getLeaf() instanceof ClassTree) {
+                return t;
+            }
+            if (t instanceof ClassTree) return null;
+        }
+        return null;
+    }
+
+    public int size() { return trees.length; }
+
+    public int entry() { return ENTRY; }
+
+    public int exit() { return EXIT; }
+
+    public int exceptionalExit() { return EXCEPTIONAL_EXIT; }
+
+    /** 结点对应的树；entry / exit / 汇合结点为 null */
+    public Tree tree(int node) { return trees[node]; }
+
+    /** 正常完成后的后继（含 return / break / throw 语句本身的跳转） */
+    public int[] successors(int node) { return successors[node]; }
+
+    /** 结点执行中途抛出异常时的后继（catch、finally 或 exceptionalExit） */
+    public int[] exceptionalSuccessors(int node) { return exceptionalSuccessors[node]; }
+
+    public int[] predecessors(int node) { return predecessors[node]; }
+
+    public int[] exceptionalPredecessors(int node) { return exceptionalPredecessors[node]; }
+
+    /**
+     * 位于 subtree 内部的结点：树在 subtree 中的结点，以及所有前驱都在内部的汇合结点（例如循环头）
+     */
+    public boolean[] nodesWithin(Tree subtree) {
+        Set<Tree> inside = Collections.newSetFromMap(new IdentityHashMap<>());
+        new TreeScanner<Void, Void>() {
+            @Override
+            public Void scan(Tree tree, Void unused) {
+                if (tree != null) inside.add(tree);
+                return super.scan(tree, unused);
+            }
+        }.scan(subtree, null);
+
+        int n = trees.length;
+        boolean[] within = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            within[i] = trees[i] != null ? inside.contains(trees[i]) : i > EXCEPTIONAL_EXIT;
+        }
+        // 汇合结点先乐观地算作内部，再逐步剔除有外部前驱的（最大不动点）
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = EXCEPTIONAL_EXIT + 1; i < n; i++) {
+                if (trees[i] != null || !within[i]) continue;
+                boolean all = predecessors[i].length + exceptionalPredecessors[i].length > 0;
+                for (int p : predecessors[i]) all &= within[p];
+                for (int p : exceptionalPredecessors[i]) all &= within[p];
+                if (!all) {
+                    within[i] = false;
+                    changed = true;
+                }
+            }
+        }
+        return within;
+    }
+
+    /** tree 对应的结点（finally 中的树有多份时取第一份）；不是结点返回 -1 */
+    public int nodeOf(Tree tree) {
+        Integer n = nodeOf.get(tree);
+        return n == null ? -1 : n;
+    }
+
+    private static int[][] invert(int[][] edges) {
+        int[] counts = new int[edges.length];
+        for (int[] e : edges) {
+            for (int s : e) counts[s]++;
+        }
+        int[][] out = new int[edges.length][];
+        for (int i = 0; i < out.length; i++) out[i] = new int[counts[i]];
+        for (int i = 0; i < edges.length; i++) {
+            for (int s : edges[i]) out[s][--counts[s]] = i;
+        }
+        return out;
+    }
+}
@@ -13,6 +13,26 @@ public final class Localizer {
 
     private Localizer() {}
 
+    /**
+     * 语言解析：
+     *   -Dmyanalyzer.locale=zh_CN
+     *   -Dmyanalyzer.locale=en_US
+     *
+     * 默认：zh_CN
+     */
+    public static Locale configuredLocale() {
+        String raw = System.getProperty("myanalyzer.locale", "zh_CN").trim();
+        if (raw.isEmpty()) {
+            return Locale.SIMPLIFIED_CHINESE;
+        }
+
+        String[] parts = raw.split("[-_]");
+        if (parts.length == 1) {
+            return new Locale(parts[0]);
+        }
+        return new Locale(parts[0], parts[1]);
+    }
+
     public static String format(String key, Locale locale, Object... args) {
         if (key == null || key.isBlank()) return "";
         if (locale == null) locale = Locale.SIMPLIFIED_CHINESE;
@@ -36,6 +56,21 @@ public final class Localizer {
         return MessageFormat.format(pattern, args);
     }
 
+    /**
+     * 规则的简短描述（不带参数）：&lt;ruleId&gt;.description。
+     * 没有时回退为不含占位符的 &lt;ruleId&gt;.message（例如模式规则的固定消息），再回退为规则 ID
+     */
+    public static String describe(String ruleId, Locale locale) {
+        String descKey = ruleId + ".description";
+        String desc = format(descKey, locale);
+        if (!desc.isBlank() && !desc.equals(descKey)) return desc;
+
+        String messageKey = ruleId + ".message";
+        String message = format(messageKey, locale);
+        if (message.isBlank() || message.equals(messageKey) || message.contains("{")) return ruleId;
+        return message;
+    }
+
     /**
      * 强制 UTF-8 读取 properties，彻底解决 ???? 问题
      */
@@ -0,0 +1,99 @@
+package com.code.java.analyzer.core.pattern;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.MethodMatcher;
+import com.code.java.analyzer.core.NameLookup;
+import com.code.java.analyzer.core.RuleScanner;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.ImportTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.Trees;
+
+import javax.lang.model.element.Name;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 模式规则的分派表：(树类型, 简单名) -> 候选规则。
+ *
+ * 一次遍历服务所有模式规则：每个调用 / new / import 节点只做一次名字查找
+ * （按 Name 实例缓存，无分配），只有名字命中的少数候选才会做符号解析。
+ */
+public final class PatternDispatcher {
+
+    private final Map<Tree.Kind, NameLookup<List<PatternRule>>> table = new EnumMap<>(Tree.Kind.class);
+    private final int size;
+
+    public PatternDispatcher(Collection<PatternRule> rules) {
+        Map<Tree.Kind, Map<String, List<PatternRule>>> byKind = new EnumMap<>(Tree.Kind.class);
+        for (PatternRule r : rules) {
+            TreePattern p = r.pattern();
+            byKind.computeIfAbsent(p.kind(), k -> new HashMap<>())
+                    .computeIfAbsent(p.dispatchName(), k -> new ArrayList<>())
+                    .add(r);
+        }
+        byKind.forEach((kind, byName) ->
+                table.put(kind, new NameLookup<>(n -> byName.getOrDefault(n, List.of()))));
+        this.size = rules.size();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void scan(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        if (size == 0) return;
+
+        final NameLookup<List<PatternRule>> calls = table.get(Tree.Kind.METHOD_INVOCATION);
+        final NameLookup<List<PatternRule>> news = table.get(Tree.Kind.NEW_CLASS);
+        final NameLookup<List<PatternRule>> imports = table.get(Tree.Kind.IMPORT);
+
+        new RuleScanner(trees, collector) {
+            @Override
+            public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                if (calls != null) {
+                    dispatch(calls, MethodMatcher.invokedName(node.getMethodSelect()), node);
+                }
+                return super.visitMethodInvocation(node, unused);
+            }
+
+            @Override
+            public Void visitNewClass(NewClassTree node, Void unused) {
+                if (news != null) {
+                    dispatch(news, MethodMatcher.simpleTypeName(node.getIdentifier()), node);
+                }
+                return super.visitNewClass(node, unused);
+            }
+
+            @Override
+            public Void visitImport(ImportTree node, Void unused) {
+                if (imports != null) {
+                    ExpressionTree qid = (ExpressionTree) node.getQualifiedIdentifier();
+                    if (qid instanceof MemberSelectTree ms) {
+                        dispatch(imports, ms.getIdentifier(), node);
+                    }
+                }
+                return super.visitImport(node, unused);
+            }
+
+            private void dispatch(NameLookup<List<PatternRule>> lookup, Name name, Tree node) {
+                if (name == null) return;
+                List<PatternRule> candidates = lookup.get(name);
+                for (int i = 0; i < candidates.size(); i++) {
+                    PatternRule r = candidates.get(i);
+                    if (r.pattern().matches(node, getCurrentPath(), trees)) {
+                        report(r, node, r.message());
+                    }
+                }
+            }
+        }.scan(asts, null);
+    }
+}
@@ -0,0 +1,57 @@
+package com.code.java.analyzer.core.pattern;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.Rule;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.Trees;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 由 JSON 声明的模式规则。
+ *
+ * 单独调用 {@link #apply} 时自己遍历一次；注册到 RuleEngine 后，
+ * 所有模式规则会被编译进同一个 {@link PatternDispatcher}，共享一次遍历。
+ */
+public final class PatternRule implements Rule {
+
+    private final String id;
+    private final String engineId;
+    private final String severity;
+    private final String type;
+    private final String message;
+    private final TreePattern pattern;
+
+    public PatternRule(String id, String engineId, String severity, String type,
+                       String message, TreePattern pattern) {
+        this.id = id;
+        this.engineId = engineId;
+        this.severity = severity;
+        this.type = type;
+        this.message = message;
+        this.pattern = pattern;
+    }
+
+    @Override public String id() { return id; }
+    @Override public String engineId() { return engineId; }
+    @Override public String defaultSeverity() { return severity; }
+    @Override public String type() { return type; }
+
+    /** messageKey；找不到对应文案时 Localizer 会原样输出，因此也可以直接写文本 */
+    public String message() { return message; }
+
+    public TreePattern pattern() { return pattern; }
+
+    /** 分派名即触发名；导入模式只看语法树 */
+    @Override
+    public Set<String> triggers() {
+        return pattern.kind() == Tree.Kind.IMPORT ? Set.of() : Set.of(pattern.dispatchName());
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        new PatternDispatcher(List.of(this)).scan(asts, trees, collector);
+    }
+}
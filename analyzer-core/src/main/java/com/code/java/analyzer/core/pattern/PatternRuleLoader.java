@@ -0,0 +1,130 @@
+package com.code.java.analyzer.core.pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 加载 JSON 声明的模式规则：
+ *
+ * <pre>
+ * {
+ *   "rules": [
+ *     {
+ *       "id": "HOUSE0001",
+ *       "pattern": "call java.lang.System#exit(int)",
+ *       "severity": "CRITICAL",
+ *       "type": "BUG",
+ *       "message": "HOUSE0001.message"
+ *     }
+ *   ]
+ * }
+ * </pre>
+ *
+ * 默认来源：
+ *   1) classpath 上所有的 META-INF/code-analyzer/patterns.json（规则 jar 可自带）
+ *   2) -Dmyanalyzer.patterns=a.json;b.json（按 File.pathSeparator 分隔）
+ */
+public final class PatternRuleLoader {
+
+    public static final String RESOURCE = "META-INF/code-analyzer/patterns.json";
+    public static final String PROPERTY = "myanalyzer.patterns";
+
+    // 没有模式规则文件时不加载 Jackson
+    private static final class Json {
+        static final ObjectMapper MAPPER = new ObjectMapper();
+    }
+
+    private PatternRuleLoader() {}
+
+    public static List<PatternRule> loadDefaults() {
+        List<PatternRule> rules = new ArrayList<>();
+        try {
+            ClassLoader cl = PatternRuleLoader.class.getClassLoader();
+            Enumeration<URL> urls = cl.getResources(RESOURCE);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                try (InputStream in = url.openStream()) {
+                    rules.addAll(load(in, url.toString()));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read " + RESOURCE, e);
+        }
+
+        String files = System.getProperty(PROPERTY, "").trim();
+        if (!files.isEmpty()) {
+            for (String f : files.split(java.util.regex.Pattern.quote(File.pathSeparator))) {
+                if (!f.isBlank()) rules.addAll(load(Path.of(f.trim())));
+            }
+        }
+
+        checkUnique(rules);
+        return rules;
+    }
+
+    public static List<PatternRule> load(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return load(in, file.toString());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read pattern rules: " + file, e);
+        }
+    }
+
+    public static List<PatternRule> load(InputStream in, String sourceName) throws IOException {
+        JsonNode root = Json.MAPPER.readTree(in);
+        JsonNode arr = root == null ? null : (root.isArray() ? root : root.get("rules"));
+        if (arr == null || !arr.isArray()) {
+            throw new IllegalArgumentException(sourceName + ": expect {\"rules\": [...]} or a JSON array");
+        }
+
+        List<PatternRule> rules = new ArrayList<>();
+        for (JsonNode n : arr) {
+            String id = text(n, "id", null);
+            String pattern = text(n, "pattern", null);
+            if (id == null || pattern == null) {
+                throw new IllegalArgumentException(sourceName + ": rule requires 'id' and 'pattern': " + n);
+            }
+            TreePattern tp;
+            try {
+                tp = TreePattern.parse(pattern);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(sourceName + ": rule " + id + ": " + e.getMessage(), e);
+            }
+            rules.add(new PatternRule(
+                    id,
+                    text(n, "engineId", "my-java-analyzer"),
+                    text(n, "severity", "MAJOR"),
+                    text(n, "type", "CODE_SMELL"),
+                    text(n, "message", id + ".message"),
+                    tp
+            ));
+        }
+        return rules;
+    }
+
+    private static void checkUnique(List<PatternRule> rules) {
+        Set<String> seen = new HashSet<>();
+        for (PatternRule r : rules) {
+            if (!seen.add(r.id())) {
+                throw new IllegalStateException("Duplicate pattern rule id: " + r.id());
+            }
+        }
+    }
+
+    private static String text(JsonNode n, String field, String def) {
+        JsonNode v = n.get(field);
+        return v == null || v.isNull() || v.asText().isBlank() ? def : v.asText().trim();
+    }
+}
@@ -0,0 +1,139 @@
+package com.code.java.analyzer.core.pattern;
+
+import com.code.java.analyzer.core.MethodMatcher;
+import com.sun.source.tree.ImportTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 声明式树模式（已编译）。支持的写法：
+ *
+ * <pre>
+ *   call java.lang.System#exit(int)          方法调用（省略参数表 = 任意重载）
+ *   call java.lang.Throwable+#printStackTrace()   '+' 表示子类中的同名方法也算
+ *   new  java.util.Date                      对象创建（同样可带参数表）
+ *   import sun.misc.Unsafe                   导入（支持 pkg.*）
+ * </pre>
+ *
+ * 每个模式都有一个 (树类型, 简单名) 的分派键，{@link PatternDispatcher} 用它建表，
+ * 所以无论有多少条模式，一次遍历中每个节点只做一次名字查找。
+ */
+public final class TreePattern {
+
+    private final String source;
+    private final Tree.Kind kind;
+    private final String dispatchName;
+    private final MethodMatcher matcher;     // call / new
+    private final String importName;         // import
+
+    private TreePattern(String source, Tree.Kind kind, String dispatchName,
+                        MethodMatcher matcher, String importName) {
+        this.source = source;
+        this.kind = kind;
+        this.dispatchName = dispatchName;
+        this.matcher = matcher;
+        this.importName = importName;
+    }
+
+    public static TreePattern parse(String pattern) {
+        if (pattern == null || pattern.isBlank()) {
+            throw new IllegalArgumentException("Empty pattern");
+        }
+        String p = pattern.trim();
+        int sp = p.indexOf(' ');
+        if (sp < 0) {
+            throw new IllegalArgumentException("Bad pattern (expect '<call|new|import> <target>'): " + pattern);
+        }
+        String verb = p.substring(0, sp);
+        String target = p.substring(sp + 1).replace(" ", "");
+
+        switch (verb) {
+            case "call": {
+                int hash = target.indexOf('#');
+                if (hash <= 0 || hash == target.length() - 1) {
+                    throw new IllegalArgumentException("Bad call pattern (expect Type#method(params)): " + pattern);
+                }
+                String owner = target.substring(0, hash);
+                boolean subtypes = owner.endsWith("+");
+                if (subtypes) owner = owner.substring(0, owner.length() - 1);
+
+                String member = target.substring(hash + 1);
+                String name = stripParams(member);
+                MethodMatcher.Builder b = MethodMatcher.of(owner, name);
+                applyParams(b, member, pattern);
+                if (subtypes) b.includeSubtypes();
+                return new TreePattern(pattern, Tree.Kind.METHOD_INVOCATION, name, b.build(), null);
+            }
+            case "new": {
+                String owner = stripParams(target);
+                MethodMatcher.Builder b = MethodMatcher.constructor(owner);
+                applyParams(b, target, pattern);
+                return new TreePattern(pattern, Tree.Kind.NEW_CLASS, simpleName(owner), b.build(), null);
+            }
+            case "import": {
+                return new TreePattern(pattern, Tree.Kind.IMPORT, simpleName(target), null, target);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown pattern kind '" + verb + "': " + pattern);
+        }
+    }
+
+    public String source() { return source; }
+
+    /** 分派用的树类型 */
+    public Tree.Kind kind() { return kind; }
+
+    /** 分派用的简单名：方法名 / 类简单名 / 导入的最后一段（可能是 "*"） */
+    public String dispatchName() { return dispatchName; }
+
+    /**
+     * 精确判定（分派键已相同时调用）
+     */
+    public boolean matches(Tree node, TreePath path, Trees trees) {
+        switch (kind) {
+            case METHOD_INVOCATION:
+                return matcher.matches((MethodInvocationTree) node, path, trees);
+            case NEW_CLASS:
+                return matcher.matches((NewClassTree) node, path, trees);
+            case IMPORT:
+                // 导入很少，这里直接比较字符串即可
+                return importName.equals(((ImportTree) node).getQualifiedIdentifier().toString());
+            default:
+                return false;
+        }
+    }
+
+    private static void applyParams(MethodMatcher.Builder b, String member, String pattern) {
+        int open = member.indexOf('(');
+        if (open < 0) return;
+        if (!member.endsWith(")")) {
+            throw new IllegalArgumentException("Unclosed parameter list: " + pattern);
+        }
+        String inner = member.substring(open + 1, member.length() - 1);
+        List<String> params = new ArrayList<>();
+        if (!inner.isEmpty()) {
+            for (String t : inner.split(",")) params.add(t.replace("...", "[]"));
+        }
+        b.parameters(params.toArray(new String[0]));
+    }
+
+    private static String stripParams(String s) {
+        int open = s.indexOf('(');
+        return open < 0 ? s : s.substring(0, open);
+    }
+
+    private static String simpleName(String qualified) {
+        return qualified.substring(qualified.lastIndexOf('.') + 1);
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
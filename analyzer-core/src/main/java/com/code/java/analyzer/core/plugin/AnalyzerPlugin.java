@@ -0,0 +1,90 @@
+package com.code.java.analyzer.core.plugin;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.RuleEngine;
+import com.code.java.analyzer.core.config.AnalyzerConfig;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.Plugin;
+import com.sun.source.util.Trees;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * javac 插件：在正常编译过程中执行规则，省掉独立分析时的第二次解析 / 标注。
+ *
+ * <pre>
+ *   javac -processorpath analyzer-core.jar:... \
+ *         -XDcompilePolicy=byfile \
+ *         "-Xplugin:CodeAnalyzer projectRoot=/path/to/project sarif=target/myanalyzer/report.sarif" ...
+ * </pre>
+ *
+ * 参数（key=value，空白分隔；javac 不支持引号，含空格的路径写成 file: URI，例如 file:///path/my%20project）：
+ *   projectRoot  报告中路径的基准目录（默认当前目录）
+ *   sarif        SARIF 输出（默认 projectRoot/target/myanalyzer/report.sarif；相对路径基于 projectRoot）
+ *   sonar        Sonar external issues JSON 输出（可选）
+ *   config       分析配置文件（默认 projectRoot/code-analyzer.json，存在时）
+ *   profile      配置中的 profile
+ *
+ * -XDcompilePolicy=byfile 保证同一文件中的所有类型标注完成后才进入脱糖，规则看到的是未改写的语法树。
+ */
+public final class AnalyzerPlugin implements Plugin {
+
+    public static final String NAME = "CodeAnalyzer";
+
+    private static final Set<String> OPTIONS = Set.of("projectRoot", "sarif", "sonar", "config", "profile");
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void init(JavacTask task, String... args) {
+        Map<String, String> opts = parse(args);
+
+        Path projectRoot = path(opts.getOrDefault("projectRoot", System.getProperty("user.dir")))
+                .toAbsolutePath().normalize();
+        Path sarif = projectRoot.resolve(path(opts.getOrDefault("sarif", "target/myanalyzer/report.sarif"))).normalize();
+        Path sonar = opts.containsKey("sonar") ? projectRoot.resolve(path(opts.get("sonar"))).normalize() : null;
+
+        AnalyzerConfig config = opts.containsKey("config")
+                ? AnalyzerConfig.load(projectRoot.resolve(path(opts.get("config"))))
+                : AnalyzerConfig.discover(projectRoot);
+        config = config.withProfile(opts.get("profile"));
+
+        RuleEngine engine = RuleEngine.forConfig(config);
+        IssueCollector collector = new IssueCollector(projectRoot, config);
+        task.addTaskListener(new AnalyzerTaskListener(
+                engine, Trees.instance(task), collector, config, sarif, sonar));
+    }
+
+    /** 路径参数：普通路径，或 file: URI（路径含空格时） */
+    private static Path path(String value) {
+        if (value.startsWith("file:")) {
+            try {
+                return Path.of(URI.create(value));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Bad " + NAME + " plugin path: " + value, e);
+            }
+        }
+        return Path.of(value);
+    }
+
+    private static Map<String, String> parse(String... args) {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String key = eq < 0 ? arg : arg.substring(0, eq);
+            if (eq < 0 || !OPTIONS.contains(key)) {
+                throw new IllegalArgumentException("Unknown " + NAME + " plugin option: " + arg
+                        + " (expected key=value, keys: " + OPTIONS + ")");
+            }
+            opts.put(key, arg.substring(eq + 1));
+        }
+        return opts;
+    }
+}
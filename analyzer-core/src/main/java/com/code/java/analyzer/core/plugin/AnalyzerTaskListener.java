@@ -0,0 +1,132 @@
+package com.code.java.analyzer.core.plugin;
+
+import com.code.java.analyzer.core.AnalysisNote;
+import com.code.java.analyzer.core.AnalyzeResult;
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.ProjectRule;
+import com.code.java.analyzer.core.RuleEngine;
+import com.code.java.analyzer.core.RuleScanner;
+import com.code.java.analyzer.core.config.AnalyzerConfig;
+import com.code.java.analyzer.core.config.GeneratedSourceDetector;
+import com.code.java.analyzer.core.rules.SarifWriter;
+import com.code.java.analyzer.core.rules.SonarExternalIssuesWriter;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+import com.sun.source.util.Trees;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 编译单元的所有顶层类型都完成 ANALYZE（标注 + 流分析）后执行规则；COMPILATION 结束时写报告。
+ *
+ * ProjectRule 需要整个项目的未脱糖语法树，插件模式下跳过并记录提示。
+ * 规则异常不影响编译：记录为错误提示，继续下一个文件。
+ */
+final class AnalyzerTaskListener implements TaskListener {
+
+    private final RuleEngine engine;
+    private final RuleEngine.Session session;
+    private final IssueCollector collector;
+    private final AnalyzerConfig config;
+    private final Path sarif;
+    private final Path sonar;
+
+    // 编译单元 -> 尚未完成 ANALYZE 的顶层类型数
+    private final Map<CompilationUnitTree, Integer> remaining = new IdentityHashMap<>();
+    private int units;
+    // 快速失败门禁触发后跳过的编译单元数（编译照常进行，只是不再执行规则）
+    private int skipped;
+    // 被当作生成代码跳过的文件
+    private final List<String> generated = new ArrayList<>();
+
+    AnalyzerTaskListener(RuleEngine engine, Trees trees, IssueCollector collector, AnalyzerConfig config,
+                         Path sarif, Path sonar) {
+        this.engine = engine;
+        this.session = engine.openSession(trees, collector, config.budgets());
+        this.collector = collector;
+        this.config = config;
+        this.sarif = sarif;
+        this.sonar = sonar;
+
+        if (!session.projectRules().isEmpty()) {
+            collector.note(new AnalysisNote(AnalysisNote.NOTE, null, null,
+                    "compiler plugin mode: project-level rule(s) skipped: "
+                            + session.projectRules().stream().map(ProjectRule::id).collect(Collectors.joining(", "))));
+        }
+    }
+
+    @Override
+    public void finished(TaskEvent e) {
+        if (e.getKind() == TaskEvent.Kind.ANALYZE) {
+            CompilationUnitTree cu = e.getCompilationUnit();
+            if (cu == null) return;
+            int left = remaining.getOrDefault(cu, topLevelTypes(cu)) - 1;
+            if (left > 0) {
+                remaining.put(cu, left);
+                return;
+            }
+            remaining.remove(cu);
+            analyze(cu);
+        } else if (e.getKind() == TaskEvent.Kind.COMPILATION) {
+            finish();
+        }
+    }
+
+    private void analyze(CompilationUnitTree cu) {
+        String file = RuleScanner.relativePath(cu, collector.projectRoot());
+        if (!config.isFileIncluded(file)) return;
+        if (config.skipGenerated() && "file".equals(cu.getSourceFile().toUri().getScheme())
+                && GeneratedSourceDetector.isGenerated(Path.of(cu.getSourceFile().toUri()))) {
+            generated.add(file);
+            return;
+        }
+        if (collector.gateTripped()) {
+            skipped++;
+            return;
+        }
+        units++;
+        try {
+            session.analyze(cu);
+        } catch (RuntimeException ex) {
+            collector.note(new AnalysisNote(AnalysisNote.ERROR, null, file, "analysis failed: " + ex));
+        }
+    }
+
+    private void finish() {
+        session.close();
+        if (collector.gateTripped()) RuleEngine.stopped(collector, skipped + " file(s) not analyzed");
+        GeneratedSourceDetector.notes(generated).forEach(collector::note);
+        AnalyzeResult result = new AnalyzeResult(collector.issues(), collector.notes(), collector.incomplete());
+        for (AnalysisNote n : result.notes()) {
+            System.out.println("[my-java-analyzer] " + n);
+        }
+        try {
+            SarifWriter.write(sarif, result, engine.toolName(),
+                    config.sarifSnippets() ? collector.projectRoot() : null);
+            if (sonar != null) {
+                SonarExternalIssuesWriter.write(sonar, result.issues());
+            }
+        } catch (Exception ex) {
+            System.err.println("[my-java-analyzer] failed to write report: " + ex);
+            return;
+        }
+        System.out.println("[my-java-analyzer] plugin units=" + units + " issues=" + result.issueCount()
+                + " sarif=" + sarif);
+    }
+
+    private static int topLevelTypes(CompilationUnitTree cu) {
+        int n = 0;
+        for (Tree t : cu.getTypeDecls()) {
+            if (t instanceof ClassTree) n++;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,65 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.LoopScanner;
+import com.code.java.analyzer.core.MethodMatcher;
+import com.code.java.analyzer.core.Rule;
+import com.code.java.analyzer.core.TypeChecks;
+import com.sun.source.tree.*;
+import com.sun.source.util.Trees;
+
+import java.util.Set;
+
+/**
+ * 循环中创建可复用 / 可常量化的对象：BigDecimal、BigInteger、Date、日期 / 数字格式化器、Pattern.compile 等。
+ * 这些对象要么有常量（BigDecimal.ZERO / valueOf 缓存），要么可以在循环外创建一次。
+ */
+public final class AllocationInLoopRule implements Rule {
+
+    private static final Set<String> TYPES = Set.of(
+            "java.math.BigDecimal",
+            "java.math.BigInteger",
+            "java.util.Date",
+            "java.util.GregorianCalendar",
+            "java.text.SimpleDateFormat",
+            "java.text.DecimalFormat");
+
+    private static final MethodMatcher PATTERN_COMPILE = MethodMatcher.of("java.util.regex.Pattern", "compile").build();
+
+    private static final Set<String> TRIGGERS = Set.of(
+            "BigDecimal", "BigInteger", "Date", "GregorianCalendar", "SimpleDateFormat", "DecimalFormat", "compile");
+
+    @Override public String id() { return "MYJAVA0013"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "MINOR"; }
+    @Override public String type() { return "CODE_SMELL"; }
+
+    @Override
+    public Set<String> triggers() {
+        return TRIGGERS;
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        new LoopScanner(this, trees, collector) {
+            @Override
+            public Void visitNewClass(NewClassTree node, Void unused) {
+                if (loopDepth() > 0 && node.getClassBody() == null) {
+                    String type = TypeChecks.qualifiedName(trees.getTypeMirror(getCurrentPath()));
+                    if (type != null && TYPES.contains(type)) {
+                        reportInLoop(node, id() + ".message", type.substring(type.lastIndexOf('.') + 1));
+                    }
+                }
+                return super.visitNewClass(node, unused);
+            }
+
+            @Override
+            public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                if (loopDepth() > 0 && PATTERN_COMPILE.matches(node, getCurrentPath(), trees)) {
+                    reportInLoop(node, id() + ".message", "Pattern");
+                }
+                return super.visitMethodInvocation(node, unused);
+            }
+        }.scan(asts, null);
+    }
+}
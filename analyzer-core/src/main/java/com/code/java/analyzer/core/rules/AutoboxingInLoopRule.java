@@ -0,0 +1,137 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.LoopScanner;
+import com.code.java.analyzer.core.Rule;
+import com.code.java.analyzer.core.TypeChecks;
+import com.sun.source.tree.*;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.type.TypeMirror;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 循环中的自动装箱：基本类型值传给引用类型参数、赋给包装类型变量，以及包装类型变量上的 ++ / += 等（先拆箱再装箱）。
+ *
+ * 不重复上报：元素为包装类型的集合上的调用由 MYJAVA0012 负责，可变参数位置由 MYJAVA0015 负责。
+ */
+public final class AutoboxingInLoopRule implements Rule {
+
+    @Override public String id() { return "MYJAVA0014"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "MINOR"; }
+    @Override public String type() { return "CODE_SMELL"; }
+
+    // 取决于类型而没有固定的触发名：只在含循环的类中上报
+    @Override
+    public Set<String> triggers() {
+        return Set.of();
+    }
+
+    @Override
+    public Set<Tree.Kind> triggerKinds() {
+        return LoopScanner.LOOPS;
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        new LoopScanner(this, trees, collector) {
+
+            @Override
+            public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                if (loopDepth() > 0 && !onBoxedCollection(node)) {
+                    checkArguments(trees.getElement(getCurrentPath()), node.getArguments());
+                }
+                return super.visitMethodInvocation(node, unused);
+            }
+
+            @Override
+            public Void visitNewClass(NewClassTree node, Void unused) {
+                if (loopDepth() > 0) {
+                    checkArguments(trees.getElement(getCurrentPath()), node.getArguments());
+                }
+                return super.visitNewClass(node, unused);
+            }
+
+            @Override
+            public Void visitVariable(VariableTree node, Void unused) {
+                if (loopDepth() > 0 && node.getInitializer() != null) {
+                    Element e = trees.getElement(getCurrentPath());
+                    if (e != null) checkConversion(node.getInitializer(), e.asType());
+                }
+                return super.visitVariable(node, unused);
+            }
+
+            @Override
+            public Void visitAssignment(AssignmentTree node, Void unused) {
+                if (loopDepth() > 0) {
+                    checkConversion(node.getExpression(), typeOf(node.getVariable()));
+                }
+                return super.visitAssignment(node, unused);
+            }
+
+            @Override
+            public Void visitCompoundAssignment(CompoundAssignmentTree node, Void unused) {
+                checkUpdate(node, node.getVariable());
+                return super.visitCompoundAssignment(node, unused);
+            }
+
+            @Override
+            public Void visitUnary(UnaryTree node, Void unused) {
+                switch (node.getKind()) {
+                    case PREFIX_INCREMENT, PREFIX_DECREMENT, POSTFIX_INCREMENT, POSTFIX_DECREMENT ->
+                            checkUpdate(node, node.getExpression());
+                    default -> { }
+                }
+                return super.visitUnary(node, unused);
+            }
+
+            private void checkArguments(Element e, List<? extends ExpressionTree> args) {
+                if (!(e instanceof ExecutableElement m)) return;
+                int params = m.getParameters().size();
+                for (int i = 0; i < args.size() && i < params; i++) {
+                    // 可变参数位置交给 MYJAVA0015
+                    if (m.isVarArgs() && i == params - 1) break;
+                    checkConversion(args.get(i), m.getParameters().get(i).asType());
+                }
+            }
+
+            private void checkConversion(ExpressionTree value, TypeMirror target) {
+                if (target == null || target.getKind().isPrimitive()) return;
+                TypeMirror source = typeOf(value);
+                String box = TypeChecks.boxOf(source);
+                if (box == null) return;
+                reportInLoop(value, id() + ".message", abbreviate(value),
+                        source + " → " + box.substring(box.lastIndexOf('.') + 1));
+            }
+
+            private void checkUpdate(ExpressionTree node, ExpressionTree variable) {
+                if (loopDepth() == 0) return;
+                TypeMirror t = typeOf(variable);
+                if (!TypeChecks.isBoxed(t)) return;
+                String name = TypeChecks.qualifiedName(t);
+                reportInLoop(node, id() + ".message", abbreviate(node),
+                        name.substring(name.lastIndexOf('.') + 1) + " 拆箱后再装箱");
+            }
+
+            private boolean onBoxedCollection(MethodInvocationTree node) {
+                if (!(node.getMethodSelect() instanceof MemberSelectTree ms)) return false;
+                return BoxedCollectionInLoopRule.boxedArguments(
+                        trees.getTypeMirror(new TreePath(new TreePath(getCurrentPath(), ms), ms.getExpression()))) != null;
+            }
+
+            private TypeMirror typeOf(ExpressionTree expr) {
+                return trees.getTypeMirror(new TreePath(getCurrentPath(), expr));
+            }
+        }.scan(asts, null);
+    }
+
+    static String abbreviate(Tree tree) {
+        String s = tree.toString().replaceAll("\\s+", " ");
+        return s.length() <= 40 ? s : s.substring(0, 37) + "...";
+    }
+}
@@ -0,0 +1,165 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.MethodMatcher;
+import com.code.java.analyzer.core.Rule;
+import com.code.java.analyzer.core.RuleScanner;
+import com.code.java.analyzer.core.callgraph.Effect;
+import com.sun.source.tree.*;
+import com.sun.source.util.Trees;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * synchronized 块 / 方法中的阻塞调用（Object.wait、sleep、Future.get、阻塞 I/O 等）：
+ * 持有监视器期间阻塞会拖住其他等待该锁的线程；虚拟线程在 synchronized 中阻塞时还会钉住载体线程（pinning）。
+ *
+ * 建议改用 ReentrantLock / Condition，或把阻塞调用移到同步块之外。
+ *
+ * 在所持有的唯一监视器上调用 wait()（synchronized (o) { o.wait(); }）会释放该监视器，是条件等待的标准写法，不上报；
+ * 同时还持有其他监视器时照常上报。锁按源码文本区分（this.lock 与 lock 视为同一个）。
+ */
+public final class BlockingInSynchronizedRule implements Rule {
+
+    // 阻塞 I/O（Effect.MAY_BLOCK 之外）
+    static final List<MethodMatcher> BLOCKING_IO = List.of(
+            MethodMatcher.of("java.io.InputStream", "read").includeSubtypes().build(),
+            MethodMatcher.of("java.io.InputStream", "readAllBytes").includeSubtypes().build(),
+            MethodMatcher.of("java.io.InputStream", "readNBytes").includeSubtypes().build(),
+            MethodMatcher.of("java.io.Reader", "read").includeSubtypes().build(),
+            MethodMatcher.of("java.io.BufferedReader", "readLine").includeSubtypes().build(),
+            MethodMatcher.of("java.net.Socket", "connect").includeSubtypes().build(),
+            MethodMatcher.of("java.net.ServerSocket", "accept").includeSubtypes().build(),
+            MethodMatcher.of("java.net.URLConnection", "connect").includeSubtypes().build(),
+            MethodMatcher.of("java.net.URLConnection", "getInputStream").includeSubtypes().build(),
+            MethodMatcher.of("java.net.http.HttpClient", "send").includeSubtypes().build(),
+            MethodMatcher.of("java.nio.file.Files", "readAllBytes").build(),
+            MethodMatcher.of("java.nio.file.Files", "readAllLines").build(),
+            MethodMatcher.of("java.nio.file.Files", "readString").build(),
+            MethodMatcher.of("java.nio.file.Files", "write").build(),
+            MethodMatcher.of("java.nio.file.Files", "writeString").build(),
+            MethodMatcher.of("java.nio.file.Files", "copy").build());
+
+    private static final MethodMatcher OBJECT_WAIT = MethodMatcher.of("java.lang.Object", "wait").build();
+
+    private static final Set<String> TRIGGERS = triggerNames();
+
+    @Override public String id() { return "MYJAVA0017"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "MAJOR"; }
+    @Override public String type() { return "CODE_SMELL"; }
+
+    @Override
+    public Set<String> triggers() {
+        return TRIGGERS;
+    }
+
+    private static Set<String> triggerNames() {
+        Set<String> names = new HashSet<>(Effect.MAY_BLOCK.methodNames());
+        for (MethodMatcher m : BLOCKING_IO) names.add(m.methodName());
+        return Set.copyOf(names);
+    }
+
+    static boolean isBlocking(Element callee) {
+        if (Effect.MAY_BLOCK.isSink(callee)) return true;
+        for (MethodMatcher m : BLOCKING_IO) {
+            if (m.matches(callee)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        new RuleScanner(this, trees, collector) {
+
+            // 当前持有的监视器（synchronized 块 / 方法，按源码文本；进入 lambda / 类时清空）
+            private List<String> held = new ArrayList<>();
+
+            @Override
+            public Void visitSynchronized(SynchronizedTree node, Void unused) {
+                scan(node.getExpression(), unused);
+                held.add(lockText(node.getExpression()));
+                try {
+                    scan(node.getBlock(), unused);
+                } finally {
+                    held.remove(held.size() - 1);
+                }
+                return null;
+            }
+
+            @Override
+            public Void visitMethod(MethodTree node, Void unused) {
+                List<String> saved = held;
+                held = new ArrayList<>();
+                Set<Modifier> flags = node.getModifiers().getFlags();
+                if (flags.contains(Modifier.SYNCHRONIZED)) {
+                    held.add(flags.contains(Modifier.STATIC)
+                            && getCurrentPath().getParentPath().getLeaf() instanceof ClassTree c
+                            ? c.getSimpleName() + ".class" : "this");
+                }
+                try {
+                    return super.visitMethod(node, unused);
+                } finally {
+                    held = saved;
+                }
+            }
+
+            @Override
+            public Void visitLambdaExpression(LambdaExpressionTree node, Void unused) {
+                List<String> saved = held;
+                held = new ArrayList<>();
+                try {
+                    return super.visitLambdaExpression(node, unused);
+                } finally {
+                    held = saved;
+                }
+            }
+
+            @Override
+            public Void visitClass(ClassTree node, Void unused) {
+                List<String> saved = held;
+                held = new ArrayList<>();
+                try {
+                    return super.visitClass(node, unused);
+                } finally {
+                    held = saved;
+                }
+            }
+
+            @Override
+            public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                if (!held.isEmpty()) {
+                    Element callee = trees.getElement(getCurrentPath());
+                    if (callee != null && isBlocking(callee) && !waitsOnHeldMonitor(node, callee)) {
+                        report(node, id() + ".message",
+                                callee.getEnclosingElement().getSimpleName() + "." + callee.getSimpleName());
+                    }
+                }
+                return super.visitMethodInvocation(node, unused);
+            }
+
+            // o.wait() 且持有的监视器只有 o
+            private boolean waitsOnHeldMonitor(MethodInvocationTree node, Element callee) {
+                if (!OBJECT_WAIT.matches(callee)) return false;
+                String receiver = node.getMethodSelect() instanceof MemberSelectTree ms
+                        ? lockText(ms.getExpression()) : "this";
+                for (String lock : held) {
+                    if (!lock.equals(receiver)) return false;
+                }
+                return true;
+            }
+        }.scan(asts, null);
+    }
+
+    // 锁表达式的源码文本：去掉括号与 this. 前缀
+    private static String lockText(ExpressionTree e) {
+        while (e instanceof ParenthesizedTree p) e = p.getExpression();
+        String s = e.toString();
+        return s.startsWith("this.") ? s.substring(5) : s;
+    }
+}
@@ -0,0 +1,96 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.LoopScanner;
+import com.code.java.analyzer.core.Rule;
+import com.code.java.analyzer.core.TypeChecks;
+import com.sun.source.tree.*;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.Map;
+
+/**
+ * 元素为包装类型的集合（Map&lt;Integer, Long&gt;、List&lt;Double&gt; 等）在循环中被访问：每次读写都装箱 / 拆箱并分配对象。
+ *
+ * 在声明处上报一次，严重级别取该集合被访问的最深循环；只在循环外访问的集合不报告。
+ */
+public final class BoxedCollectionInLoopRule implements Rule {
+
+    @Override public String id() { return "MYJAVA0012"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "MINOR"; }
+    @Override public String type() { return "CODE_SMELL"; }
+
+    // 取决于类型而没有固定的触发名：只在含循环的类中上报
+    @Override
+    public Set<String> triggers() {
+        return Set.of();
+    }
+
+    @Override
+    public Set<Tree.Kind> triggerKinds() {
+        return LoopScanner.LOOPS;
+    }
+
+    /** Map / Collection 且至少一个类型参数为包装类型时，返回这些类型参数的简单名；否则返回 null */
+    static List<String> boxedArguments(TypeMirror t) {
+        if (!(t instanceof DeclaredType dt)) return null;
+        if (!TypeChecks.isSubtype(t, "java.util.Map") && !TypeChecks.isSubtype(t, "java.util.Collection")) {
+            return null;
+        }
+        List<String> boxed = new ArrayList<>();
+        for (TypeMirror arg : dt.getTypeArguments()) {
+            if (TypeChecks.isBoxed(arg)) boxed.add(((DeclaredType) arg).asElement().getSimpleName().toString());
+        }
+        return boxed.isEmpty() ? null : boxed;
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        for (CompilationUnitTree cu : asts) {
+            Map<Element, VariableTree> declared = new LinkedHashMap<>();
+            Map<Element, List<String>> boxedArgs = new LinkedHashMap<>();
+            Map<Element, Integer> deepest = new LinkedHashMap<>();
+
+            LoopScanner scanner = new LoopScanner(this, trees, collector) {
+                @Override
+                public Void visitVariable(VariableTree node, Void unused) {
+                    Element e = trees.getElement(getCurrentPath());
+                    List<String> boxed = e == null ? null : boxedArguments(e.asType());
+                    if (boxed != null) {
+                        declared.put(e, node);
+                        boxedArgs.put(e, boxed);
+                    }
+                    return super.visitVariable(node, unused);
+                }
+
+                @Override
+                public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                    if (loopDepth() > 0 && node.getMethodSelect() instanceof MemberSelectTree ms) {
+                        TreePath select = new TreePath(getCurrentPath(), ms);
+                        Element receiver = trees.getElement(new TreePath(select, ms.getExpression()));
+                        if (receiver != null) deepest.merge(receiver, loopDepth(), Math::max);
+                    }
+                    return super.visitMethodInvocation(node, unused);
+                }
+            };
+            scanner.scan(cu, null);
+
+            for (Map.Entry<Element, VariableTree> d : declared.entrySet()) {
+                Integer depth = deepest.get(d.getKey());
+                if (depth == null) continue;
+                VariableTree v = d.getValue();
+                collector.report(LoopScanner.issueInLoop(this, cu, v, trees, collector.projectRoot(), depth,
+                        id() + ".message", v.getName().toString(), String.join(", ", boxedArgs.get(d.getKey()))));
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.Rule;
+import com.code.java.analyzer.core.RuleScanner;
+import com.code.java.analyzer.core.TypeChecks;
+import com.sun.source.tree.*;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreeScanner;
+import com.sun.source.util.Trees;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ConcurrentMap 上的“先检查后操作”：
+ * <pre>
+ *   if (!map.containsKey(k)) map.put(k, v);      // 两步之间可能被其他线程插入
+ *
+ *   V v = map.get(k);
+ *   if (v == null) { v = create(); map.put(k, v); }
+ * </pre>
+ * 每一步本身是原子的，组合起来不是；请改用 putIfAbsent / computeIfAbsent / compute / merge。
+ *
+ * 只做语法级匹配：接收者与 key 的源码文本相同即视为同一个。
+ */
+public final class ConcurrentMapCheckThenActRule implements Rule {
+
+    private static final String CONCURRENT_MAP = "java.util.concurrent.ConcurrentMap";
+    private static final Set<String> CHECKS = Set.of("containsKey", "get");
+    private static final Set<String> ACTS = Set.of("put", "remove", "replace");
+
+    @Override public String id() { return "MYJAVA0021"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "MAJOR"; }
+    @Override public String type() { return "BUG"; }
+
+    @Override
+    public Set<String> triggers() {
+        return CHECKS;
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        new RuleScanner(this, trees, collector) {
+
+            // 写法一：if (map.containsKey(k) / map.get(k) == null) { map.put(k, ..) }
+            @Override
+            public Void visitIf(IfTree node, Void unused) {
+                MethodInvocationTree check = checkCall(node.getCondition());
+                if (check != null && isConcurrentMap(check)) {
+                    String receiver = receiverText(check);
+                    String key = check.getArguments().get(0).toString();
+                    MethodInvocationTree act = findAct(node.getThenStatement(), receiver, key);
+                    if (act == null) act = findAct(node.getElseStatement(), receiver, key);
+                    if (act != null) {
+                        report(check, id() + ".message", receiver, key, callName(act));
+                    }
+                }
+                return super.visitIf(node, unused);
+            }
+
+            // 写法二：V v = map.get(k); if (v == null) { map.put(k, ..) }
+            @Override
+            public Void visitBlock(BlockTree node, Void unused) {
+                List<? extends StatementTree> stmts = node.getStatements();
+                for (int i = 0; i + 1 < stmts.size(); i++) {
+                    if (!(stmts.get(i) instanceof VariableTree var)
+                            || !(var.getInitializer() instanceof MethodInvocationTree get)
+                            || !"get".equals(callName(get)) || get.getArguments().size() != 1
+                            || !(stmts.get(i + 1) instanceof IfTree ifTree)
+                            || !isNullCheckOf(ifTree.getCondition(), var.getName().toString())) {
+                        continue;
+                    }
+                    TreePath getPath = new TreePath(new TreePath(
+                            new TreePath(getCurrentPath(), var), var.getInitializer()), get.getMethodSelect());
+                    if (!isConcurrentMap(get, getPath)) continue;
+
+                    String receiver = receiverText(get);
+                    String key = get.getArguments().get(0).toString();
+                    MethodInvocationTree act = findAct(ifTree.getThenStatement(), receiver, key);
+                    if (act != null) {
+                        report(get, id() + ".message", receiver, key, callName(act));
+                    }
+                }
+                return super.visitBlock(node, unused);
+            }
+
+            private boolean isConcurrentMap(MethodInvocationTree call) {
+                // 只在当前 if 子树内查找
+                TreePath path = TreePath.getPath(getCurrentPath(), call.getMethodSelect());
+                return path != null && isConcurrentMap(call, path);
+            }
+
+            private boolean isConcurrentMap(MethodInvocationTree call, TreePath selectPath) {
+                if (!(call.getMethodSelect() instanceof MemberSelectTree ms)) return false;
+                var type = trees.getTypeMirror(new TreePath(selectPath, ms.getExpression()));
+                return TypeChecks.isSubtype(type, CONCURRENT_MAP);
+            }
+        }.scan(asts, null);
+    }
+
+    /** 条件中的 map.containsKey(k) / map.get(k) == null（可带括号与 !） */
+    private static MethodInvocationTree checkCall(ExpressionTree cond) {
+        ExpressionTree e = strip(cond);
+        if (e instanceof UnaryTree u && u.getKind() == Tree.Kind.LOGICAL_COMPLEMENT) e = strip(u.getExpression());
+        if (e instanceof BinaryTree b && (b.getKind() == Tree.Kind.EQUAL_TO || b.getKind() == Tree.Kind.NOT_EQUAL_TO)) {
+            if (isNull(b.getRightOperand())) e = strip(b.getLeftOperand());
+            else if (isNull(b.getLeftOperand())) e = strip(b.getRightOperand());
+        }
+        if (e instanceof MethodInvocationTree call && CHECKS.contains(callName(call))
+                && call.getArguments().size() == 1 && call.getMethodSelect() instanceof MemberSelectTree) {
+            return call;
+        }
+        return null;
+    }
+
+    private static boolean isNullCheckOf(ExpressionTree cond, String name) {
+        return strip(cond) instanceof BinaryTree b
+                && (b.getKind() == Tree.Kind.EQUAL_TO || b.getKind() == Tree.Kind.NOT_EQUAL_TO)
+                && (isNull(b.getRightOperand()) && isIdent(b.getLeftOperand(), name)
+                    || isNull(b.getLeftOperand()) && isIdent(b.getRightOperand(), name));
+    }
+
+    /** 在语句中找 receiver.put/remove/replace(key, ..) */
+    private static MethodInvocationTree findAct(StatementTree stmt, String receiver, String key) {
+        if (stmt == null) return null;
+        return new TreeScanner<MethodInvocationTree, Void>() {
+            @Override
+            public MethodInvocationTree visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                if (ACTS.contains(callName(node)) && !node.getArguments().isEmpty()
+                        && receiver.equals(receiverText(node))
+                        && key.equals(node.getArguments().get(0).toString())) {
+                    return node;
+                }
+                return super.visitMethodInvocation(node, unused);
+            }
+
+            @Override
+            public MethodInvocationTree visitLambdaExpression(LambdaExpressionTree node, Void unused) {
+                return null;
+            }
+
+            @Override
+            public MethodInvocationTree visitClass(ClassTree node, Void unused) {
+                return null;
+            }
+
+            @Override
+            public MethodInvocationTree reduce(MethodInvocationTree r1, MethodInvocationTree r2) {
+                return r1 != null ? r1 : r2;
+            }
+        }.scan(stmt, null);
+    }
+
+    private static String callName(MethodInvocationTree call) {
+        return call.getMethodSelect() instanceof MemberSelectTree ms ? ms.getIdentifier().toString() : "";
+    }
+
+    private static String receiverText(MethodInvocationTree call) {
+        return call.getMethodSelect() instanceof MemberSelectTree ms ? ms.getExpression().toString() : "";
+    }
+
+    private static ExpressionTree strip(ExpressionTree e) {
+        while (e instanceof ParenthesizedTree p) e = p.getExpression();
+        return e;
+    }
+
+    private static boolean isNull(ExpressionTree e) {
+        return strip(e).getKind() == Tree.Kind.NULL_LITERAL;
+    }
+
+    private static boolean isIdent(ExpressionTree e, String name) {
+        return strip(e) instanceof IdentifierTree id && id.getName().contentEquals(name);
+    }
+}
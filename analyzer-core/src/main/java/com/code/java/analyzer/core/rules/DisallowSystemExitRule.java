@@ -1,62 +1,48 @@
 package com.code.java.analyzer.core.rules;
 
-import com.code.java.analyzer.core.Issue;
+import com.code.java.analyzer.core.BytecodeRule;
 import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.MethodMatcher;
 import com.code.java.analyzer.core.Rule;
+import com.code.java.analyzer.core.RuleScanner;
+import com.code.java.analyzer.core.bytecode.Invocation;
+import com.code.java.analyzer.core.bytecode.TypeHierarchy;
 import com.sun.source.tree.*;
-import com.sun.source.util.TreePathScanner;
 import com.sun.source.util.Trees;
 
-import java.nio.file.Path;
+import java.util.Set;
 
-public final class DisallowSystemExitRule implements Rule {
+public final class DisallowSystemExitRule implements BytecodeRule {
+
+    private static final MethodMatcher SYSTEM_EXIT = MethodMatcher.of("java.lang.System", "exit").build();
 
     @Override public String id() { return "MYJAVA0004"; }
     @Override public String engineId() { return "my-java-analyzer"; }
     @Override public String defaultSeverity() { return "CRITICAL"; }
     @Override public String type() { return "BUG"; }
 
+    @Override
+    public Set<String> triggers() {
+        return Set.of("exit");
+    }
+
     @Override
     public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
 
-        new TreePathScanner<Void, Void>() {
+        new RuleScanner(this, trees, collector) {
             @Override
             public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
-                ExpressionTree select = node.getMethodSelect();
-                // 匹配：System.exit(...)
-                if (select instanceof MemberSelectTree ms) {
-                    if ("exit".equals(ms.getIdentifier().toString())) {
-                        ExpressionTree expr = ms.getExpression();
-                        if (expr != null && "System".equals(expr.toString())) {
-                            report(node, id() + ".message");
-                        }
-                    }
+                // 匹配：System.exit(...)（含静态导入）
+                if (SYSTEM_EXIT.matches(node, getCurrentPath(), trees)) {
+                    report(node, id() + ".message");
                 }
                 return super.visitMethodInvocation(node, unused);
             }
-
-            private void report(Tree where, String msg) {
-                CompilationUnitTree cu = getCurrentPath().getCompilationUnit();
-                long start = trees.getSourcePositions().getStartPosition(cu, where);
-                long end = trees.getSourcePositions().getEndPosition(cu, where);
-                if (end < 0) end = start;
-
-                var lineMap = cu.getLineMap();
-                int startLine = (int) lineMap.getLineNumber(start);
-                int startCol  = (int) lineMap.getColumnNumber(start);
-                int endLine   = (int) lineMap.getLineNumber(end);
-                int endCol    = (int) lineMap.getColumnNumber(end);
-
-                Path abs = Path.of(cu.getSourceFile().toUri()).normalize();
-                String rel = collector.projectRoot().toAbsolutePath().normalize()
-                        .relativize(abs).toString().replace('\\', '/');
-
-                collector.report(new Issue(
-                        engineId(), id(), defaultSeverity(), type(),
-                        msg, rel,
-                        startLine, startCol, endLine, endCol
-                ));
-            }
         }.scan(asts, null);
     }
+
+    @Override
+    public boolean matches(Invocation call, TypeHierarchy types) {
+        return SYSTEM_EXIT.matches(call, types);
+    }
 }
@@ -0,0 +1,108 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.Rule;
+import com.code.java.analyzer.core.RuleScanner;
+import com.code.java.analyzer.core.flow.BitDataflow;
+import com.code.java.analyzer.core.flow.ControlFlowGraph;
+import com.sun.source.tree.*;
+import com.sun.source.util.TreeScanner;
+import com.sun.source.util.Trees;
+
+import javax.lang.model.element.Name;
+import java.util.Set;
+
+/**
+ * catch 到的异常在所有路径上都没有被使用（既没有记录、也没有重新抛出或包装）就离开了 catch 块。
+ *
+ * 基于控制流的 must 分析：catch 参数处置位 “未使用”，引用该变量的结点清位；
+ * 只有离开 catch 块的每一条边上该位都仍为 1 才上报。空 catch 块由 MYJAVA0002 负责。
+ */
+public final class DroppedExceptionRule implements Rule {
+
+    // 约定表示 “有意忽略” 的变量名
+    private static final Set<String> IGNORED_NAMES = Set.of("ignore", "ignored", "expected", "_");
+
+    @Override public String id() { return "MYJAVA0008"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "MAJOR"; }
+    @Override public String type() { return "CODE_SMELL"; }
+
+    @Override
+    public Set<String> triggers() {
+        return Set.of();
+    }
+
+    @Override
+    public Set<Tree.Kind> triggerKinds() {
+        return Set.of(Tree.Kind.CATCH);
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        new RuleScanner(this, trees, collector) {
+            @Override
+            public Void visitCatch(CatchTree node, Void unused) {
+                VariableTree param = node.getParameter();
+                if (!node.getBlock().getStatements().isEmpty()
+                        && !IGNORED_NAMES.contains(param.getName().toString())
+                        && droppedOnEveryPath(node)) {
+                    report(param, id() + ".message", param.getName().toString());
+                }
+                return super.visitCatch(node, unused);
+            }
+
+            private boolean droppedOnEveryPath(CatchTree node) {
+                Tree body = ControlFlowGraph.enclosingBody(getCurrentPath());
+                if (body == null) return false;
+                ControlFlowGraph cfg = ControlFlowGraph.of(body);
+                VariableTree param = node.getParameter();
+                int start = cfg.nodeOf(param);
+                if (start < 0) return false;
+
+                Name name = param.getName();
+                BitDataflow.Result r = BitDataflow.forward(cfg, 1, BitDataflow.Join.INTERSECTION,
+                        (n, tree, state) -> {
+                            if (tree == param) {
+                                state.set(0);
+                            } else if (state.get(0) && references(tree, name)) {
+                                state.clear(0);
+                            }
+                        });
+
+                // 离开 catch 块的所有边
+                boolean[] within = cfg.nodesWithin(node);
+                boolean anyExit = false;
+                for (int n = 0; n < cfg.size(); n++) {
+                    if (!within[n] || !r.reached(n)) continue;
+                    for (int s : cfg.successors(n)) {
+                        if (within[s]) continue;
+                        if (!r.outContains(n, 0)) return false;
+                        anyExit = true;
+                    }
+                    for (int s : cfg.exceptionalSuccessors(n)) {
+                        if (within[s]) continue;
+                        if (!r.exceptionalOutContains(n, 0)) return false;
+                        anyExit = true;
+                    }
+                }
+                return anyExit;
+            }
+        }.scan(asts, null);
+    }
+
+    private static boolean references(Tree tree, Name name) {
+        Boolean hit = new TreeScanner<Boolean, Void>() {
+            @Override
+            public Boolean visitIdentifier(IdentifierTree node, Void unused) {
+                return node.getName().equals(name);
+            }
+
+            @Override
+            public Boolean reduce(Boolean a, Boolean b) {
+                return Boolean.TRUE.equals(a) || Boolean.TRUE.equals(b);
+            }
+        }.scan(tree, null);
+        return Boolean.TRUE.equals(hit);
+    }
+}
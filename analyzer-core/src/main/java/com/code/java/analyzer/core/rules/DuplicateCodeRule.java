@@ -0,0 +1,81 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.Issue;
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.ProjectRule;
+import com.code.java.analyzer.core.RuleScanner;
+import com.code.java.analyzer.core.Watchdog;
+import com.code.java.analyzer.core.duplicates.CloneDetector;
+import com.code.java.analyzer.core.duplicates.CloneDetector.Clone;
+import com.code.java.analyzer.core.duplicates.TokenStream;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.util.Trees;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.Set;
+
+/**
+ * 重复代码：连续 minTokens（默认 100，-Dmyanalyzer.duplicates.minTokens）个以上的词法单元
+ * 在项目中另一处（或同一文件的其他位置）完全相同。
+ *
+ * 在重复的一处上报，相关位置指向首次出现的代码；三处以上相同时每处重复都指向同一个首次出现。
+ */
+public final class DuplicateCodeRule implements ProjectRule {
+
+    public static final String MIN_TOKENS_PROPERTY = "myanalyzer.duplicates.minTokens";
+
+    @Override public String id() { return "MYJAVA0010"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "MAJOR"; }
+    @Override public String type() { return "CODE_SMELL"; }
+
+    @Override
+    public Set<String> triggers() {
+        return Set.of();
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        List<CompilationUnitTree> units = new ArrayList<>();
+        asts.forEach(units::add);
+
+        // 源码已由 javac 读入，词法切分按文件并行
+        List<TokenStream> tokens = units.parallelStream()
+                .map(DuplicateCodeRule::tokenize)
+                .collect(Collectors.toList());
+        Watchdog.current().check();
+
+        List<Clone> clones = CloneDetector.detect(tokens, Integer.getInteger(MIN_TOKENS_PROPERTY, 100));
+        Watchdog.current().check();
+
+        List<String> files = units.stream()
+                .map(cu -> RuleScanner.relativePath(cu, collector.projectRoot()))
+                .collect(Collectors.toList());
+        for (Clone c : clones) {
+            TokenStream dup = tokens.get(c.file());
+            TokenStream orig = tokens.get(c.originalFile());
+            int origTo = c.originalFrom() + c.length() - 1;
+            Issue.Location original = new Issue.Location(files.get(c.originalFile()),
+                    orig.line(c.originalFrom()), orig.col(c.originalFrom()), orig.line(origTo), orig.col(origTo));
+
+            int startLine = dup.line(c.from());
+            int endLine = dup.line(c.to() - 1);
+            collector.report(new Issue(
+                    engineId(), id(), defaultSeverity(), type(), id() + ".message",
+                    new Object[]{original.file(), original.startLine(), endLine - startLine + 1, c.length()},
+                    files.get(c.file()), startLine, dup.col(c.from()), endLine, dup.col(c.to() - 1),
+                    List.of(original)));
+        }
+    }
+
+    private static TokenStream tokenize(CompilationUnitTree cu) {
+        try {
+            return TokenStream.of(cu.getSourceFile().getCharContent(true));
+        } catch (IOException e) {
+            return TokenStream.of("");
+        }
+    }
+}
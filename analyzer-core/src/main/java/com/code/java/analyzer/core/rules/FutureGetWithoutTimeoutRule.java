@@ -0,0 +1,49 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.MethodMatcher;
+import com.code.java.analyzer.core.Rule;
+import com.code.java.analyzer.core.RuleScanner;
+import com.sun.source.tree.*;
+import com.sun.source.util.Trees;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 不带超时地等待异步结果：Future.get()、CompletableFuture.join()。
+ * 下游挂住时调用线程无限期阻塞，请使用 get(timeout, unit) / orTimeout。
+ */
+public final class FutureGetWithoutTimeoutRule implements Rule {
+
+    private static final List<MethodMatcher> WAITS = List.of(
+            MethodMatcher.of("java.util.concurrent.Future", "get").parameters().includeSubtypes().build(),
+            MethodMatcher.of("java.util.concurrent.CompletableFuture", "join").parameters().includeSubtypes().build());
+
+    @Override public String id() { return "MYJAVA0020"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "MAJOR"; }
+    @Override public String type() { return "CODE_SMELL"; }
+
+    @Override
+    public Set<String> triggers() {
+        return Set.of("get", "join");
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        new RuleScanner(this, trees, collector) {
+            @Override
+            public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                for (MethodMatcher m : WAITS) {
+                    if (m.matches(node, getCurrentPath(), trees)) {
+                        report(node, id() + ".message", m.ownerType().substring(m.ownerType().lastIndexOf('.') + 1)
+                                + "." + m.methodName() + "()");
+                        break;
+                    }
+                }
+                return super.visitMethodInvocation(node, unused);
+            }
+        }.scan(asts, null);
+    }
+}
@@ -0,0 +1,17 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.callgraph.Effect;
+import com.code.java.analyzer.core.callgraph.HandlerReachabilityRule;
+
+public final class HandlerMayExitRule extends HandlerReachabilityRule {
+
+    @Override public String id() { return "MYJAVA0007"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "CRITICAL"; }
+    @Override public String type() { return "BUG"; }
+
+    @Override
+    protected Effect effect() {
+        return Effect.MAY_EXIT;
+    }
+}
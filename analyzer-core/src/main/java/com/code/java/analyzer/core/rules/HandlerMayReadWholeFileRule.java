@@ -0,0 +1,17 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.callgraph.Effect;
+import com.code.java.analyzer.core.callgraph.HandlerReachabilityRule;
+
+public final class HandlerMayReadWholeFileRule extends HandlerReachabilityRule {
+
+    @Override public String id() { return "MYJAVA0026"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "MAJOR"; }
+    @Override public String type() { return "CODE_SMELL"; }
+
+    @Override
+    protected Effect effect() {
+        return Effect.READS_WHOLE_FILE;
+    }
+}
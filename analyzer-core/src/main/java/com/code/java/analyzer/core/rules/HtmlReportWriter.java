@@ -0,0 +1,233 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.AnalysisNote;
+import com.code.java.analyzer.core.AnalyzeResult;
+import com.code.java.analyzer.core.Issue;
+import com.code.java.analyzer.core.events.Events;
+import com.code.java.analyzer.core.events.ReportWriteEvent;
+import com.code.java.analyzer.core.i18n.Localizer;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * 分页的静态 HTML 报告：
+ *
+ * <pre>
+ * index.html        页面（资源 report/index.html，原样复制）
+ * index.js          概览：总数、执行提示、规则表、文件表（每个文件所在的分片）
+ * r/&lt;规则&gt;-&lt;页&gt;.js  按规则分页，每页 {@value #PAGE} 条
+ * f/&lt;分片&gt;.js       按文件分片：文件序号取模，同一文件的问题都在一个分片里
+ * </pre>
+ *
+ * 分片以 &lt;script&gt; 按需加载（file:// 下 fetch 不可用），页面只加载概览和当前查看的分片。
+ * 问题只遍历一遍，边遍历边写入分片；内存中只保留规则 / 文件的计数。
+ */
+public final class HtmlReportWriter {
+
+    private static final JsonFactory JSON = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private static final int PAGE = 500;
+    private static final int MAX_FILE_SHARDS = 64;
+    private static final String TEMPLATE = "/com/code/java/analyzer/core/report/index.html";
+
+    private HtmlReportWriter() {}
+
+    private static final class RuleStats {
+        final int index;
+        final Map<String, Integer> severities = new TreeMap<>();
+        int count;
+        Shard page;
+
+        RuleStats(int index) { this.index = index; }
+    }
+
+    private static final class FileStats {
+        final int index;
+        int count;
+
+        FileStats(int index) { this.index = index; }
+    }
+
+    /** 一个分片文件：report.shard("名称", [行, ...]); */
+    private static final class Shard implements AutoCloseable {
+        final Writer out;
+        final JsonGenerator gen;
+        int rows;
+
+        Shard(Path dir, String name) throws IOException {
+            out = Files.newBufferedWriter(dir.resolve(name + ".js"), StandardCharsets.UTF_8);
+            out.write("report.shard(\"" + name + "\",");
+            gen = JSON.createGenerator(out);
+            gen.writeStartArray();
+        }
+
+        @Override
+        public void close() throws IOException {
+            gen.writeEndArray();
+            gen.close();
+            out.write(");\n");
+            out.close();
+        }
+    }
+
+    /**
+     * 写入 outDir（已有的分片先清空），返回 index.html 的路径
+     */
+    public static Path write(Path outDir, AnalyzeResult result, String toolName) throws IOException {
+        ReportWriteEvent event = Events.beginReport();
+        clean(outDir.resolve("r"));
+        clean(outDir.resolve("f"));
+        Files.createDirectories(outDir.resolve("r"));
+        Files.createDirectories(outDir.resolve("f"));
+
+        Locale locale = Localizer.configuredLocale();
+        int fileShards = Math.max(1, Math.min(MAX_FILE_SHARDS, result.issueCount() / PAGE));
+        Map<String, RuleStats> rules = new LinkedHashMap<>();
+        Map<String, FileStats> files = new LinkedHashMap<>();
+        Map<String, Integer> severities = new TreeMap<>();
+        Shard[] shards = new Shard[fileShards];
+
+        try {
+            for (Issue i : result.issues()) {
+                RuleStats rule = rules.computeIfAbsent(i.ruleId(), id -> new RuleStats(rules.size()));
+                FileStats file = files.computeIfAbsent(i.file(), f -> new FileStats(files.size()));
+                rule.count++;
+                rule.severities.merge(i.severity(), 1, Integer::sum);
+                file.count++;
+                severities.merge(i.severity(), 1, Integer::sum);
+
+                String message = Localizer.format(i.message(), locale, i.messageArgs());
+                if (rule.page == null || rule.page.rows == PAGE) {
+                    if (rule.page != null) rule.page.close();
+                    rule.page = new Shard(outDir, "r/" + rule.index + "-" + (rule.count - 1) / PAGE);
+                }
+                row(rule.page, i, rule.index, file.index, message);
+
+                int s = file.index % fileShards;
+                if (shards[s] == null) shards[s] = new Shard(outDir, "f/" + s);
+                row(shards[s], i, rule.index, file.index, message);
+            }
+        } finally {
+            for (RuleStats r : rules.values()) {
+                if (r.page != null) r.page.close();
+            }
+            for (Shard s : shards) {
+                if (s != null) s.close();
+            }
+        }
+
+        writeIndex(outDir, toolName, locale, result, rules, files, severities, fileShards);
+        Path html = outDir.resolve("index.html");
+        try (InputStream in = HtmlReportWriter.class.getResourceAsStream(TEMPLATE)) {
+            if (in == null) throw new IOException("missing resource " + TEMPLATE);
+            Files.copy(in, html, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Events.endReport(event, "html", outDir.toString(), result.issueCount());
+        return html;
+    }
+
+    // 行：[规则, 文件, severity, 起始行, 起始列, 结束行, 结束列, 消息, [[相关文件, 行], ...]]
+    private static void row(Shard shard, Issue i, int rule, int file, String message) throws IOException {
+        JsonGenerator g = shard.gen;
+        g.writeStartArray();
+        g.writeNumber(rule);
+        g.writeNumber(file);
+        g.writeString(i.severity());
+        g.writeNumber(i.startLine());
+        g.writeNumber(i.startCol());
+        g.writeNumber(i.endLine());
+        g.writeNumber(i.endCol());
+        g.writeString(message);
+        g.writeStartArray();
+        for (Issue.Location l : i.related()) {
+            g.writeStartArray();
+            g.writeString(l.file());
+            g.writeNumber(l.startLine());
+            g.writeEndArray();
+        }
+        g.writeEndArray();
+        g.writeEndArray();
+        g.writeRaw('\n');
+        shard.rows++;
+    }
+
+    private static void writeIndex(Path outDir, String toolName, Locale locale, AnalyzeResult result,
+                                   Map<String, RuleStats> rules, Map<String, FileStats> files,
+                                   Map<String, Integer> severities, int fileShards) throws IOException {
+        try (Writer out = Files.newBufferedWriter(outDir.resolve("index.js"), StandardCharsets.UTF_8)) {
+            out.write("report.index(");
+            try (JsonGenerator g = JSON.createGenerator(out)) {
+                g.writeStartObject();
+                g.writeStringField("tool", toolName);
+                g.writeNumberField("total", result.issueCount());
+                g.writeNumberField("pageSize", PAGE);
+                g.writeNumberField("fileShards", fileShards);
+                g.writeObjectFieldStart("severities");
+                for (Map.Entry<String, Integer> e : severities.entrySet()) g.writeNumberField(e.getKey(), e.getValue());
+                g.writeEndObject();
+
+                g.writeArrayFieldStart("notes");
+                for (AnalysisNote n : result.notes()) {
+                    g.writeStartArray();
+                    g.writeString(n.level());
+                    g.writeString(n.ruleId());
+                    g.writeString(n.file());
+                    g.writeString(n.message());
+                    g.writeEndArray();
+                }
+                g.writeEndArray();
+
+                // 按出现顺序，序号即数组下标
+                g.writeArrayFieldStart("rules");
+                for (Map.Entry<String, RuleStats> e : rules.entrySet()) {
+                    RuleStats r = e.getValue();
+                    g.writeStartObject();
+                    g.writeStringField("id", e.getKey());
+                    g.writeStringField("desc", Localizer.describe(e.getKey(), locale));
+                    g.writeNumberField("count", r.count);
+                    g.writeNumberField("pages", (r.count + PAGE - 1) / PAGE);
+                    g.writeObjectFieldStart("severities");
+                    for (Map.Entry<String, Integer> s : r.severities.entrySet()) g.writeNumberField(s.getKey(), s.getValue());
+                    g.writeEndObject();
+                    g.writeEndObject();
+                }
+                g.writeEndArray();
+
+                // [路径, 问题数]，分片 = 下标 % fileShards
+                g.writeArrayFieldStart("files");
+                for (Map.Entry<String, FileStats> e : files.entrySet()) {
+                    g.writeStartArray();
+                    g.writeString(e.getKey());
+                    g.writeNumber(e.getValue().count);
+                    g.writeEndArray();
+                }
+                g.writeEndArray();
+                g.writeEndObject();
+            }
+            out.write(");\n");
+        }
+    }
+
+    private static void clean(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return;
+        try (Stream<Path> s = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) s::iterator) {
+                if (p.getFileName().toString().endsWith(".js")) Files.delete(p);
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.Issue;
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.MethodMatcher;
+import com.code.java.analyzer.core.Rule;
+import com.code.java.analyzer.core.RuleScanner;
+import com.sun.source.tree.*;
+import com.sun.source.util.SourcePositions;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.source.util.Trees;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import java.util.*;
+
+/**
+ * 同一个类中的加锁顺序反转：一处在持有 A 时获取 B，另一处在持有 B 时获取 A，两个线程各走一条路径即可死锁。
+ *
+ * 锁来源：synchronized 块 / synchronized 方法（this 或 类名.class）/ Lock.lock() ~ unlock()；
+ * 调用本类方法时，被调方法中直接获取的锁也算在调用点获取（只展开一层）。
+ * 锁的身份按字段名 / this / 类名.class 区分，不做别名分析。
+ */
+public final class LockOrderInversionRule implements Rule {
+
+    private static final List<MethodMatcher> LOCKS = List.of(
+            MethodMatcher.of("java.util.concurrent.locks.Lock", "lock").includeSubtypes().build(),
+            MethodMatcher.of("java.util.concurrent.locks.Lock", "lockInterruptibly").includeSubtypes().build());
+    private static final MethodMatcher UNLOCK =
+            MethodMatcher.of("java.util.concurrent.locks.Lock", "unlock").includeSubtypes().build();
+
+    @Override public String id() { return "MYJAVA0022"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "CRITICAL"; }
+    @Override public String type() { return "BUG"; }
+
+    // 加锁只来自 synchronized（块或方法）与 lock() / lockInterruptibly()
+    @Override
+    public Set<String> triggers() {
+        return Set.of("lock", "lockInterruptibly");
+    }
+
+    @Override
+    public Set<Tree.Kind> triggerKinds() {
+        return Set.of(Tree.Kind.SYNCHRONIZED);
+    }
+
+    /** 持有 from 时获取 to */
+    private record Edge(String from, String to) {}
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        Rule rule = this;
+        new RuleScanner(this, trees, collector) {
+            @Override
+            public Void visitClass(ClassTree node, Void unused) {
+                checkClass(getCurrentPath(), node);
+                return super.visitClass(node, unused);
+            }
+
+            private void checkClass(TreePath classPath, ClassTree cls) {
+                String self = cls.getSimpleName() + ".class";
+                List<TreePath> methods = new ArrayList<>();
+                for (Tree member : cls.getMembers()) {
+                    if (member instanceof MethodTree m && m.getBody() != null) {
+                        methods.add(new TreePath(classPath, m));
+                    }
+                }
+                if (methods.isEmpty()) return;
+
+                // 第一遍：每个方法直接获取的锁
+                Map<Element, Set<String>> acquired = new HashMap<>();
+                for (TreePath m : methods) {
+                    LockWalker w = new LockWalker(self, Map.of());
+                    w.walk(m);
+                    Element e = trees.getElement(m);
+                    if (e != null) acquired.put(e, w.acquired);
+                }
+
+                // 第二遍：带上被调方法获取的锁，收集 持有→获取 的边（保留首个出现位置）
+                Map<Edge, Tree> edges = new LinkedHashMap<>();
+                for (TreePath m : methods) {
+                    LockWalker w = new LockWalker(self, acquired);
+                    w.walk(m);
+                    w.edges.forEach(edges::putIfAbsent);
+                }
+
+                CompilationUnitTree cu = classPath.getCompilationUnit();
+                SourcePositions pos = trees.getSourcePositions();
+                for (Map.Entry<Edge, Tree> en : edges.entrySet()) {
+                    Edge e = en.getKey();
+                    Tree reverse = edges.get(new Edge(e.to(), e.from()));
+                    // 每对只报一次：报在靠后的位置上
+                    if (reverse == null || pos.getStartPosition(cu, en.getValue()) <= pos.getStartPosition(cu, reverse)) {
+                        continue;
+                    }
+                    Issue first = RuleScanner.issueAt(rule, cu, reverse, trees, collector.projectRoot(),
+                            id() + ".message");
+                    Issue issue = RuleScanner.issueAt(rule, cu, en.getValue(), trees, collector.projectRoot(),
+                            id() + ".message", e.from(), e.to(), first.startLine());
+                    collector.report(issue.withRelated(List.of(new Issue.Location(first.file(),
+                            first.startLine(), first.startCol(), first.endLine(), first.endCol()))));
+                }
+            }
+
+            /** 在一个方法体内按源码顺序维护持有的锁 */
+            final class LockWalker extends TreePathScanner<Void, Void> {
+                private final String self;
+                private final Map<Element, Set<String>> callees;
+                private final Deque<String> held = new ArrayDeque<>();
+                final Set<String> acquired = new LinkedHashSet<>();
+                final Map<Edge, Tree> edges = new LinkedHashMap<>();
+
+                LockWalker(String self, Map<Element, Set<String>> callees) {
+                    this.self = self;
+                    this.callees = callees;
+                }
+
+                void walk(TreePath method) {
+                    MethodTree m = (MethodTree) method.getLeaf();
+                    Set<Modifier> flags = m.getModifiers().getFlags();
+                    if (flags.contains(Modifier.SYNCHRONIZED)) {
+                        String lock = flags.contains(Modifier.STATIC) ? self : "this";
+                        held.push(lock);
+                        acquired.add(lock);
+                    }
+                    scan(new TreePath(method, m.getBody()), null);
+                }
+
+                private void acquire(String lock, Tree where) {
+                    acquired.add(lock);
+                    for (String h : held) {
+                        if (!h.equals(lock)) edges.putIfAbsent(new Edge(h, lock), where);
+                    }
+                }
+
+                @Override
+                public Void visitSynchronized(SynchronizedTree node, Void unused) {
+                    String lock = lockId(new TreePath(getCurrentPath(), node.getExpression()));
+                    acquire(lock, node.getExpression());
+                    held.push(lock);
+                    try {
+                        return scan(node.getBlock(), null);
+                    } finally {
+                        held.pop();
+                    }
+                }
+
+                @Override
+                public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                    TreePath path = getCurrentPath();
+                    if (node.getMethodSelect() instanceof MemberSelectTree ms) {
+                        if (LOCKS.stream().anyMatch(l -> l.matches(node, path, trees))) {
+                            String lock = lockId(new TreePath(new TreePath(path, ms), ms.getExpression()));
+                            acquire(lock, node);
+                            held.push(lock);
+                        } else if (UNLOCK.matches(node, path, trees)) {
+                            held.remove(lockId(new TreePath(new TreePath(path, ms), ms.getExpression())));
+                        }
+                    }
+                    Element callee = trees.getElement(path);
+                    Set<String> locks = callee == null ? null : callees.get(callee);
+                    if (locks != null) {
+                        for (String lock : locks) acquire(lock, node);
+                    }
+                    return super.visitMethodInvocation(node, unused);
+                }
+
+                // lambda / 内部类的代码不在当前线程当前时刻执行
+                @Override
+                public Void visitLambdaExpression(LambdaExpressionTree node, Void unused) {
+                    return null;
+                }
+
+                @Override
+                public Void visitClass(ClassTree node, Void unused) {
+                    return null;
+                }
+
+                private String lockId(TreePath exprPath) {
+                    ExpressionTree expr = (ExpressionTree) exprPath.getLeaf();
+                    while (expr instanceof ParenthesizedTree p) expr = p.getExpression();
+                    if (expr instanceof IdentifierTree id && id.getName().contentEquals("this")) return "this";
+                    if (expr instanceof MemberSelectTree ms && ms.getIdentifier().contentEquals("class")) {
+                        return MethodMatcher.simpleTypeName(ms.getExpression()) + ".class";
+                    }
+                    Element e = trees.getElement(exprPath);
+                    if (e != null && e.getKind() == ElementKind.FIELD) return e.getSimpleName().toString();
+                    return expr.toString();
+                }
+            }
+        }.scan(asts, null);
+    }
+}
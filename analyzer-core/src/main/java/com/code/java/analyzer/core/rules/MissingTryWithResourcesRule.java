@@ -0,0 +1,151 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.MethodMatcher;
+import com.code.java.analyzer.core.Rule;
+import com.code.java.analyzer.core.RuleScanner;
+import com.code.java.analyzer.core.TypeChecks;
+import com.code.java.analyzer.core.flow.ControlFlowGraph;
+import com.sun.source.tree.*;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreeScanner;
+import com.sun.source.util.Trees;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Name;
+import javax.lang.model.type.TypeMirror;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 流 / 通道赋给局部变量后手动调用 close()，而不是声明在 try-with-resources 中。
+ * 手动关闭容易漏掉异常路径，且 close 自身抛出的异常会覆盖原异常。
+ *
+ * 不上报：
+ *   - 在 finally 中关闭（try { ... } finally { x.close(); }），异常路径上同样会关闭
+ *   - {@link UnclosedResourceRule} 已经上报的 new 创建点（某条路径上没有关闭），避免同一处报两次
+ */
+public final class MissingTryWithResourcesRule implements Rule {
+
+    private static final List<String> IO_TYPES = List.of(
+            "java.io.InputStream", "java.io.OutputStream", "java.io.Reader", "java.io.Writer",
+            "java.io.RandomAccessFile", "java.nio.channels.Channel", "java.util.stream.BaseStream");
+
+    private static final Set<String> IN_MEMORY = Set.of(
+            "java.io.ByteArrayInputStream", "java.io.ByteArrayOutputStream",
+            "java.io.StringReader", "java.io.StringWriter",
+            "java.io.CharArrayReader", "java.io.CharArrayWriter");
+
+    // 打开文件 / 目录的工厂方法
+    private static final List<MethodMatcher> FACTORIES = List.of(
+            MethodMatcher.of("java.nio.file.Files", "newInputStream").build(),
+            MethodMatcher.of("java.nio.file.Files", "newOutputStream").build(),
+            MethodMatcher.of("java.nio.file.Files", "newBufferedReader").build(),
+            MethodMatcher.of("java.nio.file.Files", "newBufferedWriter").build(),
+            MethodMatcher.of("java.nio.file.Files", "newByteChannel").build(),
+            MethodMatcher.of("java.nio.file.Files", "lines").build(),
+            MethodMatcher.of("java.nio.file.Files", "list").build(),
+            MethodMatcher.of("java.nio.file.Files", "walk").build(),
+            MethodMatcher.of("java.nio.channels.FileChannel", "open").build(),
+            MethodMatcher.of("java.nio.channels.SocketChannel", "open").build());
+
+    @Override public String id() { return "MYJAVA0027"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "MINOR"; }
+    @Override public String type() { return "CODE_SMELL"; }
+
+    @Override
+    public Set<String> triggers() {
+        return Set.of("close");
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        new RuleScanner(this, trees, collector) {
+            @Override
+            public Void visitVariable(VariableTree node, Void unused) {
+                TreePath path = getCurrentPath();
+                ExpressionTree init = node.getInitializer();
+                while (init instanceof ParenthesizedTree p) init = p.getExpression();
+                if (init != null && !(path.getParentPath().getLeaf() instanceof TryTree)
+                        && trees.getElement(path) != null
+                        && trees.getElement(path).getKind() == ElementKind.LOCAL_VARIABLE
+                        && opensResource(init, new TreePath(path, init))) {
+                    Tree body = ControlFlowGraph.enclosingBody(path);
+                    if (body != null && closes(body, node.getName()) && !closedInFinally(body, node.getName())
+                            && !(init instanceof NewClassTree && UnclosedResourceRule.leaks(body, node))) {
+                        report(node, id() + ".message", node.getName().toString());
+                    }
+                }
+                return super.visitVariable(node, unused);
+            }
+
+            private boolean opensResource(ExpressionTree init, TreePath initPath) {
+                if (init instanceof NewClassTree nc) {
+                    if (nc.getClassBody() != null) return false;
+                    TypeMirror t = trees.getTypeMirror(initPath);
+                    String name = TypeChecks.qualifiedName(t);
+                    if (name == null || IN_MEMORY.contains(name)) return false;
+                    for (String io : IO_TYPES) {
+                        if (TypeChecks.isSubtype(t, io)) return true;
+                    }
+                    return false;
+                }
+                if (init instanceof MethodInvocationTree call) {
+                    for (MethodMatcher m : FACTORIES) {
+                        if (m.matches(call, initPath, trees)) return true;
+                    }
+                }
+                return false;
+            }
+        }.scan(asts, null);
+    }
+
+    /** body 中是否有某个 finally 块调用 name.close() */
+    private static boolean closedInFinally(Tree body, Name name) {
+        Boolean found = new TreeScanner<Boolean, Void>() {
+            @Override
+            public Boolean visitTry(TryTree node, Void unused) {
+                if (node.getFinallyBlock() != null && closes(node.getFinallyBlock(), name)) return true;
+                return super.visitTry(node, unused);
+            }
+
+            @Override
+            public Boolean visitClass(ClassTree node, Void unused) {
+                return false;
+            }
+
+            @Override
+            public Boolean reduce(Boolean r1, Boolean r2) {
+                return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+            }
+        }.scan(body, null);
+        return Boolean.TRUE.equals(found);
+    }
+
+    /** tree 中是否有 name.close() */
+    private static boolean closes(Tree tree, Name name) {
+        Boolean found = new TreeScanner<Boolean, Void>() {
+            @Override
+            public Boolean visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                if (node.getArguments().isEmpty() && node.getMethodSelect() instanceof MemberSelectTree ms
+                        && ms.getIdentifier().contentEquals("close")
+                        && ms.getExpression() instanceof IdentifierTree id && id.getName().equals(name)) {
+                    return true;
+                }
+                return super.visitMethodInvocation(node, unused);
+            }
+
+            @Override
+            public Boolean visitClass(ClassTree node, Void unused) {
+                return false;
+            }
+
+            @Override
+            public Boolean reduce(Boolean r1, Boolean r2) {
+                return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+            }
+        }.scan(tree, null);
+        return Boolean.TRUE.equals(found);
+    }
+}
@@ -0,0 +1,52 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.LoopScanner;
+import com.code.java.analyzer.core.MethodMatcher;
+import com.code.java.analyzer.core.Rule;
+import com.sun.source.tree.*;
+import com.sun.source.util.Trees;
+
+import java.util.Set;
+
+/**
+ * 循环中打开文件：new RandomAccessFile(...)、FileChannel.open(...)。
+ * 每次迭代都要 open / close 一次文件描述符；同一个文件应在循环外打开一次，循环中 seek 定位。
+ */
+public final class RandomAccessFileInLoopRule implements Rule {
+
+    private static final MethodMatcher NEW_RAF = MethodMatcher.constructor("java.io.RandomAccessFile").build();
+    private static final MethodMatcher CHANNEL_OPEN =
+            MethodMatcher.of("java.nio.channels.FileChannel", "open").build();
+
+    @Override public String id() { return "MYJAVA0028"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "MAJOR"; }
+    @Override public String type() { return "CODE_SMELL"; }
+
+    @Override
+    public Set<String> triggers() {
+        return Set.of("RandomAccessFile", "open");
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        new LoopScanner(this, trees, collector) {
+            @Override
+            public Void visitNewClass(NewClassTree node, Void unused) {
+                if (loopDepth() > 0 && NEW_RAF.matches(node, getCurrentPath(), trees)) {
+                    reportInLoop(node, id() + ".message", "new RandomAccessFile");
+                }
+                return super.visitNewClass(node, unused);
+            }
+
+            @Override
+            public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                if (loopDepth() > 0 && CHANNEL_OPEN.matches(node, getCurrentPath(), trees)) {
+                    reportInLoop(node, id() + ".message", "FileChannel.open");
+                }
+                return super.visitMethodInvocation(node, unused);
+            }
+        }.scan(asts, null);
+    }
+}
@@ -0,0 +1,74 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.Rule;
+import com.code.java.analyzer.core.RuleScanner;
+import com.code.java.analyzer.core.callgraph.Effect;
+import com.code.java.analyzer.core.callgraph.Handlers;
+import com.sun.source.tree.*;
+import com.sun.source.util.Trees;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+
+import java.util.Set;
+
+/**
+ * 请求处理方法中直接调用 Files.readAllBytes / readAllLines / readString：
+ * 整个文件读进堆内，文件大小与并发请求数相乘即是内存占用；请改用流式读取（Files.newInputStream / lines / transferTo）。
+ *
+ * 经由项目内调用链间接读取的情况由 {@link HandlerMayReadWholeFileRule} 上报。
+ */
+public final class ReadWholeFileInHandlerRule implements Rule {
+
+    @Override public String id() { return "MYJAVA0025"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "MAJOR"; }
+    @Override public String type() { return "CODE_SMELL"; }
+
+    @Override
+    public Set<String> triggers() {
+        return Effect.READS_WHOLE_FILE.methodNames();
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        new RuleScanner(this, trees, collector) {
+            private boolean inHandler;
+
+            @Override
+            public Void visitClass(ClassTree node, Void unused) {
+                boolean saved = inHandler;
+                inHandler = false;
+                try {
+                    return super.visitClass(node, unused);
+                } finally {
+                    inHandler = saved;
+                }
+            }
+
+            @Override
+            public Void visitMethod(MethodTree node, Void unused) {
+                boolean saved = inHandler;
+                inHandler = trees.getElement(getCurrentPath()) instanceof ExecutableElement m
+                        && Handlers.isHandler(node, m);
+                try {
+                    return super.visitMethod(node, unused);
+                } finally {
+                    inHandler = saved;
+                }
+            }
+
+            @Override
+            public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                if (inHandler) {
+                    Element callee = trees.getElement(getCurrentPath());
+                    if (callee != null && Effect.READS_WHOLE_FILE.isSink(callee)) {
+                        report(node, id() + ".message", "Files." + callee.getSimpleName());
+                    }
+                }
+                return super.visitMethodInvocation(node, unused);
+            }
+        }.scan(asts, null);
+    }
+}
@@ -1,10 +1,16 @@
 package com.code.java.analyzer.core.rules;
 
+import com.code.java.analyzer.core.AnalysisNote;
+import com.code.java.analyzer.core.AnalyzeResult;
 import com.code.java.analyzer.core.Issue;
+import com.code.java.analyzer.core.events.Events;
+import com.code.java.analyzer.core.events.ReportWriteEvent;
 import com.code.java.analyzer.core.i18n.Localizer;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.LinkedHashMap;
@@ -12,100 +18,208 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
+/**
+ * SARIF 2.1.0 报告，以流式方式写出（不在内存中构建整棵 JSON 树）。
+ *
+ * 给出 snippetRoot 时为每个结果附带源码片段：region.snippet 为问题区域的源码，
+ * physicalLocation.contextRegion 为前后各 {@value SourceSnippets#CONTEXT_LINES} 行。
+ * 只读取有问题的文件（见 {@link SourceSnippets}），片段直接写入输出流。
+ */
 public final class SarifWriter {
 
-    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON = new JsonFactory();
 
     private SarifWriter() {}
 
     public static void write(Path out, List<Issue> issues, String toolName) throws Exception {
-        Files.createDirectories(out.getParent());
-
-        Locale locale = resolveLocale();
-
-        ObjectNode root = MAPPER.createObjectNode();
-        root.put("version", "2.1.0");
-        root.put("$schema", "https://json.schemastore.org/sarif-2.1.0.json");
-
-        var runs = root.putArray("runs");
-        var run = runs.addObject();
+        write(out, issues, List.of(), false, toolName, null);
+    }
 
-        /* ===================== tool ===================== */
-        var tool = run.putObject("tool");
-        var driver = tool.putObject("driver");
-        driver.put("name", toolName);
+    /**
+     * 连同执行提示（超时等）一起输出：写入 invocations[].toolExecutionNotifications
+     */
+    public static void write(Path out, AnalyzeResult result, String toolName) throws Exception {
+        write(out, result, toolName, null);
+    }
 
-        /* ===================== rules（去重） ===================== */
-        Map<String, ObjectNode> ruleMap = new LinkedHashMap<>();
-        for (Issue i : issues) {
-            ruleMap.computeIfAbsent(i.ruleId(), rid -> {
-                ObjectNode r = MAPPER.createObjectNode();
-                r.put("id", rid);
+    /**
+     * snippetRoot：Issue.file() 所相对的目录（通常为 projectRoot），为 null 时不输出源码片段
+     */
+    public static void write(Path out, AnalyzeResult result, String toolName, Path snippetRoot) throws Exception {
+        write(out, result.issues(), result.notes(), result.incomplete(), toolName, snippetRoot);
+    }
 
-                // 使用 <ruleId>.message 作为规则描述 key
-                String descKey = rid + ".message";
-                String desc = Localizer.format(descKey, locale);
+    private static void write(Path out, List<Issue> issues, List<AnalysisNote> notes, boolean incomplete,
+                              String toolName, Path snippetRoot) throws Exception {
+        ReportWriteEvent event = Events.beginReport();
+        Files.createDirectories(out.getParent());
 
-                // 兜底：如果没有找到中文描述
-                if (desc == null || desc.isBlank() || desc.equals(descKey)) {
-                    desc = rid;
+        Locale locale = Localizer.configuredLocale();
+        SourceSnippets snippets = snippetRoot == null ? null : new SourceSnippets(snippetRoot);
+
+        try (JsonGenerator g = JSON.createGenerator(Files.newOutputStream(out), JsonEncoding.UTF8)) {
+            g.useDefaultPrettyPrinter();
+            g.writeStartObject();
+            g.writeStringField("version", "2.1.0");
+            g.writeStringField("$schema", "https://json.schemastore.org/sarif-2.1.0.json");
+
+            g.writeArrayFieldStart("runs");
+            g.writeStartObject();
+
+            /* ===================== tool ===================== */
+            g.writeObjectFieldStart("tool");
+            g.writeObjectFieldStart("driver");
+            g.writeStringField("name", toolName);
+            writeRules(g, issues, locale);
+            g.writeEndObject();
+            g.writeEndObject();
+
+            /* ===================== invocations ===================== */
+            g.writeArrayFieldStart("invocations");
+            g.writeStartObject();
+            g.writeBooleanField("executionSuccessful", true);
+            // 快速失败门禁触发后提前停止：结果只覆盖已分析的文件
+            if (incomplete) {
+                g.writeObjectFieldStart("properties");
+                g.writeBooleanField("incomplete", true);
+                g.writeEndObject();
+            }
+            if (!notes.isEmpty()) {
+                g.writeArrayFieldStart("toolExecutionNotifications");
+                for (AnalysisNote n : notes) {
+                    g.writeStartObject();
+                    g.writeStringField("level", n.level());
+                    writeText(g, "message", n.message());
+                    if (n.ruleId() != null) {
+                        g.writeObjectFieldStart("associatedRule");
+                        g.writeStringField("id", n.ruleId());
+                        g.writeEndObject();
+                    }
+                    if (n.file() != null) {
+                        g.writeArrayFieldStart("locations");
+                        g.writeStartObject();
+                        g.writeObjectFieldStart("physicalLocation");
+                        writeArtifact(g, n.file());
+                        g.writeEndObject();
+                        g.writeEndObject();
+                        g.writeEndArray();
+                    }
+                    g.writeEndObject();
                 }
+                g.writeEndArray();
+            }
+            g.writeEndObject();
+            g.writeEndArray();
+
+            /* ===================== results ===================== */
+            g.writeArrayFieldStart("results");
+            for (Issue i : issues) {
+                g.writeStartObject();
+                g.writeStringField("ruleId", i.ruleId());
+                g.writeStringField("level", level(i.severity()));
+                g.writeObjectFieldStart("properties");
+                g.writeStringField("severity", i.severity());
+                g.writeEndObject();
+
+                // message：使用 messageKey + args 本地化
+                writeText(g, "message", Localizer.format(i.message(), locale, i.messageArgs()));
+
+                g.writeArrayFieldStart("locations");
+                g.writeStartObject();
+                writePhysical(g, i.file(), i.startLine(), i.startCol(), i.endLine(), i.endCol(), snippets, true);
+                g.writeEndObject();
+                g.writeEndArray();
+
+                if (!i.related().isEmpty()) {
+                    g.writeArrayFieldStart("relatedLocations");
+                    int id = 1;
+                    for (Issue.Location l : i.related()) {
+                        g.writeStartObject();
+                        g.writeNumberField("id", id++);
+                        writePhysical(g, l.file(), l.startLine(), l.startCol(), l.endLine(), l.endCol(),
+                                snippets, false);
+                        g.writeEndObject();
+                    }
+                    g.writeEndArray();
+                }
+                g.writeEndObject();
+            }
+            g.writeEndArray();
 
-                r.putObject("shortDescription").put("text", desc);
-                return r;
-            });
-        }
-
-        var rules = driver.putArray("rules");
-        for (ObjectNode r : ruleMap.values()) {
-            rules.add(r);
+            g.writeEndObject();
+            g.writeEndArray();
+            g.writeEndObject();
         }
+        Events.endReport(event, "sarif", out.toString(), issues.size());
+    }
 
-        /* ===================== results ===================== */
-        var results = run.putArray("results");
+    /* ===================== rules（去重） ===================== */
+    private static void writeRules(JsonGenerator g, List<Issue> issues, Locale locale) throws IOException {
+        Map<String, String> ruleMap = new LinkedHashMap<>();
         for (Issue i : issues) {
-            var res = results.addObject();
-            res.put("ruleId", i.ruleId());
-
-            // message：使用 messageKey + args 本地化
-            String msg = Localizer.format(i.message(), locale, i.messageArgs());
-            res.putObject("message").put("text", msg);
-
-            var locations = res.putArray("locations");
-            var location = locations.addObject();
-            var physical = location.putObject("physicalLocation");
+            // 不带参数的描述 key（<ruleId>.message 含 {0} 等占位符）
+            ruleMap.computeIfAbsent(i.ruleId(), rid -> Localizer.describe(rid, locale));
+        }
 
-            physical.putObject("artifactLocation")
-                    .put("uri", i.file());
+        g.writeArrayFieldStart("rules");
+        for (Map.Entry<String, String> r : ruleMap.entrySet()) {
+            g.writeStartObject();
+            g.writeStringField("id", r.getKey());
+            writeText(g, "shortDescription", r.getValue());
+            g.writeEndObject();
+        }
+        g.writeEndArray();
+    }
 
-            var region = physical.putObject("region");
-            region.put("startLine", i.startLine());
-            region.put("startColumn", i.startCol());
-            region.put("endLine", i.endLine());
-            region.put("endColumn", i.endCol());
+    // physicalLocation：artifactLocation + region（+ 片段；主位置另带 contextRegion）
+    private static void writePhysical(JsonGenerator g, String file, int startLine, int startCol, int endLine,
+                                      int endCol, SourceSnippets snippets, boolean withContext) throws IOException {
+        g.writeObjectFieldStart("physicalLocation");
+        writeArtifact(g, file);
+
+        g.writeObjectFieldStart("region");
+        g.writeNumberField("startLine", startLine);
+        g.writeNumberField("startColumn", startCol);
+        g.writeNumberField("endLine", endLine);
+        g.writeNumberField("endColumn", endCol);
+        String snippet = snippets == null ? null : snippets.region(file, startLine, startCol, endLine, endCol);
+        if (snippet != null) {
+            writeText(g, "snippet", snippet);
         }
+        g.writeEndObject();
+
+        SourceSnippets.Lines context = snippets == null || !withContext ? null
+                : snippets.context(file, startLine, endLine);
+        if (context != null) {
+            g.writeObjectFieldStart("contextRegion");
+            g.writeNumberField("startLine", context.startLine());
+            g.writeNumberField("endLine", context.endLine());
+            writeText(g, "snippet", context.text());
+            g.writeEndObject();
+        }
+        g.writeEndObject();
+    }
 
-        MAPPER.writerWithDefaultPrettyPrinter()
-                .writeValue(out.toFile(), root);
+    private static void writeArtifact(JsonGenerator g, String uri) throws IOException {
+        g.writeObjectFieldStart("artifactLocation");
+        g.writeStringField("uri", uri);
+        g.writeEndObject();
     }
 
-    /**
-     * 语言解析：
-     *   -Dmyanalyzer.locale=zh_CN
-     *   -Dmyanalyzer.locale=en_US
-     *
-     * 默认：zh_CN
-     */
-    private static Locale resolveLocale() {
-        String raw = System.getProperty("myanalyzer.locale", "zh_CN").trim();
-        if (raw.isEmpty()) {
-            return Locale.SIMPLIFIED_CHINESE;
-        }
+    // { "text": ... }
+    private static void writeText(JsonGenerator g, String field, String text) throws IOException {
+        g.writeObjectFieldStart(field);
+        g.writeStringField("text", text);
+        g.writeEndObject();
+    }
 
-        String[] parts = raw.split("[-_]");
-        if (parts.length == 1) {
-            return new Locale(parts[0]);
-        }
-        return new Locale(parts[0], parts[1]);
+    // Sonar 风格的 severity -> SARIF level
+    private static String level(String severity) {
+        if (severity == null) return "warning";
+        return switch (severity) {
+            case "BLOCKER", "CRITICAL" -> "error";
+            case "MAJOR" -> "warning";
+            default -> "note";
+        };
     }
 }
@@ -0,0 +1,59 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.LoopScanner;
+import com.code.java.analyzer.core.Rule;
+import com.code.java.analyzer.core.TypeChecks;
+import com.sun.source.tree.*;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+
+import javax.lang.model.type.TypeMirror;
+
+import java.util.Set;
+
+/**
+ * 循环中逐字节 / 逐字符调用 InputStream.read() / Reader.read()。
+ * 即使底层有缓冲，每个字节也是一次虚调用，BufferedInputStream / BufferedReader 还要加锁；
+ * 请改用 read(byte[]) / read(char[]) / transferTo 按块读取。
+ *
+ * 未缓冲的文件流由 {@link UnbufferedFileIoInLoopRule} 上报，内存流（ByteArrayInputStream 等）不上报。
+ */
+public final class SingleByteReadInLoopRule implements Rule {
+
+    private static final Set<String> IN_MEMORY = Set.of(
+            "java.io.ByteArrayInputStream", "java.io.StringReader", "java.io.CharArrayReader");
+
+    @Override public String id() { return "MYJAVA0024"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "MINOR"; }
+    @Override public String type() { return "CODE_SMELL"; }
+
+    @Override
+    public Set<String> triggers() {
+        return Set.of("read");
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        new LoopScanner(this, trees, collector) {
+            @Override
+            public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                if (loopDepth() > 0 && node.getArguments().isEmpty()
+                        && node.getMethodSelect() instanceof MemberSelectTree ms
+                        && ms.getIdentifier().contentEquals("read")) {
+                    TypeMirror receiver = trees.getTypeMirror(
+                            new TreePath(new TreePath(getCurrentPath(), ms), ms.getExpression()));
+                    if ((TypeChecks.isSubtype(receiver, "java.io.InputStream")
+                            || TypeChecks.isSubtype(receiver, "java.io.Reader"))
+                            && UnbufferedFileIoInLoopRule.unbufferedType(receiver) == null
+                            && !IN_MEMORY.contains(TypeChecks.qualifiedName(receiver))) {
+                        String type = TypeChecks.qualifiedName(receiver);
+                        reportInLoop(node, id() + ".message", type.substring(type.lastIndexOf('.') + 1));
+                    }
+                }
+                return super.visitMethodInvocation(node, unused);
+            }
+        }.scan(asts, null);
+    }
+}
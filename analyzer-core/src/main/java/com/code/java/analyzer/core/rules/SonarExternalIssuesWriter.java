@@ -1,6 +1,8 @@
-package com.code.java.analyzer.cli;
+package com.code.java.analyzer.core.rules;
 
 import com.code.java.analyzer.core.Issue;
+import com.code.java.analyzer.core.events.Events;
+import com.code.java.analyzer.core.events.ReportWriteEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -28,12 +30,14 @@ public final class SonarExternalIssuesWriter {
      *          "message": "...",
      *          "filePath": "src/main/java/xxx.java",
      *          "textRange": { "startLine":1, "endLine":1, "startColumn":1, "endColumn":1 }
-     *       }
+     *       },
+     *       "secondaryLocations": [ { "message": "...", "filePath": "...", "textRange": { ... } } ]
      *     }
      *   ]
      * }
      */
     public static void write(Path out, List<Issue> issues) throws Exception {
+        ReportWriteEvent event = Events.beginReport();
         Files.createDirectories(out.toAbsolutePath().getParent());
 
         ObjectNode root = MAPPER.createObjectNode();
@@ -60,9 +64,25 @@ public final class SonarExternalIssuesWriter {
             int ec = Math.max(i.endCol(), sc);
             range.put("startColumn", sc);
             range.put("endColumn", ec);
+
+            if (!i.related().isEmpty()) {
+                ArrayNode secondary = issue.putArray("secondaryLocations");
+                for (Issue.Location l : i.related()) {
+                    ObjectNode loc = secondary.addObject();
+                    loc.put("message", i.message());
+                    loc.put("filePath", normalizePath(l.file()));
+                    ObjectNode r = loc.putObject("textRange");
+                    r.put("startLine", l.startLine());
+                    r.put("endLine", Math.max(l.endLine(), l.startLine()));
+                    int lsc = Math.max(l.startCol(), 1);
+                    r.put("startColumn", lsc);
+                    r.put("endColumn", Math.max(l.endCol(), lsc));
+                }
+            }
         }
 
         MAPPER.writerWithDefaultPrettyPrinter().writeValue(out.toFile(), root);
+        Events.endReport(event, "sonar", out.toString(), issues.size());
     }
 
     private static String normalizePath(String p) {
@@ -0,0 +1,142 @@
+package com.code.java.analyzer.core.rules;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SARIF 源码片段：只打开有问题的文件（内存映射，不整体读入堆），每个文件扫描一遍建立行起始偏移索引，
+ * 之后每个问题按行号直接定位字节区间，只解码用到的行。
+ *
+ * 列号与 javac 的 LineMap 一致：从 1 开始按字符计，制表符展开到 8 的倍数；endColumn 不含。
+ * 源码按 UTF-8 解码（与分析时的编码一致）；源码归档中的条目、读取失败的文件不输出片段。
+ */
+final class SourceSnippets {
+
+    static final int CONTEXT_LINES = 2;
+
+    // 过长的区域（例如整个方法）不输出片段，避免报告膨胀
+    private static final int MAX_CHARS = 4096;
+    // 同时保留索引的文件数（问题大体按文件聚集，项目级规则的问题会回到前面的文件）
+    private static final int MAX_FILES = 64;
+    private static final int TAB = 8;
+
+    private final Path root;
+    private final Map<String, FileText> files = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FileText> eldest) {
+            return size() > MAX_FILES;
+        }
+    };
+
+    /** 若干整行及其起止行号 */
+    record Lines(int startLine, int endLine, String text) {}
+
+    SourceSnippets(Path root) {
+        this.root = root;
+    }
+
+    /** 区域的源码；文件不可读、区域无效或过长时返回 null */
+    String region(String file, int startLine, int startCol, int endLine, int endCol) {
+        FileText f = open(file);
+        if (f == null || startLine < 1 || endLine < startLine || endLine > f.lineCount()) return null;
+
+        String first = f.line(startLine);
+        int from = charIndex(first, startCol);
+        if (startLine == endLine) {
+            int to = Math.min(endCol <= 0 ? first.length() : charIndex(first, endCol), stripEol(first));
+            return cap(first.substring(from, Math.max(from, to)));
+        }
+        StringBuilder sb = new StringBuilder(first.substring(Math.min(from, first.length())));
+        for (int l = startLine + 1; l < endLine && sb.length() <= MAX_CHARS; l++) {
+            sb.append(f.line(l));
+        }
+        String last = f.line(endLine);
+        sb.append(last, 0, endCol <= 0 ? stripEol(last) : Math.min(charIndex(last, endCol), stripEol(last)));
+        return cap(sb.toString());
+    }
+
+    /** 区域前后各 {@value #CONTEXT_LINES} 行（整行，含换行符）；不可用时返回 null */
+    Lines context(String file, int startLine, int endLine) {
+        FileText f = open(file);
+        if (f == null || startLine < 1 || endLine < startLine || endLine > f.lineCount()) return null;
+        int from = Math.max(1, startLine - CONTEXT_LINES);
+        int to = Math.min(f.lineCount(), endLine + CONTEXT_LINES);
+        String text = f.lines(from, to);
+        return text.length() > MAX_CHARS ? null : new Lines(from, to, text);
+    }
+
+    private FileText open(String file) {
+        if (file == null || file.contains("!/")) return null;
+        if (files.containsKey(file)) return files.get(file);
+        FileText f;
+        try (FileChannel ch = FileChannel.open(root.resolve(file), StandardOpenOption.READ)) {
+            f = new FileText(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        } catch (IOException | RuntimeException e) {
+            f = null;
+        }
+        files.put(file, f); // 失败也记住，不重复尝试
+        return f;
+    }
+
+    // javac 列号（1 起，制表符展开）-> 行内字符下标
+    private static int charIndex(String line, int col) {
+        int c = 1;
+        for (int i = 0; i < line.length(); i++) {
+            if (c >= col) return i;
+            c = line.charAt(i) == '\t' ? ((c - 1) / TAB + 1) * TAB + 1 : c + 1;
+        }
+        return line.length();
+    }
+
+    private static int stripEol(String line) {
+        int n = line.length();
+        while (n > 0 && (line.charAt(n - 1) == '\n' || line.charAt(n - 1) == '\r')) n--;
+        return n;
+    }
+
+    private static String cap(String s) {
+        return s.length() > MAX_CHARS ? null : s;
+    }
+
+    /** 一个映射的源文件：starts[i] 为第 i + 1 行的起始字节偏移，最后一项为文件长度 */
+    private static final class FileText {
+        private final MappedByteBuffer buf;
+        private final int[] starts;
+
+        FileText(MappedByteBuffer buf) {
+            this.buf = buf;
+            int n = buf.limit();
+            int[] s = new int[Math.max(16, n / 32)];
+            int lines = 1;
+            for (int i = 0; i < n; i++) {
+                if (buf.get(i) != '\n' || i + 1 == n) continue;
+                if (lines + 1 >= s.length) s = Arrays.copyOf(s, s.length * 2);
+                s[lines++] = i + 1;
+            }
+            s[lines] = n;
+            starts = Arrays.copyOf(s, lines + 1);
+        }
+
+        int lineCount() {
+            return starts.length - 1;
+        }
+
+        /** 第 line 行（含换行符） */
+        String line(int line) {
+            return lines(line, line);
+        }
+
+        String lines(int from, int to) {
+            ByteBuffer slice = buf.slice(starts[from - 1], starts[to] - starts[from - 1]);
+            return StandardCharsets.UTF_8.decode(slice).toString();
+        }
+    }
+}
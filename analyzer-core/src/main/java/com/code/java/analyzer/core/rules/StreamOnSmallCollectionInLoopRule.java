@@ -0,0 +1,98 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.LoopScanner;
+import com.code.java.analyzer.core.MethodMatcher;
+import com.code.java.analyzer.core.Rule;
+import com.sun.source.tree.*;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+
+import javax.lang.model.element.Element;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 循环中对小集合使用 Stream：集合由字面量工厂（List.of / Set.of / Arrays.asList / Collections.singletonList 等）
+ * 以不超过 {@link #MAX_ELEMENTS} 个元素创建，直接写在调用处或赋给局部变量；以及 Stream.of(少量元素)。
+ * 几个元素的 Stream 管道创建开销远大于直接遍历。
+ */
+public final class StreamOnSmallCollectionInLoopRule implements Rule {
+
+    static final int MAX_ELEMENTS = 8;
+
+    private static final List<MethodMatcher> SMALL_FACTORIES = List.of(
+            MethodMatcher.of("java.util.List", "of").build(),
+            MethodMatcher.of("java.util.Set", "of").build(),
+            MethodMatcher.of("java.util.Arrays", "asList").build(),
+            MethodMatcher.of("java.util.Collections", "singletonList").build(),
+            MethodMatcher.of("java.util.Collections", "singleton").build(),
+            MethodMatcher.of("java.util.Collections", "emptyList").build(),
+            MethodMatcher.of("java.util.Collections", "emptySet").build());
+
+    private static final MethodMatcher STREAM_OF = MethodMatcher.of("java.util.stream.Stream", "of").build();
+
+    @Override public String id() { return "MYJAVA0016"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "MINOR"; }
+    @Override public String type() { return "CODE_SMELL"; }
+
+    @Override
+    public Set<String> triggers() {
+        return Set.of("stream", "of");
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        new LoopScanner(this, trees, collector) {
+
+            // 以小集合字面量初始化的局部变量
+            private final Map<Element, Integer> smallLocals = new HashMap<>();
+
+            @Override
+            public Void visitVariable(VariableTree node, Void unused) {
+                ExpressionTree init = node.getInitializer();
+                if (init instanceof MethodInvocationTree call && isSmallFactory(call, new TreePath(getCurrentPath(), call))) {
+                    Element e = trees.getElement(getCurrentPath());
+                    if (e != null) smallLocals.put(e, call.getArguments().size());
+                }
+                return super.visitVariable(node, unused);
+            }
+
+            @Override
+            public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                if (loopDepth() > 0) {
+                    if (STREAM_OF.matches(node, getCurrentPath(), trees) && node.getArguments().size() <= MAX_ELEMENTS) {
+                        reportInLoop(node, id() + ".message", AutoboxingInLoopRule.abbreviate(node));
+                    } else if (node.getMethodSelect() instanceof MemberSelectTree ms
+                            && ms.getIdentifier().contentEquals("stream") && node.getArguments().isEmpty()
+                            && isSmallCollection(ms.getExpression(), new TreePath(getCurrentPath(), ms))) {
+                        reportInLoop(node, id() + ".message", AutoboxingInLoopRule.abbreviate(ms.getExpression()));
+                    }
+                }
+                return super.visitMethodInvocation(node, unused);
+            }
+
+            private boolean isSmallCollection(ExpressionTree receiver, TreePath parent) {
+                while (receiver instanceof ParenthesizedTree p) receiver = p.getExpression();
+                TreePath path = new TreePath(parent, receiver);
+                if (receiver instanceof MethodInvocationTree call) return isSmallFactory(call, path);
+                if (receiver instanceof IdentifierTree) {
+                    Element e = trees.getElement(path);
+                    return e != null && smallLocals.containsKey(e);
+                }
+                return false;
+            }
+
+            private boolean isSmallFactory(MethodInvocationTree call, TreePath path) {
+                if (call.getArguments().size() > MAX_ELEMENTS) return false;
+                for (MethodMatcher m : SMALL_FACTORIES) {
+                    if (m.matches(call, path, trees)) return true;
+                }
+                return false;
+            }
+        }.scan(asts, null);
+    }
+}
@@ -0,0 +1,90 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.LoopScanner;
+import com.code.java.analyzer.core.Rule;
+import com.code.java.analyzer.core.TypeChecks;
+import com.sun.source.tree.*;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+
+import javax.lang.model.element.Element;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 循环中拼接字符串：s += x 或 s = s + x，且 s 声明在当前循环之外（每次迭代复制一遍已有内容）。
+ * 在本次迭代中声明的字符串只拼接有限次，不报告。
+ */
+public final class StringConcatInLoopRule implements Rule {
+
+    @Override public String id() { return "MYJAVA0011"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "MINOR"; }
+    @Override public String type() { return "CODE_SMELL"; }
+
+    // 取决于类型而没有固定的触发名：只在含循环的类中上报
+    @Override
+    public Set<String> triggers() {
+        return Set.of();
+    }
+
+    @Override
+    public Set<Tree.Kind> triggerKinds() {
+        return LoopScanner.LOOPS;
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        new LoopScanner(this, trees, collector) {
+
+            // 局部变量 -> 声明处的循环深度
+            private final Map<Element, Integer> declaredAt = new HashMap<>();
+
+            @Override
+            public Void visitVariable(VariableTree node, Void unused) {
+                Element e = trees.getElement(getCurrentPath());
+                if (e != null && loopDepth() > 0) declaredAt.put(e, loopDepth());
+                return super.visitVariable(node, unused);
+            }
+
+            @Override
+            public Void visitCompoundAssignment(CompoundAssignmentTree node, Void unused) {
+                if (node.getKind() == Tree.Kind.PLUS_ASSIGNMENT) {
+                    check(node, node.getVariable());
+                }
+                return super.visitCompoundAssignment(node, unused);
+            }
+
+            @Override
+            public Void visitAssignment(AssignmentTree node, Void unused) {
+                ExpressionTree rhs = node.getExpression();
+                while (rhs instanceof ParenthesizedTree p) rhs = p.getExpression();
+                if (rhs instanceof BinaryTree b && b.getKind() == Tree.Kind.PLUS
+                        && leftmost(b).toString().equals(node.getVariable().toString())) {
+                    check(node, node.getVariable());
+                }
+                return super.visitAssignment(node, unused);
+            }
+
+            private void check(Tree node, ExpressionTree variable) {
+                if (loopDepth() == 0) return;
+                TreePath varPath = new TreePath(getCurrentPath(), variable);
+                if (!TypeChecks.isString(trees.getTypeMirror(varPath))) return;
+                Element e = trees.getElement(varPath);
+                if (e != null && declaredAt.getOrDefault(e, 0) >= loopDepth()) return;
+                reportInLoop(node, id() + ".message", variable.toString());
+            }
+
+            private ExpressionTree leftmost(BinaryTree b) {
+                ExpressionTree left = b.getLeftOperand();
+                while (true) {
+                    if (left instanceof ParenthesizedTree p) left = p.getExpression();
+                    else if (left instanceof BinaryTree lb && lb.getKind() == Tree.Kind.PLUS) left = lb.getLeftOperand();
+                    else return left;
+                }
+            }
+        }.scan(asts, null);
+    }
+}
@@ -0,0 +1,45 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.Rule;
+import com.code.java.analyzer.core.RuleScanner;
+import com.sun.source.tree.*;
+import com.sun.source.util.Trees;
+
+import javax.lang.model.element.Modifier;
+
+import java.util.Set;
+
+/**
+ * public synchronized 方法：锁住整个对象（静态方法锁住整个类），所有调用串行化，
+ * 且锁对象对外可见，外部代码也可以 synchronized 在同一个对象上。
+ *
+ * 建议缩小临界区（synchronized 私有锁对象），或改用并发容器 / 原子类 / ReentrantLock。
+ */
+public final class SynchronizedPublicMethodRule implements Rule {
+
+    @Override public String id() { return "MYJAVA0018"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "MINOR"; }
+    @Override public String type() { return "CODE_SMELL"; }
+
+    @Override
+    public Set<String> triggers() {
+        return Set.of();
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        new RuleScanner(this, trees, collector) {
+            @Override
+            public Void visitMethod(MethodTree node, Void unused) {
+                Set<Modifier> flags = node.getModifiers().getFlags();
+                if (flags.contains(Modifier.SYNCHRONIZED) && flags.contains(Modifier.PUBLIC)) {
+                    report(node.getModifiers(), id() + ".message", node.getName().toString(),
+                            flags.contains(Modifier.STATIC) ? "Class" : "this");
+                }
+                return super.visitMethod(node, unused);
+            }
+        }.scan(asts, null);
+    }
+}
@@ -0,0 +1,59 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.MethodMatcher;
+import com.code.java.analyzer.core.Rule;
+import com.code.java.analyzer.core.RuleScanner;
+import com.sun.source.tree.*;
+import com.sun.source.util.Trees;
+
+import java.util.Set;
+
+/**
+ * 线程数不设上限的线程池：Executors.newCachedThreadPool，以及 maximumPoolSize 为 Integer.MAX_VALUE 的 ThreadPoolExecutor。
+ * 突发流量下线程数随任务数增长，耗尽内存 / 文件句柄。
+ */
+public final class UnboundedThreadPoolRule implements Rule {
+
+    private static final MethodMatcher CACHED_POOL =
+            MethodMatcher.of("java.util.concurrent.Executors", "newCachedThreadPool").build();
+    private static final MethodMatcher POOL_EXECUTOR =
+            MethodMatcher.constructor("java.util.concurrent.ThreadPoolExecutor").build();
+
+    @Override public String id() { return "MYJAVA0019"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "MAJOR"; }
+    @Override public String type() { return "BUG"; }
+
+    @Override
+    public Set<String> triggers() {
+        return Set.of("newCachedThreadPool", "ThreadPoolExecutor");
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        new RuleScanner(this, trees, collector) {
+            @Override
+            public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                if (CACHED_POOL.matches(node, getCurrentPath(), trees)) {
+                    report(node, id() + ".message", "Executors.newCachedThreadPool");
+                }
+                return super.visitMethodInvocation(node, unused);
+            }
+
+            @Override
+            public Void visitNewClass(NewClassTree node, Void unused) {
+                if (node.getArguments().size() >= 2 && isMaxInt(node.getArguments().get(1))
+                        && POOL_EXECUTOR.matches(node, getCurrentPath(), trees)) {
+                    report(node, id() + ".message", "ThreadPoolExecutor(maximumPoolSize = Integer.MAX_VALUE)");
+                }
+                return super.visitNewClass(node, unused);
+            }
+
+            private boolean isMaxInt(ExpressionTree e) {
+                return e instanceof MemberSelectTree ms && ms.getIdentifier().contentEquals("MAX_VALUE")
+                        && ms.getExpression().toString().endsWith("Integer");
+            }
+        }.scan(asts, null);
+    }
+}
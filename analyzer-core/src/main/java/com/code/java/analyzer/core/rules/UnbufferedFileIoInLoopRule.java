@@ -0,0 +1,84 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.LoopScanner;
+import com.code.java.analyzer.core.Rule;
+import com.code.java.analyzer.core.TypeChecks;
+import com.sun.source.tree.*;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+
+import javax.lang.model.type.TypeMirror;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 循环中对未缓冲的文件流逐字节 / 逐字符读写：FileInputStream.read()、FileOutputStream.write(int)、
+ * FileReader / FileWriter 同理，以及 RandomAccessFile 的 read() / readInt() / writeXxx 等（内部逐字节读写文件）。
+ * 每次调用都是一次系统调用，应当用 Buffered* 包装或按块读写。
+ */
+public final class UnbufferedFileIoInLoopRule implements Rule {
+
+    static final List<String> UNBUFFERED = List.of(
+            "java.io.FileInputStream", "java.io.FileOutputStream",
+            "java.io.FileReader", "java.io.FileWriter",
+            "java.io.RandomAccessFile");
+
+    // read() / write(int)，以及 RandomAccessFile 无参的 readXxx() 与基本类型参数的 writeXxx()
+    private static final Set<String> TRIGGERS = Set.of(
+            "read", "write",
+            "readBoolean", "readByte", "readUnsignedByte", "readShort", "readUnsignedShort", "readChar",
+            "readInt", "readLong", "readFloat", "readDouble", "readUTF",
+            "writeBoolean", "writeByte", "writeShort", "writeChar", "writeInt", "writeLong", "writeFloat",
+            "writeDouble");
+
+    @Override public String id() { return "MYJAVA0023"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "MAJOR"; }
+    @Override public String type() { return "CODE_SMELL"; }
+
+    @Override
+    public Set<String> triggers() {
+        return TRIGGERS;
+    }
+
+    /** 接收者的静态类型属于未缓冲文件流时返回其简单名，否则 null */
+    static String unbufferedType(TypeMirror receiver) {
+        for (String t : UNBUFFERED) {
+            if (TypeChecks.isSubtype(receiver, t)) return t.substring(t.lastIndexOf('.') + 1);
+        }
+        return null;
+    }
+
+    /** 单个字节 / 字符的读写：read()、write(int)，RandomAccessFile 的 readXxx() / writeXxx(基本类型) */
+    private static boolean isSingleUnit(String name, List<? extends ExpressionTree> args, String type, Trees trees,
+                                        TreePath call) {
+        if (name.equals("read")) return args.isEmpty();
+        if (name.equals("write")) {
+            return args.size() == 1 && trees.getTypeMirror(new TreePath(call, args.get(0))).getKind().isPrimitive();
+        }
+        return type.equals("RandomAccessFile")
+                && (name.startsWith("read") && args.isEmpty() && !name.equals("readLine")
+                    || name.startsWith("write") && args.size() == 1
+                       && trees.getTypeMirror(new TreePath(call, args.get(0))).getKind().isPrimitive());
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        new LoopScanner(this, trees, collector) {
+            @Override
+            public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                if (loopDepth() > 0 && node.getMethodSelect() instanceof MemberSelectTree ms) {
+                    TreePath path = getCurrentPath();
+                    String type = unbufferedType(trees.getTypeMirror(
+                            new TreePath(new TreePath(path, ms), ms.getExpression())));
+                    String name = ms.getIdentifier().toString();
+                    if (type != null && isSingleUnit(name, node.getArguments(), type, trees, path)) {
+                        reportInLoop(node, id() + ".message", type, name);
+                    }
+                }
+                return super.visitMethodInvocation(node, unused);
+            }
+        }.scan(asts, null);
+    }
+}
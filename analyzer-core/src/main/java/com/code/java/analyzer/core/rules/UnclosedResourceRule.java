@@ -0,0 +1,243 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.Rule;
+import com.code.java.analyzer.core.RuleScanner;
+import com.code.java.analyzer.core.flow.BitDataflow;
+import com.code.java.analyzer.core.flow.ControlFlowGraph;
+import com.sun.source.tree.*;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreeScanner;
+import com.sun.source.util.Trees;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Name;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 局部变量持有的资源（new 出来的 AutoCloseable）在某条路径上没有关闭就离开了方法。
+ *
+ * 基于控制流的 may 分析，每个创建点一位：
+ *   - 创建（赋值给局部变量）置位
+ *   - x.close() 清位；x 作为参数传出、被返回、赋给其他变量 / 字段、参与比较（例如 x != null）
+ *     都视为所有权转移，同样清位（宁可漏报，不误报）
+ *   - 异常边上：创建不生效（构造器抛出时资源并未创建），close / 转移仍生效
+ * 在 exit / exceptionalExit 上仍置位的创建点即为泄漏。try-with-resources 中声明的资源不参与。
+ */
+public final class UnclosedResourceRule implements Rule {
+
+    // 不持有外部资源的 AutoCloseable
+    private static final Set<String> IN_MEMORY = Set.of(
+            "java.io.ByteArrayInputStream", "java.io.ByteArrayOutputStream",
+            "java.io.StringReader", "java.io.StringWriter",
+            "java.io.CharArrayReader", "java.io.CharArrayWriter"
+    );
+
+    @Override public String id() { return "MYJAVA0009"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "CRITICAL"; }
+    @Override public String type() { return "BUG"; }
+
+    // 创建点都是 new 表达式
+    @Override
+    public Set<String> triggers() {
+        return Set.of();
+    }
+
+    @Override
+    public Set<Tree.Kind> triggerKinds() {
+        return Set.of(Tree.Kind.NEW_CLASS);
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        new RuleScanner(this, trees, collector) {
+            // 代码体 -> 其中的创建点；CompilationUnit 结束时统一分析
+            private final Map<Tree, List<Site>> sites = new LinkedHashMap<>();
+            private final Map<Tree, TreePath> bodyPaths = new HashMap<>();
+
+            @Override
+            public Void visitCompilationUnit(CompilationUnitTree node, Void unused) {
+                sites.clear();
+                bodyPaths.clear();
+                super.visitCompilationUnit(node, unused);
+                sites.forEach((body, list) -> analyze(body, list));
+                return null;
+            }
+
+            @Override
+            public Void visitVariable(VariableTree node, Void unused) {
+                TreePath path = getCurrentPath();
+                if (isAllocation(node.getInitializer(), path)
+                        && !(path.getParentPath().getLeaf() instanceof TryTree)
+                        && isLocal(trees.getElement(path))) {
+                    addSite(node, node.getName(), path);
+                }
+                return super.visitVariable(node, unused);
+            }
+
+            @Override
+            public Void visitAssignment(AssignmentTree node, Void unused) {
+                TreePath path = getCurrentPath();
+                // 只处理作为语句的赋值：x = new Foo(...);
+                if (node.getVariable() instanceof IdentifierTree id
+                        && path.getParentPath().getLeaf() instanceof ExpressionStatementTree stmt
+                        && isAllocation(node.getExpression(), path)
+                        && isLocal(trees.getElement(new TreePath(path, id)))) {
+                    addSite(stmt, id.getName(), path);
+                }
+                return super.visitAssignment(node, unused);
+            }
+
+            private void addSite(Tree tree, Name variable, TreePath path) {
+                Tree body = ControlFlowGraph.enclosingBody(path);
+                if (body == null) return;
+                sites.computeIfAbsent(body, k -> new ArrayList<>()).add(new Site(tree, variable));
+                bodyPaths.putIfAbsent(body, path);
+            }
+
+            private boolean isAllocation(ExpressionTree init, TreePath parent) {
+                while (init instanceof ParenthesizedTree p) init = p.getExpression();
+                if (!(init instanceof NewClassTree nc) || nc.getClassBody() != null) return false;
+                TypeMirror t = trees.getTypeMirror(new TreePath(parent, init));
+                if (!(t instanceof DeclaredType dt)) return false;
+                TypeElement type = (TypeElement) dt.asElement();
+                return !IN_MEMORY.contains(type.getQualifiedName().toString()) && isAutoCloseable(type);
+            }
+
+            private void analyze(Tree body, List<Site> list) {
+                boolean[] leaked = leaks(body, list);
+                for (int i = 0; i < list.size(); i++) {
+                    if (leaked[i]) {
+                        Site s = list.get(i);
+                        collector.report(RuleScanner.issueAt(UnclosedResourceRule.this,
+                                bodyPaths.get(body).getCompilationUnit(), s.tree, trees,
+                                collector.projectRoot(), id() + ".message", s.variable.toString()));
+                    }
+                }
+            }
+        }.scan(asts, null);
+    }
+
+    /**
+     * 声明 decl 创建的资源是否在某条路径上没有关闭就离开了 body（即本规则会在 decl 上报）
+     */
+    static boolean leaks(Tree body, VariableTree decl) {
+        return leaks(body, List.of(new Site(decl, decl.getName())))[0];
+    }
+
+    // 每个创建点一位，各位互不影响
+    private static boolean[] leaks(Tree body, List<Site> list) {
+        ControlFlowGraph cfg = ControlFlowGraph.of(body);
+        Map<Tree, Integer> bitOf = new IdentityHashMap<>();
+        Map<Name, List<Integer>> bitsOf = new HashMap<>();
+        for (int i = 0; i < list.size(); i++) {
+            bitOf.put(list.get(i).tree, i);
+            bitsOf.computeIfAbsent(list.get(i).variable, k -> new ArrayList<>()).add(i);
+        }
+
+        BitDataflow.Result r = BitDataflow.forward(cfg, list.size(), BitDataflow.Join.UNION,
+                new BitDataflow.Transfer() {
+                    @Override
+                    public void apply(int node, Tree tree, BitDataflow.BitState state) {
+                        exceptional(node, tree, state);
+                        Integer gen = bitOf.get(tree);
+                        if (gen != null) state.set(gen);
+                    }
+
+                    @Override
+                    public void exceptional(int node, Tree tree, BitDataflow.BitState state) {
+                        for (Name released : released(tree, bitsOf)) {
+                            for (int b : bitsOf.get(released)) state.clear(b);
+                        }
+                    }
+                });
+
+        boolean[] leaked = new boolean[list.size()];
+        for (int i = 0; i < list.size(); i++) {
+            leaked[i] = (r.reached(cfg.exit()) && r.inContains(cfg.exit(), i))
+                    || (r.reached(cfg.exceptionalExit()) && r.inContains(cfg.exceptionalExit(), i));
+        }
+        return leaked;
+    }
+
+    /**
+     * tree 中关闭或转移了所有权的被跟踪变量
+     */
+    private static List<Name> released(Tree tree, Map<Name, ?> tracked) {
+        List<Name> out = new ArrayList<>(1);
+        new TreeScanner<Void, Void>() {
+            @Override
+            public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                // x.foo(...)：x 只是接收者，不算转移；x.close() 为关闭
+                if (node.getMethodSelect() instanceof MemberSelectTree ms
+                        && ms.getExpression() instanceof IdentifierTree id
+                        && tracked.containsKey(id.getName())) {
+                    if (ms.getIdentifier().contentEquals("close")) out.add(id.getName());
+                    scan(node.getArguments(), null);
+                    return null;
+                }
+                return super.visitMethodInvocation(node, unused);
+            }
+
+            @Override
+            public Void visitMemberSelect(MemberSelectTree node, Void unused) {
+                if (node.getExpression() instanceof IdentifierTree id && tracked.containsKey(id.getName())) {
+                    return null;
+                }
+                return super.visitMemberSelect(node, unused);
+            }
+
+            @Override
+            public Void visitAssignment(AssignmentTree node, Void unused) {
+                // 被赋值的变量本身不是使用（覆盖未关闭的资源正是泄漏）
+                if (node.getVariable() instanceof IdentifierTree id && tracked.containsKey(id.getName())) {
+                    return scan(node.getExpression(), null);
+                }
+                return super.visitAssignment(node, unused);
+            }
+
+            @Override
+            public Void visitIdentifier(IdentifierTree node, Void unused) {
+                if (tracked.containsKey(node.getName())) out.add(node.getName());
+                return null;
+            }
+        }.scan(tree, null);
+        return out;
+    }
+
+    private static boolean isLocal(Element e) {
+        return e != null && e.getKind() == ElementKind.LOCAL_VARIABLE;
+    }
+
+    private static boolean isAutoCloseable(TypeElement type) {
+        if (type.getQualifiedName().contentEquals("java.lang.AutoCloseable")) return true;
+        if (type.getSuperclass() instanceof DeclaredType dt && isAutoCloseable((TypeElement) dt.asElement())) {
+            return true;
+        }
+        for (TypeMirror itf : type.getInterfaces()) {
+            if (itf instanceof DeclaredType dt && isAutoCloseable((TypeElement) dt.asElement())) return true;
+        }
+        return false;
+    }
+
+    private static final class Site {
+        final Tree tree;
+        final Name variable;
+
+        Site(Tree tree, Name variable) {
+            this.tree = tree;
+            this.variable = variable;
+        }
+    }
+}
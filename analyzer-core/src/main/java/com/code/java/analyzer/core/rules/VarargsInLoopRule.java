@@ -0,0 +1,75 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.IssueCollector;
+import com.code.java.analyzer.core.LoopScanner;
+import com.code.java.analyzer.core.Rule;
+import com.sun.source.tree.*;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 循环中调用可变参数方法且由编译器隐式创建参数数组（直接传数组的调用不算）：每次调用分配一个数组，
+ * 基本类型参数还会逐个装箱。可变参数位置没有实参的调用不报告。
+ */
+public final class VarargsInLoopRule implements Rule {
+
+    @Override public String id() { return "MYJAVA0015"; }
+    @Override public String engineId() { return "my-java-analyzer"; }
+    @Override public String defaultSeverity() { return "INFO"; }
+    @Override public String type() { return "CODE_SMELL"; }
+
+    // 取决于类型而没有固定的触发名：只在含循环的类中上报
+    @Override
+    public Set<String> triggers() {
+        return Set.of();
+    }
+
+    @Override
+    public Set<Tree.Kind> triggerKinds() {
+        return LoopScanner.LOOPS;
+    }
+
+    @Override
+    public void apply(Iterable<? extends CompilationUnitTree> asts, Trees trees, IssueCollector collector) {
+        new LoopScanner(this, trees, collector) {
+
+            @Override
+            public Void visitMethodInvocation(MethodInvocationTree node, Void unused) {
+                check(node, node.getArguments());
+                return super.visitMethodInvocation(node, unused);
+            }
+
+            @Override
+            public Void visitNewClass(NewClassTree node, Void unused) {
+                check(node, node.getArguments());
+                return super.visitNewClass(node, unused);
+            }
+
+            private void check(ExpressionTree node, List<? extends ExpressionTree> args) {
+                if (loopDepth() == 0) return;
+                Element e = trees.getElement(getCurrentPath());
+                if (!(e instanceof ExecutableElement m) || !m.isVarArgs()) return;
+                int params = m.getParameters().size();
+                // 可变参数位置为空时只创建空数组，逃逸分析通常可以消除，不报告
+                if (args.size() < params) return;
+                if (args.size() == params) {
+                    // 最后一个实参本身是数组（或 null）时不创建新数组
+                    TypeMirror last = trees.getTypeMirror(new TreePath(getCurrentPath(), args.get(params - 1)));
+                    if (last == null || last.getKind() == TypeKind.ARRAY || last.getKind() == TypeKind.NULL) return;
+                }
+                String owner = m.getEnclosingElement().getSimpleName().toString();
+                reportInLoop(node, id() + ".message", m.getKind() == ElementKind.CONSTRUCTOR
+                        ? "new " + owner
+                        : owner + "." + m.getSimpleName());
+            }
+        }.scan(asts, null);
+    }
+}
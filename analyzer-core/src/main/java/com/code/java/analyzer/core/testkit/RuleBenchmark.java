@@ -0,0 +1,201 @@
+package com.code.java.analyzer.core.testkit;
+
+import com.code.java.analyzer.core.JavacAnalyzeFacade;
+import com.code.java.analyzer.core.Rule;
+import com.code.java.analyzer.core.RuleEngine;
+import com.code.java.analyzer.core.config.AnalyzerConfig;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 规则吞吐检查：在标准语料上执行规则，按每千行（KLOC）的耗时与预算比较，拦住“结果正确但比其他规则慢几十倍”的规则。
+ *
+ * - 语料为源码目录或源码归档（.jar / .zip），默认取 -Dmyanalyzer.testkit.corpus
+ * - 所有规则在同一个引擎中执行（与真实分析一致，模式规则共享一次遍历，合计为 pattern-rules）；
+ *   先完整执行一遍预热（JIT、类加载、classpath 索引），再执行 {@value #ROUNDS} 遍，每条规则取最小值
+ * - 计时只含规则本身（{@link RuleEngine#ruleTimings()}），不含解析与标注；不读写结果缓存
+ * - 预算默认 {@value #DEFAULT_MILLIS_PER_KLOC} ms/KLOC（-Dmyanalyzer.testkit.msPerKloc 调整），可按规则单独放宽
+ * - 相对预算（{@link Report#assertWithinMedian}）：每条规则与所有规则的中位数比较，与机器快慢无关，适合在共享 CI 上常规执行
+ *
+ * 命令行：java -cp analyzer-cli-all.jar com.code.java.analyzer.core.testkit.RuleBenchmark &lt;语料&gt; [ms/KLOC]
+ */
+public final class RuleBenchmark {
+
+    public static final double DEFAULT_MILLIS_PER_KLOC = 20.0;
+    public static final double DEFAULT_MEDIAN_FACTOR = 20.0;
+    // 中位数下限：规则都很快时避免用接近 0 的中位数放大计时噪声
+    private static final double MIN_MEDIAN_MILLIS_PER_KLOC = 0.1;
+    private static final int ROUNDS = 3;
+
+    private RuleBenchmark() {}
+
+    /** 一条规则的结果 */
+    public record Result(String ruleId, long nanos, double millisPerKloc) {}
+
+    public static final class Report {
+        private final Path corpus;
+        private final long lines;
+        private final List<Result> results;
+
+        private Report(Path corpus, long lines, List<Result> results) {
+            this.corpus = corpus;
+            this.lines = lines;
+            this.results = results;
+        }
+
+        public Path corpus() { return corpus; }
+        public long lines() { return lines; }
+
+        /** 按耗时从高到低 */
+        public List<Result> results() { return results; }
+
+        /** 所有规则按默认预算检查 */
+        public Report assertWithinBudget() {
+            return assertWithinBudget(defaultBudget(), Map.of());
+        }
+
+        /**
+         * 超出预算（overrides 中按规则 ID 单独设置）的规则抛出 AssertionError，列出超出的规则与整体中位数
+         */
+        public Report assertWithinBudget(double millisPerKloc, Map<String, Double> overrides) {
+            List<String> over = new ArrayList<>();
+            for (Result r : results) {
+                double budget = overrides.getOrDefault(r.ruleId(), millisPerKloc);
+                if (r.millisPerKloc() > budget) {
+                    over.add(String.format(Locale.ROOT, "%s %.2f ms/KLOC > budget %.2f (%.0fx median)",
+                            r.ruleId(), r.millisPerKloc(), budget, r.millisPerKloc() / Math.max(median(), 1e-9)));
+                }
+            }
+            if (!over.isEmpty()) {
+                throw new AssertionError(over.size() + " rule(s) over the throughput budget on " + corpus
+                        + " (" + lines + " lines)\n  " + String.join("\n  ", over) + "\n" + this);
+            }
+            return this;
+        }
+
+        /**
+         * 相对预算：耗时超过中位数 factor 倍的规则抛出 AssertionError
+         */
+        public Report assertWithinMedian(double factor) {
+            double median = Math.max(median(), MIN_MEDIAN_MILLIS_PER_KLOC);
+            List<String> over = new ArrayList<>();
+            for (Result r : results) {
+                if (r.millisPerKloc() > median * factor) {
+                    over.add(String.format(Locale.ROOT, "%s %.2f ms/KLOC = %.0fx median (limit %.0fx)",
+                            r.ruleId(), r.millisPerKloc(), r.millisPerKloc() / median, factor));
+                }
+            }
+            if (!over.isEmpty()) {
+                throw new AssertionError(over.size() + " rule(s) far slower than the median rule on " + corpus
+                        + " (" + lines + " lines)\n  " + String.join("\n  ", over) + "\n" + this);
+            }
+            return this;
+        }
+
+        public double median() {
+            if (results.isEmpty()) return 0;
+            List<Double> v = results.stream().map(Result::millisPerKloc).sorted().toList();
+            return v.get(v.size() / 2);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "%s: %d lines, median %.2f ms/KLOC%n",
+                    corpus, lines, median()));
+            for (Result r : results) {
+                sb.append(String.format(Locale.ROOT, "  %-16s %10.2f ms/KLOC %10.1f ms%n",
+                        r.ruleId(), r.millisPerKloc(), r.nanos() / 1e6));
+            }
+            return sb.toString();
+        }
+    }
+
+    public static Path standardCorpus() {
+        String p = System.getProperty("myanalyzer.testkit.corpus");
+        if (p == null || p.isBlank()) {
+            throw new IllegalStateException("No benchmark corpus: set -Dmyanalyzer.testkit.corpus=<source dir or -sources.jar>");
+        }
+        return Path.of(p);
+    }
+
+    public static double defaultBudget() {
+        String v = System.getProperty("myanalyzer.testkit.msPerKloc");
+        return v == null || v.isBlank() ? DEFAULT_MILLIS_PER_KLOC : Double.parseDouble(v);
+    }
+
+    /** 内置规则 + 默认模式规则 */
+    public static Report run(Path corpus) throws Exception {
+        return run(corpus, List.of(), RuleEngine.defaultRules().rules());
+    }
+
+    public static Report run(Path corpus, List<String> classpath, List<? extends Rule> rules) throws Exception {
+        Path root = corpus.toAbsolutePath().normalize();
+        long lines = countLines(root);
+        if (lines == 0) throw new IllegalArgumentException("corpus has no .java sources: " + root);
+
+        RuleEngine engine = new RuleEngine("my-java-analyzer");
+        rules.forEach(engine::register);
+        Path projectRoot = Files.isDirectory(root) ? root : root.getParent();
+
+        Map<String, Long> best = new HashMap<>();
+        for (int round = 0; round <= ROUNDS; round++) {
+            engine.resetTimings();
+            JavacAnalyzeFacade.analyzeUncached(projectRoot, List.of(root), classpath, AnalyzerConfig.defaults(), engine);
+            if (round == 0) continue; // 预热
+            engine.ruleTimings().forEach((id, t) -> best.merge(id, t, Math::min));
+        }
+
+        double kloc = lines / 1000.0;
+        List<Result> results = new ArrayList<>();
+        best.forEach((id, t) -> results.add(new Result(id, t, t / 1e6 / kloc)));
+        results.sort(Comparator.comparingDouble(Result::millisPerKloc).reversed());
+        return new Report(root, lines, results);
+    }
+
+    // 物理行数；归档按 zip 文件系统读取
+    private static long countLines(Path root) throws IOException {
+        if (Files.isDirectory(root)) return countLinesUnder(root);
+        try (FileSystem fs = FileSystems.newFileSystem(root)) {
+            return countLinesUnder(fs.getPath("/"));
+        }
+    }
+
+    private static long countLinesUnder(Path dir) throws IOException {
+        long total = 0;
+        try (Stream<Path> s = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) s.filter(f -> f.toString().endsWith(".java"))::iterator) {
+                if (!Files.isRegularFile(p)) continue;
+                try (BufferedReader r = Files.newBufferedReader(p, StandardCharsets.ISO_8859_1)) {
+                    while (r.readLine() != null) total++;
+                }
+            }
+        }
+        return total;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path corpus = args.length > 0 ? Path.of(args[0]) : standardCorpus();
+        double budget = args.length > 1 ? Double.parseDouble(args[1]) : defaultBudget();
+        Report report = run(corpus);
+        System.out.print(report);
+        try {
+            report.assertWithinBudget(budget, Map.of());
+        } catch (AssertionError e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.code.java.analyzer.core.testkit;
+
+import com.code.java.analyzer.core.AnalysisNote;
+import com.code.java.analyzer.core.AnalyzeResult;
+import com.code.java.analyzer.core.Issue;
+import com.code.java.analyzer.core.JavacAnalyzeFacade;
+import com.code.java.analyzer.core.Rule;
+import com.code.java.analyzer.core.RuleEngine;
+import com.code.java.analyzer.core.config.AnalyzerConfig;
+import com.code.java.analyzer.core.i18n.Localizer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 规则测试：用带标记的夹具源码验证一条规则的上报结果，走真实的 {@link JavacAnalyzeFacade} 流程（不读写结果缓存）。
+ *
+ * 夹具目录下的 .java 一起编译（可以放多个文件验证跨文件 / 调用图规则），每个期望的问题在其起始行用注释标记：
+ *
+ * <pre>
+ * Thread.sleep(10); // Noncompliant
+ * a(); b();         // Noncompliant 2              本行两个问题
+ * // Noncompliant@+1                               下一行（@-1 为上一行）
+ * Thread.sleep(10);
+ * Thread.sleep(10); // Noncompliant {{Thread.sleep}}  消息（按 myanalyzer.locale 格式化）包含该片段
+ * </pre>
+ *
+ * 未标记的行上不应有问题。结果不一致或有 error 级执行提示时抛出 AssertionError，逐行列出多报 / 漏报，
+ * 可直接在 JUnit / TestNG 等任意测试框架中调用。
+ */
+public final class RuleVerifier {
+
+    private static final Pattern MARKER =
+            Pattern.compile("//\\s*Noncompliant(?:@([+-]\\d+))?(?:\\s+(\\d+))?(?:\\s*\\{\\{(.*?)}})?");
+
+    private RuleVerifier() {}
+
+    /** 期望：某行的问题数与消息片段 */
+    private static final class Expected {
+        int count;
+        final List<String> messages = new ArrayList<>();
+    }
+
+    /**
+     * 按 ID 取内置规则（含默认加载的模式规则）验证
+     */
+    public static AnalyzeResult verify(String ruleId, Path fixtureDir) throws Exception {
+        Rule rule = RuleEngine.defaultRules().rules().stream()
+                .filter(r -> r.id().equals(ruleId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown rule: " + ruleId));
+        return verify(rule, fixtureDir, List.of());
+    }
+
+    /**
+     * 验证任意规则实例（自定义规则无需放进 rules 包）；classpath 为夹具依赖的第三方类
+     */
+    public static AnalyzeResult verify(Rule rule, Path fixtureDir, List<String> classpath) throws Exception {
+        Path root = fixtureDir.toAbsolutePath().normalize();
+        if (!Files.isDirectory(root)) {
+            throw new IllegalArgumentException("fixture directory not found: " + root);
+        }
+        Map<String, Map<Integer, Expected>> expected = expectations(root);
+
+        RuleEngine engine = new RuleEngine(rule.engineId()).register(rule);
+        AnalyzeResult result = JavacAnalyzeFacade.analyzeUncached(root, List.of(root), classpath,
+                AnalyzerConfig.defaults(), engine);
+
+        Map<String, Map<Integer, List<Issue>>> actual = new TreeMap<>();
+        for (Issue i : result.issues()) {
+            actual.computeIfAbsent(i.file(), f -> new TreeMap<>())
+                    .computeIfAbsent(i.startLine(), l -> new ArrayList<>())
+                    .add(i);
+        }
+
+        Locale locale = Localizer.configuredLocale();
+        List<String> problems = new ArrayList<>();
+        for (AnalysisNote n : result.notes()) {
+            if (AnalysisNote.ERROR.equals(n.level())) problems.add("error: " + n);
+        }
+
+        // 期望的行：数量与消息
+        expected.forEach((file, lines) -> lines.forEach((line, e) -> {
+            List<Issue> got = actual.getOrDefault(file, Map.of()).getOrDefault(line, List.of());
+            if (got.size() != e.count) {
+                problems.add(file + ":" + line + " expected " + e.count + " issue(s), got " + got.size()
+                        + messages(got, locale));
+                return;
+            }
+            for (String fragment : e.messages) {
+                if (got.stream().noneMatch(i -> message(i, locale).contains(fragment))) {
+                    problems.add(file + ":" + line + " expected a message containing \"" + fragment + "\", got"
+                            + messages(got, locale));
+                }
+            }
+        }));
+        // 未标记的行
+        actual.forEach((file, lines) -> lines.forEach((line, got) -> {
+            if (!expected.getOrDefault(file, Map.of()).containsKey(line)) {
+                problems.add(file + ":" + line + " unexpected " + got.size() + " issue(s)" + messages(got, locale));
+            }
+        }));
+
+        if (!problems.isEmpty()) {
+            throw new AssertionError(rule.id() + ": " + problems.size() + " mismatch(es) in " + root
+                    + "\n  " + String.join("\n  ", problems));
+        }
+        return result;
+    }
+
+    // 文件（相对夹具目录，与 Issue.file() 一致）-> 行 -> 期望
+    private static Map<String, Map<Integer, Expected>> expectations(Path root) throws IOException {
+        Map<String, Map<Integer, Expected>> out = new TreeMap<>();
+        List<Path> files;
+        try (Stream<Path> s = Files.walk(root)) {
+            files = s.filter(p -> p.toString().endsWith(".java")).filter(Files::isRegularFile).toList();
+        }
+        for (Path p : files) {
+            String file = root.relativize(p).toString().replace('\\', '/');
+            List<String> lines = Files.readAllLines(p, StandardCharsets.UTF_8);
+            for (int i = 0; i < lines.size(); i++) {
+                Matcher m = MARKER.matcher(lines.get(i));
+                if (!m.find()) continue;
+                int line = i + 1 + (m.group(1) == null ? 0 : Integer.parseInt(m.group(1)));
+                Expected e = out.computeIfAbsent(file, f -> new TreeMap<>())
+                        .computeIfAbsent(line, l -> new Expected());
+                e.count += m.group(2) == null ? 1 : Integer.parseInt(m.group(2));
+                if (m.group(3) != null) e.messages.add(m.group(3));
+            }
+        }
+        return out;
+    }
+
+    private static String message(Issue i, Locale locale) {
+        return Localizer.format(i.message(), locale, i.messageArgs());
+    }
+
+    private static String messages(List<Issue> issues, Locale locale) {
+        if (issues.isEmpty()) return "";
+        List<String> out = new ArrayList<>();
+        for (Issue i : issues) out.add(i.startCol() + ": " + message(i, locale));
+        return " " + out;
+    }
+}
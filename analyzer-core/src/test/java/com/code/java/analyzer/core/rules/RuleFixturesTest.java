@@ -0,0 +1,50 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.RuleEngine;
+import com.code.java.analyzer.core.testkit.RuleVerifier;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 每条内置规则一个夹具目录（fixtures/&lt;规则 ID&gt;），用 {@link RuleVerifier} 逐条验证
+ */
+class RuleFixturesTest {
+
+    private static final Path FIXTURES = Path.of("src/test/resources/fixtures");
+
+    @TestFactory
+    Stream<DynamicTest> fixtures() throws IOException {
+        return fixtureIds().stream()
+                .map(id -> DynamicTest.dynamicTest(id, () -> RuleVerifier.verify(id, FIXTURES.resolve(id))));
+    }
+
+    // 新增规则时同时补上夹具
+    @Test
+    void everyBuiltInRuleHasFixture() throws IOException {
+        Set<String> rules = RuleEngine.defaultRules().rules().stream()
+                .map(r -> r.id())
+                .filter(id -> id.startsWith("MYJAVA"))
+                .collect(Collectors.toCollection(TreeSet::new));
+        assertEquals(rules, fixtureIds());
+    }
+
+    private static Set<String> fixtureIds() throws IOException {
+        try (Stream<Path> s = Files.list(FIXTURES)) {
+            return s.filter(Files::isDirectory)
+                    .map(p -> p.getFileName().toString())
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.code.java.analyzer.core.rules;
+
+import com.code.java.analyzer.core.testkit.RuleBenchmark;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 吞吐预算。默认只检查相对预算（每条规则不超过中位数的 {@value RuleBenchmark#DEFAULT_MEDIAN_FACTOR} 倍），
+ * 与 CI 机器快慢无关；绝对预算（ms/KLOC）只在给出 -Dmyanalyzer.testkit.msPerKloc 时检查。
+ * 语料默认为本模块源码，-Dmyanalyzer.testkit.corpus 可换成更大的标准语料。
+ */
+class RuleThroughputTest {
+
+    private static RuleBenchmark.Report report;
+
+    @Test
+    void noRuleFarSlowerThanTheRest() throws Exception {
+        report().assertWithinMedian(RuleBenchmark.DEFAULT_MEDIAN_FACTOR);
+    }
+
+    @Test
+    void rulesStayWithinAbsoluteBudget() throws Exception {
+        assumeTrue(System.getProperty("myanalyzer.testkit.msPerKloc") != null,
+                "absolute budget only with -Dmyanalyzer.testkit.msPerKloc");
+        report().assertWithinBudget();
+    }
+
+    private static synchronized RuleBenchmark.Report report() throws Exception {
+        if (report == null) {
+            Path corpus = System.getProperty("myanalyzer.testkit.corpus") == null
+                    ? Path.of("src/main/java")
+                    : RuleBenchmark.standardCorpus();
+            report = RuleBenchmark.run(corpus);
+        }
+        return report;
+    }
+}
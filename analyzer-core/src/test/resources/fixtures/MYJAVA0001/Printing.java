@@ -0,0 +1,14 @@
+import java.io.PrintStream;
+
+class Printing {
+
+    void print(String name) {
+        System.out.println("hello " + name); // Noncompliant
+        System.out.println(); // Noncompliant
+        System.err.println(name);
+    }
+
+    void log(PrintStream out, String name) {
+        out.println(name);
+    }
+}
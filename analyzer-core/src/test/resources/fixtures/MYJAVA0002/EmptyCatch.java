@@ -0,0 +1,17 @@
+class EmptyCatch {
+
+    void swallow() {
+        try {
+            Integer.parseInt("x");
+        } catch (NumberFormatException e) { // Noncompliant
+        }
+    }
+
+    void rethrow() {
+        try {
+            Integer.parseInt("x");
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
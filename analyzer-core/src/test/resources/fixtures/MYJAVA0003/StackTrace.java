@@ -0,0 +1,18 @@
+class StackTrace {
+
+    void fail() {
+        try {
+            Integer.parseInt("x");
+        } catch (NumberFormatException e) {
+            e.printStackTrace(); // Noncompliant
+        }
+    }
+
+    void wrap() {
+        try {
+            Integer.parseInt("x");
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+class Exit {
+
+    void stop() {
+        System.exit(1); // Noncompliant
+    }
+
+    void fail() {
+        throw new IllegalStateException("stop");
+    }
+}
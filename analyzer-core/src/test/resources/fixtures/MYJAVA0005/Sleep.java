@@ -0,0 +1,17 @@
+import java.util.concurrent.TimeUnit;
+
+class Sleep {
+
+    void pause() throws InterruptedException {
+        Thread.sleep(10); // Noncompliant
+        // Noncompliant@+1
+        Thread.sleep(10, 0);
+    }
+
+    void await(Object lock) throws InterruptedException {
+        synchronized (lock) {
+            lock.wait(10);
+        }
+        TimeUnit.MILLISECONDS.toNanos(10);
+    }
+}
@@ -0,0 +1,19 @@
+class OrderController {
+
+    private final OrderService service = new OrderService();
+
+    @GetMapping("/orders")
+    String list() throws InterruptedException {
+        return service.load(); // Noncompliant {{Thread.sleep}}
+    }
+
+    @GetMapping("/health")
+    String health() {
+        return service.cached();
+    }
+
+    // 不是 handler
+    String batch() throws InterruptedException {
+        return service.load();
+    }
+}
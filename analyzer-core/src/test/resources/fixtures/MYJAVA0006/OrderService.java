@@ -0,0 +1,15 @@
+class OrderService {
+
+    String load() throws InterruptedException {
+        return retry();
+    }
+
+    private String retry() throws InterruptedException {
+        Thread.sleep(100);
+        return "orders";
+    }
+
+    String cached() {
+        return "cached";
+    }
+}
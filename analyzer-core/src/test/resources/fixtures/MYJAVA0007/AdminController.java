@@ -0,0 +1,23 @@
+class AdminController {
+
+    @GetMapping("/shutdown")
+    void shutdown() {
+        Lifecycle.stop(); // Noncompliant {{System.exit}}
+    }
+
+    @GetMapping("/status")
+    String status() {
+        return Lifecycle.status();
+    }
+}
+
+class Lifecycle {
+
+    static void stop() {
+        System.exit(0);
+    }
+
+    static String status() {
+        return "up";
+    }
+}
@@ -0,0 +1,43 @@
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+class Dropped {
+
+    private static final Logger LOG = Logger.getLogger("dropped");
+
+    int parse(String s) {
+        try {
+            return Integer.parseInt(s);
+        } catch (NumberFormatException e) { // Noncompliant {{e}}
+            return -1;
+        }
+    }
+
+    int logged(String s) {
+        try {
+            return Integer.parseInt(s);
+        } catch (NumberFormatException e) {
+            LOG.log(Level.WARNING, "bad number", e);
+            return -1;
+        }
+    }
+
+    int sometimes(String s, boolean verbose) {
+        try {
+            return Integer.parseInt(s);
+        } catch (NumberFormatException e) {
+            if (verbose) {
+                LOG.log(Level.WARNING, "bad number", e);
+            }
+            return -1;
+        }
+    }
+
+    int ignored(String s) {
+        try {
+            return Integer.parseInt(s);
+        } catch (NumberFormatException ignored) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+class Resources {
+
+    int leak(String name) throws IOException {
+        FileInputStream in = new FileInputStream(name); // Noncompliant {{in}}
+        return in.read();
+    }
+
+    int earlyReturn(String name) throws IOException {
+        FileInputStream in = new FileInputStream(name); // Noncompliant
+        int b = in.read();
+        if (b < 0) {
+            return -1;
+        }
+        in.close();
+        return b;
+    }
+
+    int tryWithResources(String name) throws IOException {
+        try (FileInputStream in = new FileInputStream(name)) {
+            return in.read();
+        }
+    }
+
+    int closedInFinally(String name) throws IOException {
+        FileInputStream in = new FileInputStream(name);
+        try {
+            return in.read();
+        } finally {
+            in.close();
+        }
+    }
+
+    InputStream handedOver(String name) throws IOException {
+        FileInputStream in = new FileInputStream(name);
+        return in;
+    }
+}
@@ -0,0 +1,25 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class First {
+
+    List<String> summarize(Map<String, Integer> counts, int threshold) {
+        List<String> out = new ArrayList<>();
+        for (Map.Entry<String, Integer> e : counts.entrySet()) {
+            if (e.getValue() == null || e.getValue() < threshold) {
+                continue;
+            }
+            StringBuilder sb = new StringBuilder();
+            sb.append(e.getKey()).append('=').append(e.getValue());
+            if (e.getKey().startsWith("total")) {
+                sb.append(" (total)");
+            } else if (e.getKey().startsWith("avg")) {
+                sb.append(" (average)");
+            }
+            out.add(sb.toString());
+        }
+        out.sort(String::compareTo);
+        return out;
+    }
+}
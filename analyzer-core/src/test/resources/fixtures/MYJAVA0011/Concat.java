@@ -0,0 +1,36 @@
+import java.util.List;
+
+class Concat {
+
+    String join(List<String> parts) {
+        String s = "";
+        for (String p : parts) {
+            s += p; // Noncompliant {{s}}
+        }
+        return s;
+    }
+
+    String joinAssign(List<String> parts) {
+        String s = "";
+        for (String p : parts) {
+            s = s + "," + p; // Noncompliant
+        }
+        return s;
+    }
+
+    void perIteration(List<String> parts) {
+        for (String p : parts) {
+            String line = "> ";
+            line += p;
+            System.err.print(line);
+        }
+    }
+
+    int sum(List<Integer> values) {
+        int total = 0;
+        for (int v : values) {
+            total += v;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,34 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class Boxed {
+
+    long sum(Map<String, Long> totals, List<String> keys) { // Noncompliant {{totals}}
+        long sum = 0;
+        for (String k : keys) {
+            sum += totals.get(k);
+        }
+        return sum;
+    }
+
+    List<Integer> squares(int n) {
+        List<Integer> out = new ArrayList<>(); // Noncompliant {{Integer}}
+        for (int i = 0; i < n; i++) {
+            out.add(i * i);
+        }
+        return out;
+    }
+
+    int outsideLoop(List<Integer> values) {
+        return values.size();
+    }
+
+    int strings(List<String> values) {
+        int n = 0;
+        for (int i = 0; i < 3; i++) {
+            n += values.get(i).length();
+        }
+        return n;
+    }
+}
@@ -0,0 +1,34 @@
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.regex.Pattern;
+
+class Allocation {
+
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+
+    BigDecimal total(List<String> amounts) {
+        BigDecimal sum = new BigDecimal("0");
+        for (String a : amounts) {
+            sum = sum.add(new BigDecimal(a)); // Noncompliant {{BigDecimal}}
+        }
+        return sum;
+    }
+
+    int matches(List<String> lines) {
+        int n = 0;
+        for (String l : lines) {
+            if (Pattern.compile("\\d+").matcher(l).matches()) n++; // Noncompliant {{Pattern}}
+            if (DIGITS.matcher(l).matches()) n++;
+        }
+        return n;
+    }
+
+    void format(List<Long> times) {
+        SimpleDateFormat fmt = new SimpleDateFormat("yyyy-MM-dd");
+        while (!times.isEmpty()) {
+            fmt.format(new Date(times.remove(0))); // Noncompliant {{Date}}
+        }
+    }
+}
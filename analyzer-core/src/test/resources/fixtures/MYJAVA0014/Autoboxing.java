@@ -0,0 +1,37 @@
+import java.util.List;
+
+class Autoboxing {
+
+    Long total(int n) {
+        Long sum = 0L;
+        for (int i = 0; i < n; i++) {
+            sum += i; // Noncompliant {{Long}}
+        }
+        return sum;
+    }
+
+    void register(Object key) {
+    }
+
+    void keys(int n) {
+        for (int i = 0; i < n; i++) {
+            register(i); // Noncompliant {{Integer}}
+            Integer boxed = i; // Noncompliant
+        }
+    }
+
+    long primitive(int n) {
+        long sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += i;
+        }
+        return sum;
+    }
+
+    // 包装类型集合上的调用由 MYJAVA0012 负责
+    void collect(List<Integer> out, int n) {
+        for (int i = 0; i < n; i++) {
+            out.add(i);
+        }
+    }
+}
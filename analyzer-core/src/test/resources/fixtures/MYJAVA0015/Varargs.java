@@ -0,0 +1,18 @@
+import java.util.Arrays;
+import java.util.List;
+
+class Varargs {
+
+    List<String> lines(List<Object[]> rows) {
+        StringBuilder sb = new StringBuilder();
+        for (Object[] row : rows) {
+            sb.append(String.format("%s=%s", row[0], row[1])); // Noncompliant {{String.format}}
+            sb.append(String.format("%s", row));
+        }
+        return Arrays.asList(sb.toString().split("\n"));
+    }
+
+    void outside(Object a, Object b) {
+        String.format("%s=%s", a, b);
+    }
+}
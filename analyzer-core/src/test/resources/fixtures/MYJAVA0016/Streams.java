@@ -0,0 +1,27 @@
+import java.util.List;
+import java.util.stream.Stream;
+
+class Streams {
+
+    int count(List<String> names) {
+        int n = 0;
+        List<String> prefixes = List.of("a", "b");
+        for (String name : names) {
+            n += prefixes.stream().filter(name::startsWith).count(); // Noncompliant {{prefixes}}
+            n += Stream.of("x", "y").filter(name::equals).count(); // Noncompliant
+        }
+        return n;
+    }
+
+    long large(List<List<String>> groups) {
+        long n = 0;
+        for (List<String> g : groups) {
+            n += g.stream().filter(String::isEmpty).count();
+        }
+        return n;
+    }
+
+    long once(String name) {
+        return List.of("a", "b").stream().filter(name::startsWith).count();
+    }
+}
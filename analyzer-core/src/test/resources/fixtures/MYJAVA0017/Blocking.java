@@ -0,0 +1,67 @@
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+class Blocking {
+
+    private final Object lock = new Object();
+    private boolean ready;
+
+    void sleepWhileLocked() throws InterruptedException {
+        synchronized (lock) {
+            Thread.sleep(10); // Noncompliant {{Thread.sleep}}
+        }
+    }
+
+    synchronized String getLocked(Future<String> f) throws InterruptedException, ExecutionException {
+        return f.get(); // Noncompliant
+    }
+
+    String getUnlocked(Future<String> f) throws InterruptedException, ExecutionException {
+        String v = f.get();
+        synchronized (lock) {
+            return v.trim();
+        }
+    }
+
+    // 条件等待：wait() 释放所等待的监视器
+    void awaitReady() throws InterruptedException {
+        synchronized (lock) {
+            while (!ready) {
+                lock.wait();
+            }
+        }
+    }
+
+    synchronized void awaitReadyOnThis() throws InterruptedException {
+        while (!ready) {
+            wait(100);
+        }
+    }
+
+    void waitHoldingAnother(Object other) throws InterruptedException {
+        synchronized (other) {
+            synchronized (lock) {
+                lock.wait(); // Noncompliant {{Object.wait}}
+            }
+        }
+    }
+
+    void waitOnOther(Object other) throws InterruptedException {
+        synchronized (this.lock) {
+            other.wait(); // Noncompliant
+        }
+    }
+
+    void deferred() {
+        synchronized (lock) {
+            Runnable r = () -> {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            };
+            new Thread(r).start();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+class SyncMethods {
+
+    private final Object lock = new Object();
+    private int count;
+
+    public synchronized void increment() { // Noncompliant {{this}}
+        count++;
+    }
+
+    public static synchronized void reset() { // Noncompliant {{Class}}
+    }
+
+    synchronized void internal() {
+        count--;
+    }
+
+    public void narrow() {
+        synchronized (lock) {
+            count++;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+class Pools {
+
+    ExecutorService cached() {
+        return Executors.newCachedThreadPool(); // Noncompliant {{newCachedThreadPool}}
+    }
+
+    ExecutorService unbounded() {
+        // Noncompliant@+1 {{Integer.MAX_VALUE}}
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+    }
+
+    ExecutorService bounded() {
+        return new ThreadPoolExecutor(4, 16, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(1000));
+    }
+
+    ExecutorService fixed() {
+        return Executors.newFixedThreadPool(8);
+    }
+}
@@ -0,0 +1,24 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+class Waits {
+
+    String forever(Future<String> f) throws InterruptedException, ExecutionException {
+        return f.get(); // Noncompliant {{Future.get()}}
+    }
+
+    String join(CompletableFuture<String> f) {
+        return f.join(); // Noncompliant {{CompletableFuture.join()}}
+    }
+
+    String bounded(Future<String> f) throws InterruptedException, ExecutionException, TimeoutException {
+        return f.get(5, TimeUnit.SECONDS);
+    }
+
+    String timeout(CompletableFuture<String> f) {
+        return f.orTimeout(5, TimeUnit.SECONDS).getNow("");
+    }
+}
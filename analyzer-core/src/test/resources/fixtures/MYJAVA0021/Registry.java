@@ -0,0 +1,35 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+class Registry {
+
+    private final ConcurrentMap<String, Object> cache = new ConcurrentHashMap<>();
+    private final Map<String, Object> local = new HashMap<>();
+
+    void register(String key) {
+        if (!cache.containsKey(key)) { // Noncompliant {{put}}
+            cache.put(key, new Object());
+        }
+    }
+
+    Object lookup(String key) {
+        Object v = cache.get(key); // Noncompliant
+        if (v == null) {
+            v = new Object();
+            cache.put(key, v);
+        }
+        return v;
+    }
+
+    Object atomic(String key) {
+        return cache.computeIfAbsent(key, k -> new Object());
+    }
+
+    void singleThreaded(String key) {
+        if (!local.containsKey(key)) {
+            local.put(key, new Object());
+        }
+    }
+}
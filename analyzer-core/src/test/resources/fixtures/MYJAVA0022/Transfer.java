@@ -0,0 +1,32 @@
+class Transfer {
+
+    private final Object accounts = new Object();
+    private final Object audit = new Object();
+
+    void debit() {
+        synchronized (accounts) {
+            synchronized (audit) {
+                record();
+            }
+        }
+    }
+
+    void report() {
+        synchronized (audit) {
+            synchronized (accounts) { // Noncompliant {{accounts}}
+                record();
+            }
+        }
+    }
+
+    void sameOrder() {
+        synchronized (accounts) {
+            synchronized (audit) {
+                record();
+            }
+        }
+    }
+
+    private void record() {
+    }
+}
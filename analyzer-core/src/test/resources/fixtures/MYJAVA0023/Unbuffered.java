@@ -0,0 +1,44 @@
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+class Unbuffered {
+
+    int count(String name) throws IOException {
+        int n = 0;
+        try (FileInputStream in = new FileInputStream(name)) {
+            while (in.read() != -1) { // Noncompliant {{FileInputStream}}
+                n++;
+            }
+        }
+        return n;
+    }
+
+    void fill(String name, int size) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(name)) {
+            for (int i = 0; i < size; i++) {
+                out.write(0); // Noncompliant
+            }
+        }
+    }
+
+    void chunks(String name) throws IOException {
+        byte[] buf = new byte[8192];
+        try (FileInputStream in = new FileInputStream(name)) {
+            while (in.read(buf) != -1) {
+                buf[0] = 0;
+            }
+        }
+    }
+
+    int buffered(String name) throws IOException {
+        int n = 0;
+        try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(name))) {
+            while (in.read() != -1) {
+                n++;
+            }
+        }
+        return n;
+    }
+}
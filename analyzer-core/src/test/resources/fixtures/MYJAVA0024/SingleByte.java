@@ -0,0 +1,53 @@
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+class SingleByte {
+
+    int count(InputStream in) throws IOException {
+        int n = 0;
+        while (in.read() != -1) { // Noncompliant {{InputStream}}
+            n++;
+        }
+        return n;
+    }
+
+    int lines(BufferedReader r) throws IOException {
+        int n = 0;
+        int c;
+        while ((c = r.read()) != -1) { // Noncompliant {{BufferedReader}}
+            if (c == '\n') n++;
+        }
+        return n;
+    }
+
+    int chunks(InputStream in) throws IOException {
+        byte[] buf = new byte[8192];
+        int n = 0;
+        int r;
+        while ((r = in.read(buf)) != -1) {
+            n += r;
+        }
+        return n;
+    }
+
+    int memory(byte[] data) {
+        ByteArrayInputStream in = new ByteArrayInputStream(data);
+        int n = 0;
+        while (in.read() != -1) {
+            n++;
+        }
+        return n;
+    }
+
+    // 未缓冲的文件流由 MYJAVA0023 负责
+    int file(FileInputStream in) throws IOException {
+        int n = 0;
+        while (in.read() != -1) {
+            n++;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,27 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class FileController {
+
+    @GetMapping("/file")
+    byte[] download(String name) throws IOException {
+        return Files.readAllBytes(Path.of(name)); // Noncompliant {{Files.readAllBytes}}
+    }
+
+    @GetMapping("/text")
+    String text(String name) throws IOException {
+        return Files.readString(Path.of(name)); // Noncompliant
+    }
+
+    @GetMapping("/stream")
+    InputStream stream(String name) throws IOException {
+        return Files.newInputStream(Path.of(name));
+    }
+
+    // 不是 handler
+    byte[] load(String name) throws IOException {
+        return Files.readAllBytes(Path.of(name));
+    }
+}
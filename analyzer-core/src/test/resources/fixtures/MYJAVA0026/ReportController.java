@@ -0,0 +1,24 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class ReportController {
+
+    @GetMapping("/report")
+    byte[] report(String name) throws IOException {
+        return Reports.load(name); // Noncompliant {{Files.readAllBytes}}
+    }
+
+    // 直接读取由 MYJAVA0025 负责
+    @GetMapping("/raw")
+    byte[] raw(String name) throws IOException {
+        return Files.readAllBytes(Path.of(name));
+    }
+}
+
+class Reports {
+
+    static byte[] load(String name) throws IOException {
+        return Files.readAllBytes(Path.of("reports", name));
+    }
+}
@@ -0,0 +1,48 @@
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+class ManualClose {
+
+    int read(String name) throws IOException {
+        FileInputStream in = new FileInputStream(name); // Noncompliant {{in}}
+        int b = in.read();
+        in.close();
+        return b;
+    }
+
+    long count(Path dir) throws IOException {
+        Stream<Path> files = Files.list(dir); // Noncompliant {{files}}
+        long n = files.count();
+        files.close();
+        return n;
+    }
+
+    int closedInFinally(String name) throws IOException {
+        FileInputStream in = new FileInputStream(name);
+        try {
+            return in.read();
+        } finally {
+            in.close();
+        }
+    }
+
+    // 提前返回时没有关闭：由 MYJAVA0009 上报
+    int earlyReturn(String name) throws IOException {
+        FileInputStream in = new FileInputStream(name);
+        int b = in.read();
+        if (b < 0) {
+            return -1;
+        }
+        in.close();
+        return b;
+    }
+
+    int tryWithResources(String name) throws IOException {
+        try (FileInputStream in = new FileInputStream(name)) {
+            return in.read();
+        }
+    }
+}
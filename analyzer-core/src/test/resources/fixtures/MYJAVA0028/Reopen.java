@@ -0,0 +1,35 @@
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+class Reopen {
+
+    void readAll(String name, List<Long> offsets) throws IOException {
+        for (long off : offsets) {
+            try (RandomAccessFile f = new RandomAccessFile(name, "r")) { // Noncompliant {{new RandomAccessFile}}
+                f.seek(off);
+                f.readLong();
+            }
+        }
+    }
+
+    void channels(Path file, int n) throws IOException {
+        for (int i = 0; i < n; i++) {
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) { // Noncompliant {{FileChannel.open}}
+                ch.size();
+            }
+        }
+    }
+
+    void once(String name, List<Long> offsets) throws IOException {
+        try (RandomAccessFile f = new RandomAccessFile(name, "r")) {
+            for (long off : offsets) {
+                f.seek(off);
+                f.readLong();
+            }
+        }
+    }
+}
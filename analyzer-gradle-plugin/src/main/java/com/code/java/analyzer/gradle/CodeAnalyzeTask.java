@@ -1,15 +1,18 @@
 package com.code.java.analyzer.gradle;
 
-import com.code.java.analyzer.core.JavacAnalyzeFacade;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.GradleException;
 import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.*;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutionException;
+import org.gradle.workers.WorkerExecutor;
 
+import javax.inject.Inject;
 import java.io.File;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -38,6 +41,45 @@ public abstract class CodeAnalyzeTask extends DefaultTask {
     @Optional
     public abstract Property<Boolean> getOpenReport();
 
+    /** 分析配置文件（可选） */
+    @InputFile
+    @Optional
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getConfigFile();
+
+    /** 配置文件中的 profile 名（可选） */
+    @Input
+    @Optional
+    public abstract Property<String> getProfile();
+
+    /** 分析模式：source / bytecode */
+    @Input
+    @Optional
+    public abstract Property<String> getMode();
+
+    /** 快速失败门禁（见 CodeAnalyzerExtension#getFailFast） */
+    @Input
+    @Optional
+    public abstract Property<Boolean> getFailFast();
+
+    @Input
+    @Optional
+    public abstract Property<String> getFailOnSeverity();
+
+    @Input
+    @Optional
+    public abstract Property<Integer> getMaxIssues();
+
+    /** 跳过生成代码 */
+    @Input
+    @Optional
+    public abstract Property<Boolean> getSkipGenerated();
+
+    /** SARIF 中附带源码片段 */
+    @Input
+    @Optional
+    public abstract Property<Boolean> getSarifSnippets();
+
     /** 主代码源码目录 */
     @InputFiles
     @PathSensitive(PathSensitivity.RELATIVE)
@@ -47,6 +89,11 @@ public abstract class CodeAnalyzeTask extends DefaultTask {
     @Classpath
     public abstract ConfigurableFileCollection getMainCompileClasspath();
 
+    /** 主代码编译产物（bytecode 模式扫描） */
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract ConfigurableFileCollection getMainClassesDirs();
+
     /** 测试源码目录 */
     @InputFiles
     @Optional
@@ -58,6 +105,12 @@ public abstract class CodeAnalyzeTask extends DefaultTask {
     @Optional
     public abstract ConfigurableFileCollection getTestCompileClasspath();
 
+    /** 测试编译产物（bytecode 模式 + includeTests 时扫描） */
+    @InputFiles
+    @Optional
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract ConfigurableFileCollection getTestClassesDirs();
+
     /** 输出目录（可配置） */
     @OutputDirectory
     public abstract DirectoryProperty getOutputDir();
@@ -67,6 +120,20 @@ public abstract class CodeAnalyzeTask extends DefaultTask {
     @Optional
     public abstract Property<String> getSarifFileName();
 
+    /** 分析器类路径（analyzer-core 及其依赖，来自 codeAnalyzer 配置），在隔离的类加载器中加载 */
+    @Classpath
+    public abstract ConfigurableFileCollection getAnalyzerClasspath();
+
+    /** 项目目录（报告路径的基准；配置阶段确定，执行时不访问 Project） */
+    @Internal
+    public abstract DirectoryProperty getProjectDirectory();
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
+    /**
+     * 每个 SourceSet 一个工作项并行执行：main 写 sarifFileName，test 写 test-sarifFileName
+     */
     @TaskAction
     public void run() {
         final boolean includeTests = Boolean.TRUE.equals(getIncludeTests().getOrElse(false));
@@ -75,75 +142,77 @@ public abstract class CodeAnalyzeTask extends DefaultTask {
         final String logPrefix = getLogPrefix().getOrElse("myanalyzer");
         final boolean openReport = Boolean.TRUE.equals(getOpenReport().getOrElse(false));
         final String sarifFileName = getSarifFileName().getOrElse("report.sarif");
+        final String mode = getMode().getOrElse("source");
 
-        final Path baseDir = getProject().getProjectDir().toPath();
-
-        // 1) sourceRoots
-        List<String> sourceRoots = new ArrayList<>();
-        getMainSourceDirs().getFiles().forEach(f -> {
-            if (f.exists()) sourceRoots.add(f.getAbsolutePath());
-        });
-
-        // 2) classpath
-        List<String> classpath = new ArrayList<>();
-        getMainCompileClasspath().getFiles().forEach(f -> {
-            if (f.exists()) classpath.add(f.getAbsolutePath());
-        });
-
-        if (includeTests) {
-            getTestSourceDirs().getFiles().forEach(f -> {
-                if (f.exists()) sourceRoots.add(f.getAbsolutePath());
-            });
-            getTestCompileClasspath().getFiles().forEach(f -> {
-                if (f.exists()) classpath.add(f.getAbsolutePath());
-            });
-        }
-
-        // 3) output
         File outDir = getOutputDir().get().getAsFile();
-        File sarifFile = new File(outDir, sarifFileName);
         // 确保父目录存在
         if (!outDir.exists() && !outDir.mkdirs()) {
             throw new GradleException("Failed to create outputDir: " + outDir.getAbsolutePath());
         }
 
-        // 4) logs
         getLogger().lifecycle("[{}] engineId={}", logPrefix, engineId);
         getLogger().lifecycle("[{}] includeTests={}", logPrefix, includeTests);
         getLogger().lifecycle("[{}] failOnIssues={}", logPrefix, failOnIssues);
         getLogger().lifecycle("[{}] openReport={}", logPrefix, openReport);
-        getLogger().lifecycle("[{}] sourceRoots={}", logPrefix, sourceRoots);
-        getLogger().lifecycle("[{}] classpath size={}", logPrefix, classpath.size());
-        getLogger().lifecycle("[{}] SARIF={}", logPrefix, sarifFile.getAbsolutePath());
+        getLogger().lifecycle("[{}] mode={}", logPrefix, mode);
 
-        try {
-            var result = JavacAnalyzeFacade.run(
-                    baseDir,
-                    sourceRoots,
-                    classpath,
-                    sarifFile.toPath()
-            );
-
-            getLogger().lifecycle("[{}] issues: {}", logPrefix, result.issueCount());
-
-            if (failOnIssues && result.issueCount() > 0) {
-                throw new GradleException(logPrefix + " found issues: " + result.issueCount());
-            }
+        WorkQueue queue = getWorkerExecutor().classLoaderIsolation(spec ->
+                spec.getClasspath().from(getAnalyzerClasspath()));
 
-            // 5) auto open report (optional)
-            if (openReport) {
-                tryOpenFile(sarifFile, logPrefix);
-            }
+        // openReport 时每个 SourceSet 额外输出 HTML 报告（html/、test-html/），打开的是它而不是 SARIF
+        List<File> reports = new ArrayList<>();
+        File mainSarif = new File(outDir, sarifFileName);
+        File mainHtml = openReport ? new File(outDir, "html") : null;
+        submit(queue, "main", getMainSourceDirs(), getMainCompileClasspath(), getMainClassesDirs(), mainSarif, mainHtml);
+        if (mainHtml != null) reports.add(new File(mainHtml, "index.html"));
+        if (includeTests) {
+            File testSarif = new File(outDir, "test-" + sarifFileName);
+            File testHtml = openReport ? new File(outDir, "test-html") : null;
+            submit(queue, "test", getTestSourceDirs(), getTestCompileClasspath(), getTestClassesDirs(), testSarif,
+                    testHtml);
+            if (testHtml != null) reports.add(new File(testHtml, "index.html"));
+        }
 
-        } catch (Exception e) {
+        try {
+            queue.await();
+        } catch (WorkerExecutionException e) {
             throw new GradleException(logPrefix + " failed", e);
         }
+
+        // auto open report (optional)
+        if (openReport) {
+            reports.forEach(f -> tryOpenFile(f, logPrefix));
+        }
+    }
+
+    private void submit(WorkQueue queue, String sourceSet, ConfigurableFileCollection sourceDirs,
+                        ConfigurableFileCollection classpath, ConfigurableFileCollection classesDirs, File sarif,
+                        File htmlDir) {
+        queue.submit(CodeAnalyzeWorkAction.class, p -> {
+            p.getSourceSetName().set(sourceSet);
+            p.getProjectDir().set(getProjectDirectory());
+            p.getSourceDirs().from(sourceDirs);
+            p.getClasspath().from(classpath);
+            p.getClassesDirs().from(classesDirs);
+            p.getMode().set(getMode().orElse("source"));
+            p.getConfigFile().set(getConfigFile());
+            p.getProfile().set(getProfile());
+            p.getSarifFile().set(sarif);
+            if (htmlDir != null) p.getHtmlDir().set(htmlDir);
+            p.getFailOnIssues().set(getFailOnIssues().orElse(false));
+            p.getFailFast().set(getFailFast().orElse(false));
+            p.getFailOnSeverity().set(getFailOnSeverity().orElse("INFO"));
+            p.getMaxIssues().set(getMaxIssues().orElse(0));
+            p.getSkipGenerated().set(getSkipGenerated().orElse(false));
+            p.getSarifSnippets().set(getSarifSnippets().orElse(false));
+            p.getLogPrefix().set(getLogPrefix().orElse("myanalyzer"));
+        });
     }
 
     private void tryOpenFile(File file, String logPrefix) {
         try {
             if (file == null || !file.exists()) {
-                getLogger().warn("[{}] SARIF file not found, skip open: {}", logPrefix,
+                getLogger().warn("[{}] report not found, skip open: {}", logPrefix,
                         file == null ? "null" : file.getAbsolutePath());
                 return;
             }
@@ -165,9 +234,9 @@ public abstract class CodeAnalyzeTask extends DefaultTask {
             }
 
             pb.start();
-            getLogger().lifecycle("[{}] opened SARIF report", logPrefix);
+            getLogger().lifecycle("[{}] opened report {}", logPrefix, file.getAbsolutePath());
         } catch (Exception e) {
-            getLogger().warn("[{}] failed to open SARIF report: {}", logPrefix, e.toString());
+            getLogger().warn("[{}] failed to open report: {}", logPrefix, e.toString());
         }
     }
 }
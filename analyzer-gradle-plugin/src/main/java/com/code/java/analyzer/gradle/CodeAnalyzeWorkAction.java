@@ -0,0 +1,148 @@
+package com.code.java.analyzer.gradle;
+
+import com.code.java.analyzer.core.AnalyzeResult;
+import com.code.java.analyzer.core.BytecodeAnalyzeFacade;
+import com.code.java.analyzer.core.JavacAnalyzeFacade;
+import com.code.java.analyzer.core.config.AnalyzerConfig;
+import com.code.java.analyzer.core.config.FailFastGate;
+import com.code.java.analyzer.core.rules.HtmlReportWriter;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一个 SourceSet 的分析，在 Worker API 的隔离类加载器中执行：
+ * analyzer-core 及其依赖（Jackson、ClassGraph）只出现在这里，不与构建脚本的类路径冲突。
+ */
+public abstract class CodeAnalyzeWorkAction implements WorkAction<CodeAnalyzeWorkAction.Parameters> {
+
+    private static final Logger LOGGER = Logging.getLogger(CodeAnalyzeWorkAction.class);
+
+    public interface Parameters extends WorkParameters {
+        Property<String> getSourceSetName();
+
+        DirectoryProperty getProjectDir();
+
+        ConfigurableFileCollection getSourceDirs();
+
+        ConfigurableFileCollection getClasspath();
+
+        ConfigurableFileCollection getClassesDirs();
+
+        Property<String> getMode();
+
+        RegularFileProperty getConfigFile();
+
+        Property<String> getProfile();
+
+        RegularFileProperty getSarifFile();
+
+        /** 设置时额外输出分页 HTML 报告 */
+        DirectoryProperty getHtmlDir();
+
+        Property<Boolean> getFailOnIssues();
+
+        /** 快速失败门禁：开启时覆盖配置文件中的 "failFast" */
+        Property<Boolean> getFailFast();
+
+        Property<String> getFailOnSeverity();
+
+        Property<Integer> getMaxIssues();
+
+        /** 跳过生成代码：开启时覆盖配置文件中的 "skipGenerated" */
+        Property<Boolean> getSkipGenerated();
+
+        /** SARIF 源码片段：开启时覆盖配置文件中的 "sarifSnippets" */
+        Property<Boolean> getSarifSnippets();
+
+        Property<String> getLogPrefix();
+    }
+
+    @Override
+    public void execute() {
+        Parameters p = getParameters();
+        String logPrefix = p.getLogPrefix().get();
+        String sourceSet = p.getSourceSetName().get();
+        Path baseDir = p.getProjectDir().get().getAsFile().toPath();
+        Path sarif = p.getSarifFile().get().getAsFile().toPath();
+
+        List<String> sourceRoots = existing(p.getSourceDirs());
+        List<String> classpath = existing(p.getClasspath());
+
+        AnalyzeResult result;
+        FailFastGate gate;
+        try {
+            AnalyzerConfig config = p.getConfigFile().isPresent()
+                    ? AnalyzerConfig.load(p.getConfigFile().get().getAsFile().toPath())
+                    : AnalyzerConfig.discover(baseDir);
+            config = config.withProfile(p.getProfile().getOrNull());
+            if (p.getFailFast().get()) {
+                config = config.withFailFast(FailFastGate.of(p.getFailOnSeverity().get(), p.getMaxIssues().get()));
+            }
+            if (p.getSkipGenerated().get()) {
+                config = config.withSkipGenerated(true);
+            }
+            if (p.getSarifSnippets().get()) {
+                config = config.withSarifSnippets(true);
+            }
+            gate = config.failFast();
+            if (config.source() != null) {
+                LOGGER.lifecycle("[{}] {}: config={} profile={}", logPrefix, sourceSet, config.source(),
+                        config.activeProfile());
+            }
+
+            result = switch (p.getMode().get()) {
+                case "source" -> JavacAnalyzeFacade.run(baseDir, sourceRoots, classpath, sarif, config);
+                case "bytecode" -> BytecodeAnalyzeFacade.run(
+                        baseDir,
+                        existing(p.getClassesDirs()).stream().map(Path::of).toList(),
+                        sourceRoots.stream().map(Path::of).toList(),
+                        classpath,
+                        sarif,
+                        config);
+                default -> throw new IllegalArgumentException(
+                        "Unknown mode: " + p.getMode().get() + " (source|bytecode)");
+            };
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(logPrefix + " failed on " + sourceSet, e);
+        }
+
+        LOGGER.lifecycle("[{}] {}: issues={} SARIF={}", logPrefix, sourceSet, result.issueCount(), sarif);
+        if (p.getHtmlDir().isPresent()) {
+            try {
+                Path html = HtmlReportWriter.write(p.getHtmlDir().get().getAsFile().toPath(), result, logPrefix);
+                LOGGER.lifecycle("[{}] {}: HTML={}", logPrefix, sourceSet, html);
+            } catch (IOException e) {
+                LOGGER.warn("[{}] {}: failed to write HTML report: {}", logPrefix, sourceSet, e.toString());
+            }
+        }
+        if (result.incomplete() || gate.isTripped(result.issues())) {
+            throw new IllegalStateException(logPrefix + " fail-fast gate tripped in " + sourceSet + " (" + gate
+                    + "): " + result.issueCount() + " issue(s)" + (result.incomplete() ? ", analysis stopped early" : ""));
+        }
+        if (p.getFailOnIssues().get() && result.issueCount() > 0) {
+            throw new IllegalStateException(logPrefix + " found issues in " + sourceSet + ": " + result.issueCount());
+        }
+    }
+
+    private static List<String> existing(ConfigurableFileCollection files) {
+        List<String> out = new ArrayList<>();
+        for (File f : files.getFiles()) {
+            if (f.exists()) out.add(f.getAbsolutePath());
+        }
+        return out;
+    }
+}
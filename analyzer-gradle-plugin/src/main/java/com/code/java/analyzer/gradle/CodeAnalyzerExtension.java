@@ -1,6 +1,7 @@
 package com.code.java.analyzer.gradle;
 
 import org.gradle.api.Action;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.provider.Property;
 
@@ -13,6 +14,15 @@ public class CodeAnalyzerExtension {
     private final Property<String> engineId;
     private final Property<String> logPrefix;
     private final Property<Boolean> openReport;
+    private final RegularFileProperty configFile;
+    private final Property<String> profile;
+    private final Property<String> mode;
+    private final Property<Boolean> javacPlugin;
+    private final Property<Boolean> failFast;
+    private final Property<String> failOnSeverity;
+    private final Property<Integer> maxIssues;
+    private final Property<Boolean> skipGenerated;
+    private final Property<Boolean> sarifSnippets;
 
     private final CodeAnalyzerReportsExtension reports;
 
@@ -25,6 +35,16 @@ public class CodeAnalyzerExtension {
         this.logPrefix = objects.property(String.class);
         this.openReport = objects.property(Boolean.class);
 
+        this.configFile = objects.fileProperty();
+        this.profile = objects.property(String.class);
+        this.mode = objects.property(String.class);
+        this.javacPlugin = objects.property(Boolean.class);
+        this.failFast = objects.property(Boolean.class);
+        this.failOnSeverity = objects.property(String.class);
+        this.maxIssues = objects.property(Integer.class);
+        this.skipGenerated = objects.property(Boolean.class);
+        this.sarifSnippets = objects.property(Boolean.class);
+
         this.reports = objects.newInstance(CodeAnalyzerReportsExtension.class);
     }
 
@@ -48,6 +68,51 @@ public class CodeAnalyzerExtension {
         return openReport;
     }
 
+    /** 分析配置文件（默认：项目目录下的 code-analyzer.json，存在时） */
+    public RegularFileProperty getConfigFile() {
+        return configFile;
+    }
+
+    /** 配置文件中的 profile 名 */
+    public Property<String> getProfile() {
+        return profile;
+    }
+
+    /** 分析模式：source（默认）或 bytecode（扫描编译产物，只执行禁止调用类规则） */
+    public Property<String> getMode() {
+        return mode;
+    }
+
+    /** 在 compileJava（includeTests 时也包括 compileTestJava）中以 javac 插件执行规则，不再单独解析源码 */
+    public Property<Boolean> getJavacPlugin() {
+        return javacPlugin;
+    }
+
+    /** 快速失败：计入门禁的问题数超过 maxIssues 时停止分析，写出不完整的报告并让构建失败 */
+    public Property<Boolean> getFailFast() {
+        return failFast;
+    }
+
+    /** 快速失败门禁计入的最低 severity（默认 INFO） */
+    public Property<String> getFailOnSeverity() {
+        return failOnSeverity;
+    }
+
+    /** 快速失败门禁允许的问题数（默认 0） */
+    public Property<Integer> getMaxIssues() {
+        return maxIssues;
+    }
+
+    /** 跳过生成代码（文件头横幅或 @Generated；也可在配置文件的 "skipGenerated" 中开启） */
+    public Property<Boolean> getSkipGenerated() {
+        return skipGenerated;
+    }
+
+    /** SARIF 报告中附带源码片段（region.snippet 与前后几行的 contextRegion） */
+    public Property<Boolean> getSarifSnippets() {
+        return sarifSnippets;
+    }
+
     public CodeAnalyzerReportsExtension getReports() {
         return reports;
     }
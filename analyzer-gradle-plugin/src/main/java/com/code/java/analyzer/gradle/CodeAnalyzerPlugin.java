@@ -1,15 +1,28 @@
 package com.code.java.analyzer.gradle;
 
+import com.code.java.analyzer.core.plugin.AnalyzerPlugin;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.compile.JavaCompile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
 
 public class CodeAnalyzerPlugin implements Plugin<Project> {
 
     public static final String EXT_NAME = "codeAnalyzer";
     public static final String TASK_NAME = "codeAnalyze";
+    public static final String CONFIGURATION_NAME = "codeAnalyzer";
+
+    static final String ANALYZER_CORE = "com.code.java:analyzer-core";
 
     @Override
     public void apply(Project project) {
@@ -27,6 +40,19 @@ public class CodeAnalyzerPlugin implements Plugin<Project> {
             ext.getEngineId().convention("company-java");
             ext.getLogPrefix().convention("myanalyzer");
             ext.getOpenReport().convention(false);
+            ext.getMode().convention("source");
+            ext.getJavacPlugin().convention(false);
+            ext.getFailFast().convention(false);
+            ext.getFailOnSeverity().convention("INFO");
+            ext.getMaxIssues().convention(0);
+            ext.getSkipGenerated().convention(false);
+            ext.getSarifSnippets().convention(false);
+
+            // 项目目录下有 code-analyzer.json 时默认使用
+            var defaultConfig = project.getLayout().getProjectDirectory().file("code-analyzer.json");
+            if (defaultConfig.getAsFile().isFile()) {
+                ext.getConfigFile().convention(defaultConfig);
+            }
 
             ext.getReports().getOutputDir()
                     .convention(project.getLayout().getBuildDirectory().dir("myanalyzer"));
@@ -34,6 +60,16 @@ public class CodeAnalyzerPlugin implements Plugin<Project> {
                     .convention("report.sarif");
 
 
+            // 分析器类路径：默认按坐标解析与插件同版本的 analyzer-core（依赖由其 pom 传递带入，
+            // 从项目的仓库中解析），可在 dependencies { codeAnalyzer ... } 中替换
+            Configuration analyzer = project.getConfigurations().create(CONFIGURATION_NAME, c -> {
+                c.setCanBeConsumed(false);
+                c.setCanBeResolved(true);
+                c.setDescription("Analyzer classpath for the codeAnalyze task (isolated worker classloader).");
+                c.defaultDependencies(deps -> deps.add(
+                        project.getDependencies().create(ANALYZER_CORE + ":" + analyzerVersion())));
+            });
+
             // 4) 注册 task
             project.getTasks().register(TASK_NAME, CodeAnalyzeTask.class, task -> {
 
@@ -49,26 +85,50 @@ public class CodeAnalyzerPlugin implements Plugin<Project> {
                 task.getLogPrefix().set(ext.getLogPrefix());
                 task.getOpenReport().set(ext.getOpenReport());
 
+                task.getConfigFile().set(ext.getConfigFile());
+                task.getProfile().set(ext.getProfile());
+                task.getMode().set(ext.getMode());
+                task.getFailFast().set(ext.getFailFast());
+                task.getFailOnSeverity().set(ext.getFailOnSeverity());
+                task.getMaxIssues().set(ext.getMaxIssues());
+                task.getSkipGenerated().set(ext.getSkipGenerated());
+                task.getSarifSnippets().set(ext.getSarifSnippets());
+
                 task.getOutputDir().set(ext.getReports().getOutputDir());
                 task.getSarifFileName().set(ext.getReports().getSarifFileName());
 
+                task.getAnalyzerClasspath().from(analyzer);
+                task.getProjectDirectory().set(project.getLayout().getProjectDirectory());
+
                 // ===== 绑定 SourceSets / classpath =====
                 SourceSetContainer sourceSets = project.getExtensions().getByType(SourceSetContainer.class);
 
                 SourceSet main = sourceSets.getByName(SourceSet.MAIN_SOURCE_SET_NAME);
                 task.getMainSourceDirs().from(main.getAllJava().getSrcDirs());
                 task.getMainCompileClasspath().from(main.getCompileClasspath(), main.getOutput());
+                task.getMainClassesDirs().from(main.getOutput().getClassesDirs());
 
                 // test SourceSet 可能不存在（比如纯 java library 通常都有，但保险处理）
                 SourceSet test = sourceSets.findByName(SourceSet.TEST_SOURCE_SET_NAME);
                 if (test != null) {
                     task.getTestSourceDirs().from(test.getAllJava().getSrcDirs());
                     task.getTestCompileClasspath().from(test.getCompileClasspath(), test.getOutput());
+                    task.getTestClassesDirs().from(test.getOutput().getClassesDirs());
                 }
             });
+
+            // 5) javac 插件模式：规则在编译过程中执行
+            SourceSetContainer sourceSets = project.getExtensions().getByType(SourceSetContainer.class);
+            SourceSet main = sourceSets.getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+            configureJavacPlugin(project, ext, main, ext.getJavacPlugin(), analyzer);
+            SourceSet test = sourceSets.findByName(SourceSet.TEST_SOURCE_SET_NAME);
+            if (test != null) {
+                configureJavacPlugin(project, ext, test,
+                        ext.getJavacPlugin().zip(ext.getIncludeTests(), (a, b) -> a && b), analyzer);
+            }
         });
 
-        // 5) 如果用户没应用 java 插件，给出明确错误（afterEvaluate 更友好）
+        // 6) 如果用户没应用 java 插件，给出明确错误（afterEvaluate 更友好）
         project.afterEvaluate(p -> {
             if (!p.getPlugins().hasPlugin(JavaPlugin.class)) {
                 throw new IllegalStateException(
@@ -78,4 +138,38 @@ public class CodeAnalyzerPlugin implements Plugin<Project> {
             }
         });
     }
+
+    private static void configureJavacPlugin(Project project, CodeAnalyzerExtension ext, SourceSet sourceSet,
+                                             Provider<Boolean> enabled, Configuration analyzer) {
+        project.getTasks().named(sourceSet.getCompileJavaTaskName(), JavaCompile.class, compile -> {
+            // 分析器（含依赖）放到注解处理器路径上，javac 从那里加载插件
+            var processorPath = compile.getOptions().getAnnotationProcessorPath();
+            compile.getOptions().setAnnotationProcessorPath(project.files(processorPath,
+                    (Callable<Object>) () -> enabled.getOrElse(false) ? analyzer : List.of()));
+
+            compile.getOptions().getCompilerArgumentProviders().add(new JavacPluginArguments(
+                    enabled,
+                    project.getProjectDir(),
+                    ext.getReports().getOutputDir().file("javac-" + sourceSet.getName() + ".sarif"),
+                    ext.getConfigFile(),
+                    ext.getProfile()));
+        });
+    }
+
+    // 插件编译时依赖的 analyzer-core 版本（取自 jar 中 Maven 写入的 pom.properties）
+    private static String analyzerVersion() {
+        try (InputStream in = AnalyzerPlugin.class.getResourceAsStream(
+                "/META-INF/maven/com.code.java/analyzer-core/pom.properties")) {
+            Properties props = new Properties();
+            if (in != null) props.load(in);
+            String version = props.getProperty("version");
+            if (version == null) {
+                throw new IllegalStateException("Cannot determine the analyzer-core version; declare it explicitly: "
+                        + "dependencies { " + CONFIGURATION_NAME + " '" + ANALYZER_CORE + ":<version>' }");
+            }
+            return version;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read the analyzer-core version", e);
+        }
+    }
 }
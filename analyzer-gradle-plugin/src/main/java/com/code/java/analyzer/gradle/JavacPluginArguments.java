@@ -0,0 +1,97 @@
+package com.code.java.analyzer.gradle;
+
+import com.code.java.analyzer.core.plugin.AnalyzerPlugin;
+import org.gradle.api.InvalidUserDataException;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.process.CommandLineArgumentProvider;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * javac 插件模式下追加到 JavaCompile 的参数；未启用时不追加任何参数。
+ *
+ * javac 按空白拆分 -Xplugin 的参数：含空白的路径以 file: URI 传递（空格编码为 %20，插件按 URI 解析），
+ * 含空白的 profile 名无法传递，直接报错。
+ *
+ * SARIF 报告声明为 JavaCompile 的输出、配置文件为输入：报告被删除或配置变化时重新编译。
+ */
+final class JavacPluginArguments implements CommandLineArgumentProvider {
+
+    private final Provider<Boolean> enabled;
+    private final File projectDir;
+    private final Provider<RegularFile> sarif;
+    private final Provider<RegularFile> configFile;
+    private final Provider<String> profile;
+
+    JavacPluginArguments(Provider<Boolean> enabled, File projectDir, Provider<RegularFile> sarif,
+                         Provider<RegularFile> configFile, Provider<String> profile) {
+        this.enabled = enabled;
+        this.projectDir = projectDir;
+        this.sarif = sarif;
+        this.configFile = configFile;
+        this.profile = profile;
+    }
+
+    @Input
+    public Provider<Boolean> getEnabled() {
+        return enabled;
+    }
+
+    @OutputFile
+    public Provider<RegularFile> getSarif() {
+        return sarif;
+    }
+
+    @InputFile
+    @Optional
+    @PathSensitive(PathSensitivity.NONE)
+    public Provider<RegularFile> getConfigFile() {
+        return configFile;
+    }
+
+    @Input
+    @Optional
+    public Provider<String> getProfile() {
+        return profile;
+    }
+
+    @Override
+    public Iterable<String> asArguments() {
+        if (!Boolean.TRUE.equals(enabled.getOrElse(false))) return List.of();
+
+        StringBuilder plugin = new StringBuilder("-Xplugin:").append(AnalyzerPlugin.NAME)
+                .append(" projectRoot=").append(path(projectDir))
+                .append(" sarif=").append(path(sarif.get().getAsFile()));
+        if (configFile.isPresent()) {
+            plugin.append(" config=").append(path(configFile.get().getAsFile()));
+        }
+        if (profile.isPresent()) {
+            String p = profile.get();
+            if (p.chars().anyMatch(Character::isWhitespace)) {
+                throw new InvalidUserDataException("codeAnalyzer.profile '" + p
+                        + "' contains whitespace, which javac cannot pass to -Xplugin:" + AnalyzerPlugin.NAME);
+            }
+            plugin.append(" profile=").append(p);
+        }
+
+        List<String> args = new ArrayList<>();
+        // 同一文件的类型全部标注完成后才脱糖，规则看到的是原始语法树
+        args.add("-XDcompilePolicy=byfile");
+        args.add(plugin.toString());
+        return args;
+    }
+
+    private static String path(File f) {
+        String p = f.getAbsolutePath();
+        return p.chars().anyMatch(Character::isWhitespace) ? f.getAbsoluteFile().toURI().toString() : p;
+    }
+}
@@ -1,6 +1,10 @@
 package com.code.java.acme.analyzer.maven;
 
+import com.code.java.analyzer.core.BytecodeAnalyzeFacade;
 import com.code.java.analyzer.core.JavacAnalyzeFacade;
+import com.code.java.analyzer.core.config.AnalyzerConfig;
+import com.code.java.analyzer.core.config.FailFastGate;
+import com.code.java.analyzer.core.rules.HtmlReportWriter;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.*;
@@ -46,7 +50,49 @@ public class AnalyzeMojo extends AbstractMojo {
     @Parameter(property = "analyzer.sarifFileName", defaultValue = "report.sarif")
     private String sarifFileName;
 
-    /** 执行完成后自动打开 SARIF */
+    /** 分析配置文件（规则 profile / severity / 路径过滤）；默认读取 ${basedir}/code-analyzer.json（存在时） */
+    @Parameter(property = "analyzer.configFile")
+    private File configFile;
+
+    /** 使用配置文件中的哪个 profile（覆盖配置文件中的 "profile"） */
+    @Parameter(property = "analyzer.profile")
+    private String profile;
+
+    /**
+     * 分析模式：source（默认，javac 解析源码，执行全部规则）或 bytecode
+     * （直接扫描 target/classes 中的调用指令，只执行禁止调用类规则，不再重新解析源码）
+     */
+    @Parameter(property = "analyzer.mode", defaultValue = "source")
+    private String mode;
+
+    /**
+     * 快速失败：计入门禁的问题数超过 maxIssues 时停止分析，写出标记为不完整的报告并让构建失败
+     * （也可在配置文件的 "failFast" 中开启）
+     */
+    @Parameter(property = "analyzer.failFast", defaultValue = "false")
+    private boolean failFast;
+
+    /** 快速失败门禁计入的最低 severity：INFO / MINOR / MAJOR / CRITICAL / BLOCKER */
+    @Parameter(property = "analyzer.failOnSeverity", defaultValue = "INFO")
+    private String failOnSeverity;
+
+    /** 快速失败门禁允许的问题数 */
+    @Parameter(property = "analyzer.maxIssues", defaultValue = "0")
+    private int maxIssues;
+
+    /** 跳过生成代码（文件头横幅或 @Generated；也可在配置文件的 "skipGenerated" 中开启） */
+    @Parameter(property = "analyzer.skipGenerated", defaultValue = "false")
+    private boolean skipGenerated;
+
+    /** SARIF 中附带源码片段（region.snippet / contextRegion；也可在配置文件的 "sarifSnippets" 中开启） */
+    @Parameter(property = "analyzer.sarifSnippets", defaultValue = "false")
+    private boolean sarifSnippets;
+
+    /** 额外输出分页 HTML 报告到 &lt;outputDir&gt;/html（openReport 时总是输出） */
+    @Parameter(property = "analyzer.htmlReport", defaultValue = "false")
+    private boolean htmlReport;
+
+    /** 执行完成后自动打开 HTML 报告 */
     @Parameter(property = "analyzer.openReport", defaultValue = "false")
     private boolean openReport;
 
@@ -92,15 +138,54 @@ public class AnalyzeMojo extends AbstractMojo {
             getLog().info("analyzer sourceRoots: " + sourceRoots);
             getLog().info("analyzer classpath size: " + classpath.size());
             getLog().info("analyzer SARIF: " + sarifPath);
+            getLog().info("analyzer mode: " + mode);
+
+            AnalyzerConfig config = configFile != null
+                    ? AnalyzerConfig.load(configFile.toPath())
+                    : AnalyzerConfig.discover(baseDir);
+            config = config.withProfile(profile);
+            if (failFast) {
+                config = config.withFailFast(FailFastGate.of(failOnSeverity, maxIssues));
+            }
+            if (skipGenerated) {
+                config = config.withSkipGenerated(true);
+            }
+            if (sarifSnippets) {
+                config = config.withSarifSnippets(true);
+            }
+            if (config.source() != null) {
+                getLog().info("analyzer config: " + config.source()
+                        + (config.activeProfile() == null ? "" : " (profile " + config.activeProfile() + ")"));
+            }
 
-            var result = JavacAnalyzeFacade.run(baseDir, sourceRoots, classpath, sarifPath);
+            var result = switch (mode) {
+                case "source" -> JavacAnalyzeFacade.run(baseDir, sourceRoots, classpath, sarifPath, config);
+                case "bytecode" -> {
+                    List<Path> classRoots = new ArrayList<>();
+                    classRoots.add(Path.of(project.getBuild().getOutputDirectory()));
+                    if (includeTests) {
+                        classRoots.add(Path.of(project.getBuild().getTestOutputDirectory()));
+                    }
+                    yield BytecodeAnalyzeFacade.run(baseDir, classRoots,
+                            sourceRoots.stream().map(Path::of).toList(), classpath, sarifPath, config);
+                }
+                default -> throw new MojoExecutionException("Unknown analyzer.mode: " + mode + " (source|bytecode)");
+            };
 
             getLog().info("analyzer issues: " + result.issueCount());
 
-            if (openReport) {
-                tryOpenFile(sarifPath.toFile());
+            if (htmlReport || openReport) {
+                Path html = HtmlReportWriter.write(outDirPath.resolve("html"), result, engineId);
+                getLog().info("analyzer HTML: " + html);
+                if (openReport) {
+                    tryOpenFile(html.toFile());
+                }
             }
 
+            if (result.incomplete() || config.failFast().isTripped(result.issues())) {
+                throw new MojoExecutionException("analyzer fail-fast gate tripped (" + config.failFast() + "): "
+                        + result.issueCount() + " issue(s)" + (result.incomplete() ? ", analysis stopped early" : ""));
+            }
             if (failOnIssues && result.issueCount() > 0) {
                 throw new MojoExecutionException("analyzer found issues: " + result.issueCount());
             }
@@ -114,7 +199,7 @@ public class AnalyzeMojo extends AbstractMojo {
     private void tryOpenFile(File file) {
         try {
             if (!file.exists()) {
-                getLog().warn("SARIF not found, skip open: " + file.getAbsolutePath());
+                getLog().warn("report not found, skip open: " + file.getAbsolutePath());
                 return;
             }
             if (!Desktop.isDesktopSupported()) {
@@ -127,7 +212,7 @@ public class AnalyzeMojo extends AbstractMojo {
                 return;
             }
             desktop.open(file);
-            getLog().info("Opened SARIF: " + file.getAbsolutePath());
+            getLog().info("Opened report: " + file.getAbsolutePath());
         } catch (Exception ex) {
             getLog().warn("openReport failed: " + ex.getMessage());
         }